@@ -0,0 +1,106 @@
+package net.jacobpeterson.timeseriesdatastore.benchmark;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRangeUtil;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TemporalRangeUtilBenchmark} contains microbenchmarks for {@link TemporalRangeUtil} and
+ * {@link EpochNanoRangeUtil} over realistic numbers of timestamp ranges (e.g. one range per trading session with
+ * random gaps).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemporalRangeUtilBenchmark {
+
+    private static final LocalTime SESSION_OPEN = LocalTime.of(9, 30);
+    private static final LocalTime SESSION_CLOSE = LocalTime.of(16, 0);
+
+    @Param({"10", "1000", "10000"})
+    public int rangeCount;
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TemporalRange<LocalDateTime>> validTemporalRanges;
+    private List<TemporalRange<LocalDateTime>> squashedTemporalRanges;
+    private EpochNanoRanges validRanges;
+    private EpochNanoRanges squashedRanges;
+    private EpochNanoRanges outputRanges;
+
+    /**
+     * Creates overlapping daily session {@link TemporalRange}s with a gap every few days.
+     */
+    @Setup
+    public void setup() {
+        from = LocalDateTime.of(2000, 1, 1, 0, 0);
+        validTemporalRanges = new ArrayList<>(rangeCount);
+
+        LocalDateTime day = from;
+        for (int index = 0; index < rangeCount; index++) {
+            if (index % 7 != 6) { // Leave a gap
+                validTemporalRanges.add(new TemporalRange<>(day.with(SESSION_OPEN).minusHours(1),
+                        day.plusDays(1).with(SESSION_OPEN)));
+            }
+            day = day.plusDays(1);
+        }
+        to = day;
+
+        squashedTemporalRanges = TemporalRangeUtil.squash(validTemporalRanges);
+        validRanges = EpochNanoRanges.of(validTemporalRanges);
+        squashedRanges = EpochNanoRanges.of(squashedTemporalRanges);
+        outputRanges = new EpochNanoRanges();
+    }
+
+    @Benchmark
+    public List<TemporalRange<LocalDateTime>> getMissingTemporalRanges() {
+        return TemporalRangeUtil.getMissingTemporalRanges(from, to, validTemporalRanges, null, null);
+    }
+
+    @Benchmark
+    public List<TemporalRange<LocalDateTime>> squash() {
+        return TemporalRangeUtil.squash(validTemporalRanges);
+    }
+
+    @Benchmark
+    public List<TemporalRange<LocalDateTime>> clampLocalTime() {
+        return TemporalRangeUtil.clamp(squashedTemporalRanges, SESSION_OPEN, SESSION_CLOSE);
+    }
+
+    @Benchmark
+    public EpochNanoRanges getMissingEpochNanoRanges() {
+        return EpochNanoRangeUtil.getMissingRanges(validRanges.getFrom(0), EpochNanoRanges.toEpochNanos(to),
+                validRanges, 0, 0, outputRanges);
+    }
+
+    @Benchmark
+    public EpochNanoRanges squashEpochNanoRanges() {
+        return EpochNanoRangeUtil.squash(validRanges, outputRanges);
+    }
+
+    @Benchmark
+    public EpochNanoRanges clampLocalTimeEpochNanoRanges() {
+        return EpochNanoRangeUtil.clamp(squashedRanges, SESSION_OPEN, SESSION_CLOSE, outputRanges);
+    }
+}
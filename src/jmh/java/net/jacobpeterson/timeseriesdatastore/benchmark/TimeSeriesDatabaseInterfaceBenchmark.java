@@ -0,0 +1,118 @@
+package net.jacobpeterson.timeseriesdatastore.benchmark;
+
+import net.jacobpeterson.timeseriesdatastore.database.ColumnBatch;
+import net.jacobpeterson.timeseriesdatastore.database.ColumnBatchIterator;
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+
+/**
+ * {@link TimeSeriesDatabaseInterfaceBenchmark} contains end-to-end query benchmarks of
+ * {@link TimeSeriesDatabaseInterface} against an embedded H2 database filled with generated tick data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSeriesDatabaseInterfaceBenchmark {
+
+    private static final String SYMBOL = "BENCH";
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final long TICK_INTERVAL_MILLIS = 250;
+    private static final int TIMESTAMP_RANGE_COUNT = 1000;
+
+    @Param({"10000", "100000"})
+    public int rowCount;
+
+    @Param({"100", "1000", "10000"})
+    public int fetchSize;
+
+    @Param({"ASCENDING", "DESCENDING"})
+    public SortDirection sortDirection;
+
+    private CloseableDSLContext create;
+    private TickDatabaseInterface tickDatabaseInterface;
+    private LocalDateTime to;
+
+    /**
+     * Creates the H2 database and fills it with generated {@link Tick}s and timestamp ranges.
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        create = TickDatabaseInterface.createH2Database(UUID.randomUUID().toString());
+        tickDatabaseInterface = new TickDatabaseInterface(create, fetchSize);
+
+        List<Tick> ticks = TickDatabaseInterface.generateTicks(SYMBOL, FROM, TICK_INTERVAL_MILLIS, rowCount);
+        to = ticks.get(ticks.size() - 1).getTimestamp().plusNanos(1);
+        tickDatabaseInterface.insert(ticks);
+
+        // Insert fragmented timestamp ranges like a data feed that was queried many times would
+        long rangeMillis = Math.max(1, rowCount * TICK_INTERVAL_MILLIS / TIMESTAMP_RANGE_COUNT);
+        for (int index = 0; index < TIMESTAMP_RANGE_COUNT; index++) {
+            tickDatabaseInterface.insertTimestampRangeRecord(SYMBOL, FROM.plusNanos(index * rangeMillis * 1_000_000),
+                    FROM.plusNanos((index + 1) * rangeMillis * 1_000_000));
+        }
+    }
+
+    /**
+     * Closes the H2 database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        create.close();
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        Iterator<Tick> tickIterator = tickDatabaseInterface.get(SYMBOL, FROM, to, null, null, sortDirection);
+        while (tickIterator.hasNext()) {
+            blackhole.consume(tickIterator.next());
+        }
+    }
+
+    @Benchmark
+    public void getColumnBatches(Blackhole blackhole) {
+        try (ColumnBatchIterator columnBatchIterator = tickDatabaseInterface.getColumnBatches(SYMBOL, FROM, to,
+                null, null, sortDirection, fetchSize, Collections.singletonList(TICK.PRICE),
+                Collections.singletonList(TICK.SIZE))) {
+            while (columnBatchIterator.hasNext()) {
+                ColumnBatch columnBatch = columnBatchIterator.next();
+                blackhole.consume(columnBatch.getTimestamps());
+                columnBatchIterator.release(columnBatch);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<TemporalRange<LocalDateTime>> getTimestampRanges() {
+        return tickDatabaseInterface.getTimestampRanges(SYMBOL, FROM, to, sortDirection);
+    }
+}
@@ -0,0 +1,105 @@
+package net.jacobpeterson.timeseriesdatastore.benchmark;
+
+import net.jacobpeterson.timeseriesdatastore.database.BulkLoadErrorPolicy;
+import net.jacobpeterson.timeseriesdatastore.database.BulkLoadResult;
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import org.jooq.CloseableDSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTimestampRangesTable.TICK_TIMESTAMP_RANGES;
+
+/**
+ * {@link TimeSeriesDatabaseInterfaceInsertBenchmark} contains end-to-end insert benchmarks of
+ * {@link TimeSeriesDatabaseInterface} against an embedded H2 database. The tables are emptied before every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TimeSeriesDatabaseInterfaceInsertBenchmark {
+
+    private static final String SYMBOL = "BENCH";
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 1, 4, 0, 0);
+
+    @Param({"1000", "100000"})
+    public int rowCount;
+
+    private CloseableDSLContext create;
+    private TickDatabaseInterface tickDatabaseInterface;
+    private List<Tick> ticks;
+
+    /**
+     * Creates the H2 database and generates the {@link Tick}s to insert.
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        create = TickDatabaseInterface.createH2Database(UUID.randomUUID().toString());
+        tickDatabaseInterface = new TickDatabaseInterface(create, 1000);
+        ticks = TickDatabaseInterface.generateTicks(SYMBOL, FROM, 250, rowCount);
+    }
+
+    /**
+     * Empties the tables.
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        create.truncate(TICK).execute();
+        create.truncate(TICK_TIMESTAMP_RANGES).execute();
+    }
+
+    /**
+     * Closes the H2 database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        create.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        tickDatabaseInterface.insert(ticks);
+    }
+
+    @Benchmark
+    public void insertWithTimestampRangeRecord() {
+        tickDatabaseInterface.insert(ticks, SYMBOL, FROM, ticks.get(ticks.size() - 1).getTimestamp().plusNanos(1));
+    }
+
+    @Benchmark
+    public BulkLoadResult bulkLoad() {
+        return tickDatabaseInterface.bulkLoad(ticks.iterator(), BulkLoadErrorPolicy.ABORT);
+    }
+
+    @Benchmark
+    public BulkLoadResult bulkLoadWithTimestampRangeRecords() {
+        return tickDatabaseInterface.bulkLoad(ticks.iterator(), SYMBOL, FROM,
+                ticks.get(ticks.size() - 1).getTimestamp().plusNanos(1), BulkLoadErrorPolicy.ABORT);
+    }
+
+    @Benchmark
+    public void insertTimestampRangeRecord() {
+        tickDatabaseInterface.insertTimestampRangeRecord(SYMBOL, FROM, FROM.plusDays(1));
+    }
+}
@@ -0,0 +1,556 @@
+package net.jacobpeterson.timeseriesdatastore;
+
+import com.google.common.collect.Lists;
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.datafeed.DataFeedFetchLock;
+import net.jacobpeterson.timeseriesdatastore.datafeed.TimeSeriesDataFeed;
+import net.jacobpeterson.timeseriesdatastore.iterator.DataSource;
+import net.jacobpeterson.timeseriesdatastore.iterator.DataSourceEntry;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
+import org.jooq.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link TimeSeriesDataStore} is a read-through store of time series data. Timestamp ranges that already exist in the
+ * database (according to {@link TimeSeriesDatabaseInterface#getCoveredTimestampRanges(Object, LocalDateTime,
+ * LocalDateTime)}) are streamed from the database and timestamp ranges that are missing are fetched from the
+ * {@link TimeSeriesDataFeed} in the background (while database data is being consumed) and are then written back to
+ * the database. Concurrent fetches of overlapping missing timestamp ranges of the same key are merged so that each
+ * range is fetched from the {@link TimeSeriesDataFeed} only once (across processes as well if a
+ * {@link DataFeedFetchLock} is set).
+ *
+ * @param <K> the type parameter of the key used to identify the time series
+ * @param <P> the time series data POJO type parameter
+ */
+public class TimeSeriesDataStore<K, P> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesDataStore.class);
+
+    /**
+     * The default value for {@link #getDataFeedPrefetchCount()}.
+     */
+    public static final int DEFAULT_DATA_FEED_PREFETCH_COUNT = 4;
+
+    private final TimeSeriesDatabaseInterface<K, ?, P, ?> databaseInterface;
+    private final TimeSeriesDataFeed<K, P> dataFeed;
+    private final Executor executor;
+    private final ConcurrentHashMap<K, List<InFlightFetch>> inFlightFetchesOfKeys;
+    private int dataFeedPrefetchCount;
+    private volatile DataFeedFetchLock<K> dataFeedFetchLock;
+
+    /**
+     * Instantiates a new {@link TimeSeriesDataStore}.
+     *
+     * @param databaseInterface the {@link TimeSeriesDatabaseInterface}
+     * @param dataFeed          the {@link TimeSeriesDataFeed}
+     * @param executor          the {@link Executor} used to fetch data from the {@link TimeSeriesDataFeed} and to
+     *                          write it back to the database in the background
+     */
+    public TimeSeriesDataStore(TimeSeriesDatabaseInterface<K, ?, P, ?> databaseInterface,
+            TimeSeriesDataFeed<K, P> dataFeed, Executor executor) {
+        checkArgument(databaseInterface != null, "The database interface cannot be null!");
+        checkArgument(dataFeed != null, "The data feed cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        this.databaseInterface = databaseInterface;
+        this.dataFeed = dataFeed;
+        this.executor = executor;
+        this.inFlightFetchesOfKeys = new ConcurrentHashMap<>();
+        this.dataFeedPrefetchCount = DEFAULT_DATA_FEED_PREFETCH_COUNT;
+    }
+
+    /**
+     * Gets the data POJOs from the database and from the data feed (for timestamp ranges that do not exist in the
+     * database yet).
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     *
+     * @return a lazy {@link Iterator} of {@link DataSourceEntry}s sorted by time in the given {@link SortDirection}.
+     * The {@link Iterator} is also {@link AutoCloseable} to close the current database cursor before it is exhausted.
+     *
+     * @throws DataAccessException          thrown for {@link DataAccessException}s
+     * @throws TimeSeriesDataStoreException thrown when the {@link TimeSeriesDataFeed} fails (while iterating)
+     */
+    public Iterator<DataSourceEntry<P>> get(K key, LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection)
+            throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkArgument(!to.isBefore(from), "From must be before to!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        // Get the squashed timestamp ranges that exist in the database and the timestamp ranges that are missing
+        List<TemporalRange<LocalDateTime>> validTemporalRanges =
+                databaseInterface.getCoveredTimestampRanges(key, from, to);
+        List<TemporalRange<LocalDateTime>> missingTemporalRanges =
+                TemporalRangeUtil.getMissingTemporalRanges(from, to, validTemporalRanges, null, null);
+
+        // Only fetch missing data from the data feed that is within the time of day filter
+        if (beginFilterTime != null || endFilterTime != null) {
+            missingTemporalRanges = TemporalRangeUtil.clamp(missingTemporalRanges, beginFilterTime, endFilterTime);
+        }
+
+        // Create the spans ordered from oldest to newest
+        ArrayList<DataStoreSpan> dataStoreSpans = new ArrayList<>();
+        for (TemporalRange<LocalDateTime> validTemporalRange :
+                TemporalRangeUtil.clamp(validTemporalRanges, from, to)) {
+            if (validTemporalRange.getFrom().isBefore(validTemporalRange.getTo())) {
+                dataStoreSpans.add(new DataStoreSpan(validTemporalRange, DataSource.DATABASE));
+            }
+        }
+        for (TemporalRange<LocalDateTime> missingTemporalRange : missingTemporalRanges) {
+            if (missingTemporalRange.getFrom().isBefore(missingTemporalRange.getTo())) {
+                dataStoreSpans.add(new DataStoreSpan(missingTemporalRange, DataSource.DATAFEED));
+            }
+        }
+        dataStoreSpans.sort(Comparator.comparing(dataStoreSpan -> dataStoreSpan.temporalRange.getFrom()));
+
+        if (sortDirection == SortDirection.DESCENDING) {
+            Collections.reverse(dataStoreSpans);
+        }
+
+        return new DataStoreIterator(key, dataStoreSpans, beginFilterTime, endFilterTime, sortDirection);
+    }
+
+    /**
+     * Fetches data from the {@link #dataFeed} asynchronously and writes it back to the database once it has been
+     * fetched. Fetches are single-flight per key: the parts of the given range that overlap an {@link InFlightFetch}
+     * of the same key subscribe to that fetch and only the remaining parts are fetched from the {@link #dataFeed}, so
+     * that concurrent requests for the same gap hit the data feed and fill the gap in the database only once.
+     *
+     * @param key           the key
+     * @param temporalRange the {@link TemporalRange} to fetch
+     *
+     * @return a {@link CompletableFuture} of the fetched data POJOs
+     */
+    private CompletableFuture<List<P>> fetchFromDataFeed(K key, TemporalRange<LocalDateTime> temporalRange) {
+        final LocalDateTime from = temporalRange.getFrom();
+        final LocalDateTime to = temporalRange.getTo();
+        final List<InFlightFetch> inFlightFetches = new ArrayList<>();
+        final List<InFlightFetch> newInFlightFetches = new ArrayList<>();
+
+        // Atomically subscribe to the overlapping in-flight fetches of the key and register fetches for the rest
+        inFlightFetchesOfKeys.compute(key, (ignoredKey, keyInFlightFetches) -> {
+            keyInFlightFetches = keyInFlightFetches == null ? new ArrayList<>() : keyInFlightFetches;
+
+            List<TemporalRange<LocalDateTime>> inFlightTemporalRanges = new ArrayList<>();
+            for (InFlightFetch inFlightFetch : keyInFlightFetches) {
+                TemporalRange<LocalDateTime> inFlightTemporalRange = inFlightFetch.temporalRange;
+                if (inFlightTemporalRange.getFrom().isBefore(to) && from.isBefore(inFlightTemporalRange.getTo())) {
+                    inFlightFetches.add(inFlightFetch);
+                    inFlightTemporalRanges.add(inFlightTemporalRange);
+                }
+            }
+            inFlightTemporalRanges.sort(Comparator.comparing(TemporalRange::getFrom));
+
+            // The in-flight ranges of a key never overlap since only the ranges that are not in-flight are registered
+            for (TemporalRange<LocalDateTime> missingTemporalRange :
+                    TemporalRangeUtil.getMissingTemporalRanges(from, to, inFlightTemporalRanges, null, null)) {
+                if (missingTemporalRange.getFrom().isBefore(missingTemporalRange.getTo())) {
+                    InFlightFetch inFlightFetch = new InFlightFetch(missingTemporalRange);
+                    keyInFlightFetches.add(inFlightFetch);
+                    newInFlightFetches.add(inFlightFetch);
+                    inFlightFetches.add(inFlightFetch);
+                }
+            }
+
+            return keyInFlightFetches;
+        });
+
+        for (InFlightFetch newInFlightFetch : newInFlightFetches) {
+            try {
+                executor.execute(() -> runInFlightFetch(key, newInFlightFetch));
+            } catch (RejectedExecutionException exception) {
+                newInFlightFetch.dataFeedFuture.completeExceptionally(exception);
+                unregisterInFlightFetch(key, newInFlightFetch);
+            }
+        }
+
+        inFlightFetches.sort(Comparator.comparing(inFlightFetch -> inFlightFetch.temporalRange.getFrom()));
+        if (inFlightFetches.size() == 1 && inFlightFetches.get(0).temporalRange.equals(temporalRange)) {
+            return inFlightFetches.get(0).dataFeedFuture;
+        }
+
+        // Stitch the parts of the in-flight fetches that are within the given range together
+        return CompletableFuture.allOf(inFlightFetches.stream()
+                        .map(inFlightFetch -> inFlightFetch.dataFeedFuture)
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    List<P> dataPOJOs = new ArrayList<>();
+                    for (InFlightFetch inFlightFetch : inFlightFetches) {
+                        dataPOJOs.addAll(slice(inFlightFetch.dataFeedFuture.join(),
+                                inFlightFetch.temporalRange, from, to));
+                    }
+                    return dataPOJOs;
+                });
+    }
+
+    /**
+     * Runs the given {@link InFlightFetch} (while holding the {@link #dataFeedFetchLock} of the key if one is set) and
+     * unregisters it once its data has been written back to the database.
+     *
+     * @param key           the key
+     * @param inFlightFetch the {@link InFlightFetch}
+     */
+    private void runInFlightFetch(K key, InFlightFetch inFlightFetch) {
+        final DataFeedFetchLock<K> dataFeedFetchLock = this.dataFeedFetchLock;
+        try {
+            if (dataFeedFetchLock == null) {
+                fetchAndWriteBack(key, inFlightFetch);
+            } else {
+                dataFeedFetchLock.callLocked(key, () -> {
+                    fetchAndWriteBack(key, inFlightFetch);
+                    return null;
+                });
+            }
+        } catch (Exception exception) {
+            inFlightFetch.dataFeedFuture.completeExceptionally(exception);
+        } finally {
+            // Unregister only after the write-back so that later requests find the range in the database instead
+            unregisterInFlightFetch(key, inFlightFetch);
+        }
+    }
+
+    /**
+     * Removes the given {@link InFlightFetch} from the {@link #inFlightFetchesOfKeys}.
+     *
+     * @param key           the key
+     * @param inFlightFetch the {@link InFlightFetch}
+     */
+    private void unregisterInFlightFetch(K key, InFlightFetch inFlightFetch) {
+        inFlightFetchesOfKeys.computeIfPresent(key, (ignoredKey, keyInFlightFetches) -> {
+            keyInFlightFetches.remove(inFlightFetch);
+            return keyInFlightFetches.isEmpty() ? null : keyInFlightFetches;
+        });
+    }
+
+    /**
+     * Completes the {@link InFlightFetch#dataFeedFuture} with the data from the {@link #dataFeed} and then writes that
+     * data back to the database. If the range of the {@link InFlightFetch} has been filled in the database in the
+     * meantime (e.g. by a fetch that completed after the missing ranges were computed or by another process), the
+     * data is read from the database instead.
+     *
+     * @param key           the key
+     * @param inFlightFetch the {@link InFlightFetch}
+     *
+     * @throws Exception thrown for {@link Exception}s
+     */
+    private void fetchAndWriteBack(K key, InFlightFetch inFlightFetch) throws Exception {
+        final LocalDateTime from = inFlightFetch.temporalRange.getFrom();
+        final LocalDateTime to = inFlightFetch.temporalRange.getTo();
+
+        boolean filled = databaseInterface.getMissingTimestampRanges(key, from, to).stream()
+                .noneMatch(missingTemporalRange -> missingTemporalRange.getFrom().isBefore(
+                        missingTemporalRange.getTo()));
+        if (filled) {
+            inFlightFetch.dataFeedFuture.complete(Lists.newArrayList(
+                    databaseInterface.get(key, from, to, null, null, SortDirection.ASCENDING)));
+            return;
+        }
+
+        List<P> dataPOJOs = dataFeed.get(key, from, to);
+        dataPOJOs = dataPOJOs == null ? Collections.<P>emptyList() : dataPOJOs;
+
+        // Complete the future first so that the consumers do not wait for the write-back
+        inFlightFetch.dataFeedFuture.complete(dataPOJOs);
+
+        try {
+            databaseInterface.insert(dataPOJOs, key, from, to);
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not write data feed data back to the database for key {} and range {}!",
+                    key, inFlightFetch.temporalRange, exception);
+        }
+    }
+
+    /**
+     * Gets the data POJOs of the given sorted {@link List} that are within the given 'from' and 'to'.
+     *
+     * @param dataPOJOs     the data POJOs {@link List} sorted from oldest to newest
+     * @param temporalRange the {@link TemporalRange} of the data POJOs {@link List}
+     * @param from          the 'from' (inclusive)
+     * @param to            the 'to' (exclusive)
+     *
+     * @return a {@link List} view of the data POJOs
+     */
+    private List<P> slice(List<P> dataPOJOs, TemporalRange<LocalDateTime> temporalRange, LocalDateTime from,
+            LocalDateTime to) {
+        int fromIndex = temporalRange.getFrom().isBefore(from) ? indexOfTimestamp(dataPOJOs, from) : 0;
+        int toIndex = to.isBefore(temporalRange.getTo()) ? indexOfTimestamp(dataPOJOs, to) : dataPOJOs.size();
+        return dataPOJOs.subList(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    /**
+     * Binary searches for the index of the first data POJO with a timestamp that is not before the given timestamp.
+     *
+     * @param dataPOJOs the data POJOs {@link List} sorted from oldest to newest
+     * @param timestamp the timestamp
+     *
+     * @return the index (the size of the given {@link List} if all data POJOs are before the given timestamp)
+     */
+    private int indexOfTimestamp(List<P> dataPOJOs, LocalDateTime timestamp) {
+        int low = 0;
+        int high = dataPOJOs.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (databaseInterface.getDataTimestamp(dataPOJOs.get(middle)).isBefore(timestamp)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the {@link #dataFeedPrefetchCount}. That is, the maximum number of missing timestamp ranges that a
+     * {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} {@link Iterator} fetches
+     * from the data feed ahead of the consumer.
+     *
+     * @return the {@link #dataFeedPrefetchCount}
+     */
+    public int getDataFeedPrefetchCount() {
+        return dataFeedPrefetchCount;
+    }
+
+    /**
+     * Sets the {@link #dataFeedPrefetchCount}.
+     *
+     * @param dataFeedPrefetchCount the {@link #dataFeedPrefetchCount}
+     */
+    public void setDataFeedPrefetchCount(int dataFeedPrefetchCount) {
+        checkArgument(dataFeedPrefetchCount > 0, "The data feed prefetch count must be greater than zero!");
+
+        this.dataFeedPrefetchCount = dataFeedPrefetchCount;
+    }
+
+    /**
+     * Gets the {@link #dataFeedFetchLock}. That is, the {@link DataFeedFetchLock} that is held while fetching a missing
+     * timestamp range from the data feed so that processes sharing the database fetch it only once (null to only
+     * deduplicate fetches within this {@link TimeSeriesDataStore}).
+     *
+     * @return the {@link #dataFeedFetchLock}
+     */
+    public DataFeedFetchLock<K> getDataFeedFetchLock() {
+        return dataFeedFetchLock;
+    }
+
+    /**
+     * Sets the {@link #dataFeedFetchLock}.
+     *
+     * @param dataFeedFetchLock the {@link #dataFeedFetchLock}
+     */
+    public void setDataFeedFetchLock(DataFeedFetchLock<K> dataFeedFetchLock) {
+        this.dataFeedFetchLock = dataFeedFetchLock;
+    }
+
+    /**
+     * {@link InFlightFetch} is a {@link TemporalRange} of a key that is being fetched from the {@link #dataFeed}.
+     */
+    private class InFlightFetch {
+
+        private final TemporalRange<LocalDateTime> temporalRange;
+        private final CompletableFuture<List<P>> dataFeedFuture;
+
+        /**
+         * Instantiates a new {@link InFlightFetch}.
+         *
+         * @param temporalRange the {@link TemporalRange}
+         */
+        public InFlightFetch(TemporalRange<LocalDateTime> temporalRange) {
+            this.temporalRange = temporalRange;
+            this.dataFeedFuture = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * {@link DataStoreSpan} is a {@link TemporalRange} that is retrieved from one {@link DataSource}.
+     */
+    private class DataStoreSpan {
+
+        private final TemporalRange<LocalDateTime> temporalRange;
+        private final DataSource dataSource;
+        private CompletableFuture<List<P>> dataFeedFuture;
+
+        /**
+         * Instantiates a new {@link DataStoreSpan}.
+         *
+         * @param temporalRange the {@link TemporalRange}
+         * @param dataSource    the {@link DataSource}
+         */
+        public DataStoreSpan(TemporalRange<LocalDateTime> temporalRange, DataSource dataSource) {
+            this.temporalRange = temporalRange;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * {@link DataStoreIterator} is a lazy {@link Iterator} that iterates through {@link DataStoreSpan}s in order while
+     * prefetching {@link DataSource#DATAFEED} {@link DataStoreSpan}s in the background.
+     */
+    private class DataStoreIterator implements Iterator<DataSourceEntry<P>>, AutoCloseable {
+
+        private final K key;
+        private final List<DataStoreSpan> dataStoreSpans;
+        private final LocalTime beginFilterTime;
+        private final LocalTime endFilterTime;
+        private final SortDirection sortDirection;
+
+        private int spanIndex;
+        private int prefetchIndex;
+        private int prefetchedCount;
+        private Iterator<P> currentIterator;
+        private DataSource currentDataSource;
+
+        /**
+         * Instantiates a new {@link DataStoreIterator}.
+         *
+         * @param key             the key
+         * @param dataStoreSpans  the {@link DataStoreSpan}s (sorted by the given {@link SortDirection})
+         * @param beginFilterTime the begin filter time
+         * @param endFilterTime   the end filter time
+         * @param sortDirection   the {@link SortDirection}
+         */
+        public DataStoreIterator(K key, List<DataStoreSpan> dataStoreSpans, LocalTime beginFilterTime,
+                LocalTime endFilterTime, SortDirection sortDirection) {
+            this.key = key;
+            this.dataStoreSpans = dataStoreSpans;
+            this.beginFilterTime = beginFilterTime;
+            this.endFilterTime = endFilterTime;
+            this.sortDirection = sortDirection;
+            this.currentIterator = Collections.emptyIterator();
+
+            // Start fetching from the data feed right away so that it overlaps with the database iteration
+            prefetch();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentIterator.hasNext()) {
+                if (spanIndex >= dataStoreSpans.size()) {
+                    return false;
+                }
+
+                openSpan(dataStoreSpans.get(spanIndex++));
+            }
+
+            return true;
+        }
+
+        @Override
+        public DataSourceEntry<P> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return new DataSourceEntry<>(currentIterator.next(), currentDataSource);
+        }
+
+        /**
+         * Closes the {@link #currentIterator} (that is, the database cursor of the current {@link DataStoreSpan}) and
+         * skips the remaining {@link DataStoreSpan}s. Data feed fetches that are already running still write their
+         * data back to the database.
+         */
+        @Override
+        public void close() {
+            spanIndex = dataStoreSpans.size();
+            Iterator<P> closedIterator = currentIterator;
+            currentIterator = Collections.emptyIterator();
+            if (closedIterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) closedIterator).close();
+                } catch (Exception ignored) {}
+            }
+        }
+
+        /**
+         * Starts fetching {@link DataSource#DATAFEED} {@link DataStoreSpan}s until {@link #dataFeedPrefetchCount}
+         * {@link DataStoreSpan}s are being fetched ahead of the consumer.
+         */
+        private void prefetch() {
+            while (prefetchIndex < dataStoreSpans.size() && prefetchedCount < dataFeedPrefetchCount) {
+                DataStoreSpan dataStoreSpan = dataStoreSpans.get(prefetchIndex++);
+
+                if (dataStoreSpan.dataSource == DataSource.DATAFEED) {
+                    dataStoreSpan.dataFeedFuture = fetchFromDataFeed(key, dataStoreSpan.temporalRange);
+                    prefetchedCount++;
+                }
+            }
+        }
+
+        /**
+         * Sets the {@link #currentIterator} to iterate over the given {@link DataStoreSpan}.
+         *
+         * @param dataStoreSpan the {@link DataStoreSpan}
+         */
+        private void openSpan(DataStoreSpan dataStoreSpan) {
+            currentDataSource = dataStoreSpan.dataSource;
+
+            switch (dataStoreSpan.dataSource) {
+                case DATABASE:
+                    prefetch();
+                    currentIterator = databaseInterface.get(key, dataStoreSpan.temporalRange.getFrom(),
+                            dataStoreSpan.temporalRange.getTo(), beginFilterTime, endFilterTime, sortDirection);
+                    break;
+                case DATAFEED:
+                    prefetch(); // Ensures that this span has been submitted
+                    List<P> dataPOJOs = awaitDataFeedFuture(dataStoreSpan);
+                    prefetchedCount--;
+                    prefetch();
+
+                    currentIterator = sortDirection == SortDirection.ASCENDING ?
+                            dataPOJOs.iterator() :
+                            Lists.reverse(dataPOJOs).iterator();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown data source: " + dataStoreSpan.dataSource);
+            }
+        }
+
+        /**
+         * Waits for the {@link DataStoreSpan#dataFeedFuture} to complete.
+         *
+         * @param dataStoreSpan the {@link DataStoreSpan}
+         *
+         * @return the data POJOs {@link List}
+         */
+        private List<P> awaitDataFeedFuture(DataStoreSpan dataStoreSpan) {
+            try {
+                return dataStoreSpan.dataFeedFuture.get();
+            } catch (ExecutionException exception) {
+                throw new TimeSeriesDataStoreException("Could not fetch data from the data feed for key " + key +
+                        " and range " + dataStoreSpan.temporalRange + "!", exception.getCause());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new TimeSeriesDataStoreException("Interrupted while waiting for the data feed!", exception);
+            }
+        }
+    }
+}
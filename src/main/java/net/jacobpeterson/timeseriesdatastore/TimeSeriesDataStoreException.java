@@ -0,0 +1,20 @@
+package net.jacobpeterson.timeseriesdatastore;
+
+/**
+ * {@link TimeSeriesDataStoreException} is thrown when a {@link TimeSeriesDataStore} fails to retrieve data (e.g. when
+ * the data feed fails).
+ */
+public class TimeSeriesDataStoreException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Instantiates a new {@link TimeSeriesDataStoreException}.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public TimeSeriesDataStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,126 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.database.metrics.TimeSeriesDatabaseMetrics;
+import org.jooq.Record;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link AdaptiveFetchSizer} chooses the fetch size of a lazy data query from the observed fetch time and consumer
+ * time of every page of rows.
+ *
+ * @param <K> the type parameter of the key
+ * @param <R> the type parameter of the time series data {@link Record}
+ *
+ * @see TimeSeriesDatabaseInterface#isAdaptiveDataFetchSizeEnabled()
+ */
+final class AdaptiveFetchSizer<K, R extends Record> {
+
+    /**
+     * An adaptive fetch size is doubled if the fetch time of a page is more than a quarter of its consumer time.
+     */
+    private static final int GROW_RATIO = 4;
+
+    /**
+     * An adaptive fetch size is halved if the fetch time of a page is less than a 64th of its consumer time.
+     */
+    private static final int SHRINK_RATIO = 64;
+
+    private final TimeSeriesDatabaseInterface<K, R, ?, ?> databaseInterface;
+    private final TimeSeriesDatabaseMetrics<K> metrics;
+    private final K key;
+    private final int minimumFetchSize;
+    private final int maximumFetchSize;
+    private final long maximumFetchBytes;
+    private int fetchSize;
+    private int pageRowCount;
+    private long pageStartNanos;
+    private long pageFetchNanos;
+    private long sampledByteCount;
+    private long sampledRowCount;
+
+    /**
+     * Instantiates a new {@link AdaptiveFetchSizer} that starts with the
+     * {@link TimeSeriesDatabaseInterface#getMinimumDataFetchSize()}.
+     *
+     * @param databaseInterface the {@link TimeSeriesDatabaseInterface}
+     * @param key               the key that the fetch sizes are reported for (<code>null</code> for multiple keys)
+     */
+    AdaptiveFetchSizer(TimeSeriesDatabaseInterface<K, R, ?, ?> databaseInterface, K key) {
+        this.databaseInterface = databaseInterface;
+        this.metrics = databaseInterface.getMetrics();
+        this.key = key;
+        this.minimumFetchSize = databaseInterface.getMinimumDataFetchSize();
+        this.maximumFetchSize = databaseInterface.getMaximumDataFetchSize();
+        this.maximumFetchBytes = databaseInterface.getMaximumDataFetchBytes();
+        checkArgument(minimumFetchSize > 0, "The minimum data fetch size must be greater than zero!");
+        checkArgument(maximumFetchSize >= minimumFetchSize,
+                "The maximum data fetch size must be at least the minimum data fetch size!");
+        checkArgument(maximumFetchBytes > 0, "The maximum data fetch bytes must be greater than zero!");
+
+        this.fetchSize = minimumFetchSize;
+        this.pageStartNanos = System.nanoTime();
+        metrics.recordDataFetchSize(key, fetchSize);
+    }
+
+    /**
+     * Gets the {@link #fetchSize}.
+     *
+     * @return the current fetch size
+     */
+    int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Adds time spent fetching rows from the database to the current page.
+     *
+     * @param fetchNanos the fetch nanoseconds
+     */
+    void addFetchNanos(long fetchNanos) {
+        pageFetchNanos += fetchNanos;
+    }
+
+    /**
+     * Called for every row that is returned to the consumer. Once a page of {@link #getFetchSize()} rows has been
+     * returned, the fetch size of the next page is chosen.
+     *
+     * @param dataRecord the time series data {@link Record}
+     *
+     * @return <code>true</code> if the fetch size changed
+     */
+    boolean onRow(R dataRecord) {
+        // Only the first row of every page is sampled for the row size
+        if (pageRowCount++ == 0) {
+            sampledByteCount += databaseInterface.estimateDataRecordByteCount(dataRecord);
+            sampledRowCount++;
+        }
+        if (pageRowCount < fetchSize) {
+            return false;
+        }
+
+        long nowNanos = System.nanoTime();
+        long consumerNanos = Math.max(0, nowNanos - pageStartNanos - pageFetchNanos);
+        int nextFetchSize = fetchSize;
+        if (pageFetchNanos * GROW_RATIO > consumerNanos) {
+            nextFetchSize = (int) Math.min(Integer.MAX_VALUE, 2L * fetchSize);
+        } else if (pageFetchNanos * SHRINK_RATIO < consumerNanos) {
+            nextFetchSize = fetchSize / 2;
+        }
+
+        long averageRowBytes = Math.max(1, sampledByteCount / sampledRowCount);
+        int memoryBoundedFetchSize = (int) Math.min(maximumFetchSize, maximumFetchBytes / averageRowBytes);
+        nextFetchSize = Math.max(minimumFetchSize, Math.min(nextFetchSize, memoryBoundedFetchSize));
+
+        pageRowCount = 0;
+        pageFetchNanos = 0;
+        pageStartNanos = nowNanos;
+        if (nextFetchSize == fetchSize) {
+            return false;
+        }
+
+        fetchSize = nextFetchSize;
+        metrics.recordDataFetchSize(key, fetchSize);
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+/**
+ * {@link BulkLoadErrorPolicy} defines enums that specify how a bulk load of a {@link TimeSeriesDatabaseInterface}
+ * handles rows that fail to be stored.
+ */
+public enum BulkLoadErrorPolicy {
+
+    /**
+     * Rolls back the chunk that contains the failed row and aborts the bulk load with the error. The chunks that have
+     * already been committed (and their timestamp ranges) remain.
+     */
+    ABORT,
+
+    /**
+     * Skips the failed rows and continues the bulk load. The timestamp range of a chunk with failed rows is not
+     * inserted since that range is not completely filled. Since databases like PostgreSQL abort a transaction on its
+     * first failed statement (so that every later statement of the chunk would fail too), the rows of a chunk are not
+     * loaded in a transaction but in auto-commit mode, one multi-row statement at a time (without JDBC batches). The
+     * rows of a failed statement are retried one row at a time, so only the rows that fail on their own (e.g.
+     * duplicates) are skipped. The timestamp range of a chunk without failed rows is inserted in its own transaction
+     * after the rows of the chunk were committed. The database interface's <code>DSLContext</code> must therefore be in
+     * auto-commit mode (the JDBC default).
+     */
+    IGNORE
+}
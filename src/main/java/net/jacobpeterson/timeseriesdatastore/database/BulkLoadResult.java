@@ -0,0 +1,98 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+/**
+ * {@link BulkLoadResult} contains the row counts and the elapsed time of a bulk load of a
+ * {@link TimeSeriesDatabaseInterface} (or of one chunk of it).
+ */
+public class BulkLoadResult {
+
+    private final long processedRowCount;
+    private final long storedRowCount;
+    private final long ignoredRowCount;
+    private final long errorRowCount;
+    private final long elapsedNanos;
+
+    /**
+     * Instantiates a new {@link BulkLoadResult}.
+     *
+     * @param processedRowCount the number of rows that were processed
+     * @param storedRowCount    the number of rows that were stored
+     * @param ignoredRowCount   the number of rows that were ignored (e.g. duplicates)
+     * @param errorRowCount     the number of rows that failed to be stored
+     * @param elapsedNanos      the elapsed nanoseconds
+     */
+    public BulkLoadResult(long processedRowCount, long storedRowCount, long ignoredRowCount, long errorRowCount,
+            long elapsedNanos) {
+        this.processedRowCount = processedRowCount;
+        this.storedRowCount = storedRowCount;
+        this.ignoredRowCount = ignoredRowCount;
+        this.errorRowCount = errorRowCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of stored rows per second.
+     *
+     * @return the stored rows per second (<code>0</code> if no time elapsed)
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : storedRowCount * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * Gets the {@link #processedRowCount}.
+     *
+     * @return the {@link #processedRowCount}
+     */
+    public long getProcessedRowCount() {
+        return processedRowCount;
+    }
+
+    /**
+     * Gets the {@link #storedRowCount}.
+     *
+     * @return the {@link #storedRowCount}
+     */
+    public long getStoredRowCount() {
+        return storedRowCount;
+    }
+
+    /**
+     * Gets the {@link #ignoredRowCount}.
+     *
+     * @return the {@link #ignoredRowCount}
+     */
+    public long getIgnoredRowCount() {
+        return ignoredRowCount;
+    }
+
+    /**
+     * Gets the {@link #errorRowCount}.
+     *
+     * @return the {@link #errorRowCount}
+     */
+    public long getErrorRowCount() {
+        return errorRowCount;
+    }
+
+    /**
+     * Gets the {@link #elapsedNanos}.
+     *
+     * @return the {@link #elapsedNanos}
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadResult{" +
+                "processedRowCount=" + processedRowCount +
+                ", storedRowCount=" + storedRowCount +
+                ", ignoredRowCount=" + ignoredRowCount +
+                ", errorRowCount=" + errorRowCount +
+                ", elapsedNanos=" + elapsedNanos +
+                ", rowsPerSecond=" + getRowsPerSecond() +
+                '}';
+    }
+}
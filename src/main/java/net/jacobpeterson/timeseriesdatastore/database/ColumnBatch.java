@@ -0,0 +1,184 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ColumnBatch} is a reusable batch of rows of a {@link TimeSeriesDatabaseInterface} in columnar form. That is,
+ * a <code>long[]</code> of epoch nanosecond timestamps (see {@link EpochNanoRanges#toLocalDateTime(long)}) and
+ * primitive <code>double[]</code> and <code>long[]</code> columns of selected numeric fields. Only the first
+ * {@link #getSize()} elements of the arrays are valid. The arrays are exposed directly (and are overwritten when the
+ * {@link ColumnBatch} is reused) so that consumers can process them without copying. Since a <code>long</code> has
+ * no spare value for <code>NULL</code>, every <code>long</code> column has a null bitmap (see
+ * {@link #getLongNullBitmap(int)}).
+ *
+ * @see ColumnBatchIterator
+ */
+public class ColumnBatch {
+
+    private final long[] timestamps;
+    private final double[][] doubleColumns;
+    private final long[][] longColumns;
+    private final long[][] longNullBitmaps;
+    private final int[] longNullCounts;
+    private int size;
+
+    /**
+     * Instantiates a new {@link ColumnBatch}.
+     *
+     * @param capacity          the maximum number of rows
+     * @param doubleColumnCount the number of <code>double</code> columns
+     * @param longColumnCount   the number of <code>long</code> columns
+     */
+    public ColumnBatch(int capacity, int doubleColumnCount, int longColumnCount) {
+        checkArgument(capacity > 0, "The capacity must be greater than zero!");
+        checkArgument(doubleColumnCount >= 0, "The double column count cannot be negative!");
+        checkArgument(longColumnCount >= 0, "The long column count cannot be negative!");
+
+        this.timestamps = new long[capacity];
+        this.doubleColumns = new double[doubleColumnCount][capacity];
+        this.longColumns = new long[longColumnCount][capacity];
+        this.longNullBitmaps = new long[longColumnCount][(capacity + Long.SIZE - 1) / Long.SIZE];
+        this.longNullCounts = new int[longColumnCount];
+    }
+
+    /**
+     * Gets the maximum number of rows of this {@link ColumnBatch}.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * Gets the {@link #size}. That is, the number of valid rows in the arrays.
+     *
+     * @return the {@link #size}
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the {@link #size}.
+     *
+     * @param size the {@link #size}
+     */
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Gets the {@link #timestamps} in epoch nanoseconds.
+     *
+     * @return the {@link #timestamps}
+     */
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    /**
+     * Gets a <code>double</code> column. <code>NULL</code> values are {@link Double#NaN}.
+     *
+     * @param index the index of the column (in the order of the selected <code>double</code> fields)
+     *
+     * @return the <code>double[]</code>
+     */
+    public double[] getDoubleColumn(int index) {
+        return doubleColumns[index];
+    }
+
+    /**
+     * Gets the number of <code>double</code> columns.
+     *
+     * @return the number of <code>double</code> columns
+     */
+    public int getDoubleColumnCount() {
+        return doubleColumns.length;
+    }
+
+    /**
+     * Gets a <code>long</code> column. <code>NULL</code> values are <code>0</code>, so use
+     * {@link #isLongNull(int, int)} (or skip the check if {@link #getLongNullCount(int)} is <code>0</code>) to tell
+     * them apart from actual zeros.
+     *
+     * @param index the index of the column (in the order of the selected <code>long</code> fields)
+     *
+     * @return the <code>long[]</code>
+     */
+    public long[] getLongColumn(int index) {
+        return longColumns[index];
+    }
+
+    /**
+     * Gets the null bitmap of a <code>long</code> column. That is, bit <code>row % 64</code> of the element
+     * <code>row / 64</code> is set if the value of the row is <code>NULL</code>.
+     *
+     * @param index the index of the column (in the order of the selected <code>long</code> fields)
+     *
+     * @return the null bitmap <code>long[]</code>
+     */
+    public long[] getLongNullBitmap(int index) {
+        return longNullBitmaps[index];
+    }
+
+    /**
+     * Checks whether a value of a <code>long</code> column is <code>NULL</code>.
+     *
+     * @param index the index of the column (in the order of the selected <code>long</code> fields)
+     * @param row   the row
+     *
+     * @return a boolean
+     */
+    public boolean isLongNull(int index, int row) {
+        return (longNullBitmaps[index][row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Gets the number of <code>NULL</code> values of a <code>long</code> column within the first {@link #getSize()}
+     * rows.
+     *
+     * @param index the index of the column (in the order of the selected <code>long</code> fields)
+     *
+     * @return the <code>NULL</code> count
+     */
+    public int getLongNullCount(int index) {
+        return longNullCounts[index];
+    }
+
+    /**
+     * Marks a value of a <code>long</code> column as <code>NULL</code>.
+     *
+     * @param index the index of the column
+     * @param row   the row
+     */
+    void setLongNull(int index, int row) {
+        longNullBitmaps[index][row >>> 6] |= 1L << row;
+        longNullCounts[index]++;
+    }
+
+    /**
+     * Clears the null bitmaps of all <code>long</code> columns (before this {@link ColumnBatch} is refilled).
+     */
+    void clearLongNulls() {
+        for (int index = 0; index < longNullBitmaps.length; index++) {
+            if (longNullCounts[index] != 0) {
+                Arrays.fill(longNullBitmaps[index], 0);
+                longNullCounts[index] = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of <code>long</code> columns.
+     *
+     * @return the number of <code>long</code> columns
+     */
+    public int getLongColumnCount() {
+        return longColumns.length;
+    }
+}
@@ -0,0 +1,30 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import java.util.Iterator;
+
+/**
+ * {@link ColumnBatchIterator} is a lazy {@link Iterator} of {@link ColumnBatch}es. A {@link ColumnBatch} that has
+ * been processed can be handed back with {@link #release(ColumnBatch)} so that {@link #next()} fills it again instead
+ * of allocating a new one (e.g. releasing every batch before calling {@link #next()} again only ever uses one
+ * {@link ColumnBatch}).
+ *
+ * @see TimeSeriesDatabaseInterface#getColumnBatches(Object, java.time.LocalDateTime, java.time.LocalDateTime,
+ * java.time.LocalTime, java.time.LocalTime, net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection, int,
+ * java.util.List, java.util.List)
+ */
+public interface ColumnBatchIterator extends Iterator<ColumnBatch>, AutoCloseable {
+
+    /**
+     * Hands back a {@link ColumnBatch} returned by {@link #next()} for reuse. The {@link ColumnBatch} must not be
+     * accessed anymore after it has been released.
+     *
+     * @param columnBatch the {@link ColumnBatch}
+     */
+    void release(ColumnBatch columnBatch);
+
+    /**
+     * Closes the database query cursor (which is also closed automatically once all rows have been read).
+     */
+    @Override
+    void close();
+}
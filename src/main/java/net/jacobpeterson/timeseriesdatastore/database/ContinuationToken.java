@@ -0,0 +1,153 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * {@link ContinuationToken} is an immutable, {@link Serializable} position of a keyset paginated query of a
+ * {@link TimeSeriesDatabaseInterface}. It contains the query parameters (except for the key) and the last delivered
+ * timestamp along with the number of rows that were delivered with that timestamp, so that the query can be resumed
+ * after the last delivered row by another process or after a restart.
+ *
+ * @see TimeSeriesDatabaseInterface#getPaged(Object, ContinuationToken)
+ */
+public final class ContinuationToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final LocalTime beginFilterTime;
+    private final LocalTime endFilterTime;
+    private final SortDirection sortDirection;
+    private final LocalDateTime lastTimestamp;
+    private final int lastTimestampRowCount;
+
+    /**
+     * Instantiates a new {@link ContinuationToken}.
+     *
+     * @param from                  the 'from' (inclusive)
+     * @param to                    the 'to' (exclusive)
+     * @param beginFilterTime       the begin filter time (inclusive) (nullable)
+     * @param endFilterTime         the end filter time (exclusive) (nullable)
+     * @param sortDirection         the {@link SortDirection}
+     * @param lastTimestamp         the last delivered timestamp (<code>null</code> if nothing was delivered yet)
+     * @param lastTimestampRowCount the number of rows that were delivered with the <code>lastTimestamp</code>
+     */
+    public ContinuationToken(LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, LocalDateTime lastTimestamp,
+            int lastTimestampRowCount) {
+        this.from = from;
+        this.to = to;
+        this.beginFilterTime = beginFilterTime;
+        this.endFilterTime = endFilterTime;
+        this.sortDirection = sortDirection;
+        this.lastTimestamp = lastTimestamp;
+        this.lastTimestampRowCount = lastTimestampRowCount;
+    }
+
+    /**
+     * Gets the {@link #from}.
+     *
+     * @return the {@link #from}
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the {@link #to}.
+     *
+     * @return the {@link #to}
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the {@link #beginFilterTime}.
+     *
+     * @return the {@link #beginFilterTime}
+     */
+    public LocalTime getBeginFilterTime() {
+        return beginFilterTime;
+    }
+
+    /**
+     * Gets the {@link #endFilterTime}.
+     *
+     * @return the {@link #endFilterTime}
+     */
+    public LocalTime getEndFilterTime() {
+        return endFilterTime;
+    }
+
+    /**
+     * Gets the {@link #sortDirection}.
+     *
+     * @return the {@link #sortDirection}
+     */
+    public SortDirection getSortDirection() {
+        return sortDirection;
+    }
+
+    /**
+     * Gets the {@link #lastTimestamp}.
+     *
+     * @return the {@link #lastTimestamp}
+     */
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Gets the {@link #lastTimestampRowCount}.
+     *
+     * @return the {@link #lastTimestampRowCount}
+     */
+    public int getLastTimestampRowCount() {
+        return lastTimestampRowCount;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        ContinuationToken otherContinuationToken = (ContinuationToken) other;
+        return lastTimestampRowCount == otherContinuationToken.lastTimestampRowCount &&
+                Objects.equals(from, otherContinuationToken.from) &&
+                Objects.equals(to, otherContinuationToken.to) &&
+                Objects.equals(beginFilterTime, otherContinuationToken.beginFilterTime) &&
+                Objects.equals(endFilterTime, otherContinuationToken.endFilterTime) &&
+                sortDirection == otherContinuationToken.sortDirection &&
+                Objects.equals(lastTimestamp, otherContinuationToken.lastTimestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, beginFilterTime, endFilterTime, sortDirection, lastTimestamp,
+                lastTimestampRowCount);
+    }
+
+    @Override
+    public String toString() {
+        return "ContinuationToken{" +
+                "from=" + from +
+                ", to=" + to +
+                ", beginFilterTime=" + beginFilterTime +
+                ", endFilterTime=" + endFilterTime +
+                ", sortDirection=" + sortDirection +
+                ", lastTimestamp=" + lastTimestamp +
+                ", lastTimestampRowCount=" + lastTimestampRowCount +
+                '}';
+    }
+}
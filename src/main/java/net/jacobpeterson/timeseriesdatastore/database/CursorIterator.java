@@ -0,0 +1,93 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import org.jooq.Cursor;
+import org.jooq.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * {@link CursorIterator} is a lazy {@link Record} {@link Iterator} that executes consecutive queries (one per
+ * {@link DataTableQuery}) and stitches their {@link Cursor}s together. The next query is executed once the
+ * {@link Cursor} of the previous query is exhausted.
+ *
+ * @param <X> the {@link Record} type parameter
+ */
+class CursorIterator<X extends Record> implements Iterator<X>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CursorIterator.class);
+
+    private final Iterator<DataTableQuery> dataTableQueryIterator;
+    private final Function<DataTableQuery, Cursor<X>> cursorFetcher;
+    private Cursor<X> recordCursor;
+
+    /**
+     * Instantiates a new {@link CursorIterator} and executes the first query.
+     *
+     * @param dataTableQueryIterator the {@link DataTableQuery} {@link Iterator} (in the order of the queries)
+     * @param cursorFetcher          the {@link Function} that executes a {@link DataTableQuery}
+     */
+    CursorIterator(Iterator<DataTableQuery> dataTableQueryIterator, Function<DataTableQuery, Cursor<X>> cursorFetcher) {
+        this.dataTableQueryIterator = dataTableQueryIterator;
+        this.cursorFetcher = cursorFetcher;
+        this.recordCursor = fetchNextCursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Note that a Cursor closes itself once it's exhausted
+        while (recordCursor != null && !recordCursor.hasNext()) {
+            recordCursor = fetchNextCursor();
+        }
+        return recordCursor != null;
+    }
+
+    @Override
+    public X next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return recordCursor.fetchNext();
+    }
+
+    @Override
+    public void close() {
+        if (recordCursor != null) {
+            recordCursor.close();
+            recordCursor = null;
+        }
+    }
+
+    /**
+     * Sets the JDBC fetch size of the current {@link Cursor}, which applies to its next round trip to the database.
+     *
+     * @param fetchSize the fetch size
+     */
+    void setFetchSize(int fetchSize) {
+        if (recordCursor == null) {
+            return;
+        }
+
+        try {
+            recordCursor.resultSet().setFetchSize(fetchSize);
+        } catch (SQLException exception) {
+            LOGGER.debug("Could not set the fetch size of a cursor!", exception);
+        }
+    }
+
+    /**
+     * Executes the next {@link DataTableQuery}.
+     *
+     * @return the {@link Cursor} (<code>null</code> if there are no more queries)
+     */
+    private Cursor<X> fetchNextCursor() {
+        if (!dataTableQueryIterator.hasNext()) {
+            return null;
+        }
+        return cursorFetcher.apply(dataTableQueryIterator.next());
+    }
+}
@@ -0,0 +1,63 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.Record;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+/**
+ * {@link DataRecordIterator} is a {@link CursorIterator} of the time series data {@link Record}s of the data table of
+ * a {@link TimeSeriesDatabaseInterface}, optionally with an {@link AdaptiveFetchSizer}.
+ *
+ * @param <R> the type parameter of the time series data {@link Record}
+ */
+final class DataRecordIterator<R extends Record> extends CursorIterator<R> {
+
+    private final AdaptiveFetchSizer<?, R> fetchSizer;
+
+    /**
+     * Instantiates a new {@link DataRecordIterator} and executes the first query.
+     *
+     * @param databaseInterface      the {@link TimeSeriesDatabaseInterface}
+     * @param keyCondition           the key {@link Condition}
+     * @param dataTableQueryIterator the {@link DataTableQuery} {@link Iterator} (in the order of the
+     *                               <code>orderByField</code>)
+     * @param orderByField           the timestamp {@link OrderField}
+     * @param fetchSizer             the {@link AdaptiveFetchSizer} (<code>null</code> to fetch
+     *                               {@link TimeSeriesDatabaseInterface#getDataFetchSize()} rows at a time)
+     */
+    DataRecordIterator(TimeSeriesDatabaseInterface<?, R, ?, ?> databaseInterface, Condition keyCondition,
+            Iterator<DataTableQuery> dataTableQueryIterator, OrderField<LocalDateTime> orderByField,
+            AdaptiveFetchSizer<?, R> fetchSizer) {
+        super(dataTableQueryIterator, dataTableQuery -> dataTableQuery.getCreate()
+                .selectFrom(databaseInterface.getDataTable())
+                .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                .orderBy(orderByField)
+                .fetchSize(fetchSizer == null ? databaseInterface.getDataFetchSize() : fetchSizer.getFetchSize())
+                .fetchLazy());
+        this.fetchSizer = fetchSizer;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (fetchSizer == null) {
+            return super.hasNext();
+        }
+
+        long startNanos = System.nanoTime();
+        boolean hasNext = super.hasNext();
+        fetchSizer.addFetchNanos(System.nanoTime() - startNanos);
+        return hasNext;
+    }
+
+    @Override
+    public R next() {
+        R dataRecord = super.next();
+        if (fetchSizer != null && fetchSizer.onRow(dataRecord)) {
+            setFetchSize(fetchSizer.getFetchSize());
+        }
+        return dataRecord;
+    }
+}
@@ -0,0 +1,47 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+
+/**
+ * {@link DataTableQuery} is one of the consecutive queries of a data query. That is, a timestamp {@link Condition}
+ * and the {@link DSLContext} that renders the data table of a {@link TimeSeriesDatabaseInterface} as the (partition)
+ * table to query.
+ *
+ * @see DataTableRouter#createDataTableQueries(DSLContext, java.time.LocalDateTime, java.time.LocalDateTime,
+ * java.time.LocalTime, java.time.LocalTime, net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection, long)
+ */
+final class DataTableQuery {
+
+    private final DSLContext create;
+    private final Condition timestampCondition;
+
+    /**
+     * Instantiates a new {@link DataTableQuery}.
+     *
+     * @param create             the {@link DSLContext} to execute the query with
+     * @param timestampCondition the timestamp {@link Condition}
+     */
+    DataTableQuery(DSLContext create, Condition timestampCondition) {
+        this.create = create;
+        this.timestampCondition = timestampCondition;
+    }
+
+    /**
+     * Gets the {@link #create}.
+     *
+     * @return the {@link DSLContext} to execute the query with
+     */
+    DSLContext getCreate() {
+        return create;
+    }
+
+    /**
+     * Gets the {@link #timestampCondition}.
+     *
+     * @return the timestamp {@link Condition}
+     */
+    Condition getTimestampCondition() {
+        return timestampCondition;
+    }
+}
@@ -0,0 +1,133 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.database.partition.TablePartitioner;
+import net.jacobpeterson.timeseriesdatastore.database.replica.ReadReplicaRouter;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link DataTableRouter} routes the queries of a {@link TimeSeriesDatabaseInterface} to the {@link DSLContext}s
+ * they are executed with. That is, reads to the read replicas of its {@link ReadReplicaRouter} and the rows of its
+ * data table to the partition tables of its {@link TablePartitioner}. The {@link ReadReplicaRouter} and the
+ * {@link TablePartitioner} are read from the {@link TimeSeriesDatabaseInterface} on every call, since they can be
+ * set at any time.
+ *
+ * @param <K> the type parameter of the key
+ * @param <R> the type parameter of the time series data {@link Record}
+ */
+final class DataTableRouter<K, R extends Record> {
+
+    private final TimeSeriesDatabaseInterface<K, R, ?, ?> databaseInterface;
+
+    /**
+     * Instantiates a new {@link DataTableRouter}.
+     *
+     * @param databaseInterface the {@link TimeSeriesDatabaseInterface}
+     */
+    DataTableRouter(TimeSeriesDatabaseInterface<K, R, ?, ?> databaseInterface) {
+        this.databaseInterface = databaseInterface;
+    }
+
+    /**
+     * Gets the {@link DSLContext} to read the data of the given key with. That is, a read replica of the
+     * {@link TimeSeriesDatabaseInterface#getReadReplicaRouter()} if one is set (unless the key was just written), and
+     * the {@link DSLContext} of the {@link TimeSeriesDatabaseInterface} otherwise.
+     *
+     * @param key the key
+     *
+     * @return the {@link DSLContext}
+     */
+    DSLContext getReadContext(K key) {
+        final ReadReplicaRouter<K> readReplicaRouter = databaseInterface.getReadReplicaRouter();
+        return readReplicaRouter == null ? databaseInterface.create :
+                readReplicaRouter.getReadContext(databaseInterface.create, key);
+    }
+
+    /**
+     * Gets the {@link DSLContext} to read the data of the given keys with.
+     *
+     * @param keys the keys
+     *
+     * @return the {@link DSLContext}
+     *
+     * @see #getReadContext(Object)
+     */
+    DSLContext getReadContext(Collection<K> keys) {
+        final ReadReplicaRouter<K> readReplicaRouter = databaseInterface.getReadReplicaRouter();
+        return readReplicaRouter == null ? databaseInterface.create :
+                readReplicaRouter.getReadContext(databaseInterface.create, keys);
+    }
+
+    /**
+     * Gets the {@link DSLContext} that renders the data table as the table that stores the rows with the given
+     * timestamp. That is, the partition table of the timestamp if a
+     * {@link TimeSeriesDatabaseInterface#getTablePartitioner()} is set, and the data table itself otherwise.
+     *
+     * @param create    the {@link DSLContext} to derive from
+     * @param timestamp the timestamp
+     *
+     * @return the {@link DSLContext}
+     */
+    DSLContext getDataTableContext(DSLContext create, LocalDateTime timestamp) {
+        final TablePartitioner tablePartitioner = databaseInterface.getTablePartitioner();
+        return tablePartitioner == null ? create : tablePartitioner.getPartitionContext(create,
+                databaseInterface.getDataTable(), tablePartitioner.getPartitionStart(timestamp));
+    }
+
+    /**
+     * Creates the consecutive {@link DataTableQuery}s of a data query. If a
+     * {@link TimeSeriesDatabaseInterface#getTablePartitioner()} is set, only the partition tables that overlap the
+     * [from, to) range are queried (one after another in the order of the <code>sortDirection</code>), otherwise the
+     * data table is queried with the given {@link DSLContext}.
+     *
+     * @param create          the {@link DSLContext} to query with (e.g. from {@link #getReadContext(Object)})
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection} of the timestamps
+     * @param bucketNanos     the nanoseconds of the epoch-aligned time buckets that must not be split over multiple
+     *                        queries (<code>0</code> for none)
+     *
+     * @return a {@link List} of {@link DataTableQuery}s (in the order of the <code>sortDirection</code>)
+     *
+     * @see TimeSeriesDatabaseInterface#createTimestampConditions(LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection, long)
+     */
+    List<DataTableQuery> createDataTableQueries(DSLContext create, LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection, long bucketNanos) {
+        final TablePartitioner tablePartitioner = databaseInterface.getTablePartitioner();
+        List<DataTableQuery> dataTableQueries = new ArrayList<>();
+        if (tablePartitioner == null) {
+            for (Condition timestampCondition : databaseInterface.createTimestampConditions(from, to,
+                    beginFilterTime, endFilterTime, sortDirection, bucketNanos)) {
+                dataTableQueries.add(new DataTableQuery(create, timestampCondition));
+            }
+            return dataTableQueries;
+        }
+
+        List<TemporalRange<LocalDateTime>> partitionRanges = tablePartitioner.getPartitionRanges(from, to);
+        if (sortDirection == SortDirection.DESCENDING) {
+            Collections.reverse(partitionRanges);
+        }
+        for (TemporalRange<LocalDateTime> partitionRange : partitionRanges) {
+            DSLContext partitionCreate = tablePartitioner.getPartitionContext(create, databaseInterface.getDataTable(),
+                    tablePartitioner.getPartitionStart(partitionRange.getFrom()));
+            for (Condition timestampCondition : databaseInterface.createTimestampConditions(partitionRange.getFrom(),
+                    partitionRange.getTo(), beginFilterTime, endFilterTime, sortDirection, bucketNanos)) {
+                dataTableQueries.add(new DataTableQuery(partitionCreate, timestampCondition));
+            }
+        }
+        return dataTableQueries;
+    }
+}
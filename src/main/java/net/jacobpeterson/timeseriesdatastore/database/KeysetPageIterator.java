@@ -0,0 +1,162 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
+import org.jooq.Condition;
+import org.jooq.OrderField;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link KeysetPageIterator} is a {@link ResumableIterator} that fetches one page of the data table of a
+ * {@link TimeSeriesDatabaseInterface} at a time with a query that continues after the last delivered timestamp. The
+ * rows with the last delivered timestamp are fetched again and skipped since the timestamp isn't necessarily unique
+ * for a key.
+ *
+ * @param <K> the type parameter of the key
+ * @param <R> the type parameter of the time series data {@link Record}
+ * @param <P> the time series data POJO type parameter
+ */
+final class KeysetPageIterator<K, R extends Record, P> implements ResumableIterator<P> {
+
+    private final ContinuationToken startContinuationToken;
+    private final Table<R> dataTable;
+    private final Condition keyCondition;
+    private final List<DataTableQuery> dataTableQueries;
+    private final List<OrderField<?>> orderByFields;
+    private final int pageSize;
+    private final RecordMapper<R, P> dataRecordMapper;
+    private final TableField<R, LocalDateTime> dataTimestampTableField;
+    private final ArrayDeque<R> page;
+    private int dataTableQueryIndex;
+    private LocalDateTime lastTimestamp;
+    private int lastTimestampRowCount;
+
+    /**
+     * Instantiates a new {@link KeysetPageIterator}.
+     *
+     * @param databaseInterface      the {@link TimeSeriesDatabaseInterface}
+     * @param dataTableRouter        the {@link DataTableRouter} of the {@link TimeSeriesDatabaseInterface}
+     * @param key                    the key
+     * @param startContinuationToken the {@link ContinuationToken} to start after
+     * @param pageSize               the page size
+     */
+    KeysetPageIterator(TimeSeriesDatabaseInterface<K, R, P, ?> databaseInterface,
+            DataTableRouter<K, R> dataTableRouter, K key, ContinuationToken startContinuationToken, int pageSize) {
+        this.startContinuationToken = startContinuationToken;
+        this.dataTable = databaseInterface.getDataTable();
+        this.keyCondition = databaseInterface.getDataKeyTableField().equal(key);
+        this.pageSize = pageSize;
+        this.dataRecordMapper = databaseInterface.getDataRecordMapper();
+        this.dataTimestampTableField = databaseInterface.getDataTimestampTableField();
+        this.page = new ArrayDeque<>(Math.min(pageSize, 1024));
+        this.lastTimestamp = startContinuationToken.getLastTimestamp();
+        this.lastTimestampRowCount = startContinuationToken.getLastTimestampRowCount();
+
+        final SortDirection sortDirection = startContinuationToken.getSortDirection();
+        final boolean ascending = sortDirection == SortDirection.ASCENDING;
+
+        // Narrow the range to what remains after the last delivered timestamp
+        LocalDateTime from = startContinuationToken.getFrom();
+        LocalDateTime to = startContinuationToken.getTo();
+        if (lastTimestamp != null) {
+            if (ascending) {
+                from = TemporalRangeUtil.max(from, lastTimestamp);
+            } else {
+                to = TemporalRangeUtil.min(to, lastTimestamp.plusNanos(1));
+            }
+        }
+        this.dataTableQueries = dataTableRouter.createDataTableQueries(dataTableRouter.getReadContext(key), from, to,
+                startContinuationToken.getBeginFilterTime(), startContinuationToken.getEndFilterTime(),
+                sortDirection, 0);
+
+        // Order rows with equal timestamps by the rest of the primary key so that pages are deterministic
+        this.orderByFields = new ArrayList<>();
+        orderByFields.add(ascending ? dataTimestampTableField.asc() : dataTimestampTableField.desc());
+        UniqueKey<R> primaryKey = dataTable.getPrimaryKey();
+        if (primaryKey != null) {
+            for (TableField<R, ?> primaryKeyField : primaryKey.getFields()) {
+                if (!primaryKeyField.equals(databaseInterface.getDataKeyTableField()) &&
+                        !primaryKeyField.equals(dataTimestampTableField)) {
+                    orderByFields.add(ascending ? primaryKeyField.asc() : primaryKeyField.desc());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (page.isEmpty() && dataTableQueryIndex < dataTableQueries.size()) {
+            fetchNextPage();
+        }
+        return !page.isEmpty();
+    }
+
+    @Override
+    public P next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        R dataRecord = page.poll();
+        LocalDateTime timestamp = dataRecord.get(dataTimestampTableField);
+        if (timestamp.equals(lastTimestamp)) {
+            lastTimestampRowCount++;
+        } else {
+            lastTimestamp = timestamp;
+            lastTimestampRowCount = 1;
+        }
+        return dataRecordMapper.map(dataRecord);
+    }
+
+    @Override
+    public ContinuationToken getContinuationToken() {
+        return new ContinuationToken(startContinuationToken.getFrom(), startContinuationToken.getTo(),
+                startContinuationToken.getBeginFilterTime(), startContinuationToken.getEndFilterTime(),
+                startContinuationToken.getSortDirection(), lastTimestamp, lastTimestampRowCount);
+    }
+
+    /**
+     * Fetches the next page into the {@link #page} (which may leave it empty if the current {@link DataTableQuery} is
+     * exhausted).
+     */
+    private void fetchNextPage() {
+        DataTableQuery dataTableQuery = dataTableQueries.get(dataTableQueryIndex);
+        Condition condition = keyCondition.and(dataTableQuery.getTimestampCondition());
+        int skipRowCount = 0;
+        if (lastTimestamp != null) {
+            condition = condition.and(startContinuationToken.getSortDirection() == SortDirection.ASCENDING ?
+                    dataTimestampTableField.greaterOrEqual(lastTimestamp) :
+                    dataTimestampTableField.lessOrEqual(lastTimestamp));
+            skipRowCount = lastTimestampRowCount;
+        }
+
+        final int limit = (int) Math.min(Integer.MAX_VALUE, (long) pageSize + skipRowCount);
+        Result<R> dataRecords = dataTableQuery.getCreate().selectFrom(dataTable)
+                .where(condition)
+                .orderBy(orderByFields)
+                .limit(limit)
+                .fetch(); // Releases the connection
+        if (dataRecords.size() < limit) {
+            dataTableQueryIndex++;
+        }
+
+        for (R dataRecord : dataRecords) {
+            if (skipRowCount > 0 && dataRecord.get(dataTimestampTableField).equals(lastTimestamp)) {
+                skipRowCount--; // Already delivered
+                continue;
+            }
+            page.add(dataRecord);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import org.jooq.Record;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * {@link MappedCursorIterator} is a lazy {@link Iterator} that maps the {@link Record}s of a {@link CursorIterator}.
+ *
+ * @param <X> the {@link Record} type parameter
+ * @param <E> the type parameter of the element
+ */
+final class MappedCursorIterator<X extends Record, E> implements Iterator<E>, AutoCloseable {
+
+    private final CursorIterator<X> recordIterator;
+    private final Function<X, E> recordMapper;
+
+    /**
+     * Instantiates a new {@link MappedCursorIterator}.
+     *
+     * @param recordIterator the {@link CursorIterator}
+     * @param recordMapper   the {@link Function} that maps a {@link Record} to an element
+     */
+    MappedCursorIterator(CursorIterator<X> recordIterator, Function<X, E> recordMapper) {
+        this.recordIterator = recordIterator;
+        this.recordMapper = recordMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return recordIterator.hasNext(); // Closes the database query cursors automatically
+    }
+
+    @Override
+    public E next() {
+        return recordMapper.apply(recordIterator.next());
+    }
+
+    @Override
+    public void close() {
+        recordIterator.close();
+    }
+}
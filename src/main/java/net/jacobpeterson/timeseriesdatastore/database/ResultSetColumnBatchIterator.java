@@ -0,0 +1,172 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import org.jooq.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ResultSetColumnBatchIterator} is a {@link ColumnBatchIterator} that executes consecutive queries (one per
+ * {@link DataTableQuery}) and reads the rows of their {@link ResultSet}s into {@link ColumnBatch}es. The columns of
+ * the {@link ResultSet}s must be the timestamp followed by the <code>double</code> columns and then the
+ * <code>long</code> columns.
+ */
+final class ResultSetColumnBatchIterator implements ColumnBatchIterator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSetColumnBatchIterator.class);
+
+    private final Iterator<DataTableQuery> dataTableQueryIterator;
+    private final Function<DataTableQuery, ResultSet> resultSetFetcher;
+    private final int batchSize;
+    private final int doubleColumnCount;
+    private final int longColumnCount;
+    private final ArrayDeque<ColumnBatch> releasedColumnBatches;
+    private final TimeZone timeZone;
+    private ResultSet resultSet;
+    private boolean rowPending;
+
+    /**
+     * Instantiates a new {@link ResultSetColumnBatchIterator} and executes the first query.
+     *
+     * @param dataTableQueryIterator the {@link DataTableQuery} {@link Iterator} (in the order of the queries)
+     * @param resultSetFetcher       the {@link Function} that executes a {@link DataTableQuery}
+     * @param batchSize              the capacity of the {@link ColumnBatch}es
+     * @param doubleColumnCount      the number of <code>double</code> columns
+     * @param longColumnCount        the number of <code>long</code> columns
+     */
+    ResultSetColumnBatchIterator(Iterator<DataTableQuery> dataTableQueryIterator,
+            Function<DataTableQuery, ResultSet> resultSetFetcher, int batchSize, int doubleColumnCount,
+            int longColumnCount) {
+        this.dataTableQueryIterator = dataTableQueryIterator;
+        this.resultSetFetcher = resultSetFetcher;
+        this.batchSize = batchSize;
+        this.doubleColumnCount = doubleColumnCount;
+        this.longColumnCount = longColumnCount;
+        this.releasedColumnBatches = new ArrayDeque<>();
+        this.timeZone = TimeZone.getDefault();
+        this.resultSet = fetchNextResultSet();
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (resultSet != null && !rowPending) {
+                if (resultSet.next()) {
+                    rowPending = true;
+                } else {
+                    resultSet.close();
+                    resultSet = fetchNextResultSet();
+                }
+            }
+        } catch (SQLException exception) {
+            close();
+            throw new DataAccessException("Could not read the next row!", exception);
+        }
+        return rowPending;
+    }
+
+    @Override
+    public ColumnBatch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        ColumnBatch columnBatch = releasedColumnBatches.poll();
+        if (columnBatch == null) {
+            columnBatch = new ColumnBatch(batchSize, doubleColumnCount, longColumnCount);
+        }
+
+        final long[] timestamps = columnBatch.getTimestamps();
+        columnBatch.clearLongNulls();
+        int size = 0;
+        try {
+            do {
+                timestamps[size] = toEpochNanos(resultSet.getTimestamp(1));
+                int columnIndex = 2;
+                for (int doubleColumn = 0; doubleColumn < doubleColumnCount; doubleColumn++) {
+                    double value = resultSet.getDouble(columnIndex++);
+                    columnBatch.getDoubleColumn(doubleColumn)[size] = resultSet.wasNull() ? Double.NaN : value;
+                }
+                for (int longColumn = 0; longColumn < longColumnCount; longColumn++) {
+                    columnBatch.getLongColumn(longColumn)[size] = resultSet.getLong(columnIndex++);
+                    if (resultSet.wasNull()) {
+                        columnBatch.setLongNull(longColumn, size);
+                    }
+                }
+                size++;
+                rowPending = false;
+            } while (size < batchSize && hasNext());
+        } catch (SQLException exception) {
+            close();
+            throw new DataAccessException("Could not read a row into a column batch!", exception);
+        }
+
+        columnBatch.setSize(size);
+        return columnBatch;
+    }
+
+    @Override
+    public void release(ColumnBatch columnBatch) {
+        checkArgument(columnBatch != null, "The column batch cannot be null!");
+        checkArgument(columnBatch.getCapacity() == batchSize &&
+                        columnBatch.getDoubleColumnCount() == doubleColumnCount &&
+                        columnBatch.getLongColumnCount() == longColumnCount,
+                "The column batch was not created by this iterator!");
+
+        releasedColumnBatches.push(columnBatch);
+    }
+
+    @Override
+    public void close() {
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (SQLException exception) {
+                LOGGER.debug("Could not close a result set!", exception);
+            }
+            resultSet = null;
+            rowPending = false;
+        }
+    }
+
+    /**
+     * Converts a {@link Timestamp} to the epoch nanoseconds of its local date-time (at {@link ZoneOffset#UTC}), as
+     * {@link EpochNanoRanges#toEpochNanos(LocalDateTime)} does, but without creating a {@link LocalDateTime} per row.
+     *
+     * @param timestamp the {@link Timestamp}
+     *
+     * @return the epoch nanoseconds
+     */
+    private long toEpochNanos(Timestamp timestamp) {
+        // The JDBC driver creates the Timestamp of a local date-time in the default time zone of the JVM
+        long epochMillis = timestamp.getTime();
+        long epochSeconds = Math.floorDiv(epochMillis + timeZone.getOffset(epochMillis), 1000L);
+        return Math.addExact(Math.multiplyExact(epochSeconds, EpochNanoRanges.NANOS_PER_SECOND),
+                timestamp.getNanos());
+    }
+
+    /**
+     * Executes the next {@link DataTableQuery}.
+     *
+     * @return the {@link ResultSet} (<code>null</code> if there are no more queries)
+     */
+    private ResultSet fetchNextResultSet() {
+        if (!dataTableQueryIterator.hasNext()) {
+            return null;
+        }
+        return resultSetFetcher.apply(dataTableQueryIterator.next());
+    }
+}
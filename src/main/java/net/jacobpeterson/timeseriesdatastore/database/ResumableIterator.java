@@ -0,0 +1,22 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import java.util.Iterator;
+
+/**
+ * {@link ResumableIterator} is an {@link Iterator} of a keyset paginated query whose position can be saved as a
+ * {@link ContinuationToken} and resumed later.
+ *
+ * @param <E> the type parameter of the element
+ *
+ * @see TimeSeriesDatabaseInterface#getPaged(Object, ContinuationToken)
+ */
+public interface ResumableIterator<E> extends Iterator<E> {
+
+    /**
+     * Gets the {@link ContinuationToken} of the current position (that is, after the last element returned by
+     * {@link #next()}).
+     *
+     * @return the {@link ContinuationToken}
+     */
+    ContinuationToken getContinuationToken();
+}
@@ -0,0 +1,642 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import com.google.common.hash.Funnel;
+import net.jacobpeterson.timeseriesdatastore.iterator.MergeSortedIterator;
+import net.jacobpeterson.timeseriesdatastore.util.hash.ConsistentHashRing;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record3;
+import org.jooq.RecordMapper;
+import org.jooq.RecordUnmapper;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.exception.DataAccessException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ShardedTimeSeriesDatabaseInterface} is a {@link TimeSeriesDatabaseInterface} that partitions the keys over
+ * multiple shard {@link TimeSeriesDatabaseInterface}s (e.g. one per database server) with a
+ * {@link ConsistentHashRing}. Every call for one key (e.g. {@link #get(Object, LocalDateTime, LocalDateTime,
+ * LocalTime, LocalTime, SortDirection)}, {@link #insert(Iterator, Object, LocalDateTime, LocalDateTime)} or
+ * {@link #getMissingTimestampRanges(Object, LocalDateTime, LocalDateTime)}) is routed to the shard that owns the key,
+ * so the data and the timestamp ranges of a key always live on the same shard. Calls that span multiple keys (e.g.
+ * {@link #insert(Iterator)}, {@link #get(Collection, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+ * SortDirection, Executor)} or {@link #compactTimestampRangeRecords()}) are scattered over the shards of their keys
+ * in parallel on the given {@link Executor} and their results are gathered (multi-key data POJOs are merged in
+ * timestamp order).
+ * <p>
+ * Since a shard only owns the positions of its ID on the ring, adding a shard only reassigns about
+ * <code>1 / shardCount</code> of the keys (all of them to the new shard). Moving the rows and timestamp ranges of the
+ * reassigned keys to the new shard is up to the caller (until then, their timestamp ranges are simply missing and are
+ * fetched again). The shard IDs must therefore be stable (e.g. a host name rather than a list index).
+ * <p>
+ * The shards must be configured like any other {@link TimeSeriesDatabaseInterface} (e.g. with a
+ * {@link #setTimestampRangesCache(net.jacobpeterson.timeseriesdatastore.database.cache.TimestampRangesCache)}, a
+ * {@link #setMetrics(net.jacobpeterson.timeseriesdatastore.database.metrics.TimeSeriesDatabaseMetrics)}, a
+ * {@link #setSegmentCache(net.jacobpeterson.timeseriesdatastore.database.segment.SegmentCache)}, a
+ * {@link #setChunkStore(net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkStore)} or a
+ * {@link #setTablePartitioner(net.jacobpeterson.timeseriesdatastore.database.partition.TablePartitioner)}), since
+ * these are not used by this {@link ShardedTimeSeriesDatabaseInterface} itself. The tables, mappers and sizes are
+ * taken from the first shard, so all shards should be instances of the same {@link TimeSeriesDatabaseInterface}
+ * subclass.
+ *
+ * @param <K> the type parameter of the key used for the time series data table and the timestamp ranges table
+ * @param <R> the time series data {@link Record} type parameter
+ * @param <P> the time series data POJO type parameter
+ * @param <T> the timestamp {@link Record3} type parameter (value1 being the table key, value2 being the 'from' and
+ *            value3 being the 'to')
+ */
+public class ShardedTimeSeriesDatabaseInterface<K, R extends Record, P,
+        T extends Record3<K, LocalDateTime, LocalDateTime>> extends TimeSeriesDatabaseInterface<K, R, P, T> {
+
+    private final ConsistentHashRing<K, TimeSeriesDatabaseInterface<K, R, P, T>> shardRing;
+    private final TimeSeriesDatabaseInterface<K, R, P, T> templateShard;
+    private final Executor executor;
+
+    /**
+     * Instantiates a new {@link ShardedTimeSeriesDatabaseInterface} with
+     * {@link ConsistentHashRing#DEFAULT_VIRTUAL_NODE_COUNT} virtual nodes per shard.
+     *
+     * @param shardsOfIDs the shard {@link TimeSeriesDatabaseInterface}s {@link Map} with the (stable) shard IDs as keys
+     * @param keyFunnel   the {@link Funnel} that writes a key to the hash function of the {@link ConsistentHashRing}
+     * @param executor    the {@link Executor} to scatter the calls that span multiple shards on
+     */
+    public ShardedTimeSeriesDatabaseInterface(Map<String, ? extends TimeSeriesDatabaseInterface<K, R, P, T>>
+            shardsOfIDs, Funnel<? super K> keyFunnel, Executor executor) {
+        this(shardsOfIDs, keyFunnel, executor, ConsistentHashRing.DEFAULT_VIRTUAL_NODE_COUNT);
+    }
+
+    /**
+     * Instantiates a new {@link ShardedTimeSeriesDatabaseInterface}.
+     *
+     * @param shardsOfIDs      the shard {@link TimeSeriesDatabaseInterface}s {@link Map} with the (stable) shard IDs
+     *                         as keys
+     * @param keyFunnel        the {@link Funnel} that writes a key to the hash function of the
+     *                         {@link ConsistentHashRing}
+     * @param executor         the {@link Executor} to scatter the calls that span multiple shards on
+     * @param virtualNodeCount the number of positions of every shard on the {@link ConsistentHashRing}
+     */
+    public ShardedTimeSeriesDatabaseInterface(Map<String, ? extends TimeSeriesDatabaseInterface<K, R, P, T>>
+            shardsOfIDs, Funnel<? super K> keyFunnel, Executor executor, int virtualNodeCount) {
+        super(getTemplateShard(shardsOfIDs).create);
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        this.shardRing = new ConsistentHashRing<>(shardsOfIDs, keyFunnel, virtualNodeCount);
+        this.templateShard = shardRing.getNodesOfIDs().values().iterator().next();
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the first shard of the given shards, whose {@link DSLContext} is used by this
+     * {@link ShardedTimeSeriesDatabaseInterface} (e.g. to parse CSV data) and whose tables, mappers and sizes are
+     * used for all shards.
+     *
+     * @param shardsOfIDs the shards {@link Map}
+     *
+     * @return the template shard {@link TimeSeriesDatabaseInterface}
+     */
+    private static <K, R extends Record, P, T extends Record3<K, LocalDateTime, LocalDateTime>>
+    TimeSeriesDatabaseInterface<K, R, P, T> getTemplateShard(
+            Map<String, ? extends TimeSeriesDatabaseInterface<K, R, P, T>> shardsOfIDs) {
+        checkArgument(shardsOfIDs != null && !shardsOfIDs.isEmpty(), "The shards cannot be empty!");
+        checkArgument(!shardsOfIDs.containsValue(null), "The shards cannot contain null!");
+
+        return shardsOfIDs.values().iterator().next();
+    }
+
+    @Override
+    protected Table<R> getDataTable() {
+        return templateShard.getDataTable();
+    }
+
+    @Override
+    protected TableField<R, K> getDataKeyTableField() {
+        return templateShard.getDataKeyTableField();
+    }
+
+    @Override
+    protected TableField<R, LocalDateTime> getDataTimestampTableField() {
+        return templateShard.getDataTimestampTableField();
+    }
+
+    @Override
+    protected RecordMapper<R, P> getDataRecordMapper() {
+        return templateShard.getDataRecordMapper();
+    }
+
+    @Override
+    protected RecordUnmapper<P, R> getDataRecordUnmapper() {
+        return templateShard.getDataRecordUnmapper();
+    }
+
+    @Override
+    protected Table<T> getTimestampRangesTable() {
+        return templateShard.getTimestampRangesTable();
+    }
+
+    @Override
+    protected TableField<T, K> getTimestampRangesKeyTableField() {
+        return templateShard.getTimestampRangesKeyTableField();
+    }
+
+    @Override
+    protected TableField<T, LocalDateTime> getTimestampRangesFromTableField() {
+        return templateShard.getTimestampRangesFromTableField();
+    }
+
+    @Override
+    protected TableField<T, LocalDateTime> getTimestampRangesToTableField() {
+        return templateShard.getTimestampRangesToTableField();
+    }
+
+    @Override
+    protected int getDataFetchSize() {
+        return templateShard.getDataFetchSize();
+    }
+
+    @Override
+    protected int getDataInsertBatchSize() {
+        return templateShard.getDataInsertBatchSize();
+    }
+
+    @Override
+    protected int getReadAheadSize() {
+        return templateShard.getReadAheadSize();
+    }
+
+    @Override
+    protected int getScanParallelism() {
+        return templateShard.getScanParallelism();
+    }
+
+    @Override
+    protected Duration getScanSliceDuration() {
+        return templateShard.getScanSliceDuration();
+    }
+
+    @Override
+    protected int getBulkLoadBulkSize() {
+        return templateShard.getBulkLoadBulkSize();
+    }
+
+    @Override
+    protected int getBulkLoadCommitSize() {
+        return templateShard.getBulkLoadCommitSize();
+    }
+
+    /**
+     * Gets the ID of the shard that owns the given key.
+     *
+     * @param key the key
+     *
+     * @return the shard ID
+     */
+    public String getShardID(K key) {
+        return shardRing.getNodeID(key);
+    }
+
+    /**
+     * Gets the shard {@link TimeSeriesDatabaseInterface} that owns the given key.
+     *
+     * @param key the key
+     *
+     * @return the shard {@link TimeSeriesDatabaseInterface}
+     */
+    public TimeSeriesDatabaseInterface<K, R, P, T> getShard(K key) {
+        return shardRing.getNode(key);
+    }
+
+    /**
+     * Gets the shards.
+     *
+     * @return an unmodifiable {@link Map} of the shard {@link TimeSeriesDatabaseInterface}s with the shard IDs as keys
+     */
+    public Map<String, TimeSeriesDatabaseInterface<K, R, P, T>> getShards() {
+        return shardRing.getNodesOfIDs();
+    }
+
+    /**
+     * Inserts a time series data POJO into the shard that owns its key.
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    @Override
+    public void insert(P dataPOJO) throws DataAccessException {
+        checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+
+        getShard(getDataKey(dataPOJO)).insert(dataPOJO);
+    }
+
+    /**
+     * Inserts time series data POJOs into the shards that own their keys. The data POJOs are buffered
+     * {@link #getDataInsertBatchSize()} times the shard count at a time, grouped by their shard and then inserted into
+     * all of these shards in parallel (rows that already exist are ignored).
+     *
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    @Override
+    public void insert(Iterator<P> dataPOJOs) throws DataAccessException {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        final int batchSize = getDataInsertBatchSize();
+        checkArgument(batchSize > 0, "The data insert batch size must be greater than zero!");
+        final int bufferSize = Math.multiplyExact(batchSize, shardRing.getNodesOfIDs().size());
+
+        while (dataPOJOs.hasNext()) {
+            Map<String, List<P>> dataPOJOsOfShardIDs = new LinkedHashMap<>();
+            for (int dataPOJOCount = 0; dataPOJOCount < bufferSize && dataPOJOs.hasNext(); dataPOJOCount++) {
+                P dataPOJO = dataPOJOs.next();
+                checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+                dataPOJOsOfShardIDs.computeIfAbsent(getShardID(getDataKey(dataPOJO)), shardID -> new ArrayList<>())
+                        .add(dataPOJO);
+            }
+
+            scatterGather(dataPOJOsOfShardIDs.entrySet(), shardDataPOJOs -> {
+                getShards().get(shardDataPOJOs.getKey()).insert(shardDataPOJOs.getValue());
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void insert(Iterator<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        getShard(key).insert(dataPOJOs, key, from, to);
+    }
+
+    /**
+     * Bulk loads the given time series data {@link Record}s into the shard that owns the key of the timestamp range.
+     * If no key is given, the {@link Record}s are buffered {@link #getBulkLoadCommitSize()} at a time, grouped by the
+     * shard that owns their key and then bulk loaded into all of these shards in parallel.
+     *
+     * @param dataRecords the time series data {@link Record} {@link Iterator}
+     * @param key         the key of the timestamp range (<code>null</code> to not insert timestamp ranges)
+     * @param from        the 'from' of the timestamp range (inclusive)
+     * @param to          the 'to' of the timestamp range (exclusive)
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (nullable)
+     *
+     * @return the summed {@link BulkLoadResult} of all shards
+     */
+    @Override
+    BulkLoadResult bulkLoadDataRecords(Iterator<R> dataRecords, K key, LocalDateTime from, LocalDateTime to,
+            BulkLoadErrorPolicy errorPolicy) {
+        if (key != null) {
+            return getShard(key).bulkLoadDataRecords(dataRecords, key, from, to, errorPolicy);
+        }
+
+        final int commitSize = getBulkLoadCommitSize();
+        checkArgument(commitSize > 0, "The bulk load commit size must be greater than zero!");
+        final TableField<R, K> dataKeyTableField = getDataKeyTableField();
+
+        final long startNanos = System.nanoTime();
+        long processedRowCount = 0;
+        long storedRowCount = 0;
+        long ignoredRowCount = 0;
+        long errorRowCount = 0;
+        while (dataRecords.hasNext()) {
+            Map<String, List<R>> dataRecordsOfShardIDs = new LinkedHashMap<>();
+            for (int rowCount = 0; rowCount < commitSize && dataRecords.hasNext(); rowCount++) {
+                R dataRecord = dataRecords.next();
+                dataRecordsOfShardIDs.computeIfAbsent(getShardID(dataRecord.get(dataKeyTableField)),
+                        shardID -> new ArrayList<>()).add(dataRecord);
+            }
+
+            for (BulkLoadResult shardResult : scatterGather(dataRecordsOfShardIDs.entrySet(),
+                    shardDataRecords -> getShards().get(shardDataRecords.getKey()).bulkLoadDataRecords(
+                            shardDataRecords.getValue().iterator(), null, null, null, errorPolicy))) {
+                processedRowCount += shardResult.getProcessedRowCount();
+                storedRowCount += shardResult.getStoredRowCount();
+                ignoredRowCount += shardResult.getIgnoredRowCount();
+                errorRowCount += shardResult.getErrorRowCount();
+            }
+        }
+
+        return new BulkLoadResult(processedRowCount, storedRowCount, ignoredRowCount, errorRowCount,
+                System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public Iterator<P> get(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).get(key, from, to, beginFilterTime, endFilterTime, sortDirection);
+    }
+
+    /**
+     * Gets the data POJOs of multiple keys from the shards that own them merged into one {@link Iterator} that is
+     * sorted by the timestamp. The keys of every shard are queried with
+     * {@link TimeSeriesDatabaseInterface#get(Collection, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection, Executor)} of the shard, and the cursors of all shards are fetched concurrently on the given
+     * {@link Executor} (or on the {@link Executor} of this {@link ShardedTimeSeriesDatabaseInterface} if none is
+     * given) and are merged with a k-way merge.
+     *
+     * @param keys            the keys
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param executor        the {@link Executor} to fetch the cursors of the shards concurrently on (nullable)
+     *
+     * @return a lazy {@link Iterator} of the data POJOs of all keys (the order of data POJOs with equal timestamps is
+     * undefined)
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    @Override
+    public Iterator<P> get(Collection<K> keys, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Executor executor) throws DataAccessException {
+        // Check arguments
+        checkArgument(keys != null, "Keys cannot be null!");
+        checkArgument(!keys.isEmpty(), "Keys cannot be empty!");
+        checkArgument(!keys.contains(null), "Keys cannot contain null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        final SortDirection direction = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+        final Executor fetchExecutor = executor == null ? this.executor : executor;
+
+        Map<String, List<K>> keysOfShardIDs = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            keysOfShardIDs.computeIfAbsent(getShardID(key), shardID -> new ArrayList<>()).add(key);
+        }
+
+        if (keysOfShardIDs.size() == 1) {
+            Map.Entry<String, List<K>> shardKeys = keysOfShardIDs.entrySet().iterator().next();
+            return getShards().get(shardKeys.getKey()).get(shardKeys.getValue(), from, to, beginFilterTime,
+                    endFilterTime, direction, fetchExecutor);
+        }
+
+        // The cursors of every shard already read ahead concurrently on the executor, so the shard iterators are
+        // merged on the consuming thread (wrapping them in another read-ahead would block the executor threads)
+        List<TimestampedShardIterator> shardIterators = new ArrayList<>(keysOfShardIDs.size());
+        for (Map.Entry<String, List<K>> shardKeys : keysOfShardIDs.entrySet()) {
+            TimeSeriesDatabaseInterface<K, R, P, T> shard = getShards().get(shardKeys.getKey());
+            shardIterators.add(new TimestampedShardIterator(shard.get(shardKeys.getValue(), from, to,
+                    beginFilterTime, endFilterTime, direction, fetchExecutor)));
+        }
+
+        Comparator<Map.Entry<LocalDateTime, P>> timestampComparator = Map.Entry.comparingByKey();
+        return new MergeSortedIterator<>(shardIterators, direction == SortDirection.ASCENDING ?
+                timestampComparator : timestampComparator.reversed(), Map.Entry::getValue);
+    }
+
+    @Override
+    public ResumableIterator<P> getPaged(K key, ContinuationToken continuationToken) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getPaged(key, continuationToken);
+    }
+
+    @Override
+    public <E> Iterator<E> getProjected(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Collection<? extends TableField<R, ?>> fields,
+            RecordMapper<Record, E> recordMapper) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getProjected(key, from, to, beginFilterTime, endFilterTime, sortDirection, fields,
+                recordMapper);
+    }
+
+    @Override
+    public ColumnBatchIterator getColumnBatches(K key, LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection, int batchSize,
+            List<? extends TableField<R, ? extends Number>> doubleFields,
+            List<? extends TableField<R, ? extends Number>> longFields) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getColumnBatches(key, from, to, beginFilterTime, endFilterTime, sortDirection,
+                batchSize, doubleFields, longFields);
+    }
+
+    @Override
+    public Iterator<TimeBucket> getAggregated(K key, LocalDateTime from, LocalDateTime to, Duration bucketDuration,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection,
+            Field<?>... aggregateFields) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getAggregated(key, from, to, bucketDuration, beginFilterTime, endFilterTime,
+                sortDirection, aggregateFields);
+    }
+
+    @Override
+    public long count(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).count(key, from, to, beginFilterTime, endFilterTime);
+    }
+
+    @Override
+    public LocalDateTime firstTimestamp(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).firstTimestamp(key, from, to, beginFilterTime, endFilterTime);
+    }
+
+    @Override
+    public LocalDateTime lastTimestamp(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).lastTimestamp(key, from, to, beginFilterTime, endFilterTime);
+    }
+
+    @Override
+    public boolean exists(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).exists(key, from, to, beginFilterTime, endFilterTime);
+    }
+
+    @Override
+    public void insertTimestampRangeRecord(K key, LocalDateTime from, LocalDateTime to) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        getShard(key).insertTimestampRangeRecord(key, from, to);
+    }
+
+    /**
+     * Compacts the timestamp range {@link Record3}s of all keys of all shards in parallel.
+     *
+     * @return the number of timestamp range {@link Record3}s that were removed
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    @Override
+    public int compactTimestampRangeRecords() throws DataAccessException {
+        int removedRecordCount = 0;
+        for (int shardRemovedRecordCount : scatterGather(getShards().values(),
+                TimeSeriesDatabaseInterface::compactTimestampRangeRecords)) {
+            removedRecordCount += shardRemovedRecordCount;
+        }
+        return removedRecordCount;
+    }
+
+    @Override
+    public int compactTimestampRangeRecords(K key) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).compactTimestampRangeRecords(key);
+    }
+
+    /**
+     * Drops the partition table that contains the given timestamp on all shards in parallel.
+     *
+     * @param timestamp a timestamp within the partition
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    @Override
+    public void dropPartition(LocalDateTime timestamp) throws DataAccessException {
+        checkArgument(timestamp != null, "The timestamp cannot be null!");
+
+        scatterGather(getShards().values(), shard -> {
+            shard.dropPartition(timestamp);
+            return null;
+        });
+    }
+
+    @Override
+    public List<TemporalRange<LocalDateTime>> getTimestampRanges(K key, LocalDateTime from, LocalDateTime to,
+            SortDirection sortDirection) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getTimestampRanges(key, from, to, sortDirection);
+    }
+
+    @Override
+    public List<TemporalRange<LocalDateTime>> getCoveredTimestampRanges(K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getCoveredTimestampRanges(key, from, to);
+    }
+
+    @Override
+    public List<TemporalRange<LocalDateTime>> getMissingTimestampRanges(K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return getShard(key).getMissingTimestampRanges(key, from, to);
+    }
+
+    /**
+     * Gets the key of the given data POJO (via the {@link #getDataRecordUnmapper()}).
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @return the key of the {@link #getDataKeyTableField()}
+     */
+    private K getDataKey(P dataPOJO) {
+        return getDataRecordUnmapper().unmap(dataPOJO).get(getDataKeyTableField());
+    }
+
+    /**
+     * Applies the given task to every given element in parallel on the {@link #executor} (or on the calling thread if
+     * there is only one element) and waits for all of them to complete.
+     *
+     * @param <E>      the type parameter of the element
+     * @param <V>      the type parameter of the result
+     * @param elements the elements
+     * @param task     the task
+     *
+     * @return the results in the iteration order of the elements
+     *
+     * @throws DataAccessException thrown if a task threw a checked exception (unchecked exceptions are rethrown as is)
+     */
+    private <E, V> List<V> scatterGather(Collection<E> elements, Function<E, V> task) {
+        if (elements.size() == 1) {
+            return Collections.singletonList(task.apply(elements.iterator().next()));
+        }
+
+        List<CompletableFuture<V>> futures = new ArrayList<>(elements.size());
+        for (E element : elements) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(element), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new DataAccessException("A shard task failed!", exception.getCause());
+        }
+
+        List<V> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<V> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * {@link TimestampedShardIterator} is an {@link Iterator} that pairs the data POJOs of a shard {@link Iterator}
+     * with their timestamp (so that the timestamp is only unmapped once per data POJO while merging the shards).
+     */
+    private class TimestampedShardIterator implements Iterator<Map.Entry<LocalDateTime, P>>, AutoCloseable {
+
+        private final Iterator<P> shardIterator;
+
+        /**
+         * Instantiates a new {@link TimestampedShardIterator}.
+         *
+         * @param shardIterator the data POJO {@link Iterator} of the shard
+         */
+        public TimestampedShardIterator(Iterator<P> shardIterator) {
+            this.shardIterator = shardIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return shardIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<LocalDateTime, P> next() {
+            P dataPOJO = shardIterator.next();
+            return new AbstractMap.SimpleImmutableEntry<>(getDataTimestamp(dataPOJO), dataPOJO);
+        }
+
+        @Override
+        public void close() {
+            if (shardIterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shardIterator).close();
+                } catch (Exception ignored) {}
+            }
+        }
+    }
+}
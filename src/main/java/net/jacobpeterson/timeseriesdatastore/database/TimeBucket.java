@@ -0,0 +1,104 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import org.jooq.Field;
+import org.jooq.Record;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * {@link TimeBucket} is one time bucket of an aggregation query of a {@link TimeSeriesDatabaseInterface}. That is, a
+ * [from, to) timestamp range and a {@link Record} with the values of the aggregate {@link Field}s over the rows in that
+ * range.
+ *
+ * @see TimeSeriesDatabaseInterface#getAggregated(Object, LocalDateTime, LocalDateTime, Duration, LocalTime,
+ * LocalTime, net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection, Field[])
+ */
+public class TimeBucket {
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Record aggregateRecord;
+
+    /**
+     * Instantiates a new {@link TimeBucket}.
+     *
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param aggregateRecord the aggregate {@link Record}
+     */
+    public TimeBucket(LocalDateTime from, LocalDateTime to, Record aggregateRecord) {
+        this.from = from;
+        this.to = to;
+        this.aggregateRecord = aggregateRecord;
+    }
+
+    /**
+     * Gets the value of an aggregate {@link Field} of this {@link TimeBucket}.
+     *
+     * @param <V>            the type parameter of the value
+     * @param aggregateField the aggregate {@link Field} (as passed to the aggregation query)
+     *
+     * @return the value
+     */
+    public <V> V get(Field<V> aggregateField) {
+        return aggregateRecord.get(aggregateField);
+    }
+
+    /**
+     * Gets the {@link #from}.
+     *
+     * @return the {@link #from}
+     */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the {@link #to}.
+     *
+     * @return the {@link #to}
+     */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the {@link #aggregateRecord}.
+     *
+     * @return the {@link Record} of the aggregate {@link Field}s
+     */
+    public Record getAggregateRecord() {
+        return aggregateRecord;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        TimeBucket otherTimeBucket = (TimeBucket) other;
+        return Objects.equals(from, otherTimeBucket.from) && Objects.equals(to, otherTimeBucket.to) &&
+                Objects.equals(aggregateRecord, otherTimeBucket.aggregateRecord);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, aggregateRecord);
+    }
+
+    @Override
+    public String toString() {
+        return "TimeBucket{" +
+                "from=" + from +
+                ", to=" + to +
+                ", aggregateRecord=" + aggregateRecord +
+                '}';
+    }
+}
@@ -1,28 +1,91 @@
 package net.jacobpeterson.timeseriesdatastore.database;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import net.jacobpeterson.timeseriesdatastore.database.cache.TimestampRangesCache;
+import net.jacobpeterson.timeseriesdatastore.database.chunk.Chunk;
+import net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkCodec;
+import net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkStore;
+import net.jacobpeterson.timeseriesdatastore.database.metrics.TimeSeriesDatabaseMetrics;
+import net.jacobpeterson.timeseriesdatastore.database.partition.TablePartitioner;
+import net.jacobpeterson.timeseriesdatastore.database.replica.ReadReplicaRouter;
+import net.jacobpeterson.timeseriesdatastore.database.segment.Segment;
+import net.jacobpeterson.timeseriesdatastore.database.segment.SegmentCache;
+import net.jacobpeterson.timeseriesdatastore.database.segment.SegmentSerializer;
+import net.jacobpeterson.timeseriesdatastore.database.segment.SegmentWriter;
+import net.jacobpeterson.timeseriesdatastore.iterator.IteratorPublisher;
+import net.jacobpeterson.timeseriesdatastore.iterator.MergeSortedIterator;
+import net.jacobpeterson.timeseriesdatastore.iterator.ReadAheadIterator;
 import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
 import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
 import org.jooq.Condition;
 import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Loader;
+import org.jooq.LoaderError;
+import org.jooq.LoaderOptionsStep;
 import org.jooq.OrderField;
+import org.jooq.Query;
 import org.jooq.Record;
+import org.jooq.Record2;
 import org.jooq.Record3;
 import org.jooq.RecordMapper;
 import org.jooq.RecordUnmapper;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.sql.Time;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static org.jooq.impl.DSL.trueCondition;
+import static com.google.common.base.Preconditions.checkState;
+import static org.jooq.impl.DSL.extract;
+import static org.jooq.impl.DSL.falseCondition;
+import static org.jooq.impl.DSL.floor;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.or;
 import static org.jooq.impl.DSL.val;
 
 /**
@@ -41,7 +104,77 @@ import static org.jooq.impl.DSL.val;
 public abstract class TimeSeriesDatabaseInterface<K, R extends Record, P,
         T extends Record3<K, LocalDateTime, LocalDateTime>> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesDatabaseInterface.class);
+
+    /**
+     * The default value for {@link #getDataInsertBatchSize()}.
+     */
+    public static final int DEFAULT_DATA_INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * The default value for {@link #getMultiKeyCursorCount()}.
+     */
+    public static final int DEFAULT_MULTI_KEY_CURSOR_COUNT = 8;
+
+    /**
+     * The default value for {@link #getScanParallelism()}.
+     */
+    public static final int DEFAULT_SCAN_PARALLELISM = 4;
+
+    /**
+     * The default value for {@link #getScanSliceDuration()}.
+     */
+    public static final Duration DEFAULT_SCAN_SLICE_DURATION = Duration.ofDays(1);
+
+    /**
+     * The default value for {@link #getTimeFilterWindowLimit()}.
+     */
+    public static final int DEFAULT_TIME_FILTER_WINDOW_LIMIT = 32;
+
+    /**
+     * The default value for {@link #getBulkLoadBulkSize()}.
+     */
+    public static final int DEFAULT_BULK_LOAD_BULK_SIZE = 500;
+
+    /**
+     * The default value for {@link #getBulkLoadBatchSize()}.
+     */
+    public static final int DEFAULT_BULK_LOAD_BATCH_SIZE = 20;
+
+    /**
+     * The default value for {@link #getBulkLoadCommitSize()}.
+     */
+    public static final int DEFAULT_BULK_LOAD_COMMIT_SIZE = 50_000;
+
+    /**
+     * The default value for {@link #getMinimumDataFetchSize()}.
+     */
+    public static final int DEFAULT_MINIMUM_DATA_FETCH_SIZE = 32;
+
+    /**
+     * The default value for {@link #getMaximumDataFetchSize()}.
+     */
+    public static final int DEFAULT_MAXIMUM_DATA_FETCH_SIZE = 10_000;
+
+    /**
+     * The default value for {@link #getMaximumDataFetchBytes()}.
+     */
+    public static final long DEFAULT_MAXIMUM_DATA_FETCH_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * The number of in-process locks that the keys are striped over to serialize the timestamp range coalescing.
+     */
+    private static final int TIMESTAMP_RANGE_LOCK_STRIPE_COUNT = 64;
+
     protected DSLContext create;
+    private final ReentrantLock[] timestampRangeLocks;
+    private TimestampRangesCache<K> timestampRangesCache;
+    private TimeSeriesDatabaseMetrics<K> metrics;
+    private SegmentCache<K, P> segmentCache;
+    private ChunkStore<K, P> chunkStore;
+    private TablePartitioner tablePartitioner;
+    private ReadReplicaRouter<K> readReplicaRouter;
+    private final DataTableRouter<K, R> dataTableRouter;
 
     /**
      * Instantiates a new {@link TimeSeriesDatabaseInterface}.
@@ -50,6 +183,12 @@ public abstract class TimeSeriesDatabaseInterface<K, R extends Record, P,
      */
     public TimeSeriesDatabaseInterface(DSLContext create) {
         this.create = create;
+        this.metrics = TimeSeriesDatabaseMetrics.noOp();
+        this.dataTableRouter = new DataTableRouter<>(this);
+        this.timestampRangeLocks = new ReentrantLock[TIMESTAMP_RANGE_LOCK_STRIPE_COUNT];
+        for (int index = 0; index < timestampRangeLocks.length; index++) {
+            timestampRangeLocks[index] = new ReentrantLock();
+        }
     }
 
     /**
@@ -117,12 +256,272 @@ public abstract class TimeSeriesDatabaseInterface<K, R extends Record, P,
 
     /**
      * Returns the amount of rows that a data query should fetch at one time. This is used for the {@link #get(Object,
-     * LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} method.
+     * LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} method (unless
+     * {@link #isAdaptiveDataFetchSizeEnabled()}).
      *
      * @return the fetch row size
      */
     protected abstract int getDataFetchSize();
 
+    /**
+     * Returns whether the lazy cursors of the data queries of {@link #get(Object, LocalDateTime, LocalDateTime,
+     * LocalTime, LocalTime, SortDirection)} should adapt their fetch size instead of using the fixed
+     * {@link #getDataFetchSize()}. An adaptive cursor starts with {@link #getMinimumDataFetchSize()} rows for a fast
+     * first row. After every page, it doubles the fetch size if the round trips are a noticeable part of the time the
+     * consumer spends on the page, and halves it if the consumer is much slower than the round trips. The fetch size
+     * is bounded by {@link #getMaximumDataFetchSize()} and by {@link #getMaximumDataFetchBytes()} (using
+     * {@link #estimateDataRecordByteCount(Record)}), and every chosen fetch size is reported to the
+     * {@link #getMetrics()}. Override this method to enable it (defaults to <code>false</code>).
+     *
+     * @return a boolean
+     */
+    protected boolean isAdaptiveDataFetchSizeEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the initial and minimum fetch size of an adaptive data query. Override this method to change the
+     * minimum (defaults to {@link #DEFAULT_MINIMUM_DATA_FETCH_SIZE}).
+     *
+     * @return the minimum fetch row size
+     *
+     * @see #isAdaptiveDataFetchSizeEnabled()
+     */
+    protected int getMinimumDataFetchSize() {
+        return DEFAULT_MINIMUM_DATA_FETCH_SIZE;
+    }
+
+    /**
+     * Returns the maximum fetch size of an adaptive data query. Override this method to change the maximum (defaults
+     * to {@link #DEFAULT_MAXIMUM_DATA_FETCH_SIZE}).
+     *
+     * @return the maximum fetch row size
+     *
+     * @see #isAdaptiveDataFetchSizeEnabled()
+     */
+    protected int getMaximumDataFetchSize() {
+        return DEFAULT_MAXIMUM_DATA_FETCH_SIZE;
+    }
+
+    /**
+     * Returns the maximum estimated number of bytes of the rows of one fetch of an adaptive data query. Override this
+     * method to change the memory bound (defaults to {@link #DEFAULT_MAXIMUM_DATA_FETCH_BYTES}).
+     *
+     * @return the maximum fetch byte count
+     *
+     * @see #isAdaptiveDataFetchSizeEnabled()
+     */
+    protected long getMaximumDataFetchBytes() {
+        return DEFAULT_MAXIMUM_DATA_FETCH_BYTES;
+    }
+
+    /**
+     * Returns the amount of rows that a batched insert should send to the database in one JDBC batch of single-row
+     * <code>INSERT</code> statements. This is used for the {@link #insert(Iterator)} methods. Override this method to
+     * change the batch size (defaults to {@link #DEFAULT_DATA_INSERT_BATCH_SIZE}).
+     *
+     * @return the insert batch row size
+     */
+    protected int getDataInsertBatchSize() {
+        return DEFAULT_DATA_INSERT_BATCH_SIZE;
+    }
+
+    /**
+     * Returns the maximum number of concurrent database cursors that a multi-key
+     * {@link #get(Collection, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection, Executor)} opens.
+     * The keys are distributed over the cursors and every cursor queries its keys with one <code>IN</code> query.
+     * Override this method to change the cursor count (defaults to {@link #DEFAULT_MULTI_KEY_CURSOR_COUNT}).
+     *
+     * @return the multi-key cursor count
+     */
+    protected int getMultiKeyCursorCount() {
+        return DEFAULT_MULTI_KEY_CURSOR_COUNT;
+    }
+
+    /**
+     * Returns the maximum number of data POJOs that are read ahead of the consumer per database cursor when a query
+     * is executed on an {@link Executor}. Override this method to change the read-ahead size (defaults to twice the
+     * {@link #getDataFetchSize()}).
+     *
+     * @return the read-ahead size
+     */
+    protected int getReadAheadSize() {
+        return Math.max(1, 2 * getDataFetchSize());
+    }
+
+    /**
+     * Returns the number of rows that one page query of a keyset paginated
+     * {@link #getPaged(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} fetches. Override
+     * this method to change the page size (defaults to the {@link #getDataFetchSize()}).
+     *
+     * @return the keyset page size
+     */
+    protected int getKeysetPageSize() {
+        return getDataFetchSize();
+    }
+
+    /**
+     * Returns the maximum number of time slices that a
+     * {@link #scan(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection, Executor)} fetches
+     * concurrently. Override this method to change the parallelism (defaults to {@link #DEFAULT_SCAN_PARALLELISM}).
+     *
+     * @return the scan parallelism
+     */
+    protected int getScanParallelism() {
+        return DEFAULT_SCAN_PARALLELISM;
+    }
+
+    /**
+     * Returns the {@link Duration} of the time slices that a
+     * {@link #scan(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection, Executor)} splits its
+     * range into. Override this method to change the slice duration (defaults to
+     * {@link #DEFAULT_SCAN_SLICE_DURATION}).
+     *
+     * @return the scan slice {@link Duration}
+     */
+    protected Duration getScanSliceDuration() {
+        return DEFAULT_SCAN_SLICE_DURATION;
+    }
+
+    /**
+     * Returns the maximum number of daily timestamp windows that one query of a time of day filtered
+     * {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} contains. Ranges with
+     * more windows are queried with consecutive queries. Override this method to change the limit (defaults to
+     * {@link #DEFAULT_TIME_FILTER_WINDOW_LIMIT}).
+     *
+     * @return the time filter window limit
+     */
+    protected int getTimeFilterWindowLimit() {
+        return DEFAULT_TIME_FILTER_WINDOW_LIMIT;
+    }
+
+    /**
+     * Returns whether inserting a timestamp range {@link Record3} should coalesce it with the timestamp ranges of the
+     * same key that it overlaps or touches (so that each key only has disjoint, maximal timestamp ranges in the
+     * {@link #getTimestampRangesTable()}). Override this method to enable it (defaults to <code>false</code>). The
+     * coalescing of a key is serialized by an in-process lock of the key that is held until the transaction that
+     * inserts the timestamp range has been committed, and by {@link #lockTimestampRanges(DSLContext, Object)} across
+     * processes.
+     *
+     * @return a boolean
+     *
+     * @see #compactTimestampRangeRecords(Object)
+     */
+    protected boolean isTimestampRangeCoalescingEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the number of rows that a bulk load sends to the database in one multi-row <code>INSERT</code>
+     * statement. This is used for the {@link #bulkLoad(Iterator, BulkLoadErrorPolicy)} and
+     * {@link #bulkLoadCSV(Reader, BulkLoadErrorPolicy)} methods. Override this method to change the bulk size
+     * (defaults to {@link #DEFAULT_BULK_LOAD_BULK_SIZE}).
+     *
+     * @return the bulk load bulk row size
+     */
+    protected int getBulkLoadBulkSize() {
+        return DEFAULT_BULK_LOAD_BULK_SIZE;
+    }
+
+    /**
+     * Returns the number of bulk statements that a bulk load sends to the database in one JDBC batch (unless its
+     * {@link BulkLoadErrorPolicy} is {@link BulkLoadErrorPolicy#IGNORE}). Override this method to change the batch
+     * size (defaults to {@link #DEFAULT_BULK_LOAD_BATCH_SIZE}).
+     *
+     * @return the bulk load batch size
+     */
+    protected int getBulkLoadBatchSize() {
+        return DEFAULT_BULK_LOAD_BATCH_SIZE;
+    }
+
+    /**
+     * Returns the number of rows that a bulk load commits in one transaction (a chunk). The timestamp range of a chunk
+     * is inserted in the same transaction as its rows (see {@link BulkLoadErrorPolicy#IGNORE} for the exception).
+     * Override this method to change the commit size (defaults to
+     * {@link #DEFAULT_BULK_LOAD_COMMIT_SIZE}).
+     *
+     * @return the bulk load commit row size
+     */
+    protected int getBulkLoadCommitSize() {
+        return DEFAULT_BULK_LOAD_COMMIT_SIZE;
+    }
+
+    /**
+     * Returns whether a bulk load should ignore rows that already exist in the {@link #getDataTable()} (instead of
+     * failing them according to the {@link BulkLoadErrorPolicy}). Since jOOQ can't combine duplicate key handling
+     * with multi-row bulk statements, enabling this loads the rows with batched single-row statements instead, which
+     * is slower. Override this method to enable it (defaults to <code>false</code>).
+     *
+     * @return a boolean
+     */
+    protected boolean isBulkLoadDuplicateIgnoringEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns whether the {@link #count(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)},
+     * {@link #firstTimestamp(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)},
+     * {@link #lastTimestamp(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)} and
+     * {@link #exists(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)} lookups should return nothing without
+     * querying the {@link #getDataTable()} if the range has no covered timestamp ranges (which are looked up in the
+     * {@link #getTimestampRangesCache()} if one is set). Only enable this if rows are never inserted into the
+     * {@link #getDataTable()} outside of the timestamp ranges of the {@link #getTimestampRangesTable()}. Override this
+     * method to enable it (defaults to <code>false</code>).
+     *
+     * @return a boolean
+     */
+    protected boolean isTimestampRangesLookupShortCircuitEnabled() {
+        return false;
+    }
+
+    /**
+     * Estimates the number of bytes of the values of the given time series data {@link Record}. This is only used
+     * for the mapped byte count reported to the {@link #getMetrics()}. Override this method for a more accurate
+     * estimate (defaults to the sum of the sizes of the primitive, {@link String}, <code>byte[]</code> and
+     * {@link BigDecimal} values, with any other value counted as 8 bytes).
+     *
+     * @param dataRecord the time series data {@link Record}
+     *
+     * @return the estimated byte count
+     */
+    protected long estimateDataRecordByteCount(R dataRecord) {
+        long byteCount = 0;
+        for (int index = 0; index < dataRecord.size(); index++) {
+            Object value = dataRecord.get(index);
+            if (value == null) {
+                continue;
+            } else if (value instanceof String) {
+                byteCount += 2L * ((String) value).length();
+            } else if (value instanceof byte[]) {
+                byteCount += ((byte[]) value).length;
+            } else if (value instanceof BigDecimal) {
+                byteCount += ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+            } else if (value instanceof Integer || value instanceof Float) {
+                byteCount += 4;
+            } else if (value instanceof Short || value instanceof Character) {
+                byteCount += 2;
+            } else if (value instanceof Byte || value instanceof Boolean) {
+                byteCount += 1;
+            } else {
+                byteCount += 8;
+            }
+        }
+        return byteCount;
+    }
+
+    /**
+     * Gets the timestamp of the given data POJO (via the {@link #getDataRecordUnmapper()}).
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @return the {@link LocalDateTime} of the {@link #getDataTimestampTableField()}
+     */
+    public LocalDateTime getDataTimestamp(P dataPOJO) {
+        checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+
+        return getDataRecordUnmapper().unmap(dataPOJO).get(getDataTimestampTableField());
+    }
+
     /**
      * Inserts a time series data POJO into the {@link #getDataTable()}.
      *
@@ -133,165 +532,3315 @@ public abstract class TimeSeriesDatabaseInterface<K, R extends Record, P,
     public void insert(P dataPOJO) throws DataAccessException {
         checkArgument(dataPOJO != null, "The data POJO cannot be null!");
 
-        // Insert the converted POJO to table record into the database data table
-        create.insertInto(getDataTable())
-                .set(getDataRecordUnmapper().unmap(dataPOJO))
+        // Insert the converted POJO to table record into the database data table (or its partition table)
+        R dataRecord = getDataRecordUnmapper().unmap(dataPOJO);
+        DSLContext dataTableCreate = dataTableRouter.getDataTableContext(create,
+                dataRecord.get(getDataTimestampTableField()));
+        long startNanos = System.nanoTime();
+        dataTableCreate.insertInto(getDataTable())
+                .set(dataRecord)
                 .onDuplicateKeyIgnore()
                 .execute();
+        metrics.recordInsert(dataRecord.get(getDataKeyTableField()), System.nanoTime() - startNanos, 1);
+        recordWrite(dataRecord.get(getDataKeyTableField()));
     }
 
     /**
-     * Gets the data POJOs from this database.
-     *
-     * @param key             the key
-     * @param from            the 'from' (inclusive)
-     * @param to              the 'to' (exclusive)
-     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
-     *                        filter) (inclusive)
-     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
-     *                        filter) (exclusive)
-     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * Inserts time series data POJOs into the {@link #getDataTable()} using JDBC batches of
+     * {@link #getDataInsertBatchSize()} rows at a time (rows that already exist are ignored).
      *
-     * @return a lazy {@link Iterator} (that is, an {@link Iterator} that fetches {@link #getDataFetchSize()} rows at a
-     * time)
+     * @param dataPOJOs the data POJOs {@link Collection}
      *
      * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #insert(Iterator)
      */
-    public Iterator<P> get(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
-            LocalTime endFilterTime, SortDirection sortDirection)
-            throws DataAccessException {
-        // Check arguments
-        checkArgument(key != null, "Key cannot be null!");
-        checkArgument(from != null, "From cannot be null!");
-        checkArgument(to != null, "To cannot be null!");
-        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+    public void insert(Collection<P> dataPOJOs) throws DataAccessException {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
 
-        // Create WHERE clause conditions
-        Condition keyEqualCondition = getDataKeyTableField().equal(key);
-        Condition timestampRangeCondition = getDataTimestampTableField().greaterOrEqual(from)
-                .and(getDataTimestampTableField().lessThan(to));
-        Condition timestampFilterCondition = trueCondition();
-        if (beginFilterTime != null) {
-            timestampFilterCondition = timestampFilterCondition.and(getDataTimestampTableField().cast(SQLDataType.TIME)
-                    .greaterOrEqual(Time.valueOf(beginFilterTime)));
-        }
-        if (endFilterTime != null) {
-            timestampFilterCondition = timestampFilterCondition.and(getDataTimestampTableField().cast(SQLDataType.TIME)
-                    .lessThan(Time.valueOf(endFilterTime)));
-        }
+        insert(dataPOJOs.iterator());
+    }
 
-        // Create ORDER BY clause
-        OrderField<LocalDateTime> orderByField = sortDirection == SortDirection.ASCENDING ?
-                getDataTimestampTableField().asc() :
-                getDataTimestampTableField().desc();
+    /**
+     * Inserts time series data POJOs into the {@link #getDataTable()} using JDBC batches of
+     * {@link #getDataInsertBatchSize()} rows at a time (rows that already exist are ignored). Note that the batches are
+     * not executed in one transaction, so use {@link #insert(Iterator, Object, LocalDateTime, LocalDateTime)} if the
+     * inserted rows should also mark a timestamp range as filled.
+     *
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public void insert(Iterator<P> dataPOJOs) throws DataAccessException {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
 
-        final RecordMapper<R, P> dataRecordMapper = getDataRecordMapper();
-        final Cursor<R> recordCursor = create.selectFrom(getDataTable())
-                .where(keyEqualCondition.and(timestampRangeCondition).and(timestampFilterCondition))
-                .orderBy(orderByField)
-                .fetchSize(getDataFetchSize())
-                .fetchLazy();
+        insertBatched(create, dataPOJOs);
+    }
 
-        return new Iterator<P>() {
-            @Override
-            public boolean hasNext() {
-                return recordCursor.hasNext(); // Closes the database query cursor automatically
-            }
+    /**
+     * Inserts time series data POJOs into the {@link #getDataTable()} and inserts the timestamp range {@link Record3}
+     * that the POJOs fill into the {@link #getTimestampRangesTable()} in one transaction.
+     *
+     * @param dataPOJOs the data POJOs {@link Collection}
+     * @param key       the key of the timestamp range
+     * @param from      the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to        the 'to' of the timestamp range whose value should be treated exclusively
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #insert(Iterator, Object, LocalDateTime, LocalDateTime)
+     */
+    public void insert(Collection<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
 
-            @Override
-            public P next() {
-                return recordCursor.fetchNext(dataRecordMapper);
-            }
-        };
+        insert(dataPOJOs.iterator(), key, from, to);
     }
 
     /**
-     * Inserts a timestamp range {@link Record3} into the {@link #getTimestampRangesTable()} table (does nothing if it
-     * already exists). Note that only {@link TemporalRange}s that are completely filled in the underlying data table
-     * should be inserted into the {@link #getTimestampRangesTable()} table.
+     * Inserts time series data POJOs into the {@link #getDataTable()} using JDBC batches of
+     * {@link #getDataInsertBatchSize()} rows at a time (rows that already exist are ignored) and inserts the timestamp
+     * range {@link Record3} that the POJOs fill into the {@link #getTimestampRangesTable()}. All of this is done in
+     * one transaction so that the timestamp range is never marked as filled before its rows have been committed.
      *
-     * @param key  the key
-     * @param from the 'from' whose value should be treated inclusively
-     * @param to   the 'to' whose value should be treated exclusively
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     * @param key       the key of the timestamp range
+     * @param from      the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to        the 'to' of the timestamp range whose value should be treated exclusively
      *
      * @throws DataAccessException thrown for {@link DataAccessException}s
      */
-    public void insertTimestampRangeRecord(K key, LocalDateTime from, LocalDateTime to) throws DataAccessException {
+    public void insert(Iterator<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
         // Check arguments
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
         checkArgument(key != null, "Key cannot be null!");
         checkArgument(from != null, "From cannot be null!");
         checkArgument(to != null, "To cannot be null!");
 
-        // Create the record
-        Record3<K, LocalDateTime, LocalDateTime> timestampRangesRecord = create.newRecord(getTimestampRangesTable());
-        timestampRangesRecord.set(getTimestampRangesKeyTableField(), key);
-        timestampRangesRecord.set(getTimestampRangesFromTableField(), from);
-        timestampRangesRecord.set(getTimestampRangesToTableField(), to);
+        callWithTimestampRangeLock(key, () -> {
+            create.transaction(configuration -> {
+                DSLContext transactionCreate = DSL.using(configuration);
+                insertBatched(transactionCreate, dataPOJOs);
+                insertTimestampRangeRecord(transactionCreate, key, from, to);
+            });
+            return null;
+        });
 
-        // Insert into the table (do nothing if it already exists)
-        create.insertInto(getTimestampRangesTable())
-                .set(timestampRangesRecord)
-                .onDuplicateKeyIgnore()
-                .execute();
+        addToTimestampRangesCache(key, from, to);
+        recordWrite(key);
     }
 
     /**
-     * Gets {@link TemporalRange}s that were inserted via {@link #insertTimestampRangeRecord(Object, LocalDateTime,
-     * LocalDateTime)} given a {@link LocalDateTime} range.
+     * Asynchronously calls {@link #insert(Object)} on the given {@link Executor}.
      *
-     * @param key           the key
-     * @param from          the 'from' (inclusive)
-     * @param to            the 'to' (inclusive)
-     * @param sortDirection the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param dataPOJO the data POJO
+     * @param executor the {@link Executor} to insert on
      *
-     * @return a {@link List} of {@link TemporalRange}s of type {@link LocalDateTime}. Note that the {@link
-     * LocalDateTime}s in the {@link TemporalRange}s could go beyond the range of the 'from' and the 'to' and is added
-     * to the {@link List} as long as one of the {@link LocalDateTime}s is in the given range. This {@link List} is
-     * sorted by the 'from' and then the 'to' if sortDirection is {@link SortDirection#ASCENDING}, otherwise it is
-     * sorted by the 'to' and then the 'from'.
+     * @return a {@link CompletableFuture} that completes once the insert has been committed (or completes
+     * exceptionally with the {@link DataAccessException})
+     */
+    public CompletableFuture<Void> insertAsync(P dataPOJO, Executor executor) {
+        checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        return CompletableFuture.runAsync(() -> insert(dataPOJO), executor);
+    }
+
+    /**
+     * Asynchronously calls {@link #insert(Collection)} on the given {@link Executor}.
      *
-     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @param dataPOJOs the data POJOs {@link Collection}
+     * @param executor  the {@link Executor} to insert on
+     *
+     * @return a {@link CompletableFuture} that completes once all batches have been committed (or completes
+     * exceptionally with the {@link DataAccessException})
      */
-    public List<TemporalRange<LocalDateTime>> getTimestampRanges(K key, LocalDateTime from, LocalDateTime to,
-            SortDirection sortDirection) throws DataAccessException {
-        // Check arguments
-        checkArgument(key != null, "Key cannot be null!");
-        checkArgument(from != null, "From cannot be null!");
-        checkArgument(to != null, "To cannot be null!");
-        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+    public CompletableFuture<Void> insertAsync(Collection<P> dataPOJOs, Executor executor) {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
 
-        // Create WHERE clause conditions
-        // We basically want to get any timestamp range that intersects, is contained within, or contains the
-        // passed in timestamp range.
-        Condition keyEqualCondition = getTimestampRangesKeyTableField().equal(key);
-        Condition fromArgumentCondition = val(from).greaterOrEqual(getTimestampRangesFromTableField()).and(
-                val(from).lessOrEqual(getTimestampRangesToTableField()));
-        Condition fromDatabaseCondition = getTimestampRangesFromTableField().greaterOrEqual(from).and(
-                getTimestampRangesToTableField().lessOrEqual(from));
-        Condition toArgumentCondition = val(to).lessOrEqual(getTimestampRangesToTableField()).and(
-                val(from).greaterOrEqual(getTimestampRangesToTableField()));
-        Condition toDatabaseCondition = getTimestampRangesToTableField().lessOrEqual(to).and(
-                getTimestampRangesToTableField().greaterOrEqual(from));
+        return CompletableFuture.runAsync(() -> insert(dataPOJOs), executor);
+    }
 
-        // Create ORDER BY clause
-        // We first want to order by the 'from' ASC and then by the 'to' ASC if the sortDirection is 'ASCENDING' and
-        // order by the 'to' DESC and then by the 'from' DESC if the sortDirection is 'DESCENDING'.
-        OrderField<LocalDateTime> firstOrder = sortDirection == SortDirection.ASCENDING ?
-                getTimestampRangesFromTableField().asc() :
-                getTimestampRangesToTableField().desc();
-        OrderField<LocalDateTime> secondOrder = sortDirection == SortDirection.ASCENDING ?
-                getTimestampRangesToTableField().asc() :
-                getTimestampRangesFromTableField().desc();
+    /**
+     * Asynchronously calls {@link #insert(Iterator)} on the given {@link Executor}. Note that the {@link Iterator} is
+     * iterated by a thread of the {@link Executor}.
+     *
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     * @param executor  the {@link Executor} to insert on
+     *
+     * @return a {@link CompletableFuture} that completes once all batches have been committed (or completes
+     * exceptionally with the {@link DataAccessException})
+     */
+    public CompletableFuture<Void> insertAsync(Iterator<P> dataPOJOs, Executor executor) {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
 
-        return create
-                .select(getTimestampRangesFromTableField(), getTimestampRangesToTableField())
-                .from(getTimestampRangesTable())
-                .where(keyEqualCondition.and(
-                        fromArgumentCondition
+        return CompletableFuture.runAsync(() -> insert(dataPOJOs), executor);
+    }
+
+    /**
+     * Asynchronously calls {@link #insert(Collection, Object, LocalDateTime, LocalDateTime)} on the given
+     * {@link Executor}.
+     *
+     * @param dataPOJOs the data POJOs {@link Collection}
+     * @param key       the key of the timestamp range
+     * @param from      the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to        the 'to' of the timestamp range whose value should be treated exclusively
+     * @param executor  the {@link Executor} to insert on
+     *
+     * @return a {@link CompletableFuture} that completes once the transaction has been committed (or completes
+     * exceptionally with the {@link DataAccessException})
+     */
+    public CompletableFuture<Void> insertAsync(Collection<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to,
+            Executor executor) {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        return CompletableFuture.runAsync(() -> insert(dataPOJOs, key, from, to), executor);
+    }
+
+    /**
+     * Asynchronously calls {@link #insert(Iterator, Object, LocalDateTime, LocalDateTime)} on the given
+     * {@link Executor}. Note that the {@link Iterator} is iterated by a thread of the {@link Executor}.
+     *
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     * @param key       the key of the timestamp range
+     * @param from      the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to        the 'to' of the timestamp range whose value should be treated exclusively
+     * @param executor  the {@link Executor} to insert on
+     *
+     * @return a {@link CompletableFuture} that completes once the transaction has been committed (or completes
+     * exceptionally with the {@link DataAccessException})
+     */
+    public CompletableFuture<Void> insertAsync(Iterator<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to,
+            Executor executor) {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        return CompletableFuture.runAsync(() -> insert(dataPOJOs, key, from, to), executor);
+    }
+
+    /**
+     * Inserts the given data POJOs into the {@link #getDataTable()} using JDBC batches of
+     * {@link #getDataInsertBatchSize()} single-row inserts at a time.
+     *
+     * @param create    the {@link DSLContext} to execute the inserts with
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     */
+    private void insertBatched(DSLContext create, Iterator<P> dataPOJOs) {
+        final int insertBatchSize = getDataInsertBatchSize();
+        checkArgument(insertBatchSize > 0, "The insert batch size must be greater than zero!");
+
+        final TablePartitioner tablePartitioner = this.tablePartitioner;
+        final ReadReplicaRouter<K> readReplicaRouter = this.readReplicaRouter;
+        final RecordUnmapper<P, R> dataRecordUnmapper = getDataRecordUnmapper();
+        final TableField<R, K> dataKeyTableField = getDataKeyTableField();
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+        final Set<K> batchKeys = readReplicaRouter == null ? null : new HashSet<>();
+        final List<Query> insertQueries = new ArrayList<>(Math.min(insertBatchSize, 1024));
+        R nextDataRecord = null;
+        while (nextDataRecord != null || dataPOJOs.hasNext()) {
+            // Add up to 'insertBatchSize' converted POJOs of one partition to a JDBC batch. Each row is inserted with
+            // its own INSERT statement since a multi-row INSERT that ignores duplicates is emulated with a MERGE on
+            // some databases, which grows with every row (and can overflow the stack of the H2 parser).
+            DSLContext batchCreate = null;
+            K batchKey = null;
+            LocalDateTime batchPartitionStart = null;
+            while (insertQueries.size() < insertBatchSize && (nextDataRecord != null || dataPOJOs.hasNext())) {
+                R dataRecord = nextDataRecord;
+                nextDataRecord = null;
+                if (dataRecord == null) {
+                    P dataPOJO = dataPOJOs.next();
+                    checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+                    dataRecord = dataRecordUnmapper.unmap(dataPOJO);
+                }
+
+                K key = dataRecord.get(dataKeyTableField);
+                LocalDateTime partitionStart = tablePartitioner == null ? null :
+                        tablePartitioner.getPartitionStart(dataRecord.get(dataTimestampTableField));
+                if (batchCreate == null) {
+                    batchCreate = partitionStart == null ? create :
+                            tablePartitioner.getPartitionContext(create, getDataTable(), partitionStart);
+                    batchKey = key;
+                    batchPartitionStart = partitionStart;
+                } else if (!Objects.equals(batchPartitionStart, partitionStart)) {
+                    nextDataRecord = dataRecord; // Starts the batch of the next partition
+                    break;
+                } else {
+                    // The batch is only attributed to a key if all of its rows have that key
+                    batchKey = Objects.equals(batchKey, key) ? batchKey : null;
+                }
+                insertQueries.add(batchCreate.insertInto(getDataTable())
+                        .set(dataRecord)
+                        .onDuplicateKeyIgnore());
+                if (batchKeys != null) {
+                    batchKeys.add(key);
+                }
+            }
+
+            long startNanos = System.nanoTime();
+            if (insertQueries.size() == 1) {
+                insertQueries.get(0).execute();
+            } else {
+                batchCreate.batch(insertQueries).execute();
+            }
+            metrics.recordInsert(batchKey, System.nanoTime() - startNanos, insertQueries.size());
+            insertQueries.clear();
+            if (batchKeys != null) {
+                batchKeys.forEach(readReplicaRouter::recordWrite);
+                batchKeys.clear();
+            }
+        }
+    }
+
+    /**
+     * Bulk loads time series data POJOs into the {@link #getDataTable()} with the jOOQ {@link Loader} API. The data
+     * POJOs are committed in chunks of {@link #getBulkLoadCommitSize()} rows, each of which is sent with multi-row
+     * statements of {@link #getBulkLoadBulkSize()} rows in JDBC batches of {@link #getBulkLoadBatchSize()} statements.
+     * This is meant for historical backfills that would take too long with {@link #insert(Object)}. If a
+     * {@link #getChunkStore()} is set, the loaded rows are sealed into it by {@link #sealChunks(LocalDateTime)}.
+     *
+     * @param dataPOJOs   the data POJOs {@link Iterator}
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (defaults to {@link BulkLoadErrorPolicy#ABORT})
+     *
+     * @return the {@link BulkLoadResult}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #loadDataRecords(DSLContext, List, BulkLoadErrorPolicy)
+     */
+    public BulkLoadResult bulkLoad(Iterator<P> dataPOJOs, BulkLoadErrorPolicy errorPolicy)
+            throws DataAccessException {
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+
+        return bulkLoadDataRecords(unmapDataPOJOs(dataPOJOs), null, null, null, errorPolicy);
+    }
+
+    /**
+     * Bulk loads time series data POJOs of one key into the {@link #getDataTable()} like
+     * {@link #bulkLoad(Iterator, BulkLoadErrorPolicy)} and inserts the timestamp range that each chunk fills into the
+     * {@link #getTimestampRangesTable()} in the same transaction as the chunk. That is, the first chunk fills [from,
+     * the last timestamp of the chunk), the next chunk continues from there and the last chunk fills the rest up to
+     * the 'to'. This way, a backfill that fails midway only needs to be resumed from the missing timestamp ranges.
+     *
+     * @param dataPOJOs   the data POJOs {@link Iterator} (which must all have the given key and be sorted by the
+     *                    timestamp in ascending order within the range)
+     * @param key         the key of the timestamp range
+     * @param from        the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to          the 'to' of the timestamp range whose value should be treated exclusively
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (defaults to {@link BulkLoadErrorPolicy#ABORT})
+     *
+     * @return the {@link BulkLoadResult}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public BulkLoadResult bulkLoad(Iterator<P> dataPOJOs, K key, LocalDateTime from, LocalDateTime to,
+            BulkLoadErrorPolicy errorPolicy) throws DataAccessException {
+        // Check arguments
+        checkArgument(dataPOJOs != null, "The data POJOs cannot be null!");
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        return bulkLoadDataRecords(unmapDataPOJOs(dataPOJOs), key, from, to, errorPolicy);
+    }
+
+    /**
+     * Bulk loads the rows of a CSV flat file into the {@link #getDataTable()} like
+     * {@link #bulkLoad(Iterator, BulkLoadErrorPolicy)}. The first line of the CSV must be a header with the names of
+     * the {@link #getDataTable()} fields, and every following line must be one row (quoted values can't contain line
+     * breaks). The CSV is read and parsed {@link #getBulkLoadBulkSize()} lines at a time, so it is never read into
+     * memory completely.
+     *
+     * @param csvReader   the CSV {@link Reader} (which is not closed by this method)
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (defaults to {@link BulkLoadErrorPolicy#ABORT})
+     *
+     * @return the {@link BulkLoadResult}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s (including a
+     *                             {@link org.jooq.exception.IOException} if the CSV can't be read)
+     */
+    public BulkLoadResult bulkLoadCSV(Reader csvReader, BulkLoadErrorPolicy errorPolicy) throws DataAccessException {
+        checkArgument(csvReader != null, "The CSV reader cannot be null!");
+
+        return bulkLoadDataRecords(new CSVDataRecordIterator(csvReader), null, null, null, errorPolicy);
+    }
+
+    /**
+     * Bulk loads the rows of a CSV flat file of one key into the {@link #getDataTable()} like
+     * {@link #bulkLoadCSV(Reader, BulkLoadErrorPolicy)} and inserts the timestamp range that each chunk fills like
+     * {@link #bulkLoad(Iterator, Object, LocalDateTime, LocalDateTime, BulkLoadErrorPolicy)}.
+     *
+     * @param csvReader   the CSV {@link Reader} (whose rows must all have the given key and be sorted by the
+     *                    timestamp in ascending order within the range)
+     * @param key         the key of the timestamp range
+     * @param from        the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to          the 'to' of the timestamp range whose value should be treated exclusively
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (defaults to {@link BulkLoadErrorPolicy#ABORT})
+     *
+     * @return the {@link BulkLoadResult}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s (including a
+     *                             {@link org.jooq.exception.IOException} if the CSV can't be read)
+     */
+    public BulkLoadResult bulkLoadCSV(Reader csvReader, K key, LocalDateTime from, LocalDateTime to,
+            BulkLoadErrorPolicy errorPolicy) throws DataAccessException {
+        // Check arguments
+        checkArgument(csvReader != null, "The CSV reader cannot be null!");
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        return bulkLoadDataRecords(new CSVDataRecordIterator(csvReader), key, from, to, errorPolicy);
+    }
+
+    /**
+     * Loads one chunk of time series data {@link Record}s into the {@link #getDataTable()} with the jOOQ
+     * {@link Loader} API using the given {@link DSLContext}. The {@link DSLContext} is transactional, unless the
+     * <code>errorPolicy</code> is {@link BulkLoadErrorPolicy#IGNORE}, in which case it is the auto-commit
+     * {@link DSLContext} of this interface so that a failed statement doesn't abort the transaction of the remaining
+     * rows (as PostgreSQL does). With {@link BulkLoadErrorPolicy#IGNORE}, the bulk statements are executed one at a
+     * time instead and the rows of a failed one are retried one row at a time. Override this method to use a faster
+     * dialect-specific mechanism (e.g. PostgreSQL's <code>COPY</code>) that is executed on the connection of the given
+     * {@link DSLContext}.
+     *
+     * @param create      the {@link DSLContext} of the chunk
+     * @param dataRecords the time series data {@link Record}s of the chunk
+     * @param errorPolicy the {@link BulkLoadErrorPolicy}
+     *
+     * @return the {@link BulkLoadResult} of the chunk
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s (which must be thrown for a failed row if
+     *                             the <code>errorPolicy</code> is {@link BulkLoadErrorPolicy#ABORT})
+     */
+    protected BulkLoadResult loadDataRecords(DSLContext create, List<R> dataRecords,
+            BulkLoadErrorPolicy errorPolicy) throws DataAccessException {
+        final int bulkSize = getBulkLoadBulkSize();
+        final int batchSize = getBulkLoadBatchSize();
+        checkArgument(bulkSize > 0, "The bulk load bulk size must be greater than zero!");
+        checkArgument(batchSize > 0, "The bulk load batch size must be greater than zero!");
+
+        if (errorPolicy == BulkLoadErrorPolicy.IGNORE) {
+            return loadDataRecordsIgnoringErrors(create, dataRecords, bulkSize);
+        }
+
+        long startNanos = System.nanoTime();
+        LoaderOptionsStep<R> loaderOptions = create.loadInto(getDataTable());
+        loaderOptions = isBulkLoadDuplicateIgnoringEnabled() ?
+                loaderOptions.onDuplicateKeyIgnore().bulkNone() :
+                loaderOptions.onDuplicateKeyError().bulkAfter(bulkSize);
+
+        Loader<R> loader;
+        try {
+            loader = loaderOptions.onErrorAbort()
+                    .batchAfter(batchSize)
+                    .commitNone() // The chunk is committed by the enclosing transaction
+                    .loadRecords(dataRecords)
+                    .fields(getDataTable().fields())
+                    .execute();
+        } catch (IOException exception) {
+            throw new org.jooq.exception.IOException("Could not load the data records!", exception);
+        }
+
+        if (!loader.errors().isEmpty()) {
+            LoaderError loaderError = loader.errors().get(0);
+            throw new DataAccessException("Row " + loaderError.rowIndex() + " of the bulk load chunk could not be " +
+                    "stored!", loaderError.exception());
+        }
+
+        return new BulkLoadResult(loader.processed(), loader.stored(), loader.ignored(), loader.errors().size(),
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Loads one chunk of time series data {@link Record}s into the {@link #getDataTable()} with bulk statements of the
+     * given size that are executed one at a time (instead of in JDBC batches) on the given auto-commit
+     * {@link DSLContext}, so that a failed bulk statement stores none of its rows. The rows of a failed bulk statement
+     * are retried one row at a time so that only the rows that fail on their own are skipped.
+     *
+     * @param create      the auto-commit {@link DSLContext}
+     * @param dataRecords the time series data {@link Record}s of the chunk
+     * @param bulkSize    the number of rows of a bulk statement
+     *
+     * @return the {@link BulkLoadResult} of the chunk
+     */
+    private BulkLoadResult loadDataRecordsIgnoringErrors(DSLContext create, List<R> dataRecords, int bulkSize) {
+        // Duplicate key handling can't be combined with multi-row statements (see the Loader API)
+        final boolean ignoringDuplicates = isBulkLoadDuplicateIgnoringEnabled();
+
+        long startNanos = System.nanoTime();
+        long storedRowCount = 0;
+        long errorRowCount = 0;
+        for (List<R> bulkDataRecords : Lists.partition(dataRecords, ignoringDuplicates ? 1 : bulkSize)) {
+            int insertedCount = executeBulkInsert(create, bulkDataRecords, ignoringDuplicates);
+            if (insertedCount >= 0) {
+                storedRowCount += insertedCount;
+            } else if (bulkDataRecords.size() == 1) {
+                errorRowCount++;
+            } else {
+                for (R dataRecord : bulkDataRecords) {
+                    insertedCount = executeBulkInsert(create, Collections.singletonList(dataRecord), false);
+                    if (insertedCount >= 0) {
+                        storedRowCount += insertedCount;
+                    } else {
+                        errorRowCount++;
+                    }
+                }
+            }
+        }
+
+        return new BulkLoadResult(dataRecords.size(), storedRowCount, dataRecords.size() - storedRowCount -
+                errorRowCount, errorRowCount, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Executes one (multi-row) <code>INSERT</code> statement of the given time series data {@link Record}s into the
+     * {@link #getDataTable()}.
+     *
+     * @param create             the {@link DSLContext}
+     * @param dataRecords        the time series data {@link Record}s
+     * @param ignoringDuplicates <code>true</code> to ignore the rows that already exist (only for a single row)
+     *
+     * @return the number of inserted rows, or <code>-1</code> if the statement failed
+     */
+    private int executeBulkInsert(DSLContext create, List<R> dataRecords, boolean ignoringDuplicates) {
+        InsertValuesStepN<R> insertStep = create.insertInto(getDataTable(), getDataTable().fields());
+        for (R dataRecord : dataRecords) {
+            insertStep = insertStep.values(dataRecord.intoArray());
+        }
+
+        try {
+            return ignoringDuplicates ? insertStep.onDuplicateKeyIgnore().execute() : insertStep.execute();
+        } catch (DataAccessException exception) {
+            LOGGER.debug("Could not store {} rows of a bulk load chunk: {}", dataRecords.size(),
+                    exception.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Bulk loads the given time series data {@link Record}s in chunks of {@link #getBulkLoadCommitSize()} rows, each of
+     * which is loaded via {@link #loadDataRecords(DSLContext, List, BulkLoadErrorPolicy)} in its own transaction. With
+     * {@link BulkLoadErrorPolicy#IGNORE}, the rows of a chunk are loaded in auto-commit mode instead and the timestamp
+     * range of the chunk is inserted in its own transaction afterwards.
+     *
+     * @param dataRecords the time series data {@link Record} {@link Iterator}
+     * @param key         the key of the timestamp range (<code>null</code> to not insert timestamp ranges)
+     * @param from        the 'from' of the timestamp range (inclusive)
+     * @param to          the 'to' of the timestamp range (exclusive)
+     * @param errorPolicy the {@link BulkLoadErrorPolicy} (nullable)
+     *
+     * @return the {@link BulkLoadResult}
+     */
+    BulkLoadResult bulkLoadDataRecords(Iterator<R> dataRecords, K key, LocalDateTime from, LocalDateTime to,
+            BulkLoadErrorPolicy errorPolicy) {
+        final int commitSize = getBulkLoadCommitSize();
+        checkArgument(commitSize > 0, "The bulk load commit size must be greater than zero!");
+        final BulkLoadErrorPolicy policy = errorPolicy == null ? BulkLoadErrorPolicy.ABORT : errorPolicy;
+        final TableField<R, K> dataKeyTableField = getDataKeyTableField();
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+
+        final long startNanos = System.nanoTime();
+        final List<R> chunk = new ArrayList<>(Math.min(commitSize, 1 << 16));
+        long processedRowCount = 0;
+        long storedRowCount = 0;
+        long ignoredRowCount = 0;
+        long errorRowCount = 0;
+        LocalDateTime chunkFrom = from;
+        LocalDateTime lastTimestamp = from;
+        do {
+            // Fill the next chunk and validate that the rows are within the timestamp range in ascending order
+            chunk.clear();
+            while (chunk.size() < commitSize && dataRecords.hasNext()) {
+                R dataRecord = dataRecords.next();
+                if (key != null) {
+                    LocalDateTime timestamp = dataRecord.get(dataTimestampTableField);
+                    checkArgument(key.equals(dataRecord.get(dataKeyTableField)),
+                            "The bulk loaded rows must all have the key!");
+                    checkArgument(timestamp != null && !timestamp.isBefore(lastTimestamp) && timestamp.isBefore(to),
+                            "The bulk loaded rows must be sorted by the timestamp in ascending order within the " +
+                                    "timestamp range!");
+                    lastTimestamp = timestamp;
+                }
+                chunk.add(dataRecord);
+            }
+
+            // The last timestamp may continue in the next chunk, so a chunk only fills up to its last timestamp
+            final LocalDateTime rangeFrom = chunkFrom;
+            final LocalDateTime rangeTo = dataRecords.hasNext() ? lastTimestamp : to;
+            final boolean insertingTimestampRange = key != null && rangeFrom.isBefore(rangeTo);
+            if (chunk.isEmpty() && !insertingTimestampRange) {
+                break;
+            }
+
+            long chunkStartNanos = System.nanoTime();
+            BulkLoadResult chunkResult;
+            if (policy == BulkLoadErrorPolicy.IGNORE) {
+                // Databases like PostgreSQL abort a transaction on its first failed statement (which would fail the
+                // rest of the chunk), so the rows are loaded in auto-commit mode and the timestamp range of a chunk
+                // without errors is only inserted after its rows were committed
+                chunkResult = chunk.isEmpty() ? new BulkLoadResult(0, 0, 0, 0, 0) :
+                        loadPartitionedDataRecords(create, chunk, policy);
+                if (insertingTimestampRange && chunkResult.getErrorRowCount() == 0) {
+                    callWithTimestampRangeLock(key, () -> {
+                        create.transaction(configuration ->
+                                insertTimestampRangeRecord(DSL.using(configuration), key, rangeFrom, rangeTo));
+                        return null;
+                    });
+                }
+            } else {
+                chunkResult = callWithTimestampRangeLock(insertingTimestampRange ? key : null, () ->
+                        create.transactionResult(configuration -> {
+                            DSLContext transactionCreate = DSL.using(configuration);
+                            BulkLoadResult loadResult = chunk.isEmpty() ? new BulkLoadResult(0, 0, 0, 0, 0) :
+                                    loadPartitionedDataRecords(transactionCreate, chunk, policy);
+                            if (insertingTimestampRange && loadResult.getErrorRowCount() == 0) {
+                                insertTimestampRangeRecord(transactionCreate, key, rangeFrom, rangeTo);
+                            }
+                            return loadResult;
+                        }));
+            }
+            if (!chunk.isEmpty()) {
+                metrics.recordInsert(key, System.nanoTime() - chunkStartNanos, chunk.size());
+            }
+            final ReadReplicaRouter<K> readReplicaRouter = this.readReplicaRouter;
+            if (readReplicaRouter != null) {
+                if (key != null) {
+                    readReplicaRouter.recordWrite(key);
+                } else {
+                    K lastKey = null;
+                    for (R dataRecord : chunk) {
+                        K dataKey = dataRecord.get(dataKeyTableField);
+                        if (!Objects.equals(lastKey, dataKey)) {
+                            readReplicaRouter.recordWrite(dataKey);
+                            lastKey = dataKey;
+                        }
+                    }
+                }
+            }
+
+            if (chunkResult.getErrorRowCount() == 0) {
+                if (insertingTimestampRange) {
+                    addToTimestampRangesCache(key, rangeFrom, rangeTo);
+                }
+            } else {
+                LOGGER.warn("{} rows of a bulk load chunk could not be stored! The timestamp range [{}, {}) of key {} " +
+                        "was not inserted.", chunkResult.getErrorRowCount(), rangeFrom, rangeTo, key);
+            }
+
+            processedRowCount += chunkResult.getProcessedRowCount();
+            storedRowCount += chunkResult.getStoredRowCount();
+            ignoredRowCount += chunkResult.getIgnoredRowCount();
+            errorRowCount += chunkResult.getErrorRowCount();
+            chunkFrom = rangeTo;
+        } while (dataRecords.hasNext());
+
+        return new BulkLoadResult(processedRowCount, storedRowCount, ignoredRowCount, errorRowCount,
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Loads one chunk of time series data {@link Record}s via
+     * {@link #loadDataRecords(DSLContext, List, BulkLoadErrorPolicy)}. If a {@link #getTablePartitioner()} is set, the
+     * rows of every partition are loaded into its partition table separately.
+     *
+     * @param create      the {@link DSLContext} of the chunk
+     * @param dataRecords the time series data {@link Record}s of the chunk
+     * @param errorPolicy the {@link BulkLoadErrorPolicy}
+     *
+     * @return the summed {@link BulkLoadResult} of the chunk
+     */
+    private BulkLoadResult loadPartitionedDataRecords(DSLContext create, List<R> dataRecords,
+            BulkLoadErrorPolicy errorPolicy) {
+        final TablePartitioner tablePartitioner = this.tablePartitioner;
+        if (tablePartitioner == null) {
+            return loadDataRecords(create, dataRecords, errorPolicy);
+        }
+
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+        Map<LocalDateTime, List<R>> dataRecordsOfPartitionStarts = new LinkedHashMap<>();
+        for (R dataRecord : dataRecords) {
+            dataRecordsOfPartitionStarts.computeIfAbsent(
+                    tablePartitioner.getPartitionStart(dataRecord.get(dataTimestampTableField)),
+                    partitionStart -> new ArrayList<>()).add(dataRecord);
+        }
+
+        long processedRowCount = 0;
+        long storedRowCount = 0;
+        long ignoredRowCount = 0;
+        long errorRowCount = 0;
+        long elapsedNanos = 0;
+        for (Map.Entry<LocalDateTime, List<R>> partitionDataRecords : dataRecordsOfPartitionStarts.entrySet()) {
+            BulkLoadResult loadResult = loadDataRecords(tablePartitioner.getPartitionContext(create, getDataTable(),
+                    partitionDataRecords.getKey()), partitionDataRecords.getValue(), errorPolicy);
+            processedRowCount += loadResult.getProcessedRowCount();
+            storedRowCount += loadResult.getStoredRowCount();
+            ignoredRowCount += loadResult.getIgnoredRowCount();
+            errorRowCount += loadResult.getErrorRowCount();
+            elapsedNanos += loadResult.getElapsedNanos();
+        }
+        return new BulkLoadResult(processedRowCount, storedRowCount, ignoredRowCount, errorRowCount, elapsedNanos);
+    }
+
+    /**
+     * Lazily unmaps the given data POJOs to time series data {@link Record}s.
+     *
+     * @param dataPOJOs the data POJOs {@link Iterator}
+     *
+     * @return the time series data {@link Record} {@link Iterator}
+     */
+    private Iterator<R> unmapDataPOJOs(Iterator<P> dataPOJOs) {
+        final RecordUnmapper<P, R> dataRecordUnmapper = getDataRecordUnmapper();
+        return Iterators.transform(dataPOJOs, dataPOJO -> {
+            checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+            return dataRecordUnmapper.unmap(dataPOJO);
+        });
+    }
+
+    /**
+     * Gets the data POJOs from this database.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     *
+     * @return a lazy {@link Iterator} (that is, an {@link Iterator} that fetches {@link #getDataFetchSize()} rows at a
+     * time). If a {@link #getChunkStore()} is set, the data POJOs are decoded from its {@link Chunk}s and merged with
+     * the unsealed rows of the {@link #getDataTable()} instead (see {@link #sealChunks(LocalDateTime)}). If a
+     * {@link #getSegmentCache()} is set, the data POJOs of the {@link Segment}s that are completely filled are read
+     * from the {@link SegmentCache} instead. The database cursor is closed once the {@link Iterator}
+     * is exhausted, and the {@link Iterator} is also {@link AutoCloseable} to close it before then.
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public Iterator<P> get(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection)
+            throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        if (chunkStore != null) {
+            return getFromChunkStore(chunkStore, key, from, to, beginFilterTime, endFilterTime, sortDirection);
+        }
+
+        final SegmentCache<K, P> segmentCache = this.segmentCache;
+        if (segmentCache != null && from.isBefore(to)) {
+            return getWithSegmentCache(segmentCache, key, from, to, beginFilterTime, endFilterTime, sortDirection);
+        }
+
+        return getFromDataTable(key, from, to, beginFilterTime, endFilterTime, sortDirection);
+    }
+
+    /**
+     * Gets the data POJOs of multiple keys from this database merged into one {@link Iterator} that is sorted by the
+     * timestamp. The keys are distributed over up to {@link #getMultiKeyCursorCount()} database cursors (each of
+     * which queries its keys with one <code>IN</code> query sorted by the timestamp). If an {@link Executor} is given,
+     * the cursors are fetched concurrently on it into read-ahead buffers of {@link #getReadAheadSize()} data POJOs and
+     * are merged with a k-way merge, otherwise all keys are queried with one <code>IN</code> query. Note that the
+     * {@link DSLContext} should be backed by a pooled <code>DataSource</code> for the cursors to run concurrently. If a
+     * {@link #getChunkStore()} is set, the {@link Chunk}s of every key are read like
+     * {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} instead (on the
+     * consuming thread) and are merged with a k-way merge.
+     *
+     * @param keys            the keys
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param executor        the {@link Executor} to fetch the cursors concurrently on (<code>null</code> to query all
+     *                        keys with one cursor on the consuming thread). Since the fetch tasks never wait on the
+     *                        consumer, a small, bounded thread pool can be shared by many queries.
+     *
+     * @return a lazy {@link Iterator} of the data POJOs of all keys (the order of data POJOs with equal timestamps is
+     * undefined). The {@link Iterator} is {@link AutoCloseable} to close all database cursors before it is exhausted.
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public Iterator<P> get(Collection<K> keys, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Executor executor) throws DataAccessException {
+        // Check arguments
+        checkArgument(keys != null, "Keys cannot be null!");
+        checkArgument(!keys.isEmpty(), "Keys cannot be empty!");
+        checkArgument(!keys.contains(null), "Keys cannot contain null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        final SortDirection direction = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        if (chunkStore != null) {
+            if (!from.isBefore(to)) {
+                return Collections.emptyIterator();
+            }
+
+            List<ChunkTailMergingIterator> chunkTailIterators = new ArrayList<>(distinctKeys.size());
+            for (K key : distinctKeys) {
+                chunkTailIterators.add(createChunkTailMergingIterator(chunkStore, key, from, to, beginFilterTime,
+                        endFilterTime, direction));
+            }
+            return mergeChunkTailIterators(chunkTailIterators, direction);
+        }
+
+        int cursorCount = executor == null ? 1 : Math.min(distinctKeys.size(), getMultiKeyCursorCount());
+        checkArgument(cursorCount > 0, "The multi-key cursor count must be greater than zero!");
+
+        if (cursorCount == 1 && executor == null) {
+            return new DataIterator(fetchDataLazy(dataTableRouter.getReadContext(distinctKeys), null,
+                    getDataKeyTableField().in(distinctKeys), from, to, beginFilterTime, endFilterTime, direction),
+                    getDataRecordMapper());
+        }
+
+        // Distribute the keys over the cursors
+        List<List<K>> cursorKeys = new ArrayList<>(cursorCount);
+        for (int cursorIndex = 0; cursorIndex < cursorCount; cursorIndex++) {
+            cursorKeys.add(new ArrayList<>());
+        }
+        for (int keyIndex = 0; keyIndex < distinctKeys.size(); keyIndex++) {
+            cursorKeys.get(keyIndex % cursorCount).add(distinctKeys.get(keyIndex));
+        }
+
+        // Start fetching all cursors concurrently
+        final int readAheadSize = getReadAheadSize();
+        List<Iterator<TimestampedDataPOJO<P>>> readAheadIterators = new ArrayList<>(cursorCount);
+        for (List<K> keysOfCursor : cursorKeys) {
+            Condition keyCondition = keysOfCursor.size() == 1 ?
+                    getDataKeyTableField().equal(keysOfCursor.get(0)) :
+                    getDataKeyTableField().in(keysOfCursor);
+            readAheadIterators.add(new ReadAheadIterator<>(new TimestampedDataIterator(
+                    dataTableRouter.getReadContext(keysOfCursor), keyCondition, from, to,
+                    beginFilterTime, endFilterTime, direction), executor, readAheadSize).start());
+        }
+
+        Comparator<TimestampedDataPOJO<P>> timestampComparator = Comparator.comparing(
+                timestampedDataPOJO -> timestampedDataPOJO.timestamp);
+        return new MergeSortedIterator<>(readAheadIterators, direction == SortDirection.ASCENDING ?
+                        timestampComparator : timestampComparator.reversed(),
+                timestampedDataPOJO -> timestampedDataPOJO.dataPOJO);
+    }
+
+    /**
+     * Gets the data POJOs from this database like {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection)}, but splits the range into time slices of {@link #getScanSliceDuration()} and fetches
+     * up to {@link #getScanParallelism()} of the upcoming slices concurrently on the given {@link Executor} into
+     * read-ahead buffers of {@link #getReadAheadSize()} data POJOs. This is meant for long ranges where the consumer
+     * would otherwise wait on every fetch round trip of one cursor. Since the slices are disjoint and are consumed one
+     * after another, the data POJOs are returned in the exact timestamp order. Note that the {@link DSLContext} should
+     * be backed by a pooled <code>DataSource</code> for the slices to be fetched on separate connections.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param executor        the {@link Executor} to fetch the slices on
+     *
+     * @return a lazy {@link Iterator}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public Iterator<P> scan(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Executor executor) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        final int scanParallelism = getScanParallelism();
+        final Duration scanSliceDuration = getScanSliceDuration();
+        checkArgument(scanParallelism > 0, "The scan parallelism must be greater than zero!");
+        checkArgument(scanSliceDuration != null && !scanSliceDuration.isNegative() && !scanSliceDuration.isZero(),
+                "The scan slice duration must be positive!");
+
+        // Split the range into slices
+        List<TemporalRange<LocalDateTime>> slices = new ArrayList<>();
+        LocalDateTime sliceFrom = from;
+        while (sliceFrom.isBefore(to)) {
+            LocalDateTime sliceTo = TemporalRangeUtil.min(sliceFrom.plus(scanSliceDuration), to);
+            slices.add(new TemporalRange<>(sliceFrom, sliceTo));
+            sliceFrom = sliceTo;
+        }
+
+        if (sortDirection == SortDirection.DESCENDING) {
+            Collections.reverse(slices);
+        }
+
+        return new ScanIterator(key, slices.iterator(), beginFilterTime, endFilterTime, sortDirection, executor,
+                scanParallelism, getReadAheadSize());
+    }
+
+    /**
+     * Gets a Reactive Streams {@link Publisher} of the data POJOs of
+     * {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)}. Every
+     * {@link Subscriber} executes its own query on the given {@link Executor}, and rows are only fetched while the
+     * {@link Subscriber} has outstanding demand, so a thread is only occupied by a stream while it is fetching
+     * requested rows (a virtual thread per task <code>Executor</code> can be used on newer JDKs). Cancelling the
+     * {@link Subscription} closes the database cursor.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param executor        the {@link Executor} to query and fetch on
+     *
+     * @return a cold {@link Publisher} (any {@link DataAccessException} is signalled with
+     * {@link Subscriber#onError(Throwable)})
+     *
+     * @see IteratorPublisher
+     */
+    public Publisher<P> getPublisher(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Executor executor) {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        return new IteratorPublisher<>(() -> get(key, from, to, beginFilterTime, endFilterTime, sortDirection),
+                executor);
+    }
+
+    /**
+     * Gets the data POJOs from the {@link #getDataTable()} with keyset pagination. Every page of
+     * {@link #getKeysetPageSize()} rows is fetched with its own query that continues after the last timestamp of the
+     * previous page (instead of with an <code>OFFSET</code> or an open {@link Cursor}), so no database connection is
+     * held between pages and the position can be saved with {@link ResumableIterator#getContinuationToken()} and
+     * resumed with {@link #getPaged(Object, ContinuationToken)}. Rows with equal timestamps are ordered by the
+     * remaining fields of the primary key of the {@link #getDataTable()} (if it has one), which must be the case for
+     * the rows with the last timestamp of a page to be resumed correctly. Note that this always queries the
+     * {@link #getDataTable()} (the {@link #getSegmentCache()} is not used).
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     *
+     * @return a lazy {@link ResumableIterator} (whose first page is fetched on the first call to
+     * {@link ResumableIterator#hasNext()})
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public ResumableIterator<P> getPaged(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection) throws DataAccessException {
+        return getPaged(key, new ContinuationToken(from, to, beginFilterTime, endFilterTime,
+                sortDirection == null ? SortDirection.ASCENDING : sortDirection, null, 0));
+    }
+
+    /**
+     * Resumes a keyset paginated
+     * {@link #getPaged(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} after the last
+     * data POJO that was returned before the given {@link ContinuationToken} was created.
+     *
+     * @param key               the key (the same key as that of the query that is resumed)
+     * @param continuationToken the {@link ContinuationToken}
+     *
+     * @return a lazy {@link ResumableIterator}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public ResumableIterator<P> getPaged(K key, ContinuationToken continuationToken) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(continuationToken != null, "Continuation token cannot be null!");
+        checkArgument(continuationToken.getFrom() != null, "From cannot be null!");
+        checkArgument(continuationToken.getTo() != null, "To cannot be null!");
+        checkArgument(continuationToken.getSortDirection() != null, "Sort direction cannot be null!");
+        checkArgument(continuationToken.getLastTimestampRowCount() >= 0,
+                "The last timestamp row count cannot be negative!");
+        checkState(chunkStore == null, "Paged gets are not supported with a chunk store!");
+
+        final int keysetPageSize = getKeysetPageSize();
+        checkArgument(keysetPageSize > 0, "The keyset page size must be greater than zero!");
+
+        return new KeysetPageIterator<>(this, dataTableRouter, key, continuationToken, keysetPageSize);
+    }
+
+    /**
+     * Gets only the given columns of the rows of the {@link #getDataTable()} like {@link #get(Object, LocalDateTime,
+     * LocalDateTime, LocalTime, LocalTime, SortDirection)}, so that only those columns are transferred and decoded
+     * and the rows are mapped with the given lightweight {@link RecordMapper} instead of the
+     * {@link #getDataRecordMapper()}. Note that this always queries the {@link #getDataTable()} (the
+     * {@link #getSegmentCache()} is not used).
+     *
+     * @param <E>             the type parameter of the mapped element
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param fields          the {@link TableField}s of the {@link #getDataTable()} to fetch
+     * @param recordMapper    the {@link RecordMapper} of a {@link Record} that only contains the <code>fields</code>
+     *
+     * @return a lazy {@link Iterator} (that is, an {@link Iterator} that fetches {@link #getDataFetchSize()} rows at a
+     * time), which is also {@link AutoCloseable}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public <E> Iterator<E> getProjected(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection, Collection<? extends TableField<R, ?>> fields,
+            RecordMapper<Record, E> recordMapper) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkArgument(fields != null && !fields.isEmpty(), "Fields cannot be empty!");
+        checkArgument(!fields.contains(null), "Fields cannot contain null!");
+        checkArgument(recordMapper != null, "The record mapper cannot be null!");
+        checkState(chunkStore == null, "Projected gets are not supported with a chunk store!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        final List<TableField<R, ?>> selectFields = new ArrayList<>(fields);
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+        final OrderField<LocalDateTime> orderByField = sortDirection == SortDirection.ASCENDING ?
+                getDataTimestampTableField().asc() :
+                getDataTimestampTableField().desc();
+
+        CursorIterator<Record> recordIterator = new CursorIterator<>(dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, sortDirection, 0)
+                .iterator(),
+                dataTableQuery -> dataTableQuery.getCreate().select(selectFields)
+                        .from(getDataTable())
+                        .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                        .orderBy(orderByField)
+                        .fetchSize(getDataFetchSize())
+                        .fetchLazy());
+        return new MappedCursorIterator<>(recordIterator, recordMapper::map);
+    }
+
+    /**
+     * Gets the rows of the {@link #getDataTable()} in columnar {@link ColumnBatch}es that are filled straight from the
+     * JDBC {@link ResultSet} with primitive values, so that no data POJO, {@link Record}, or boxed value is allocated
+     * per row (unlike {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)}). Only
+     * the timestamp and the given numeric fields are selected. Note that this always queries the
+     * {@link #getDataTable()} (the {@link #getSegmentCache()} is not used).
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to receive data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to receive data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param batchSize       the maximum number of rows of a {@link ColumnBatch}
+     * @param doubleFields    the numeric {@link TableField}s of the {@link #getDataTable()} to read into the
+     *                        <code>double</code> columns (in order)
+     * @param longFields      the numeric {@link TableField}s of the {@link #getDataTable()} to read into the
+     *                        <code>long</code> columns (in order, with <code>NULL</code>s marked in the
+     *                        {@link ColumnBatch#getLongNullBitmap(int)})
+     *
+     * @return a lazy {@link ColumnBatchIterator} (whose queries fetch {@link #getDataFetchSize()} rows at a time)
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public ColumnBatchIterator getColumnBatches(K key, LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection, int batchSize,
+            List<? extends TableField<R, ? extends Number>> doubleFields,
+            List<? extends TableField<R, ? extends Number>> longFields) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkArgument(batchSize > 0, "The batch size must be greater than zero!");
+        doubleFields = doubleFields == null ? Collections.emptyList() : doubleFields;
+        longFields = longFields == null ? Collections.emptyList() : longFields;
+        checkArgument(!doubleFields.contains(null) && !longFields.contains(null), "Fields cannot contain null!");
+        checkState(chunkStore == null, "Column batch gets are not supported with a chunk store!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        // The timestamp is the first column followed by the double columns and then the long columns
+        final List<Field<?>> selectFields = new ArrayList<>(1 + doubleFields.size() + longFields.size());
+        selectFields.add(getDataTimestampTableField());
+        selectFields.addAll(doubleFields);
+        selectFields.addAll(longFields);
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+        final OrderField<LocalDateTime> orderByField = sortDirection == SortDirection.ASCENDING ?
+                getDataTimestampTableField().asc() :
+                getDataTimestampTableField().desc();
+
+        return new ResultSetColumnBatchIterator(dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, sortDirection, 0)
+                .iterator(),
+                dataTableQuery -> dataTableQuery.getCreate().select(selectFields)
+                        .from(getDataTable())
+                        .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                        .orderBy(orderByField)
+                        .fetchSize(getDataFetchSize())
+                        .fetchResultSet(),
+                batchSize, doubleFields.size(), longFields.size());
+    }
+
+    /**
+     * Gets aggregates of the rows of the {@link #getDataTable()} per epoch-aligned time bucket (e.g. the OHLC of a
+     * price per minute for a chart). The bucketing is pushed down to the database as a <code>GROUP BY</code> on the
+     * bucket of the timestamp, so only one row per non-empty bucket is transferred. Time of day filtered ranges are
+     * queried with the timestamp windows of {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)}, but consecutive queries are only split between windows that don't share a bucket.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param bucketDuration  the {@link Duration} of a time bucket (a positive number of whole seconds). Buckets are
+     *                        aligned to the epoch, so the first and last buckets may only be partially within the
+     *                        range.
+     * @param beginFilterTime allows you to specify the earliest time of day for which to aggregate data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to aggregate data (null for no
+     *                        filter) (exclusive)
+     * @param sortDirection   the {@link SortDirection} of the buckets (defaults to {@link SortDirection#ASCENDING})
+     * @param aggregateFields the aggregate {@link Field}s (e.g. <code>DSL.max(PRICE).as("high")</code>), whose values
+     *                        are read with {@link TimeBucket#get(Field)}
+     *
+     * @return a lazy {@link Iterator} of the non-empty {@link TimeBucket}s (that is, an {@link Iterator} that fetches
+     * {@link #getDataFetchSize()} buckets at a time), which is also {@link AutoCloseable}
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public Iterator<TimeBucket> getAggregated(K key, LocalDateTime from, LocalDateTime to, Duration bucketDuration,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection,
+            Field<?>... aggregateFields) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkArgument(bucketDuration != null && !bucketDuration.isNegative() && !bucketDuration.isZero() &&
+                bucketDuration.getNano() == 0, "The bucket duration must be a positive number of whole seconds!");
+        checkArgument(aggregateFields != null && aggregateFields.length > 0, "Aggregate fields cannot be empty!");
+        checkState(chunkStore == null, "Aggregated gets are not supported with a chunk store!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        final long bucketSeconds = bucketDuration.getSeconds();
+        final long bucketNanos = Math.multiplyExact(bucketSeconds, EpochNanoRanges.NANOS_PER_SECOND);
+        // Partitions start at midnight, so a bucket can only span two partitions if it doesn't divide a day
+        checkArgument(tablePartitioner == null || Duration.ofDays(1).toNanos() % bucketNanos == 0,
+                "The bucket duration must evenly divide a day if the data table is partitioned!");
+
+        // The bucket of a row is the floor of its epoch seconds divided by the bucket seconds
+        final Field<Long> bucketField = floor(extract(getDataTimestampTableField(), DatePart.EPOCH)
+                .div(inline(bucketSeconds))).cast(SQLDataType.BIGINT);
+        final OrderField<Long> orderByField = sortDirection == SortDirection.ASCENDING ?
+                bucketField.asc() :
+                bucketField.desc();
+        final List<Field<?>> selectFields = new ArrayList<>(aggregateFields.length + 1);
+        selectFields.add(bucketField);
+        selectFields.addAll(Arrays.asList(aggregateFields));
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+
+        CursorIterator<Record> bucketRecordIterator = new CursorIterator<>(dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, sortDirection,
+                bucketNanos).iterator(),
+                dataTableQuery -> dataTableQuery.getCreate().select(selectFields)
+                        .from(getDataTable())
+                        .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                        .groupBy(bucketField)
+                        .orderBy(orderByField)
+                        .fetchSize(getDataFetchSize())
+                        .fetchLazy());
+        return new MappedCursorIterator<>(bucketRecordIterator, bucketRecord -> {
+            LocalDateTime bucketFrom = EpochNanoRanges.toLocalDateTime(
+                    Math.multiplyExact(bucketRecord.get(0, Long.class), bucketNanos));
+            return new TimeBucket(bucketFrom, bucketFrom.plus(bucketDuration), bucketRecord.into(aggregateFields));
+        });
+    }
+
+    /**
+     * Counts the rows of the given key in the {@link #getDataTable()} with a <code>COUNT</code> query per
+     * {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} timestamp window query,
+     * which databases can answer from the (key, timestamp) index alone. If a {@link #getChunkStore()} is set, the
+     * data POJOs of {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} are
+     * counted instead.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to count data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to count data (null for no
+     *                        filter) (exclusive)
+     *
+     * @return the row count
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #isTimestampRangesLookupShortCircuitEnabled()
+     */
+    public long count(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        if (isEmptyByTimestampRanges(key, from, to)) {
+            return 0;
+        }
+
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        if (chunkStore != null) {
+            return from.isBefore(to) ? Iterators.size(createChunkTailMergingIterator(chunkStore, key, from, to,
+                    beginFilterTime, endFilterTime, SortDirection.ASCENDING)) : 0;
+        }
+
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+        long count = 0;
+        for (DataTableQuery dataTableQuery : dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, SortDirection.ASCENDING,
+                0)) {
+            count += dataTableQuery.getCreate().selectCount()
+                    .from(getDataTable())
+                    .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                    .fetchOne(0, Long.class);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the earliest timestamp of the rows of the given key in the {@link #getDataTable()} with a <code>MIN</code>
+     * query on the (key, timestamp) index. Time of day filtered ranges are queried one timestamp window query at a
+     * time until one has a row.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to look up data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to look up data (null for no
+     *                        filter) (exclusive)
+     *
+     * @return the earliest timestamp (<code>null</code> if there are no rows)
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #isTimestampRangesLookupShortCircuitEnabled()
+     */
+    public LocalDateTime firstTimestamp(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        return fetchBoundaryTimestamp(key, from, to, beginFilterTime, endFilterTime, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Gets the latest timestamp of the rows of the given key in the {@link #getDataTable()} with a <code>MAX</code>
+     * query on the (key, timestamp) index. Time of day filtered ranges are queried one timestamp window query at a
+     * time (from the newest) until one has a row.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to look up data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to look up data (null for no
+     *                        filter) (exclusive)
+     *
+     * @return the latest timestamp (<code>null</code> if there are no rows)
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #isTimestampRangesLookupShortCircuitEnabled()
+     */
+    public LocalDateTime lastTimestamp(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        return fetchBoundaryTimestamp(key, from, to, beginFilterTime, endFilterTime, SortDirection.DESCENDING);
+    }
+
+    /**
+     * Checks whether the given key has any rows in the {@link #getDataTable()} with an <code>EXISTS</code> query per
+     * timestamp window query, which stops at the first matching index entry.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime allows you to specify the earliest time of day for which to look up data (null for no
+     *                        filter) (inclusive)
+     * @param endFilterTime   allows you to specify the latest time of day for which to look up data (null for no
+     *                        filter) (exclusive)
+     *
+     * @return <code>true</code> if there is at least one row
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #isTimestampRangesLookupShortCircuitEnabled()
+     */
+    public boolean exists(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        if (isEmptyByTimestampRanges(key, from, to)) {
+            return false;
+        }
+
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        if (chunkStore != null) {
+            return fetchFirstFromChunkStore(chunkStore, key, from, to, beginFilterTime, endFilterTime,
+                    SortDirection.ASCENDING) != null;
+        }
+
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+        for (DataTableQuery dataTableQuery : dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, SortDirection.ASCENDING,
+                0)) {
+            if (dataTableQuery.getCreate().fetchExists(getDataTable(),
+                    keyCondition.and(dataTableQuery.getTimestampCondition()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the earliest or latest timestamp of the rows of the given key in the {@link #getDataTable()}.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   {@link SortDirection#ASCENDING} for the earliest timestamp and
+     *                        {@link SortDirection#DESCENDING} for the latest timestamp
+     *
+     * @return the timestamp (<code>null</code> if there are no rows)
+     */
+    private LocalDateTime fetchBoundaryTimestamp(K key, LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        if (isEmptyByTimestampRanges(key, from, to)) {
+            return null;
+        }
+
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        if (chunkStore != null) {
+            TimestampedDataPOJO<P> boundaryDataPOJO = fetchFirstFromChunkStore(chunkStore, key, from, to,
+                    beginFilterTime, endFilterTime, sortDirection);
+            return boundaryDataPOJO == null ? null : boundaryDataPOJO.timestamp;
+        }
+
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+        final Field<LocalDateTime> boundaryField = sortDirection == SortDirection.ASCENDING ?
+                DSL.min(getDataTimestampTableField()) :
+                DSL.max(getDataTimestampTableField());
+
+        // The queries are in the order of the sort direction, so the first one with a row has the answer
+        for (DataTableQuery dataTableQuery : dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), from, to, beginFilterTime, endFilterTime, sortDirection, 0)) {
+            LocalDateTime boundaryTimestamp = dataTableQuery.getCreate().select(boundaryField)
+                    .from(getDataTable())
+                    .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                    .fetchOne(boundaryField);
+            if (boundaryTimestamp != null) {
+                return boundaryTimestamp;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the given range has no rows according to the {@link #getTimestampRangesTable()}. This is only
+     * the case if {@link #isTimestampRangesLookupShortCircuitEnabled()} and the range has no covered timestamp ranges.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     *
+     * @return a boolean
+     */
+    private boolean isEmptyByTimestampRanges(K key, LocalDateTime from, LocalDateTime to) {
+        return isTimestampRangesLookupShortCircuitEnabled() && getCoveredTimestampRanges(key, from, to).isEmpty();
+    }
+
+    /**
+     * Gets the data POJOs from the {@link #getDataTable()}.
+     *
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection}
+     *
+     * @return a lazy {@link Iterator}
+     *
+     * @see #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)
+     */
+    private Iterator<P> getFromDataTable(K key, LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime,
+            LocalTime endFilterTime, SortDirection sortDirection) {
+        final TimeSeriesDatabaseMetrics<K> metrics = this.metrics;
+        final boolean measuring = metrics != TimeSeriesDatabaseMetrics.<K>noOp();
+        final long queryStartNanos = measuring ? System.nanoTime() : 0;
+
+        final RecordMapper<R, P> dataRecordMapper = getDataRecordMapper();
+        final DataRecordIterator<R> recordIterator = fetchDataLazy(dataTableRouter.getReadContext(key), key,
+                getDataKeyTableField().equal(key), from, to, beginFilterTime, endFilterTime, sortDirection);
+
+        if (measuring) {
+            return new MeasuredDataIterator(key, recordIterator, dataRecordMapper, metrics, queryStartNanos,
+                    System.nanoTime() - queryStartNanos);
+        }
+
+        return new DataIterator(recordIterator, dataRecordMapper);
+    }
+
+    /**
+     * Executes a query of the {@link #getDataTable()} and returns a lazy {@link DataRecordIterator} that fetches
+     * {@link #getDataFetchSize()} rows at a time. If a time of day filter is given, the [from, to) range is clamped to
+     * one timestamp window per day (via {@link TemporalRangeUtil#clamp(List, LocalTime, LocalTime)}) so that the
+     * database can use an index range scan on the timestamp for every window instead of evaluating the time of day of
+     * every row in the range. Up to {@link #getTimeFilterWindowLimit()} windows are queried with one query and longer
+     * ranges are queried with consecutive queries that are stitched together. If
+     * {@link #isAdaptiveDataFetchSizeEnabled()}, the fetch size is adapted by an {@link AdaptiveFetchSizer} instead.
+     *
+     * @param create          the {@link DSLContext} to query with
+     * @param key             the key that adaptive fetch sizes are reported for (<code>null</code> for multiple keys)
+     * @param keyCondition    the key {@link Condition}
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection} of the timestamps
+     *
+     * @return the {@link DataRecordIterator} (whose first query has already been executed)
+     */
+    private DataRecordIterator<R> fetchDataLazy(DSLContext create, K key, Condition keyCondition, LocalDateTime from,
+            LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+
+        // Create ORDER BY clause
+        OrderField<LocalDateTime> orderByField = sortDirection == SortDirection.ASCENDING ?
+                dataTimestampTableField.asc() :
+                dataTimestampTableField.desc();
+
+        return new DataRecordIterator<>(this, keyCondition, dataTableRouter.createDataTableQueries(create, from, to,
+                beginFilterTime, endFilterTime, sortDirection, 0).iterator(), orderByField,
+                isAdaptiveDataFetchSizeEnabled() ? new AdaptiveFetchSizer<>(this, key) : null);
+    }
+
+    /**
+     * Creates the WHERE clause timestamp {@link Condition}s of the consecutive queries of a data query.
+     *
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection} of the timestamps
+     * @param bucketNanos     the nanoseconds of the epoch-aligned time buckets that must not be split over multiple
+     *                        queries (<code>0</code> for none)
+     *
+     * @return a {@link List} of timestamp {@link Condition}s (one per query, in the order of the
+     * <code>sortDirection</code>)
+     *
+     * @see #fetchDataLazy(DSLContext, Object, Condition, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)
+     */
+    List<Condition> createTimestampConditions(LocalDateTime from, LocalDateTime to,
+            LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection, long bucketNanos) {
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+
+        List<Condition> timestampConditions = new ArrayList<>();
+        if ((beginFilterTime == null && endFilterTime == null) || !from.isBefore(to)) {
+            timestampConditions.add(dataTimestampTableField.greaterOrEqual(from)
+                    .and(dataTimestampTableField.lessThan(to)));
+        } else if (beginFilterTime != null && endFilterTime != null && !endFilterTime.isAfter(beginFilterTime)) {
+            timestampConditions.add(falseCondition()); // No time of day is within the filter times
+        } else {
+            List<TemporalRange<LocalDateTime>> timestampWindows = TemporalRangeUtil.clamp(
+                    Collections.singletonList(new TemporalRange<>(from, to)), beginFilterTime, endFilterTime);
+            if (sortDirection == SortDirection.DESCENDING) {
+                Collections.reverse(timestampWindows);
+            }
+
+            final int timeFilterWindowLimit = getTimeFilterWindowLimit();
+            checkArgument(timeFilterWindowLimit > 0, "The time filter window limit must be greater than zero!");
+
+            List<Condition> windowConditions = new ArrayList<>();
+            TemporalRange<LocalDateTime> previousTimestampWindow = null;
+            for (TemporalRange<LocalDateTime> timestampWindow : timestampWindows) {
+                // Only split between windows that don't share a bucket so that no bucket spans two queries
+                if (windowConditions.size() >= timeFilterWindowLimit &&
+                        !shareBucket(previousTimestampWindow, timestampWindow, bucketNanos)) {
+                    timestampConditions.add(or(windowConditions));
+                    windowConditions = new ArrayList<>();
+                }
+
+                windowConditions.add(dataTimestampTableField.greaterOrEqual(timestampWindow.getFrom())
+                        .and(dataTimestampTableField.lessThan(timestampWindow.getTo())));
+                previousTimestampWindow = timestampWindow;
+            }
+            if (!windowConditions.isEmpty()) {
+                timestampConditions.add(or(windowConditions));
+            }
+
+            if (timestampConditions.isEmpty()) {
+                timestampConditions.add(falseCondition());
+            }
+        }
+
+        return timestampConditions;
+    }
+
+    /**
+     * Checks whether the two given timestamp windows contain timestamps of the same epoch-aligned time bucket.
+     *
+     * @param timestampWindow      a timestamp window (nullable)
+     * @param otherTimestampWindow another timestamp window
+     * @param bucketNanos          the nanoseconds of a time bucket (<code>0</code> for none)
+     *
+     * @return a boolean
+     */
+    private static boolean shareBucket(TemporalRange<LocalDateTime> timestampWindow,
+            TemporalRange<LocalDateTime> otherTimestampWindow, long bucketNanos) {
+        if (timestampWindow == null || bucketNanos <= 0) {
+            return false;
+        }
+
+        long firstBucket = Math.floorDiv(EpochNanoRanges.toEpochNanos(timestampWindow.getFrom()), bucketNanos);
+        long lastBucket = Math.floorDiv(EpochNanoRanges.toEpochNanos(timestampWindow.getTo()) - 1, bucketNanos);
+        long otherFirstBucket = Math.floorDiv(EpochNanoRanges.toEpochNanos(otherTimestampWindow.getFrom()),
+                bucketNanos);
+        long otherLastBucket = Math.floorDiv(EpochNanoRanges.toEpochNanos(otherTimestampWindow.getTo()) - 1,
+                bucketNanos);
+        return Math.max(firstBucket, otherFirstBucket) <= Math.min(lastBucket, otherLastBucket);
+    }
+
+    /**
+     * Gets the data POJOs from the given {@link ChunkStore}.
+     *
+     * @param chunkStore      the {@link ChunkStore}
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection}
+     *
+     * @return a lazy {@link Iterator} that decodes one {@link Chunk} at a time and merges it with the unsealed rows
+     * of the {@link #getDataTable()}
+     */
+    private Iterator<P> getFromChunkStore(ChunkStore<K, P> chunkStore, K key, LocalDateTime from,
+            LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        if (!from.isBefore(to)) {
+            return Collections.emptyIterator();
+        }
+
+        return mergeChunkTailIterators(Collections.singletonList(createChunkTailMergingIterator(chunkStore, key, from,
+                to, beginFilterTime, endFilterTime, sortDirection)), sortDirection);
+    }
+
+    /**
+     * Gets the first {@link TimestampedDataPOJO} of the given key in the order of the given {@link SortDirection} from
+     * the given {@link ChunkStore} and the unsealed rows of the {@link #getDataTable()}.
+     *
+     * @param chunkStore      the {@link ChunkStore}
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection}
+     *
+     * @return the first {@link TimestampedDataPOJO} (<code>null</code> if there is none)
+     */
+    private TimestampedDataPOJO<P> fetchFirstFromChunkStore(ChunkStore<K, P> chunkStore, K key, LocalDateTime from,
+            LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        if (!from.isBefore(to)) {
+            return null;
+        }
+
+        ChunkTailMergingIterator chunkTailIterator = createChunkTailMergingIterator(chunkStore, key, from, to,
+                beginFilterTime, endFilterTime, sortDirection);
+        try {
+            return chunkTailIterator.hasNext() ? chunkTailIterator.next() : null;
+        } finally {
+            chunkTailIterator.close();
+        }
+    }
+
+    /**
+     * Creates a {@link ChunkTailMergingIterator} of the given key that reads the {@link Chunk}s of the given
+     * {@link ChunkStore} and the unsealed rows of the {@link #getDataTable()} with the same read {@link DSLContext}.
+     *
+     * @param chunkStore      the {@link ChunkStore}
+     * @param key             the key
+     * @param from            the 'from' (inclusive) (must be before the 'to')
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection}
+     *
+     * @return the {@link ChunkTailMergingIterator}
+     */
+    private ChunkTailMergingIterator createChunkTailMergingIterator(ChunkStore<K, P> chunkStore, K key,
+            LocalDateTime from, LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime,
+            SortDirection sortDirection) {
+        final DSLContext readCreate = dataTableRouter.getReadContext(key);
+        final long fromNanos = EpochNanoRanges.toEpochNanos(from);
+        final long toNanos = EpochNanoRanges.toEpochNanos(to);
+        ChunkDataIterator chunkIterator = new ChunkDataIterator(chunkStore, key, chunkStore.fetchChunks(readCreate,
+                key, fromNanos, toNanos, sortDirection), fromNanos, toNanos, beginFilterTime, endFilterTime,
+                sortDirection);
+        return new ChunkTailMergingIterator(chunkIterator, new TimestampedDataIterator(readCreate,
+                getDataKeyTableField().equal(key), from, to, beginFilterTime, endFilterTime, sortDirection),
+                sortDirection);
+    }
+
+    /**
+     * Merges the given {@link ChunkTailMergingIterator}s of distinct keys in timestamp order.
+     *
+     * @param chunkTailIterators the {@link ChunkTailMergingIterator}s
+     * @param sortDirection      the {@link SortDirection}
+     *
+     * @return a {@link MergeSortedIterator} of the data POJOs
+     */
+    private Iterator<P> mergeChunkTailIterators(List<ChunkTailMergingIterator> chunkTailIterators,
+            SortDirection sortDirection) {
+        Comparator<TimestampedDataPOJO<P>> timestampComparator = Comparator.comparing(
+                timestampedDataPOJO -> timestampedDataPOJO.timestamp);
+        return new MergeSortedIterator<>(chunkTailIterators, sortDirection == SortDirection.DESCENDING ?
+                        timestampComparator.reversed() : timestampComparator,
+                timestampedDataPOJO -> timestampedDataPOJO.dataPOJO);
+    }
+
+    /**
+     * Gets the data POJOs using the given {@link SegmentCache}. The [from, to) range is split into the epoch-aligned
+     * {@link Segment} timestamp ranges of the {@link SegmentCache}. The {@link Segment}s that are completely covered
+     * by timestamp ranges in the {@link #getTimestampRangesTable()} are read from the {@link SegmentCache} (and are
+     * written to it from the {@link #getDataTable()} on the first read), while the rest is queried from the
+     * {@link #getDataTable()}.
+     *
+     * @param segmentCache    the {@link SegmentCache}
+     * @param key             the key
+     * @param from            the 'from' (inclusive)
+     * @param to              the 'to' (exclusive)
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive)
+     * @param sortDirection   the {@link SortDirection}
+     *
+     * @return a lazy {@link Iterator}
+     */
+    private Iterator<P> getWithSegmentCache(SegmentCache<K, P> segmentCache, K key, LocalDateTime from,
+            LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        final long segmentDurationNanos;
+        final long fromNanos;
+        final long toNanos;
+        final long alignedFromNanos;
+        final long alignedToNanos;
+        try {
+            segmentDurationNanos = segmentCache.getSegmentDuration().toNanos();
+            fromNanos = EpochNanoRanges.toEpochNanos(from);
+            toNanos = EpochNanoRanges.toEpochNanos(to);
+            alignedFromNanos = segmentCache.getSegmentFrom(fromNanos);
+            alignedToNanos = Math.addExact(segmentCache.getSegmentFrom(toNanos - 1), segmentDurationNanos);
+        } catch (ArithmeticException exception) { // Segments can't represent the range as epoch nanoseconds
+            return getFromDataTable(key, from, to, beginFilterTime, endFilterTime, sortDirection);
+        }
+
+        // Get the covered timestamp ranges of the whole segments so that edge segments can also be served
+        EpochNanoRanges coveredRanges = EpochNanoRanges.of(getCoveredTimestampRanges(key,
+                EpochNanoRanges.toLocalDateTime(alignedFromNanos), EpochNanoRanges.toLocalDateTime(alignedToNanos)));
+
+        // Split the range into segment parts (that are complete) and data table parts (that are merged together)
+        ArrayList<SegmentCachePart> parts = new ArrayList<>();
+        int coveredIndex = 0;
+        for (long segmentFrom = alignedFromNanos; segmentFrom < toNanos; segmentFrom += segmentDurationNanos) {
+            long segmentTo = segmentFrom + segmentDurationNanos;
+            long partFrom = Math.max(fromNanos, segmentFrom);
+            long partTo = Math.min(toNanos, segmentTo);
+
+            while (coveredIndex < coveredRanges.size() && coveredRanges.getTo(coveredIndex) < segmentTo) {
+                coveredIndex++;
+            }
+            boolean segmentComplete = coveredIndex < coveredRanges.size() &&
+                    coveredRanges.getFrom(coveredIndex) <= segmentFrom;
+
+            SegmentCachePart previousPart = parts.isEmpty() ? null : parts.get(parts.size() - 1);
+            if (!segmentComplete && previousPart != null && !previousPart.fromSegment) {
+                previousPart.to = partTo;
+            } else {
+                parts.add(new SegmentCachePart(segmentComplete, segmentFrom, partFrom, partTo));
+            }
+        }
+
+        if (sortDirection == SortDirection.DESCENDING) {
+            Collections.reverse(parts);
+        }
+
+        return new SegmentCacheDataIterator(segmentCache, key, parts.iterator(), beginFilterTime, endFilterTime,
+                sortDirection);
+    }
+
+    /**
+     * Writes the {@link Segment} of the given key that starts at the given epoch nanoseconds to the given
+     * {@link SegmentCache} from the {@link #getDataTable()}.
+     *
+     * @param segmentCache the {@link SegmentCache}
+     * @param key          the key
+     * @param segmentFrom  the 'from' epoch nanoseconds of the {@link Segment}
+     *
+     * @return the {@link Segment}
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    private Segment loadSegment(SegmentCache<K, P> segmentCache, K key, long segmentFrom) throws IOException {
+        final SegmentWriter<P> segmentWriter = new SegmentWriter<>(segmentCache.getSerializer());
+        final RecordMapper<R, P> dataRecordMapper = getDataRecordMapper();
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+        LocalDateTime segmentFromDateTime = EpochNanoRanges.toLocalDateTime(segmentFrom);
+        final Condition keyCondition = getDataKeyTableField().equal(key);
+
+        // A segment may span multiple partition tables
+        for (DataTableQuery dataTableQuery : dataTableRouter.createDataTableQueries(
+                dataTableRouter.getReadContext(key), segmentFromDateTime,
+                segmentFromDateTime.plus(segmentCache.getSegmentDuration()), null, null, SortDirection.ASCENDING, 0)) {
+            try (Cursor<R> recordCursor = dataTableQuery.getCreate().selectFrom(getDataTable())
+                    .where(keyCondition.and(dataTableQuery.getTimestampCondition()))
+                    .orderBy(dataTimestampTableField.asc())
+                    .fetchSize(getDataFetchSize())
+                    .fetchLazy()) {
+                for (R dataRecord : recordCursor) {
+                    segmentWriter.add(EpochNanoRanges.toEpochNanos(dataRecord.get(dataTimestampTableField)),
+                            dataRecordMapper.map(dataRecord));
+                }
+            }
+        }
+
+        return segmentCache.put(key, segmentFrom, segmentWriter);
+    }
+
+    /**
+     * Inserts a timestamp range {@link Record3} into the {@link #getTimestampRangesTable()} table (does nothing if it
+     * already exists). Note that only {@link TemporalRange}s that are completely filled in the underlying data table
+     * should be inserted into the {@link #getTimestampRangesTable()} table. If
+     * {@link #isTimestampRangeCoalescingEnabled()}, the timestamp range is atomically merged with the timestamp ranges
+     * of the key that it overlaps or touches.
+     *
+     * @param key  the key
+     * @param from the 'from' whose value should be treated inclusively
+     * @param to   the 'to' whose value should be treated exclusively
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public void insertTimestampRangeRecord(K key, LocalDateTime from, LocalDateTime to) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        callWithTimestampRangeLock(key, () -> {
+            insertTimestampRangeRecord(create, key, from, to);
+            return null;
+        });
+        addToTimestampRangesCache(key, from, to);
+        recordWrite(key);
+    }
+
+    /**
+     * Calls the given {@link Supplier} while holding the in-process timestamp range lock of the given key if
+     * {@link #isTimestampRangeCoalescingEnabled()}. The {@link Supplier} must run the whole transaction that inserts
+     * the timestamp range of the key, so that the lock is only released once the coalesced timestamp range has been
+     * committed and is visible to the next coalescing of the key.
+     *
+     * @param <V>      the type parameter of the result
+     * @param key      the key (<code>null</code> to call the {@link Supplier} without a lock)
+     * @param supplier the {@link Supplier}
+     *
+     * @return the result of the {@link Supplier}
+     */
+    private <V> V callWithTimestampRangeLock(K key, Supplier<V> supplier) {
+        if (key == null || !isTimestampRangeCoalescingEnabled()) {
+            return supplier.get();
+        }
+
+        ReentrantLock timestampRangeLock =
+                timestampRangeLocks[Math.floorMod(key.hashCode(), timestampRangeLocks.length)];
+        timestampRangeLock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            timestampRangeLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a lock of the timestamp ranges of the given key that is held until the given transaction ends. This is
+     * called at the start of every transaction that coalesces or compacts the timestamp ranges of a key, since
+     * locking the overlapping timestamp range rows alone does not serialize the coalescing of touching timestamp
+     * ranges that are inserted concurrently (neither transaction sees the uncommitted row of the other). For
+     * PostgreSQL, this takes a transaction-level advisory lock of the table and the key. For other dialects, this does
+     * nothing (so the coalescing is only serialized within this process), so override this method to take a
+     * transaction-scoped lock of the key if several processes coalesce the timestamp ranges of the same keys (e.g. by
+     * selecting the row of the key in a table of keys <code>FOR UPDATE</code>).
+     *
+     * @param create the transactional {@link DSLContext}
+     * @param key    the key
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    protected void lockTimestampRanges(DSLContext create, K key) throws DataAccessException {
+        if (create.family() == SQLDialect.POSTGRES) {
+            long lockID = Hashing.murmur3_128().newHasher()
+                    .putString(getTimestampRangesTable().getName(), StandardCharsets.UTF_8)
+                    .putString(String.valueOf(key), StandardCharsets.UTF_8)
+                    .hash().asLong();
+            create.fetch("select pg_advisory_xact_lock(?)", lockID);
+        }
+    }
+
+    /**
+     * Inserts a timestamp range {@link Record3} into the {@link #getTimestampRangesTable()} table using the given
+     * {@link DSLContext}.
+     *
+     * @param create the {@link DSLContext} to execute the insert with
+     * @param key    the key
+     * @param from   the 'from' whose value should be treated inclusively
+     * @param to     the 'to' whose value should be treated exclusively
+     */
+    private void insertTimestampRangeRecord(DSLContext create, K key, LocalDateTime from, LocalDateTime to) {
+        long startNanos = System.nanoTime();
+        if (isTimestampRangeCoalescingEnabled()) {
+            create.transaction(configuration -> coalesceTimestampRangeRecord(DSL.using(configuration), key, from, to));
+        } else {
+            insertTimestampRangeRecordIgnoringDuplicate(create, key, from, to);
+        }
+        metrics.recordInsertTimestampRangeRecord(key, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Inserts a timestamp range {@link Record3} into the {@link #getTimestampRangesTable()} table (does nothing if it
+     * already exists).
+     *
+     * @param create the {@link DSLContext} to execute the insert with
+     * @param key    the key
+     * @param from   the 'from'
+     * @param to     the 'to'
+     */
+    private void insertTimestampRangeRecordIgnoringDuplicate(DSLContext create, K key, LocalDateTime from,
+            LocalDateTime to) {
+        // Create the record
+        Record3<K, LocalDateTime, LocalDateTime> timestampRangesRecord = create.newRecord(getTimestampRangesTable());
+        timestampRangesRecord.set(getTimestampRangesKeyTableField(), key);
+        timestampRangesRecord.set(getTimestampRangesFromTableField(), from);
+        timestampRangesRecord.set(getTimestampRangesToTableField(), to);
+
+        // Insert into the table (do nothing if it already exists)
+        create.insertInto(getTimestampRangesTable())
+                .set(timestampRangesRecord)
+                .onDuplicateKeyIgnore()
+                .execute();
+    }
+
+    /**
+     * Merges a timestamp range with the timestamp range {@link Record3}s of the same key that it overlaps or touches
+     * and replaces them with one timestamp range {@link Record3}. This should be called within a transaction.
+     *
+     * @param create the transactional {@link DSLContext}
+     * @param key    the key
+     * @param from   the 'from'
+     * @param to     the 'to'
+     */
+    private void coalesceTimestampRangeRecord(DSLContext create, K key, LocalDateTime from, LocalDateTime to) {
+        lockTimestampRanges(create, key);
+
+        Condition overlappingCondition = getTimestampRangesKeyTableField().equal(key)
+                .and(getTimestampRangesFromTableField().lessOrEqual(to))
+                .and(getTimestampRangesToTableField().greaterOrEqual(from));
+
+        // Lock and get the overlapping or touching timestamp ranges
+        Result<Record2<LocalDateTime, LocalDateTime>> overlappingRecords = create
+                .select(getTimestampRangesFromTableField(), getTimestampRangesToTableField())
+                .from(getTimestampRangesTable())
+                .where(overlappingCondition)
+                .forUpdate()
+                .fetch();
+
+        LocalDateTime coalescedFrom = from;
+        LocalDateTime coalescedTo = to;
+        for (Record2<LocalDateTime, LocalDateTime> overlappingRecord : overlappingRecords) {
+            // Nothing needs to be done if the timestamp range is already contained in an existing one
+            if (!overlappingRecord.value1().isAfter(from) && !overlappingRecord.value2().isBefore(to)) {
+                return;
+            }
+
+            coalescedFrom = TemporalRangeUtil.min(coalescedFrom, overlappingRecord.value1());
+            coalescedTo = TemporalRangeUtil.max(coalescedTo, overlappingRecord.value2());
+        }
+
+        if (!overlappingRecords.isEmpty()) {
+            create.deleteFrom(getTimestampRangesTable())
+                    .where(overlappingCondition)
+                    .execute();
+        }
+
+        insertTimestampRangeRecordIgnoringDuplicate(create, key, coalescedFrom, coalescedTo);
+    }
+
+    /**
+     * Compacts the timestamp range {@link Record3}s of all keys in the {@link #getTimestampRangesTable()}. That is,
+     * all overlapping or touching timestamp ranges of a key are replaced by one timestamp range. This is useful for
+     * tables that were filled before {@link #isTimestampRangeCoalescingEnabled()} was enabled.
+     *
+     * @return the number of timestamp range {@link Record3}s that were removed
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #compactTimestampRangeRecords(Object)
+     */
+    public int compactTimestampRangeRecords() throws DataAccessException {
+        List<K> keys = create.selectDistinct(getTimestampRangesKeyTableField())
+                .from(getTimestampRangesTable())
+                .fetch(getTimestampRangesKeyTableField());
+
+        int removedRecordCount = 0;
+        for (K key : keys) {
+            removedRecordCount += compactTimestampRangeRecords(key);
+        }
+        return removedRecordCount;
+    }
+
+    /**
+     * Compacts the timestamp range {@link Record3}s of the given key in the {@link #getTimestampRangesTable()} in one
+     * transaction. That is, all overlapping or touching timestamp ranges of the key are replaced by one timestamp
+     * range.
+     *
+     * @param key the key
+     *
+     * @return the number of timestamp range {@link Record3}s that were removed
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public int compactTimestampRangeRecords(K key) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return callWithTimestampRangeLock(key, () -> create.transactionResult(configuration -> {
+            DSLContext transactionCreate = DSL.using(configuration);
+            lockTimestampRanges(transactionCreate, key);
+            Condition keyEqualCondition = getTimestampRangesKeyTableField().equal(key);
+
+            List<TemporalRange<LocalDateTime>> temporalRanges = transactionCreate
+                    .select(getTimestampRangesFromTableField(), getTimestampRangesToTableField())
+                    .from(getTimestampRangesTable())
+                    .where(keyEqualCondition)
+                    .orderBy(getTimestampRangesFromTableField().asc(), getTimestampRangesToTableField().asc())
+                    .forUpdate()
+                    .fetch(record -> new TemporalRange<>(record.value1(), record.value2()));
+            List<TemporalRange<LocalDateTime>> squashedTemporalRanges = TemporalRangeUtil.squash(temporalRanges);
+
+            if (squashedTemporalRanges.size() == temporalRanges.size()) {
+                return 0;
+            }
+
+            transactionCreate.deleteFrom(getTimestampRangesTable())
+                    .where(keyEqualCondition)
+                    .execute();
+            for (TemporalRange<LocalDateTime> squashedTemporalRange : squashedTemporalRanges) {
+                insertTimestampRangeRecordIgnoringDuplicate(transactionCreate, key,
+                        squashedTemporalRange.getFrom(), squashedTemporalRange.getTo());
+            }
+
+            return temporalRanges.size() - squashedTemporalRanges.size();
+        }));
+    }
+
+    /**
+     * Drops the partition table of the {@link #getTablePartitioner()} that contains the given timestamp (e.g. to
+     * expire old data), which is much cheaper than deleting its rows. The timestamp ranges of all keys are first
+     * trimmed to exclude the period of the partition in one transaction (so that the period is fetched again if it
+     * is requested) and then the partition table is dropped if it exists.
+     *
+     * @param timestamp a timestamp within the partition
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public void dropPartition(LocalDateTime timestamp) throws DataAccessException {
+        checkArgument(timestamp != null, "The timestamp cannot be null!");
+        final TablePartitioner tablePartitioner = this.tablePartitioner;
+        checkArgument(tablePartitioner != null, "The data table is not partitioned!");
+
+        final LocalDateTime partitionStart = tablePartitioner.getPartitionStart(timestamp);
+        final LocalDateTime partitionEnd = tablePartitioner.getPartitionPeriod().getNextStart(partitionStart);
+        create.transaction(configuration -> {
+            DSLContext transactionCreate = DSL.using(configuration);
+            Condition overlappingCondition = getTimestampRangesFromTableField().lessThan(partitionEnd)
+                    .and(getTimestampRangesToTableField().greaterThan(partitionStart));
+
+            // Lock and get the timestamp ranges that overlap the partition
+            Result<Record3<K, LocalDateTime, LocalDateTime>> overlappingRecords = transactionCreate
+                    .select(getTimestampRangesKeyTableField(), getTimestampRangesFromTableField(),
+                            getTimestampRangesToTableField())
+                    .from(getTimestampRangesTable())
+                    .where(overlappingCondition)
+                    .forUpdate()
+                    .fetch();
+            if (overlappingRecords.isEmpty()) {
+                return;
+            }
+
+            // Replace them with their parts before and after the partition
+            transactionCreate.deleteFrom(getTimestampRangesTable())
+                    .where(overlappingCondition)
+                    .execute();
+            for (Record3<K, LocalDateTime, LocalDateTime> overlappingRecord : overlappingRecords) {
+                if (overlappingRecord.value2().isBefore(partitionStart)) {
+                    insertTimestampRangeRecordIgnoringDuplicate(transactionCreate, overlappingRecord.value1(),
+                            overlappingRecord.value2(), partitionStart);
+                }
+                if (overlappingRecord.value3().isAfter(partitionEnd)) {
+                    insertTimestampRangeRecordIgnoringDuplicate(transactionCreate, overlappingRecord.value1(),
+                            partitionEnd, overlappingRecord.value3());
+                }
+            }
+        });
+
+        final TimestampRangesCache<K> timestampRangesCache = this.timestampRangesCache;
+        if (timestampRangesCache != null) {
+            timestampRangesCache.invalidateAll();
+        }
+        final SegmentCache<K, P> segmentCache = this.segmentCache;
+        if (segmentCache != null) {
+            segmentCache.invalidateAll();
+        }
+
+        create.dropTableIfExists(tablePartitioner.getPartitionTable(getDataTable(), partitionStart)).execute();
+    }
+
+    /**
+     * Seals the rows of the {@link #getDataTable()} into the {@link Chunk}s of the {@link #getChunkStore()}. With a
+     * {@link ChunkStore}, the <code>insert</code> and <code>bulkLoad</code> methods write to the
+     * {@link #getDataTable()} as usual, which acts as the unsealed tail of the chunks (so that inserting a row costs
+     * one row insert instead of a decode and a re-encode of its whole {@link Chunk}). This should therefore be called
+     * periodically (e.g. once a chunk period has ended) so that every {@link Chunk} is encoded once. Each
+     * {@link Chunk} that ends at or before the {@link Chunk} that contains the given timestamp is sealed in one
+     * transaction that merges its rows into the {@link Chunk} (existing {@link Chunk} rows take precedence) and
+     * deletes exactly the rows that were merged, so rows that are inserted concurrently stay in the tail.
+     *
+     * @param before a timestamp within the first {@link Chunk} to not seal (usually the current time)
+     *
+     * @return the number of sealed {@link Chunk}s
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public int sealChunks(LocalDateTime before) throws DataAccessException {
+        checkArgument(before != null, "Before cannot be null!");
+        final ChunkStore<K, P> chunkStore = this.chunkStore;
+        checkState(chunkStore != null, "A chunk store must be set to seal chunks!");
+        checkState(tablePartitioner == null, "Sealing chunks of a partitioned data table is not supported!");
+
+        final TableField<R, K> dataKeyTableField = getDataKeyTableField();
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+        final long chunkNanos = chunkStore.getChunkDuration().toNanos();
+        final LocalDateTime sealTo = EpochNanoRanges.toLocalDateTime(
+                chunkStore.getChunkStart(EpochNanoRanges.toEpochNanos(before)));
+
+        int sealedChunkCount = 0;
+        for (Record2<K, LocalDateTime> oldestRecord : create.select(dataKeyTableField, DSL.min(dataTimestampTableField))
+                .from(getDataTable())
+                .where(dataTimestampTableField.lessThan(sealTo))
+                .groupBy(dataKeyTableField)
+                .fetch()) {
+            final K key = oldestRecord.value1();
+            LocalDateTime oldestTimestamp = oldestRecord.value2();
+            while (oldestTimestamp != null) {
+                long chunkStart = chunkStore.getChunkStart(EpochNanoRanges.toEpochNanos(oldestTimestamp));
+                LocalDateTime chunkEnd = EpochNanoRanges.toLocalDateTime(chunkStart + chunkNanos);
+                sealChunk(chunkStore, key, chunkStart, chunkEnd);
+                sealedChunkCount++;
+
+                oldestTimestamp = chunkEnd.isBefore(sealTo) ? create.select(DSL.min(dataTimestampTableField))
+                        .from(getDataTable())
+                        .where(dataKeyTableField.equal(key))
+                        .and(dataTimestampTableField.greaterOrEqual(chunkEnd))
+                        .and(dataTimestampTableField.lessThan(sealTo))
+                        .fetchOne().value1() : null;
+            }
+        }
+        return sealedChunkCount;
+    }
+
+    /**
+     * Seals the rows of the {@link #getDataTable()} within the given {@link Chunk} into it with one
+     * {@link ChunkStore#insert(DSLContext, Object, long, long[], List)} and deletes them in one transaction.
+     *
+     * @param chunkStore the {@link ChunkStore}
+     * @param key        the key
+     * @param chunkStart the start epoch nanoseconds of the {@link Chunk}
+     * @param chunkEnd   the end of the {@link Chunk} (exclusive)
+     */
+    private void sealChunk(ChunkStore<K, P> chunkStore, K key, long chunkStart, LocalDateTime chunkEnd) {
+        final int deleteBatchSize = getDataInsertBatchSize();
+        checkArgument(deleteBatchSize > 0, "The insert batch size must be greater than zero!");
+
+        final TableField<R, K> dataKeyTableField = getDataKeyTableField();
+        final TableField<R, LocalDateTime> dataTimestampTableField = getDataTimestampTableField();
+        final RecordMapper<R, P> dataRecordMapper = getDataRecordMapper();
+        create.transaction(configuration -> {
+            DSLContext transactionCreate = DSL.using(configuration);
+            Result<R> dataRecords = transactionCreate.selectFrom(getDataTable())
+                    .where(dataKeyTableField.equal(key))
+                    .and(dataTimestampTableField.greaterOrEqual(EpochNanoRanges.toLocalDateTime(chunkStart)))
+                    .and(dataTimestampTableField.lessThan(chunkEnd))
+                    .orderBy(dataTimestampTableField.asc())
+                    .fetch();
+            if (dataRecords.isEmpty()) {
+                return;
+            }
+
+            List<LocalDateTime> timestamps = new ArrayList<>(dataRecords.size());
+            long[] epochNanos = new long[dataRecords.size()];
+            List<P> dataPOJOs = new ArrayList<>(dataRecords.size());
+            for (R dataRecord : dataRecords) {
+                LocalDateTime timestamp = dataRecord.get(dataTimestampTableField);
+                epochNanos[timestamps.size()] = EpochNanoRanges.toEpochNanos(timestamp);
+                timestamps.add(timestamp);
+                dataPOJOs.add(dataRecordMapper.map(dataRecord));
+            }
+            chunkStore.insert(transactionCreate, key, chunkStart, epochNanos, dataPOJOs);
+
+            // Only delete the sealed rows, since rows could have been inserted into the chunk in the meantime
+            for (List<LocalDateTime> timestampBatch : Lists.partition(timestamps, deleteBatchSize)) {
+                transactionCreate.deleteFrom(getDataTable())
+                        .where(dataKeyTableField.equal(key))
+                        .and(dataTimestampTableField.in(timestampBatch))
+                        .execute();
+            }
+        });
+        recordWrite(key);
+    }
+
+    /**
+     * Gets {@link TemporalRange}s that were inserted via {@link #insertTimestampRangeRecord(Object, LocalDateTime,
+     * LocalDateTime)} given a {@link LocalDateTime} range.
+     *
+     * @param key           the key
+     * @param from          the 'from' (inclusive)
+     * @param to            the 'to' (inclusive)
+     * @param sortDirection the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     *
+     * @return a {@link List} of {@link TemporalRange}s of type {@link LocalDateTime}. Note that the {@link
+     * LocalDateTime}s in the {@link TemporalRange}s could go beyond the range of the 'from' and the 'to' and is added
+     * to the {@link List} as long as one of the {@link LocalDateTime}s is in the given range. This {@link List} is
+     * sorted by the 'from' and then the 'to' if sortDirection is {@link SortDirection#ASCENDING}, otherwise it is
+     * sorted by the 'to' and then the 'from'. If a {@link #getReadReplicaRouter()} is set, the timestamp ranges are
+     * read from a read replica, but if they don't cover the whole range, they are read again from the primary
+     * {@link #create} since a timestamp range that was just inserted may not have been replicated yet (and would
+     * otherwise be fetched again).
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public List<TemporalRange<LocalDateTime>> getTimestampRanges(K key, LocalDateTime from, LocalDateTime to,
+            SortDirection sortDirection) throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        sortDirection = sortDirection == null ? SortDirection.ASCENDING : sortDirection;
+
+        final ReadReplicaRouter<K> readReplicaRouter = this.readReplicaRouter;
+        if (readReplicaRouter == null || readReplicaRouter.isRecentlyWritten(key)) {
+            return fetchTimestampRanges(create, key, from, to, sortDirection);
+        }
+
+        List<TemporalRange<LocalDateTime>> replicaTemporalRanges = fetchTimestampRanges(
+                readReplicaRouter.nextReadContext(), key, from, to, sortDirection);
+        if (isCovering(replicaTemporalRanges, from, to)) {
+            return replicaTemporalRanges;
+        }
+
+        // If the read replica is behind for this key, read the key from the primary until it has caught up
+        List<TemporalRange<LocalDateTime>> temporalRanges = fetchTimestampRanges(create, key, from, to,
+                sortDirection);
+        if (!temporalRanges.equals(replicaTemporalRanges)) {
+            readReplicaRouter.recordWrite(key);
+        }
+        return temporalRanges;
+    }
+
+    /**
+     * Fetches the timestamp ranges of {@link #getTimestampRanges(Object, LocalDateTime, LocalDateTime, SortDirection)}
+     * with the given {@link DSLContext}.
+     *
+     * @param create        the {@link DSLContext} to query with
+     * @param key           the key
+     * @param from          the 'from' (inclusive)
+     * @param to            the 'to' (inclusive)
+     * @param sortDirection the {@link SortDirection}
+     *
+     * @return a {@link List} of {@link TemporalRange}s
+     */
+    private List<TemporalRange<LocalDateTime>> fetchTimestampRanges(DSLContext create, K key, LocalDateTime from,
+            LocalDateTime to, SortDirection sortDirection) {
+        // Create WHERE clause conditions
+        // We basically want to get any timestamp range that intersects, is contained within, or contains the
+        // passed in timestamp range.
+        Condition keyEqualCondition = getTimestampRangesKeyTableField().equal(key);
+        Condition fromArgumentCondition = val(from).greaterOrEqual(getTimestampRangesFromTableField()).and(
+                val(from).lessOrEqual(getTimestampRangesToTableField()));
+        Condition fromDatabaseCondition = getTimestampRangesFromTableField().greaterOrEqual(from).and(
+                getTimestampRangesFromTableField().lessOrEqual(to));
+        Condition toArgumentCondition = val(to).greaterOrEqual(getTimestampRangesFromTableField()).and(
+                val(to).lessOrEqual(getTimestampRangesToTableField()));
+        Condition toDatabaseCondition = getTimestampRangesToTableField().lessOrEqual(to).and(
+                getTimestampRangesToTableField().greaterOrEqual(from));
+
+        // Create ORDER BY clause
+        // We first want to order by the 'from' ASC and then by the 'to' ASC if the sortDirection is 'ASCENDING' and
+        // order by the 'to' DESC and then by the 'from' DESC if the sortDirection is 'DESCENDING'.
+        OrderField<LocalDateTime> firstOrder = sortDirection == SortDirection.ASCENDING ?
+                getTimestampRangesFromTableField().asc() :
+                getTimestampRangesToTableField().desc();
+        OrderField<LocalDateTime> secondOrder = sortDirection == SortDirection.ASCENDING ?
+                getTimestampRangesToTableField().asc() :
+                getTimestampRangesFromTableField().desc();
+
+        long startNanos = System.nanoTime();
+        List<TemporalRange<LocalDateTime>> temporalRanges = create
+                .select(getTimestampRangesFromTableField(), getTimestampRangesToTableField())
+                .from(getTimestampRangesTable())
+                .where(keyEqualCondition.and(
+                        fromArgumentCondition
                                 .or(fromDatabaseCondition)
                                 .or(toArgumentCondition)
                                 .or(toDatabaseCondition)))
                 .orderBy(firstOrder, secondOrder)
                 .fetch(record -> new TemporalRange<>(record.value1(), record.value2()));
+        metrics.recordGetTimestampRanges(key, System.nanoTime() - startNanos, temporalRanges.size());
+        return temporalRanges;
+    }
+
+    /**
+     * Gets a Reactive Streams {@link Publisher} of the {@link TemporalRange}s of
+     * {@link #getTimestampRanges(Object, LocalDateTime, LocalDateTime, SortDirection)}. Every {@link Subscriber}
+     * executes its own query on the given {@link Executor} once it requests the first {@link TemporalRange}.
+     *
+     * @param key           the key
+     * @param from          the 'from' (inclusive)
+     * @param to            the 'to' (inclusive)
+     * @param sortDirection the {@link SortDirection} (defaults to {@link SortDirection#ASCENDING})
+     * @param executor      the {@link Executor} to query on
+     *
+     * @return a cold {@link Publisher} (any {@link DataAccessException} is signalled with
+     * {@link Subscriber#onError(Throwable)})
+     *
+     * @see IteratorPublisher
+     */
+    public Publisher<TemporalRange<LocalDateTime>> getTimestampRangesPublisher(K key, LocalDateTime from,
+            LocalDateTime to, SortDirection sortDirection, Executor executor) {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        return new IteratorPublisher<>(() -> getTimestampRanges(key, from, to, sortDirection).iterator(), executor);
+    }
+
+    /**
+     * Gets the squashed {@link TemporalRange}s that were inserted via {@link #insertTimestampRangeRecord(Object,
+     * LocalDateTime, LocalDateTime)} that intersect, are contained within, or contain the given range. If a
+     * {@link #getTimestampRangesCache()} is set, the {@link TemporalRange}s are looked up in it (all of the timestamp
+     * ranges of the key are loaded into it if the key isn't cached yet), otherwise the database is queried.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (inclusive)
+     *
+     * @return a {@link List} of squashed {@link TemporalRange}s sorted from oldest to newest
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public List<TemporalRange<LocalDateTime>> getCoveredTimestampRanges(K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        // Check arguments
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        final TimestampRangesCache<K> timestampRangesCache = this.timestampRangesCache;
+        if (timestampRangesCache == null) {
+            List<TemporalRange<LocalDateTime>> squashedTemporalRanges =
+                    TemporalRangeUtil.squash(getTimestampRanges(key, from, to, SortDirection.ASCENDING));
+            return squashedTemporalRanges == null ? new ArrayList<>() : squashedTemporalRanges;
+        }
+
+        ArrayList<TemporalRange<LocalDateTime>> cachedTemporalRanges =
+                timestampRangesCache.getTemporalRanges(key, from, to);
+        if (cachedTemporalRanges == null) {
+            // Note that a timestamp range that is inserted while this query is executing may be missing from the
+            // cache until the key is invalidated, which only causes that timestamp range to be fetched again.
+            timestampRangesCache.put(key, getAllTimestampRanges(key));
+            cachedTemporalRanges = timestampRangesCache.getTemporalRanges(key, from, to);
+        }
+
+        return cachedTemporalRanges;
+    }
+
+    /**
+     * Gets the {@link TemporalRange}s within the given range that were NOT inserted via
+     * {@link #insertTimestampRangeRecord(Object, LocalDateTime, LocalDateTime)}. That is, the timestamp ranges that
+     * have not been filled in the {@link #getDataTable()} yet.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     *
+     * @return a {@link List} of missing {@link TemporalRange}s sorted from oldest to newest
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     * @see #getCoveredTimestampRanges(Object, LocalDateTime, LocalDateTime)
+     */
+    public List<TemporalRange<LocalDateTime>> getMissingTimestampRanges(K key, LocalDateTime from, LocalDateTime to)
+            throws DataAccessException {
+        return TemporalRangeUtil.getMissingTemporalRanges(from, to, getCoveredTimestampRanges(key, from, to),
+                null, null);
+    }
+
+    /**
+     * Gets all of the {@link TemporalRange}s of the given key in the {@link #getTimestampRangesTable()}. These are
+     * always read from the primary {@link #create} since they are kept in the {@link #getTimestampRangesCache()}.
+     *
+     * @param key the key
+     *
+     * @return a {@link List} of {@link TemporalRange}s sorted by the 'from'
+     */
+    private List<TemporalRange<LocalDateTime>> getAllTimestampRanges(K key) {
+        long startNanos = System.nanoTime();
+        List<TemporalRange<LocalDateTime>> temporalRanges = create
+                .select(getTimestampRangesFromTableField(), getTimestampRangesToTableField())
+                .from(getTimestampRangesTable())
+                .where(getTimestampRangesKeyTableField().equal(key))
+                .orderBy(getTimestampRangesFromTableField().asc())
+                .fetch(record -> new TemporalRange<>(record.value1(), record.value2()));
+        metrics.recordGetTimestampRanges(key, System.nanoTime() - startNanos, temporalRanges.size());
+        return temporalRanges;
+    }
+
+    /**
+     * Adds the given timestamp range to the {@link #getTimestampRangesCache()} (if one is set).
+     *
+     * @param key  the key
+     * @param from the 'from'
+     * @param to   the 'to'
+     */
+    private void addToTimestampRangesCache(K key, LocalDateTime from, LocalDateTime to) {
+        final TimestampRangesCache<K> timestampRangesCache = this.timestampRangesCache;
+        if (timestampRangesCache != null) {
+            timestampRangesCache.add(key, from, to);
+        }
+    }
+
+    /**
+     * Records a committed write of the given key in the {@link #getReadReplicaRouter()} (if one is set).
+     *
+     * @param key the key
+     */
+    private void recordWrite(K key) {
+        final ReadReplicaRouter<K> readReplicaRouter = this.readReplicaRouter;
+        if (readReplicaRouter != null) {
+            readReplicaRouter.recordWrite(key);
+        }
+    }
+
+    /**
+     * Checks whether the given {@link TemporalRange}s cover the whole given range.
+     *
+     * @param temporalRanges the {@link TemporalRange}s (in any order)
+     * @param from           the 'from' (inclusive)
+     * @param to             the 'to' (inclusive)
+     *
+     * @return a boolean
+     */
+    private static boolean isCovering(List<TemporalRange<LocalDateTime>> temporalRanges, LocalDateTime from,
+            LocalDateTime to) {
+        if (to.isBefore(from)) {
+            return true;
+        }
+
+        List<TemporalRange<LocalDateTime>> sortedTemporalRanges = new ArrayList<>(temporalRanges);
+        sortedTemporalRanges.sort(Comparator.comparing(TemporalRange::getFrom));
+        return TemporalRangeUtil.getMissingTemporalRanges(from, to, TemporalRangeUtil.squash(sortedTemporalRanges),
+                null, null).isEmpty();
+    }
+
+    /**
+     * Gets the {@link #timestampRangesCache}.
+     *
+     * @return the {@link TimestampRangesCache} (<code>null</code> if timestamp ranges are not cached)
+     */
+    public TimestampRangesCache<K> getTimestampRangesCache() {
+        return timestampRangesCache;
+    }
+
+    /**
+     * Sets the {@link #timestampRangesCache}. Note that the {@link TimestampRangesCache} is only updated by this
+     * {@link TimeSeriesDatabaseInterface}, so it should not be used when other processes insert timestamp ranges
+     * into the same {@link #getTimestampRangesTable()}.
+     *
+     * @param timestampRangesCache the {@link TimestampRangesCache} (<code>null</code> to disable caching)
+     */
+    public void setTimestampRangesCache(TimestampRangesCache<K> timestampRangesCache) {
+        this.timestampRangesCache = timestampRangesCache;
+    }
+
+    /**
+     * Gets the {@link #metrics}.
+     *
+     * @return the {@link TimeSeriesDatabaseMetrics}
+     */
+    public TimeSeriesDatabaseMetrics<K> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the {@link #metrics}.
+     *
+     * @param metrics the {@link TimeSeriesDatabaseMetrics} (<code>null</code> for
+     *                {@link TimeSeriesDatabaseMetrics#noOp()})
+     */
+    public void setMetrics(TimeSeriesDatabaseMetrics<K> metrics) {
+        this.metrics = metrics == null ? TimeSeriesDatabaseMetrics.noOp() : metrics;
+    }
+
+    /**
+     * Gets the {@link #segmentCache}.
+     *
+     * @return the {@link SegmentCache} (<code>null</code> if data POJOs are not cached on disk)
+     */
+    public SegmentCache<K, P> getSegmentCache() {
+        return segmentCache;
+    }
+
+    /**
+     * Gets the {@link #chunkStore}.
+     *
+     * @return the {@link ChunkStore} (<code>null</code> if data POJOs are stored in the {@link #getDataTable()})
+     */
+    public ChunkStore<K, P> getChunkStore() {
+        return chunkStore;
+    }
+
+    /**
+     * Sets the {@link #chunkStore}. If a {@link ChunkStore} is set, the <code>insert</code> and <code>bulkLoad</code>
+     * methods still write to the {@link #getDataTable()}, which acts as the unsealed tail of the compressed
+     * {@link Chunk}s until {@link #sealChunks(LocalDateTime)} encodes it into them. The single-key and multi-key
+     * <code>get</code> methods (and the methods built on them, such as <code>scan</code> and
+     * {@link #getPublisher(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)}),
+     * <code>count</code>, <code>exists</code>, <code>firstTimestamp</code> and <code>lastTimestamp</code> merge the
+     * decoded {@link Chunk}s with the tail, while the {@link #getTimestampRangesTable()} is used as before. The methods
+     * that push queries down to the {@link #getDataTable()} (<code>getPaged</code>, <code>getProjected</code>,
+     * <code>getColumnBatches</code> and <code>getAggregated</code>) throw an {@link IllegalStateException}, and the
+     * {@link #getSegmentCache()} is not used.
+     *
+     * @param chunkStore the {@link ChunkStore} (<code>null</code> to store data POJOs in the {@link #getDataTable()})
+     */
+    public void setChunkStore(ChunkStore<K, P> chunkStore) {
+        this.chunkStore = chunkStore;
+    }
+
+    /**
+     * Gets the {@link #tablePartitioner}.
+     *
+     * @return the {@link TablePartitioner} (<code>null</code> if the {@link #getDataTable()} is not partitioned)
+     */
+    public TablePartitioner getTablePartitioner() {
+        return tablePartitioner;
+    }
+
+    /**
+     * Sets the {@link #tablePartitioner}. If a {@link TablePartitioner} is set, the rows of the {@link #getDataTable()}
+     * are stored in its partition tables instead. The <code>insert</code> and <code>bulkLoad</code> methods route every
+     * row to the partition table of its timestamp, and the queries of the <code>get</code>, <code>scan</code>,
+     * <code>getPaged</code>, <code>getProjected</code>, <code>getColumnBatches</code>, <code>getAggregated</code>,
+     * <code>count</code>, <code>exists</code>, <code>firstTimestamp</code> and <code>lastTimestamp</code> methods only
+     * touch the partition tables that overlap their [from, to) range, one after another in the order of their
+     * {@link SortDirection}. The {@link #getTimestampRangesTable()} is not partitioned. Note that
+     * {@link #sealChunks(LocalDateTime)} does not support a {@link TablePartitioner}.
+     *
+     * @param tablePartitioner the {@link TablePartitioner} (<code>null</code> to store all rows in the
+     *                         {@link #getDataTable()})
+     *
+     * @see #dropPartition(LocalDateTime)
+     */
+    public void setTablePartitioner(TablePartitioner tablePartitioner) {
+        this.tablePartitioner = tablePartitioner;
+    }
+
+    /**
+     * Gets the {@link #readReplicaRouter}.
+     *
+     * @return the {@link ReadReplicaRouter} (<code>null</code> if all queries are executed with {@link #create})
+     */
+    public ReadReplicaRouter<K> getReadReplicaRouter() {
+        return readReplicaRouter;
+    }
+
+    /**
+     * Sets the {@link #readReplicaRouter}. If a {@link ReadReplicaRouter} is set, {@link #create} is only used for
+     * writes (and for the reads of keys that were just written), and the queries of the <code>get</code>,
+     * <code>scan</code>, <code>getPaged</code>, <code>getProjected</code>, <code>getColumnBatches</code>,
+     * <code>getAggregated</code>, <code>count</code>, <code>exists</code>, <code>firstTimestamp</code>,
+     * <code>lastTimestamp</code> and <code>getTimestampRanges</code> methods are load-balanced over its read replicas.
+     * Timestamp ranges that don't cover a requested range on a read replica are read again from {@link #create} (see
+     * {@link #getTimestampRanges(Object, LocalDateTime, LocalDateTime, SortDirection)}), so that a range that was just
+     * filled is never mistaken for a gap.
+     *
+     * @param readReplicaRouter the {@link ReadReplicaRouter} (<code>null</code> to execute all queries with
+     *                          {@link #create})
+     */
+    public void setReadReplicaRouter(ReadReplicaRouter<K> readReplicaRouter) {
+        this.readReplicaRouter = readReplicaRouter;
+    }
+
+    /**
+     * Sets the {@link #segmentCache}. Only the {@link Segment}s that are completely covered by timestamp ranges in the
+     * {@link #getTimestampRangesTable()} are cached since their data POJOs can no longer change. Note that the
+     * {@link SegmentCache} must be invalidated if data of a covered timestamp range is modified by other means.
+     *
+     * @param segmentCache the {@link SegmentCache} (<code>null</code> to disable caching)
+     */
+    public void setSegmentCache(SegmentCache<K, P> segmentCache) {
+        this.segmentCache = segmentCache;
+    }
+
+    /**
+     * {@link MeasuredDataIterator} is a lazy data POJO {@link Iterator} that measures the time spent fetching rows
+     * from the {@link DataRecordIterator} separately from the time spent mapping them via the {@link RecordMapper}
+     * and reports them to the {@link TimeSeriesDatabaseMetrics} once the {@link DataRecordIterator} is exhausted.
+     */
+    private class MeasuredDataIterator implements Iterator<P>, AutoCloseable {
+
+        private final K key;
+        private final DataRecordIterator<R> recordIterator;
+        private final RecordMapper<R, P> dataRecordMapper;
+        private final TimeSeriesDatabaseMetrics<K> metrics;
+        private final long queryStartNanos;
+        private long fetchNanos;
+        private long mappingNanos;
+        private long rowCount;
+        private long byteCount;
+        private boolean firstRowReported;
+        private boolean exhausted;
+
+        /**
+         * Instantiates a new {@link MeasuredDataIterator}.
+         *
+         * @param key              the key
+         * @param recordIterator   the {@link DataRecordIterator}
+         * @param dataRecordMapper the {@link RecordMapper}
+         * @param metrics          the {@link TimeSeriesDatabaseMetrics}
+         * @param queryStartNanos  the {@link System#nanoTime()} at which the query was started
+         * @param queryNanos       the nanoseconds it took to execute the query
+         */
+        public MeasuredDataIterator(K key, DataRecordIterator<R> recordIterator, RecordMapper<R, P> dataRecordMapper,
+                TimeSeriesDatabaseMetrics<K> metrics, long queryStartNanos, long queryNanos) {
+            this.key = key;
+            this.recordIterator = recordIterator;
+            this.dataRecordMapper = dataRecordMapper;
+            this.metrics = metrics;
+            this.queryStartNanos = queryStartNanos;
+            this.fetchNanos = queryNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long startNanos = System.nanoTime();
+            boolean hasNext = recordIterator.hasNext(); // Closes the database query cursors automatically
+            long endNanos = System.nanoTime();
+            fetchNanos += endNanos - startNanos;
+
+            if (!firstRowReported) {
+                firstRowReported = true;
+                if (hasNext) {
+                    metrics.recordGetTimeToFirstRow(key, fetchNanos);
+                }
+            }
+
+            if (!hasNext && !exhausted) {
+                exhausted = true;
+                metrics.recordGet(key, endNanos - queryStartNanos, fetchNanos, mappingNanos, rowCount, byteCount);
+            }
+
+            return hasNext;
+        }
+
+        @Override
+        public P next() {
+            long startNanos = System.nanoTime();
+            R dataRecord = recordIterator.next();
+            long fetchedNanos = System.nanoTime();
+            fetchNanos += fetchedNanos - startNanos;
+
+            P dataPOJO = dataRecordMapper.map(dataRecord);
+            long mappedNanos = System.nanoTime();
+
+            mappingNanos += mappedNanos - fetchedNanos;
+            rowCount++;
+            byteCount += estimateDataRecordByteCount(dataRecord);
+
+            return dataPOJO;
+        }
+
+        @Override
+        public void close() {
+            recordIterator.close();
+        }
+    }
+
+    /**
+     * {@link SegmentCachePart} is a part of a {@link #get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)} range that is either read from a {@link Segment} or queried from the {@link #getDataTable()}.
+     */
+    private static class SegmentCachePart {
+
+        private final boolean fromSegment;
+        private final long segmentFrom;
+        private final long from;
+        private long to;
+
+        /**
+         * Instantiates a new {@link SegmentCachePart}.
+         *
+         * @param fromSegment whether this part is read from a {@link Segment}
+         * @param segmentFrom the 'from' epoch nanoseconds of the {@link Segment}
+         * @param from        the 'from' epoch nanoseconds (inclusive)
+         * @param to          the 'to' epoch nanoseconds (exclusive)
+         */
+        public SegmentCachePart(boolean fromSegment, long segmentFrom, long from, long to) {
+            this.fromSegment = fromSegment;
+            this.segmentFrom = segmentFrom;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * {@link SegmentCacheDataIterator} is a lazy data POJO {@link Iterator} that iterates the
+     * {@link SegmentCachePart}s one after another. A {@link Segment} that can't be read or written is queried from the
+     * {@link #getDataTable()} instead.
+     */
+    private class SegmentCacheDataIterator implements Iterator<P>, AutoCloseable {
+
+        private final SegmentCache<K, P> segmentCache;
+        private final K key;
+        private final Iterator<SegmentCachePart> partIterator;
+        private final LocalTime beginFilterTime;
+        private final LocalTime endFilterTime;
+        private final SortDirection sortDirection;
+        private Iterator<P> currentPartIterator;
+        private boolean closed;
+
+        /**
+         * Instantiates a new {@link SegmentCacheDataIterator}.
+         *
+         * @param segmentCache    the {@link SegmentCache}
+         * @param key             the key
+         * @param partIterator    the {@link SegmentCachePart} {@link Iterator} (in the order of the
+         *                        {@link SortDirection})
+         * @param beginFilterTime the begin filter time (inclusive)
+         * @param endFilterTime   the end filter time (exclusive)
+         * @param sortDirection   the {@link SortDirection}
+         */
+        public SegmentCacheDataIterator(SegmentCache<K, P> segmentCache, K key,
+                Iterator<SegmentCachePart> partIterator, LocalTime beginFilterTime, LocalTime endFilterTime,
+                SortDirection sortDirection) {
+            this.segmentCache = segmentCache;
+            this.key = key;
+            this.partIterator = partIterator;
+            this.beginFilterTime = beginFilterTime;
+            this.endFilterTime = endFilterTime;
+            this.sortDirection = sortDirection;
+            this.currentPartIterator = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPartIterator.hasNext()) {
+                if (closed || !partIterator.hasNext()) {
+                    return false;
+                }
+                currentPartIterator = getPartIterator(partIterator.next());
+            }
+            return true;
+        }
+
+        @Override
+        public P next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPartIterator.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (currentPartIterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) currentPartIterator).close();
+                } catch (Exception ignored) {}
+            }
+            currentPartIterator = Collections.emptyIterator();
+        }
+
+        /**
+         * Gets the lazy data POJO {@link Iterator} of the given {@link SegmentCachePart}.
+         *
+         * @param part the {@link SegmentCachePart}
+         *
+         * @return the {@link Iterator}
+         */
+        private Iterator<P> getPartIterator(SegmentCachePart part) {
+            if (part.fromSegment) {
+                Segment segment = segmentCache.get(key, part.segmentFrom);
+                if (segment == null) {
+                    try {
+                        segment = loadSegment(segmentCache, key, part.segmentFrom);
+                    } catch (IOException exception) {
+                        LOGGER.warn("Could not write the segment of key {} at {}! Querying the data table instead.",
+                                key, EpochNanoRanges.toLocalDateTime(part.segmentFrom), exception);
+                    }
+                }
+
+                if (segment != null) {
+                    return new SegmentDataIterator(segment, segmentCache.getSerializer(), part.from, part.to,
+                            beginFilterTime, endFilterTime, sortDirection);
+                }
+            }
+
+            return getFromDataTable(key, EpochNanoRanges.toLocalDateTime(part.from),
+                    EpochNanoRanges.toLocalDateTime(part.to), beginFilterTime, endFilterTime, sortDirection);
+        }
+    }
+
+    /**
+     * {@link SegmentDataIterator} is a data POJO {@link Iterator} of the rows of a {@link Segment} within a timestamp
+     * range.
+     */
+    private class SegmentDataIterator implements Iterator<P> {
+
+        private final Segment segment;
+        private final SegmentSerializer<P> serializer;
+        private final int endIndex;
+        private final int indexStep;
+        private final long beginFilterNanoOfDay;
+        private final long endFilterNanoOfDay;
+        private int index;
+
+        /**
+         * Instantiates a new {@link SegmentDataIterator}.
+         *
+         * @param segment         the {@link Segment}
+         * @param serializer      the {@link SegmentSerializer}
+         * @param from            the 'from' epoch nanoseconds (inclusive)
+         * @param to              the 'to' epoch nanoseconds (exclusive)
+         * @param beginFilterTime the begin filter time (inclusive)
+         * @param endFilterTime   the end filter time (exclusive)
+         * @param sortDirection   the {@link SortDirection}
+         */
+        public SegmentDataIterator(Segment segment, SegmentSerializer<P> serializer, long from, long to,
+                LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+            this.segment = segment;
+            this.serializer = serializer;
+            this.beginFilterNanoOfDay = beginFilterTime == null ? 0 : beginFilterTime.toNanoOfDay();
+            this.endFilterNanoOfDay = endFilterTime == null ? EpochNanoRanges.NANOS_PER_DAY :
+                    endFilterTime.toNanoOfDay();
+
+            int fromIndex = segment.lowerBound(from);
+            int toIndex = segment.lowerBound(to);
+            if (sortDirection == SortDirection.DESCENDING) {
+                this.index = toIndex - 1;
+                this.endIndex = fromIndex - 1;
+                this.indexStep = -1;
+            } else {
+                this.index = fromIndex;
+                this.endIndex = toIndex;
+                this.indexStep = 1;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Skip the rows that are outside of the filter times
+            while (index != endIndex) {
+                long nanoOfDay = Math.floorMod(segment.getTimestamp(index), EpochNanoRanges.NANOS_PER_DAY);
+                if (nanoOfDay >= beginFilterNanoOfDay && nanoOfDay < endFilterNanoOfDay) {
+                    return true;
+                }
+                index += indexStep;
+            }
+            return false;
+        }
+
+        @Override
+        public P next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            P dataPOJO = segment.read(index, serializer);
+            index += indexStep;
+            return dataPOJO;
+        }
+    }
+
+    /**
+     * {@link ChunkDataIterator} is a lazy data POJO {@link Iterator} that decodes the {@link Chunk}s of a
+     * {@link ChunkStore} query one at a time and returns their rows within a timestamp range.
+     */
+    private class ChunkDataIterator implements Iterator<TimestampedDataPOJO<P>>, AutoCloseable {
+
+        private final ChunkStore<K, P> chunkStore;
+        private final ChunkCodec<K, P> codec;
+        private final K key;
+        private final Cursor<Record2<LocalDateTime, byte[]>> chunkCursor;
+        private final long from;
+        private final long to;
+        private final long beginFilterNanoOfDay;
+        private final long endFilterNanoOfDay;
+        private final SortDirection sortDirection;
+        private final double[] doubleValues;
+        private final long[] longValues;
+        private Chunk chunk;
+        private int index;
+        private int endIndex;
+        private int indexStep;
+
+        /**
+         * Instantiates a new {@link ChunkDataIterator}.
+         *
+         * @param chunkStore      the {@link ChunkStore}
+         * @param key             the key
+         * @param chunkCursor     the {@link Cursor} of {@link ChunkStore#fetchChunks(DSLContext, Object, long, long,
+         *                        SortDirection)}
+         * @param from            the 'from' epoch nanoseconds (inclusive)
+         * @param to              the 'to' epoch nanoseconds (exclusive)
+         * @param beginFilterTime the begin filter time (inclusive)
+         * @param endFilterTime   the end filter time (exclusive)
+         * @param sortDirection   the {@link SortDirection}
+         */
+        public ChunkDataIterator(ChunkStore<K, P> chunkStore, K key, Cursor<Record2<LocalDateTime, byte[]>> chunkCursor,
+                long from, long to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+            this.chunkStore = chunkStore;
+            this.codec = chunkStore.getCodec();
+            this.key = key;
+            this.chunkCursor = chunkCursor;
+            this.from = from;
+            this.to = to;
+            this.beginFilterNanoOfDay = beginFilterTime == null ? 0 : beginFilterTime.toNanoOfDay();
+            this.endFilterNanoOfDay = endFilterTime == null ? EpochNanoRanges.NANOS_PER_DAY :
+                    endFilterTime.toNanoOfDay();
+            this.sortDirection = sortDirection;
+            this.doubleValues = new double[codec.getDoubleColumnCount()];
+            this.longValues = new long[codec.getLongColumnCount()];
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                // Skip the rows that are outside of the filter times
+                while (chunk != null && index != endIndex) {
+                    long nanoOfDay = Math.floorMod(chunk.getTimestamp(index), EpochNanoRanges.NANOS_PER_DAY);
+                    if (nanoOfDay >= beginFilterNanoOfDay && nanoOfDay < endFilterNanoOfDay) {
+                        return true;
+                    }
+                    index += indexStep;
+                }
+
+                if (!chunkCursor.hasNext()) { // Closes the cursor automatically once it's exhausted
+                    chunk = null;
+                    return false;
+                }
+                openChunk(chunkCursor.fetchNext());
+            }
+        }
+
+        @Override
+        public TimestampedDataPOJO<P> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            for (int column = 0; column < doubleValues.length; column++) {
+                doubleValues[column] = chunk.getDouble(column, index);
+            }
+            for (int column = 0; column < longValues.length; column++) {
+                longValues[column] = chunk.getLong(column, index);
+            }
+            LocalDateTime timestamp = EpochNanoRanges.toLocalDateTime(chunk.getTimestamp(index));
+            P dataPOJO = codec.read(key, timestamp, doubleValues, longValues);
+            index += indexStep;
+            return new TimestampedDataPOJO<>(timestamp, dataPOJO);
+        }
+
+        @Override
+        public void close() {
+            chunkCursor.close();
+            chunk = null;
+        }
+
+        /**
+         * Decodes the given chunk {@link Record2} and positions the index at its first row within the range.
+         *
+         * @param chunkRecord the chunk {@link Record2}
+         */
+        private void openChunk(Record2<LocalDateTime, byte[]> chunkRecord) {
+            try {
+                chunk = chunkStore.decode(chunkRecord.value2(), key,
+                        EpochNanoRanges.toEpochNanos(chunkRecord.value1()));
+            } catch (DataAccessException exception) {
+                close();
+                throw exception;
+            }
+
+            int fromIndex = chunk.lowerBound(from);
+            int toIndex = chunk.lowerBound(to);
+            if (sortDirection == SortDirection.DESCENDING) {
+                index = toIndex - 1;
+                endIndex = fromIndex - 1;
+                indexStep = -1;
+            } else {
+                index = fromIndex;
+                endIndex = toIndex;
+                indexStep = 1;
+            }
+        }
+    }
+
+    /**
+     * {@link ChunkTailMergingIterator} is a lazy {@link TimestampedDataPOJO} {@link Iterator} of one key that merges
+     * the rows of its sealed {@link Chunk}s with its unsealed rows of the {@link #getDataTable()} in timestamp order.
+     * If both contain a timestamp, the row of the {@link Chunk} is returned.
+     */
+    private class ChunkTailMergingIterator implements Iterator<TimestampedDataPOJO<P>>, AutoCloseable {
+
+        private final ChunkDataIterator chunkIterator;
+        private final TimestampedDataIterator tailIterator;
+        private final SortDirection sortDirection;
+        private TimestampedDataPOJO<P> nextChunkDataPOJO;
+        private TimestampedDataPOJO<P> nextTailDataPOJO;
+
+        /**
+         * Instantiates a new {@link ChunkTailMergingIterator}.
+         *
+         * @param chunkIterator the {@link ChunkDataIterator}
+         * @param tailIterator  the {@link TimestampedDataIterator} of the {@link #getDataTable()}
+         * @param sortDirection the {@link SortDirection} of both {@link Iterator}s
+         */
+        public ChunkTailMergingIterator(ChunkDataIterator chunkIterator, TimestampedDataIterator tailIterator,
+                SortDirection sortDirection) {
+            this.chunkIterator = chunkIterator;
+            this.tailIterator = tailIterator;
+            this.sortDirection = sortDirection;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextChunkDataPOJO == null && chunkIterator.hasNext()) {
+                nextChunkDataPOJO = chunkIterator.next();
+            }
+            if (nextTailDataPOJO == null && tailIterator.hasNext()) {
+                nextTailDataPOJO = tailIterator.next();
+            }
+            return nextChunkDataPOJO != null || nextTailDataPOJO != null;
+        }
+
+        @Override
+        public TimestampedDataPOJO<P> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int comparison;
+            if (nextChunkDataPOJO == null) {
+                comparison = 1;
+            } else if (nextTailDataPOJO == null) {
+                comparison = -1;
+            } else {
+                comparison = nextChunkDataPOJO.timestamp.compareTo(nextTailDataPOJO.timestamp);
+                comparison = sortDirection == SortDirection.DESCENDING ? -comparison : comparison;
+            }
+
+            if (comparison > 0) {
+                TimestampedDataPOJO<P> tailDataPOJO = nextTailDataPOJO;
+                nextTailDataPOJO = null;
+                return tailDataPOJO;
+            }
+            if (comparison == 0) { // The row of the chunk takes precedence
+                nextTailDataPOJO = null;
+            }
+            TimestampedDataPOJO<P> chunkDataPOJO = nextChunkDataPOJO;
+            nextChunkDataPOJO = null;
+            return chunkDataPOJO;
+        }
+
+        @Override
+        public void close() {
+            chunkIterator.close();
+            tailIterator.close();
+        }
+    }
+
+    /**
+     * {@link TimestampedDataPOJO} is a data POJO with its timestamp.
+     *
+     * @param <P> the time series data POJO type parameter
+     */
+    private static class TimestampedDataPOJO<P> {
+
+        private final LocalDateTime timestamp;
+        private final P dataPOJO;
+
+        /**
+         * Instantiates a new {@link TimestampedDataPOJO}.
+         *
+         * @param timestamp the timestamp
+         * @param dataPOJO  the data POJO
+         */
+        public TimestampedDataPOJO(LocalDateTime timestamp, P dataPOJO) {
+            this.timestamp = timestamp;
+            this.dataPOJO = dataPOJO;
+        }
+    }
+
+    /**
+     * {@link TimestampedDataIterator} is a lazy {@link TimestampedDataPOJO} {@link Iterator} of a query of the
+     * {@link #getDataTable()}. The query is executed on the first call to {@link #hasNext()} (so that it is executed
+     * by the thread that iterates it).
+     */
+    private class TimestampedDataIterator implements Iterator<TimestampedDataPOJO<P>>, AutoCloseable {
+
+        private final DSLContext create;
+        private final Condition keyCondition;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final LocalTime beginFilterTime;
+        private final LocalTime endFilterTime;
+        private final SortDirection sortDirection;
+        private final RecordMapper<R, P> dataRecordMapper;
+        private final TableField<R, LocalDateTime> dataTimestampTableField;
+        private DataRecordIterator<R> recordIterator;
+
+        /**
+         * Instantiates a new {@link TimestampedDataIterator}.
+         *
+         * @param create          the {@link DSLContext} to query with
+         * @param keyCondition    the key {@link Condition}
+         * @param from            the 'from' (inclusive)
+         * @param to              the 'to' (exclusive)
+         * @param beginFilterTime the begin filter time (inclusive)
+         * @param endFilterTime   the end filter time (exclusive)
+         * @param sortDirection   the {@link SortDirection}
+         */
+        public TimestampedDataIterator(DSLContext create, Condition keyCondition, LocalDateTime from,
+                LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+            this.create = create;
+            this.keyCondition = keyCondition;
+            this.from = from;
+            this.to = to;
+            this.beginFilterTime = beginFilterTime;
+            this.endFilterTime = endFilterTime;
+            this.sortDirection = sortDirection;
+            this.dataRecordMapper = getDataRecordMapper();
+            this.dataTimestampTableField = getDataTimestampTableField();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (recordIterator == null) {
+                recordIterator = fetchDataLazy(create, null, keyCondition, from, to, beginFilterTime,
+                        endFilterTime, sortDirection);
+            }
+            return recordIterator.hasNext(); // Closes the database query cursors automatically
+        }
+
+        @Override
+        public TimestampedDataPOJO<P> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            R dataRecord = recordIterator.next();
+            return new TimestampedDataPOJO<>(dataRecord.get(dataTimestampTableField),
+                    dataRecordMapper.map(dataRecord));
+        }
+
+        @Override
+        public void close() {
+            if (recordIterator != null) {
+                recordIterator.close();
+            }
+        }
+    }
+
+    /**
+     * {@link ScanIterator} is a data POJO {@link Iterator} that consumes time slices one after another while the
+     * upcoming slices are fetched concurrently into {@link ReadAheadIterator}s.
+     */
+    private class ScanIterator implements Iterator<P>, AutoCloseable {
+
+        private final K key;
+        private final Iterator<TemporalRange<LocalDateTime>> sliceIterator;
+        private final LocalTime beginFilterTime;
+        private final LocalTime endFilterTime;
+        private final SortDirection sortDirection;
+        private final Executor executor;
+        private final int readAheadSize;
+        private final ArrayDeque<ReadAheadIterator<P>> sliceReadAheadIterators;
+
+        /**
+         * Instantiates a new {@link ScanIterator}.
+         *
+         * @param key             the key
+         * @param sliceIterator   the slice {@link TemporalRange} {@link Iterator} (in the order of the
+         *                        {@link SortDirection})
+         * @param beginFilterTime the begin filter time (inclusive)
+         * @param endFilterTime   the end filter time (exclusive)
+         * @param sortDirection   the {@link SortDirection}
+         * @param executor        the {@link Executor}
+         * @param scanParallelism the maximum number of slices to fetch concurrently
+         * @param readAheadSize   the read-ahead size of each slice
+         */
+        public ScanIterator(K key, Iterator<TemporalRange<LocalDateTime>> sliceIterator, LocalTime beginFilterTime,
+                LocalTime endFilterTime, SortDirection sortDirection, Executor executor, int scanParallelism,
+                int readAheadSize) {
+            this.key = key;
+            this.sliceIterator = sliceIterator;
+            this.beginFilterTime = beginFilterTime;
+            this.endFilterTime = endFilterTime;
+            this.sortDirection = sortDirection;
+            this.executor = executor;
+            this.readAheadSize = readAheadSize;
+            this.sliceReadAheadIterators = new ArrayDeque<>(scanParallelism);
+
+            // Start fetching the first slices
+            for (int sliceIndex = 0; sliceIndex < scanParallelism; sliceIndex++) {
+                if (!startNextSlice()) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!sliceReadAheadIterators.isEmpty()) {
+                if (sliceReadAheadIterators.peekFirst().hasNext()) {
+                    return true;
+                }
+
+                // The current slice is exhausted, so start fetching the next upcoming slice
+                sliceReadAheadIterators.pollFirst().close();
+                startNextSlice();
+            }
+            return false;
+        }
+
+        @Override
+        public P next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return sliceReadAheadIterators.peekFirst().next();
+        }
+
+        @Override
+        public void close() {
+            while (sliceIterator.hasNext()) {
+                sliceIterator.next();
+            }
+            while (!sliceReadAheadIterators.isEmpty()) {
+                sliceReadAheadIterators.pollFirst().close();
+            }
+        }
+
+        /**
+         * Starts fetching the next slice (if any).
+         *
+         * @return <code>true</code> if a slice was started
+         */
+        private boolean startNextSlice() {
+            if (!sliceIterator.hasNext()) {
+                return false;
+            }
+
+            final TemporalRange<LocalDateTime> slice = sliceIterator.next();
+            sliceReadAheadIterators.addLast(new ReadAheadIterator<>(new DeferredIterator<>(() ->
+                    get(key, slice.getFrom(), slice.getTo(), beginFilterTime, endFilterTime, sortDirection)),
+                    executor, readAheadSize).start());
+            return true;
+        }
+    }
+
+    /**
+     * {@link CSVDataRecordIterator} is a lazy time series data {@link Record} {@link Iterator} of the lines of a CSV
+     * flat file. The lines are read and parsed {@link #getBulkLoadBulkSize()} lines at a time.
+     */
+    private class CSVDataRecordIterator implements Iterator<R> {
+
+        private final BufferedReader csvReader;
+        private final String header;
+        private final int blockLineCount;
+        private Iterator<R> blockIterator;
+
+        /**
+         * Instantiates a new {@link CSVDataRecordIterator} and reads the header line.
+         *
+         * @param csvReader the CSV {@link Reader}
+         */
+        public CSVDataRecordIterator(Reader csvReader) {
+            this.csvReader = csvReader instanceof BufferedReader ?
+                    (BufferedReader) csvReader :
+                    new BufferedReader(csvReader);
+            this.header = readLine();
+            this.blockLineCount = getBulkLoadBulkSize();
+            this.blockIterator = Collections.emptyIterator();
+
+            checkArgument(header != null && !header.isEmpty(), "The CSV must start with a header line!");
+            checkArgument(blockLineCount > 0, "The bulk load bulk size must be greater than zero!");
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!blockIterator.hasNext()) {
+                // Parse the next block of lines with the header so that the values are converted by field name
+                StringBuilder block = new StringBuilder(header).append('\n');
+                int lineCount = 0;
+                String line;
+                while (lineCount < blockLineCount && (line = readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        block.append(line).append('\n');
+                        lineCount++;
+                    }
+                }
+
+                if (lineCount == 0) {
+                    return false;
+                }
+                blockIterator = create.fetchFromCSV(block.toString()).into(getDataTable()).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return blockIterator.next();
+        }
+
+        /**
+         * Reads the next line of the CSV.
+         *
+         * @return the line (<code>null</code> at the end of the CSV)
+         */
+        private String readLine() {
+            try {
+                return csvReader.readLine();
+            } catch (IOException exception) {
+                throw new org.jooq.exception.IOException("Could not read the CSV!", exception);
+            }
+        }
+    }
+
+    /**
+     * {@link DeferredIterator} is an {@link Iterator} that creates the {@link Iterator} it delegates to on the first
+     * call to {@link #hasNext()} (so that a query is executed by the thread that iterates it).
+     *
+     * @param <E> the type parameter of the element
+     */
+    private static class DeferredIterator<E> implements Iterator<E>, AutoCloseable {
+
+        private final Supplier<Iterator<E>> iteratorSupplier;
+        private Iterator<E> iterator;
+
+        /**
+         * Instantiates a new {@link DeferredIterator}.
+         *
+         * @param iteratorSupplier the {@link Supplier} of the {@link Iterator} to delegate to
+         */
+        public DeferredIterator(Supplier<Iterator<E>> iteratorSupplier) {
+            this.iteratorSupplier = iteratorSupplier;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (iterator == null) {
+                iterator = iteratorSupplier.get();
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            if (iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iterator).close();
+                } catch (Exception ignored) {}
+            }
+        }
+    }
+
+    /**
+     * {@link DataIterator} is a lazy data POJO {@link Iterator} that maps the time series data {@link Record}s of a
+     * {@link DataRecordIterator}.
+     */
+    private class DataIterator implements Iterator<P>, AutoCloseable {
+
+        private final DataRecordIterator<R> recordIterator;
+        private final RecordMapper<R, P> dataRecordMapper;
+
+        /**
+         * Instantiates a new {@link DataIterator}.
+         *
+         * @param recordIterator   the {@link DataRecordIterator}
+         * @param dataRecordMapper the {@link RecordMapper}
+         */
+        public DataIterator(DataRecordIterator<R> recordIterator, RecordMapper<R, P> dataRecordMapper) {
+            this.recordIterator = recordIterator;
+            this.dataRecordMapper = dataRecordMapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return recordIterator.hasNext(); // Closes the database query cursors automatically
+        }
+
+        @Override
+        public P next() {
+            return dataRecordMapper.map(recordIterator.next());
+        }
+
+        @Override
+        public void close() {
+            recordIterator.close();
+        }
     }
 }
@@ -0,0 +1,842 @@
+package net.jacobpeterson.timeseriesdatastore.database;
+
+import net.jacobpeterson.timeseriesdatastore.database.metrics.Histogram;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.Record;
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * {@link WriteBehindBuffer} is an ingestion buffer in front of a {@link TimeSeriesDatabaseInterface} that decouples
+ * producers of data POJOs from the latency of the database. Data POJOs are added to a bounded buffer that is striped
+ * by key (so that producers of different keys rarely contend on the same lock) and duplicates (data POJOs with the
+ * same primary key values as a buffered one) are dropped while they are still buffered. A flusher thread inserts all
+ * buffered data POJOs once {@link #getFlushSize()} data POJOs are buffered or once the oldest buffered data POJO is
+ * older than the {@link #getMaximumFlushDelay()}. Producers are blocked by {@link #add(Object)} (or rejected by
+ * {@link #offer(Object)}) while the buffer is full. Timestamp ranges added with
+ * {@link #addTimestampRange(Object, LocalDateTime, LocalDateTime)} are only inserted after all data POJOs of their
+ * key that were added before them have been committed. A failed flush is retried {@link #getFlushRetryCount()} times
+ * with an exponential backoff, after which its data POJOs and timestamp ranges are handed to the
+ * {@link #getFlushFailureHandler()} (or are logged and dropped if none is set). The keys of such data POJOs are failed
+ * keys whose later timestamp ranges are held back until {@link #clearFailedKey(Object)} is called. This class is
+ * thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ * @param <P> the time series data POJO type parameter
+ */
+public class WriteBehindBuffer<K, P> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    /**
+     * The default number of stripes of the buffer.
+     */
+    public static final int DEFAULT_STRIPE_COUNT = 16;
+
+    /**
+     * The default value for {@link #getFlushRetryCount()}.
+     */
+    public static final int DEFAULT_FLUSH_RETRY_COUNT = 3;
+
+    /**
+     * The default value for {@link #getFlushRetryBackoff()}.
+     */
+    public static final Duration DEFAULT_FLUSH_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private final TimeSeriesDatabaseInterface<K, ?, P, ?> databaseInterface;
+    private final int capacity;
+    private final int flushSize;
+    private final Duration maximumFlushDelay;
+    private final Stripe<K, P>[] stripes;
+    private final TableField<?, ?>[] deduplicationFields;
+    private final AtomicInteger size;
+    private final ReentrantLock stateLock;
+    private final Condition flushNeeded;
+    private final Condition notFull;
+    private final ReentrantLock flushLock;
+    private final Thread flusherThread;
+    private final Histogram flushNanos;
+    private final Histogram flushRowCount;
+    private final LongAdder duplicateCount;
+    private final LongAdder failedFlushCount;
+    private final Map<K, List<KeyTimestampRange<K>>> heldBackTimestampRangesOfFailedKeys;
+    private volatile long oldestAddNanos;
+    private volatile boolean closed;
+    private volatile int flushRetryCount;
+    private volatile Duration flushRetryBackoff;
+    private volatile FlushFailureHandler<K, P> flushFailureHandler;
+
+    /**
+     * Instantiates a new {@link WriteBehindBuffer} with {@link #DEFAULT_STRIPE_COUNT} stripes and starts its flusher
+     * thread.
+     *
+     * @param databaseInterface the {@link TimeSeriesDatabaseInterface} to insert into
+     * @param capacity          the maximum number of buffered data POJOs
+     * @param flushSize         the number of buffered data POJOs that triggers a flush
+     * @param maximumFlushDelay the maximum {@link Duration} that a data POJO is buffered before a flush is triggered
+     */
+    public WriteBehindBuffer(TimeSeriesDatabaseInterface<K, ?, P, ?> databaseInterface, int capacity,
+            int flushSize, Duration maximumFlushDelay) {
+        this(databaseInterface, capacity, flushSize, maximumFlushDelay, DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Instantiates a new {@link WriteBehindBuffer} and starts its flusher thread.
+     *
+     * @param databaseInterface the {@link TimeSeriesDatabaseInterface} to insert into
+     * @param capacity          the maximum number of buffered data POJOs
+     * @param flushSize         the number of buffered data POJOs that triggers a flush
+     * @param maximumFlushDelay the maximum {@link Duration} that a data POJO is buffered before a flush is triggered
+     * @param stripeCount       the number of stripes of the buffer
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public WriteBehindBuffer(TimeSeriesDatabaseInterface<K, ?, P, ?> databaseInterface, int capacity,
+            int flushSize, Duration maximumFlushDelay, int stripeCount) {
+        checkArgument(databaseInterface != null, "The database interface cannot be null!");
+        checkArgument(capacity > 0, "The capacity must be greater than zero!");
+        checkArgument(flushSize > 0 && flushSize <= capacity,
+                "The flush size must be greater than zero and at most the capacity!");
+        checkArgument(maximumFlushDelay != null && !maximumFlushDelay.isNegative() && !maximumFlushDelay.isZero(),
+                "The maximum flush delay must be positive!");
+        checkArgument(stripeCount > 0, "The stripe count must be greater than zero!");
+
+        this.databaseInterface = databaseInterface;
+        this.capacity = capacity;
+        this.flushSize = flushSize;
+        this.maximumFlushDelay = maximumFlushDelay;
+        this.stripes = (Stripe<K, P>[]) new Stripe[stripeCount];
+        for (int stripeIndex = 0; stripeIndex < stripeCount; stripeIndex++) {
+            stripes[stripeIndex] = new Stripe<>();
+        }
+
+        UniqueKey<?> primaryKey = databaseInterface.getDataTable().getPrimaryKey();
+        this.deduplicationFields = primaryKey == null ? null : primaryKey.getFieldsArray();
+
+        this.size = new AtomicInteger();
+        this.stateLock = new ReentrantLock();
+        this.flushNeeded = stateLock.newCondition();
+        this.notFull = stateLock.newCondition();
+        this.flushLock = new ReentrantLock();
+        this.flushNanos = new Histogram();
+        this.flushRowCount = new Histogram();
+        this.duplicateCount = new LongAdder();
+        this.failedFlushCount = new LongAdder();
+        this.heldBackTimestampRangesOfFailedKeys = new LinkedHashMap<>();
+        this.flushRetryCount = DEFAULT_FLUSH_RETRY_COUNT;
+        this.flushRetryBackoff = DEFAULT_FLUSH_RETRY_BACKOFF;
+
+        this.flusherThread = new Thread(this::runFlusher, "WriteBehindBuffer-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    /**
+     * Adds a data POJO to this {@link WriteBehindBuffer}, blocking while the buffer is full.
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @return <code>true</code> if the data POJO was added, <code>false</code> if it was dropped as a duplicate
+     *
+     * @throws InterruptedException thrown if interrupted while waiting for the buffer to be flushed
+     */
+    public boolean add(P dataPOJO) throws InterruptedException {
+        checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+
+        while (true) {
+            int result = tryAdd(dataPOJO);
+            if (result >= 0) {
+                return result == 1;
+            }
+
+            stateLock.lockInterruptibly();
+            try {
+                while (size.get() >= capacity && !closed) {
+                    flushNeeded.signal();
+                    notFull.await();
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds a data POJO to this {@link WriteBehindBuffer} if the buffer isn't full.
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @return <code>true</code> if the data POJO was added or dropped as a duplicate, <code>false</code> if the
+     * buffer is full
+     */
+    public boolean offer(P dataPOJO) {
+        checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+
+        return tryAdd(dataPOJO) >= 0;
+    }
+
+    /**
+     * Adds a timestamp range that is inserted via
+     * {@link TimeSeriesDatabaseInterface#insertTimestampRangeRecord(Object, LocalDateTime, LocalDateTime)} once all
+     * of the data POJOs of the key that were added before it have been committed. If such a data POJO fails to be
+     * inserted (after the retries), the timestamp range isn't inserted (so that it's never marked as filled) and is
+     * handed to the {@link #getFlushFailureHandler()} along with the data POJO instead. The timestamp ranges that are
+     * added for the key after that are held back until {@link #clearFailedKey(Object)} is called.
+     *
+     * @param key  the key of the timestamp range
+     * @param from the 'from' of the timestamp range whose value should be treated inclusively
+     * @param to   the 'to' of the timestamp range whose value should be treated exclusively
+     */
+    public void addTimestampRange(K key, LocalDateTime from, LocalDateTime to) {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+        checkState(!closed, "This write-behind buffer is closed!");
+
+        Stripe<K, P> stripe = getStripe(key);
+        stripe.lock.lock();
+        try {
+            stripe.timestampRanges.add(new KeyTimestampRange<>(key, from, to));
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        signalFlusherIfIdle();
+    }
+
+    /**
+     * Tries to add a data POJO to its {@link Stripe}.
+     *
+     * @param dataPOJO the data POJO
+     *
+     * @return <code>1</code> if it was added, <code>0</code> if it was dropped as a duplicate, or <code>-1</code> if
+     * the buffer is full
+     */
+    private int tryAdd(P dataPOJO) {
+        checkState(!closed, "This write-behind buffer is closed!");
+
+        Record dataRecord = databaseInterface.getDataRecordUnmapper().unmap(dataPOJO);
+        Object deduplicationKey = deduplicationFields == null ? dataRecord : dataRecord.into(deduplicationFields);
+
+        // Reserve capacity before adding so that the buffer never exceeds it
+        int newSize;
+        do {
+            int currentSize = size.get();
+            if (currentSize >= capacity) {
+                return -1;
+            }
+            newSize = currentSize + 1;
+        } while (!size.compareAndSet(newSize - 1, newSize));
+
+        Stripe<K, P> stripe = getStripe(dataRecord.get(databaseInterface.getDataKeyTableField()));
+        boolean added;
+        stripe.lock.lock();
+        try {
+            added = stripe.dataPOJOs.putIfAbsent(deduplicationKey, dataPOJO) == null;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        if (!added) {
+            size.decrementAndGet();
+            duplicateCount.increment();
+            return 0;
+        }
+
+        if (newSize == 1) {
+            oldestAddNanos = System.nanoTime();
+            signalFlusher();
+        } else if (newSize == flushSize) {
+            signalFlusher();
+        }
+        return 1;
+    }
+
+    /**
+     * Gets the {@link Stripe} of the given key.
+     *
+     * @param key the key
+     *
+     * @return the {@link Stripe}
+     */
+    private Stripe<K, P> getStripe(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    /**
+     * Wakes up the flusher thread.
+     */
+    private void signalFlusher() {
+        stateLock.lock();
+        try {
+            flushNeeded.signal();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up the flusher thread if no data POJOs are buffered (so that a timestamp range is flushed without
+     * waiting for a data POJO).
+     */
+    private void signalFlusherIfIdle() {
+        if (size.get() == 0) {
+            oldestAddNanos = System.nanoTime();
+            signalFlusher();
+        }
+    }
+
+    /**
+     * Runs the flusher thread, which flushes once the buffer reaches the {@link #flushSize} or the oldest buffered
+     * data POJO reaches the {@link #maximumFlushDelay}.
+     */
+    private void runFlusher() {
+        final long maximumFlushDelayNanos = maximumFlushDelay.toNanos();
+        while (true) {
+            stateLock.lock();
+            try {
+                while (!closed && size.get() < flushSize) {
+                    long remainingNanos = oldestAddNanos + maximumFlushDelayNanos - System.nanoTime();
+                    if (hasBufferedWork() && remainingNanos <= 0) {
+                        break;
+                    }
+
+                    try {
+                        if (hasBufferedWork()) {
+                            flushNeeded.awaitNanos(remainingNanos);
+                        } else {
+                            flushNeeded.await();
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+
+                if (closed) {
+                    return; // The closing thread flushes the rest
+                }
+            } finally {
+                stateLock.unlock();
+            }
+
+            try {
+                flush();
+            } catch (RuntimeException exception) {
+                // Keep flushing so that producers that are blocked by add() are released by the next flush
+                LOGGER.error("The flusher thread could not flush!", exception);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any data POJO or timestamp range is buffered. This must be called while holding the
+     * {@link #stateLock}.
+     *
+     * @return a boolean
+     */
+    private boolean hasBufferedWork() {
+        if (size.get() > 0) {
+            return true;
+        }
+
+        for (Stripe<K, P> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.timestampRanges.isEmpty()) {
+                    return true;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flushes all buffered data POJOs and then all buffered timestamp ranges whose data POJOs were committed. A failed
+     * insert is retried up to {@link #getFlushRetryCount()} times, waiting {@link #getFlushRetryBackoff()} before the
+     * first retry and twice as long before every following one (the parts of the flush that were already committed
+     * aren't inserted again). This is called by the flusher thread, but it may also be called by any other thread to
+     * flush immediately. Note that producers are blocked by {@link #add(Object)} while a full buffer is being retried.
+     *
+     * @return <code>true</code> if the flush succeeded, <code>false</code> if the data POJOs or timestamp ranges still
+     * failed to be inserted after the retries (in which case the uncommitted ones are handed to the
+     * {@link #getFlushFailureHandler()})
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            // Drain every stripe atomically so that a timestamp range is always drained with the data POJOs of its
+            // key that were added before it
+            List<P> dataPOJOs = new ArrayList<>(Math.min(size.get(), capacity));
+            List<KeyTimestampRange<K>> timestampRanges = new ArrayList<>();
+            for (Stripe<K, P> stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    dataPOJOs.addAll(stripe.dataPOJOs.values());
+                    stripe.dataPOJOs.clear();
+                    timestampRanges.addAll(stripe.timestampRanges);
+                    stripe.timestampRanges.clear();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+
+            oldestAddNanos = System.nanoTime();
+            size.addAndGet(-dataPOJOs.size());
+            stateLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                stateLock.unlock();
+            }
+
+            // Hold back the timestamp ranges of failed keys since data POJOs that were added before them are missing
+            if (!heldBackTimestampRangesOfFailedKeys.isEmpty()) {
+                timestampRanges.removeIf(timestampRange -> {
+                    List<KeyTimestampRange<K>> heldBackTimestampRanges =
+                            heldBackTimestampRangesOfFailedKeys.get(timestampRange.key);
+                    return heldBackTimestampRanges != null && heldBackTimestampRanges.add(timestampRange);
+                });
+            }
+
+            if (dataPOJOs.isEmpty() && timestampRanges.isEmpty()) {
+                return true;
+            }
+
+            final int retryCount = flushRetryCount;
+            long retryBackoffNanos = flushRetryBackoff.toNanos();
+            boolean dataPOJOsCommitted = dataPOJOs.isEmpty();
+            int insertedTimestampRangeCount = 0;
+            long startNanos = System.nanoTime();
+            try {
+                for (int retry = 0; ; retry++) {
+                    try {
+                        if (!dataPOJOsCommitted) {
+                            databaseInterface.insert(dataPOJOs);
+                            dataPOJOsCommitted = true;
+                        }
+
+                        // The data POJOs have been committed at this point
+                        while (insertedTimestampRangeCount < timestampRanges.size()) {
+                            KeyTimestampRange<K> timestampRange = timestampRanges.get(insertedTimestampRangeCount);
+                            databaseInterface.insertTimestampRangeRecord(timestampRange.key, timestampRange.from,
+                                    timestampRange.to);
+                            insertedTimestampRangeCount++;
+                        }
+                        return true;
+                    } catch (RuntimeException exception) {
+                        // Only database errors are retried
+                        if (exception instanceof DataAccessException && retry < retryCount) {
+                            LOGGER.warn("Could not flush {} data POJOs and {} timestamp ranges! Retrying in {}ms.",
+                                    dataPOJOsCommitted ? 0 : dataPOJOs.size(),
+                                    timestampRanges.size() - insertedTimestampRangeCount,
+                                    TimeUnit.NANOSECONDS.toMillis(retryBackoffNanos), exception);
+                            if (sleepNanos(retryBackoffNanos)) {
+                                retryBackoffNanos *= 2;
+                                continue;
+                            }
+                        }
+
+                        failedFlushCount.increment();
+                        if (!dataPOJOsCommitted) {
+                            addFailedKeys(dataPOJOs);
+                        }
+                        handleFlushFailure(dataPOJOsCommitted ? Collections.emptyList() : dataPOJOs,
+                                timestampRanges.subList(insertedTimestampRangeCount, timestampRanges.size()),
+                                exception instanceof DataAccessException ? (DataAccessException) exception :
+                                        new DataAccessException("Could not flush!", exception));
+                        return false;
+                    }
+                }
+            } finally {
+                flushNanos.record(System.nanoTime() - startNanos);
+                flushRowCount.record(dataPOJOs.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the keys of the given data POJOs that failed to be committed to the
+     * {@link #heldBackTimestampRangesOfFailedKeys}. This must be called while holding the {@link #flushLock}.
+     *
+     * @param dataPOJOs the data POJOs
+     */
+    private void addFailedKeys(List<P> dataPOJOs) {
+        for (P dataPOJO : dataPOJOs) {
+            K key = databaseInterface.getDataRecordUnmapper().unmap(dataPOJO)
+                    .get(databaseInterface.getDataKeyTableField());
+            heldBackTimestampRangesOfFailedKeys.computeIfAbsent(key, failedKey -> new ArrayList<>());
+        }
+    }
+
+    /**
+     * Hands the data POJOs and timestamp ranges of a flush that failed after all retries to the
+     * {@link #flushFailureHandler}, or logs and drops them if none is set.
+     *
+     * @param dataPOJOs       the data POJOs that were not committed
+     * @param timestampRanges the {@link KeyTimestampRange}s that were not inserted
+     * @param exception       the {@link DataAccessException} of the last attempt
+     */
+    private void handleFlushFailure(List<P> dataPOJOs, List<KeyTimestampRange<K>> timestampRanges,
+            DataAccessException exception) {
+        final FlushFailureHandler<K, P> flushFailureHandler = this.flushFailureHandler;
+        if (flushFailureHandler == null) {
+            LOGGER.error("Could not flush {} data POJOs and {} timestamp ranges! They were dropped.", dataPOJOs.size(),
+                    timestampRanges.size(), exception);
+            return;
+        }
+
+        Map<K, List<TemporalRange<LocalDateTime>>> timestampRangesOfKeys = new LinkedHashMap<>();
+        for (KeyTimestampRange<K> timestampRange : timestampRanges) {
+            timestampRangesOfKeys.computeIfAbsent(timestampRange.key, key -> new ArrayList<>())
+                    .add(new TemporalRange<>(timestampRange.from, timestampRange.to));
+        }
+        try {
+            flushFailureHandler.onFlushFailure(dataPOJOs, timestampRangesOfKeys, exception);
+        } catch (RuntimeException handlerException) {
+            LOGGER.error("The flush failure handler failed for {} data POJOs and {} timestamp ranges!",
+                    dataPOJOs.size(), timestampRanges.size(), handlerException);
+        }
+    }
+
+    /**
+     * Sleeps for the given number of nanoseconds.
+     *
+     * @param nanos the nanoseconds
+     *
+     * @return <code>true</code> if slept, <code>false</code> if interrupted (the interrupt flag is restored)
+     */
+    private static boolean sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops the flusher thread, flushes the remaining data POJOs and timestamp ranges, and waits for the flush to
+     * finish. Further adds are rejected. If the calling thread is interrupted while waiting for the flusher thread to
+     * stop, its interrupt flag is restored and the remaining data POJOs are still flushed (without retries).
+     */
+    @Override
+    public void close() {
+        stateLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signalAll();
+            notFull.signalAll();
+        } finally {
+            stateLock.unlock();
+        }
+
+        try {
+            flusherThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+
+        flushLock.lock();
+        try {
+            int heldBackTimestampRangeCount = heldBackTimestampRangesOfFailedKeys.values().stream()
+                    .mapToInt(List::size)
+                    .sum();
+            if (heldBackTimestampRangeCount > 0) {
+                LOGGER.warn("{} timestamp ranges of the failed keys {} were not inserted!", heldBackTimestampRangeCount,
+                        heldBackTimestampRangesOfFailedKeys.keySet());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the keys whose data POJOs failed to be committed by a flush (after the retries). The timestamp ranges that
+     * are added for a failed key are held back (that is, not inserted) until {@link #clearFailedKey(Object)} is called
+     * for it.
+     *
+     * @return a {@link Set} of the failed keys
+     */
+    public Set<K> getFailedKeys() {
+        flushLock.lock();
+        try {
+            return new LinkedHashSet<>(heldBackTimestampRangesOfFailedKeys.keySet());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Clears the given failed key (see {@link #getFailedKeys()}) and buffers its held back timestamp ranges again, so
+     * that they are inserted once the data POJOs of the key that are buffered at this point have been committed. Call
+     * this once the failed data POJOs of the key have been re-added (e.g. by the {@link #getFlushFailureHandler()}) or
+     * are known to be committed.
+     *
+     * @param key the key
+     *
+     * @return <code>true</code> if the key was failed
+     */
+    public boolean clearFailedKey(K key) {
+        checkArgument(key != null, "Key cannot be null!");
+
+        List<KeyTimestampRange<K>> heldBackTimestampRanges;
+        flushLock.lock();
+        try {
+            heldBackTimestampRanges = heldBackTimestampRangesOfFailedKeys.remove(key);
+        } finally {
+            flushLock.unlock();
+        }
+        if (heldBackTimestampRanges == null) {
+            return false;
+        }
+
+        if (!heldBackTimestampRanges.isEmpty()) {
+            Stripe<K, P> stripe = getStripe(key);
+            stripe.lock.lock();
+            try {
+                stripe.timestampRanges.addAll(heldBackTimestampRanges);
+            } finally {
+                stripe.lock.unlock();
+            }
+            signalFlusherIfIdle();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of buffered data POJOs.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return size.get();
+    }
+
+    /**
+     * Gets the {@link Histogram} of the nanoseconds it took to flush (that is, to insert the data POJOs and then the
+     * timestamp ranges of one flush).
+     *
+     * @return the {@link Histogram}
+     */
+    public Histogram getFlushNanos() {
+        return flushNanos;
+    }
+
+    /**
+     * Gets the {@link Histogram} of the number of data POJOs inserted per flush.
+     *
+     * @return the {@link Histogram}
+     */
+    public Histogram getFlushRowCount() {
+        return flushRowCount;
+    }
+
+    /**
+     * Gets the number of data POJOs that were dropped as duplicates of buffered data POJOs.
+     *
+     * @return the duplicate count
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    /**
+     * Gets the number of flushes that failed after all retries.
+     *
+     * @return the failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushCount.sum();
+    }
+
+    /**
+     * Gets the {@link #flushRetryCount}.
+     *
+     * @return the number of times that a failed flush is retried
+     */
+    public int getFlushRetryCount() {
+        return flushRetryCount;
+    }
+
+    /**
+     * Sets the {@link #flushRetryCount}.
+     *
+     * @param flushRetryCount the number of times that a failed flush is retried (<code>0</code> to not retry)
+     */
+    public void setFlushRetryCount(int flushRetryCount) {
+        checkArgument(flushRetryCount >= 0, "The flush retry count cannot be negative!");
+
+        this.flushRetryCount = flushRetryCount;
+    }
+
+    /**
+     * Gets the {@link #flushRetryBackoff}.
+     *
+     * @return the {@link Duration} to wait before the first retry of a failed flush (which doubles for every
+     * following retry)
+     */
+    public Duration getFlushRetryBackoff() {
+        return flushRetryBackoff;
+    }
+
+    /**
+     * Sets the {@link #flushRetryBackoff}.
+     *
+     * @param flushRetryBackoff the {@link Duration} to wait before the first retry of a failed flush (which doubles
+     *                          for every following retry)
+     */
+    public void setFlushRetryBackoff(Duration flushRetryBackoff) {
+        checkArgument(flushRetryBackoff != null && !flushRetryBackoff.isNegative(),
+                "The flush retry backoff cannot be negative!");
+
+        this.flushRetryBackoff = flushRetryBackoff;
+    }
+
+    /**
+     * Gets the {@link #flushFailureHandler}.
+     *
+     * @return the {@link FlushFailureHandler} (nullable)
+     */
+    public FlushFailureHandler<K, P> getFlushFailureHandler() {
+        return flushFailureHandler;
+    }
+
+    /**
+     * Sets the {@link #flushFailureHandler}.
+     *
+     * @param flushFailureHandler the {@link FlushFailureHandler} (<code>null</code> to log and drop the data POJOs
+     *                            and timestamp ranges of a failed flush)
+     */
+    public void setFlushFailureHandler(FlushFailureHandler<K, P> flushFailureHandler) {
+        this.flushFailureHandler = flushFailureHandler;
+    }
+
+    /**
+     * Gets the {@link #capacity}.
+     *
+     * @return the maximum number of buffered data POJOs
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the {@link #flushSize}.
+     *
+     * @return the number of buffered data POJOs that triggers a flush
+     */
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * Gets the {@link #maximumFlushDelay}.
+     *
+     * @return the maximum {@link Duration} that a data POJO is buffered before a flush is triggered
+     */
+    public Duration getMaximumFlushDelay() {
+        return maximumFlushDelay;
+    }
+
+    /**
+     * {@link FlushFailureHandler} receives the data POJOs and timestamp ranges of a flush that still failed after all
+     * retries, e.g. to spill them to disk or to re-add them later. It is called by the flushing thread while no other
+     * flush can run, so it must not block on {@link #add(Object)} (use {@link #offer(Object)} to re-add data POJOs).
+     * The keys of the data POJOs are failed keys by then, so call {@link #clearFailedKey(Object)} after re-adding them.
+     *
+     * @param <K> the type parameter of the key
+     * @param <P> the time series data POJO type parameter
+     */
+    @FunctionalInterface
+    public interface FlushFailureHandler<K, P> {
+
+        /**
+         * Called once for a flush that failed after all retries.
+         *
+         * @param dataPOJOs             the data POJOs that were not committed (empty if only timestamp ranges failed)
+         * @param timestampRangesOfKeys the timestamp ranges that were not inserted, in the order they were added
+         * @param exception             the {@link DataAccessException} of the last attempt
+         */
+        void onFlushFailure(List<P> dataPOJOs, Map<K, List<TemporalRange<LocalDateTime>>> timestampRangesOfKeys,
+                DataAccessException exception);
+    }
+
+    /**
+     * {@link Stripe} is one lock-protected part of the buffer.
+     *
+     * @param <K> the type parameter of the key
+     * @param <P> the time series data POJO type parameter
+     */
+    private static class Stripe<K, P> {
+
+        private final ReentrantLock lock;
+        private final LinkedHashMap<Object, P> dataPOJOs;
+        private final List<KeyTimestampRange<K>> timestampRanges;
+
+        /**
+         * Instantiates a new {@link Stripe}.
+         */
+        public Stripe() {
+            this.lock = new ReentrantLock();
+            this.dataPOJOs = new LinkedHashMap<>();
+            this.timestampRanges = new ArrayList<>();
+        }
+    }
+
+    /**
+     * {@link KeyTimestampRange} is a buffered timestamp range of a key.
+     *
+     * @param <K> the type parameter of the key
+     */
+    private static class KeyTimestampRange<K> {
+
+        private final K key;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        /**
+         * Instantiates a new {@link KeyTimestampRange}.
+         *
+         * @param key  the key
+         * @param from the 'from' (inclusive)
+         * @param to   the 'to' (exclusive)
+         */
+        public KeyTimestampRange(K key, LocalDateTime from, LocalDateTime to) {
+            this.key = key;
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package net.jacobpeterson.timeseriesdatastore.database.cache;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link TimestampRangesCache} is an in-memory cache of the timestamp ranges of keys. The timestamp ranges of each key
+ * are stored sorted and squashed so that covered and missing timestamp ranges can be looked up without querying the
+ * database. The least recently used keys are evicted once {@link #getMaximumKeyCount()} is exceeded. This class is
+ * thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ */
+public class TimestampRangesCache<K> {
+
+    /**
+     * The default value for {@link #getMaximumKeyCount()}.
+     */
+    public static final int DEFAULT_MAXIMUM_KEY_COUNT = 10_000;
+
+    private final int maximumKeyCount;
+    private final LinkedHashMap<K, List<TemporalRange<LocalDateTime>>> temporalRangesOfKeys;
+
+    /**
+     * Instantiates a new {@link TimestampRangesCache} with a maximum key count of
+     * {@link #DEFAULT_MAXIMUM_KEY_COUNT}.
+     */
+    public TimestampRangesCache() {
+        this(DEFAULT_MAXIMUM_KEY_COUNT);
+    }
+
+    /**
+     * Instantiates a new {@link TimestampRangesCache}.
+     *
+     * @param maximumKeyCount the maximum number of keys to cache the timestamp ranges of
+     */
+    public TimestampRangesCache(int maximumKeyCount) {
+        checkArgument(maximumKeyCount > 0, "The maximum key count must be greater than zero!");
+
+        this.maximumKeyCount = maximumKeyCount;
+        this.temporalRangesOfKeys = new LinkedHashMap<K, List<TemporalRange<LocalDateTime>>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, List<TemporalRange<LocalDateTime>>> eldest) {
+                return size() > TimestampRangesCache.this.maximumKeyCount;
+            }
+        };
+    }
+
+    /**
+     * Checks if the timestamp ranges of the given key are cached.
+     *
+     * @param key the key
+     *
+     * @return a boolean
+     */
+    public synchronized boolean contains(K key) {
+        return temporalRangesOfKeys.containsKey(key);
+    }
+
+    /**
+     * Puts all of the timestamp ranges of the given key into this cache (replacing any that are already cached).
+     *
+     * @param key            the key
+     * @param temporalRanges all of the timestamp ranges {@link TemporalRange}s of the key (in any order)
+     */
+    public synchronized void put(K key, List<TemporalRange<LocalDateTime>> temporalRanges) {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(temporalRanges != null, "The temporal ranges cannot be null!");
+
+        temporalRangesOfKeys.put(key, sortAndSquash(new ArrayList<>(temporalRanges)));
+    }
+
+    /**
+     * Adds a timestamp range to the timestamp ranges of the given key if the key is cached. If the key isn't cached,
+     * this does nothing since the timestamp ranges will be loaded from the database on the next lookup anyway.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     */
+    public synchronized void add(K key, LocalDateTime from, LocalDateTime to) {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        List<TemporalRange<LocalDateTime>> temporalRanges = temporalRangesOfKeys.get(key);
+        if (temporalRanges == null) {
+            return;
+        }
+
+        ArrayList<TemporalRange<LocalDateTime>> newTemporalRanges = new ArrayList<>(temporalRanges);
+        newTemporalRanges.add(new TemporalRange<>(from, to));
+        temporalRangesOfKeys.put(key, sortAndSquash(newTemporalRanges));
+    }
+
+    /**
+     * Gets the squashed timestamp ranges of the given key that intersect, are contained within, or contain the given
+     * range.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (inclusive)
+     *
+     * @return a {@link List} of squashed {@link TemporalRange}s sorted from oldest to newest or <code>null</code> if
+     * the key isn't cached
+     */
+    public synchronized ArrayList<TemporalRange<LocalDateTime>> getTemporalRanges(K key, LocalDateTime from,
+            LocalDateTime to) {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        List<TemporalRange<LocalDateTime>> temporalRanges = temporalRangesOfKeys.get(key);
+        if (temporalRanges == null) {
+            return null;
+        }
+
+        // Binary search for the first TemporalRange whose 'to' is not before the passed in 'from'
+        int low = 0;
+        int high = temporalRanges.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (temporalRanges.get(middle).getTo().isBefore(from)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        // Copy the TemporalRanges since they are mutable
+        ArrayList<TemporalRange<LocalDateTime>> intersectingTemporalRanges = new ArrayList<>();
+        for (int index = low; index < temporalRanges.size(); index++) {
+            TemporalRange<LocalDateTime> temporalRange = temporalRanges.get(index);
+            if (temporalRange.getFrom().isAfter(to)) {
+                break;
+            }
+
+            intersectingTemporalRanges.add(new TemporalRange<>(temporalRange.getFrom(), temporalRange.getTo()));
+        }
+
+        return intersectingTemporalRanges;
+    }
+
+    /**
+     * Gets the missing timestamp ranges of the given key within the given range.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     *
+     * @return a {@link List} of missing {@link TemporalRange}s sorted from oldest to newest or <code>null</code> if
+     * the key isn't cached
+     *
+     * @see TemporalRangeUtil#getMissingTemporalRanges(LocalDateTime, LocalDateTime, List, java.time.Duration,
+     * java.time.Duration)
+     */
+    public ArrayList<TemporalRange<LocalDateTime>> getMissingTemporalRanges(K key, LocalDateTime from,
+            LocalDateTime to) {
+        ArrayList<TemporalRange<LocalDateTime>> temporalRanges = getTemporalRanges(key, from, to);
+        if (temporalRanges == null) {
+            return null;
+        }
+
+        return TemporalRangeUtil.getMissingTemporalRanges(from, to, temporalRanges, null, null);
+    }
+
+    /**
+     * Removes the cached timestamp ranges of the given key.
+     *
+     * @param key the key
+     */
+    public synchronized void invalidate(K key) {
+        temporalRangesOfKeys.remove(key);
+    }
+
+    /**
+     * Removes all cached timestamp ranges.
+     */
+    public synchronized void invalidateAll() {
+        temporalRangesOfKeys.clear();
+    }
+
+    /**
+     * Gets the number of keys that are cached.
+     *
+     * @return the key count
+     */
+    public synchronized int size() {
+        return temporalRangesOfKeys.size();
+    }
+
+    /**
+     * Sorts the given {@link TemporalRange}s by their 'from' and then squashes them.
+     *
+     * @param temporalRanges the {@link TemporalRange}s
+     *
+     * @return the sorted and squashed {@link TemporalRange}s
+     */
+    private List<TemporalRange<LocalDateTime>> sortAndSquash(ArrayList<TemporalRange<LocalDateTime>> temporalRanges) {
+        temporalRanges.sort(TemporalRangeUtil.getFromToLocalDateTimeComparator());
+        List<TemporalRange<LocalDateTime>> squashedTemporalRanges = TemporalRangeUtil.squash(temporalRanges);
+        return squashedTemporalRanges == null ? new ArrayList<>() : squashedTemporalRanges;
+    }
+
+    /**
+     * Gets the {@link #maximumKeyCount}.
+     *
+     * @return the {@link #maximumKeyCount}
+     */
+    public int getMaximumKeyCount() {
+        return maximumKeyCount;
+    }
+}
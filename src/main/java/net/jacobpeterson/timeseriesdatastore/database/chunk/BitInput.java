@@ -0,0 +1,74 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import java.io.IOException;
+
+/**
+ * {@link BitInput} reads values of up to 64 bits that were written by a {@link BitOutput}.
+ */
+final class BitInput {
+
+    private final byte[] bytes;
+    private final long bitLimit;
+    private long bitPosition;
+
+    /**
+     * Instantiates a new {@link BitInput}.
+     *
+     * @param bytes the bytes
+     */
+    BitInput(byte[] bytes) {
+        this.bytes = bytes;
+        this.bitLimit = (long) bytes.length * 8;
+    }
+
+    /**
+     * Reads a single bit.
+     *
+     * @return the bit
+     *
+     * @throws IOException thrown if the end of the bytes has been reached
+     */
+    boolean readBit() throws IOException {
+        checkRemaining(1);
+        boolean bit = (bytes[(int) (bitPosition >>> 3)] & (0x80 >>> (bitPosition & 7))) != 0;
+        bitPosition++;
+        return bit;
+    }
+
+    /**
+     * Reads <code>count</code> bits as the lowest bits of a <code>long</code>.
+     *
+     * @param count the number of bits (<code>0</code> to <code>64</code>)
+     *
+     * @return the value
+     *
+     * @throws IOException thrown if the end of the bytes has been reached
+     */
+    long readBits(int count) throws IOException {
+        checkRemaining(count);
+        long value = 0;
+        while (count > 0) {
+            int byteIndex = (int) (bitPosition >>> 3);
+            int availableBitCount = 8 - (int) (bitPosition & 7);
+            int readBitCount = Math.min(availableBitCount, count);
+            int bits = (bytes[byteIndex] >>> (availableBitCount - readBitCount)) & ((1 << readBitCount) - 1);
+            value = (value << readBitCount) | bits;
+            bitPosition += readBitCount;
+            count -= readBitCount;
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the given number of bits can be read.
+     *
+     * @param count the number of bits
+     *
+     * @throws IOException thrown if the end of the bytes has been reached
+     */
+    private void checkRemaining(int count) throws IOException {
+        if (bitPosition + count > bitLimit) {
+            throw new IOException("Unexpected end of the chunk!");
+        }
+    }
+}
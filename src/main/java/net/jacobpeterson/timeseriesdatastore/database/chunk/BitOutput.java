@@ -0,0 +1,78 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import java.util.Arrays;
+
+/**
+ * {@link BitOutput} writes values of up to 64 bits into a growable byte array (most significant bit first).
+ */
+final class BitOutput {
+
+    private byte[] bytes;
+    private long bitCount;
+
+    /**
+     * Instantiates a new {@link BitOutput}.
+     *
+     * @param initialByteCapacity the initial byte capacity
+     */
+    BitOutput(int initialByteCapacity) {
+        this.bytes = new byte[Math.max(16, initialByteCapacity)];
+    }
+
+    /**
+     * Writes a single bit.
+     *
+     * @param bit the bit
+     */
+    void writeBit(boolean bit) {
+        ensureCapacity(1);
+        if (bit) {
+            bytes[(int) (bitCount >>> 3)] |= (byte) (0x80 >>> (bitCount & 7));
+        }
+        bitCount++;
+    }
+
+    /**
+     * Writes the lowest <code>count</code> bits of the given value.
+     *
+     * @param value the value
+     * @param count the number of bits (<code>0</code> to <code>64</code>)
+     */
+    void writeBits(long value, int count) {
+        ensureCapacity(count);
+        while (count > 0) {
+            int byteIndex = (int) (bitCount >>> 3);
+            int freeBitCount = 8 - (int) (bitCount & 7);
+            int writeBitCount = Math.min(freeBitCount, count);
+            int bits = (int) (value >>> (count - writeBitCount)) & ((1 << writeBitCount) - 1);
+            bytes[byteIndex] |= (byte) (bits << (freeBitCount - writeBitCount));
+            bitCount += writeBitCount;
+            count -= writeBitCount;
+        }
+    }
+
+    /**
+     * Gets the written bytes (the last byte is padded with zero bits).
+     *
+     * @return a new byte array
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, (int) ((bitCount + 7) >>> 3));
+    }
+
+    /**
+     * Grows the byte array so that the given number of bits fit.
+     *
+     * @param additionalBitCount the number of bits to be written
+     */
+    private void ensureCapacity(int additionalBitCount) {
+        long requiredByteCount = (bitCount + additionalBitCount + 7) >>> 3;
+        if (requiredByteCount > bytes.length) {
+            if (requiredByteCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("The chunk is too large!");
+            }
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(requiredByteCount, bytes.length * 2L)));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * {@link Chunk} is a decoded chunk of a {@link ChunkStore}. That is, the rows of one key within one fixed,
+ * epoch-aligned timestamp range, sorted by their timestamp from oldest to newest, as an epoch nanosecond timestamp
+ * column and primitive <code>double</code> and <code>long</code> columns. The compressed bytes of a chunk (written by
+ * a {@link ChunkWriter}) have the following layout (as a big-endian bit stream):
+ * <ol>
+ *     <li>the 32 bit {@link #MAGIC}, {@link #VERSION}, row count, <code>double</code> column count and
+ *     <code>long</code> column count</li>
+ *     <li>the delta-of-delta encoded timestamps</li>
+ *     <li>the XOR encoded <code>double</code> columns</li>
+ *     <li>the delta-of-delta encoded <code>long</code> columns</li>
+ * </ol>
+ */
+public class Chunk {
+
+    /**
+     * The magic number at the start of every chunk.
+     */
+    public static final int MAGIC = 0x54534443; // "TSDC"
+
+    /**
+     * The version of the chunk layout.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The bit sizes of the ZigZag encoded delta-of-delta buckets (larger values take 64 bits).
+     */
+    static final int[] DELTA_OF_DELTA_BUCKET_BITS = {8, 16, 32};
+
+    private final long[] timestamps;
+    private final double[][] doubleColumns;
+    private final long[][] longColumns;
+
+    /**
+     * Instantiates a new {@link Chunk}.
+     *
+     * @param timestamps    the epoch nanosecond timestamps
+     * @param doubleColumns the <code>double</code> columns
+     * @param longColumns   the <code>long</code> columns
+     */
+    private Chunk(long[] timestamps, double[][] doubleColumns, long[][] longColumns) {
+        this.timestamps = timestamps;
+        this.doubleColumns = doubleColumns;
+        this.longColumns = longColumns;
+    }
+
+    /**
+     * Decodes the compressed bytes of a chunk.
+     *
+     * @param bytes the bytes written by {@link ChunkWriter#toByteArray()}
+     *
+     * @return the {@link Chunk}
+     *
+     * @throws IOException thrown if the bytes are not a valid chunk
+     */
+    public static Chunk decode(byte[] bytes) throws IOException {
+        BitInput input = new BitInput(bytes);
+        if ((int) input.readBits(32) != MAGIC || (int) input.readBits(32) != VERSION) {
+            throw new IOException("Invalid chunk header!");
+        }
+
+        int rowCount = (int) input.readBits(32);
+        int doubleColumnCount = (int) input.readBits(32);
+        int longColumnCount = (int) input.readBits(32);
+        // Every row takes at least one bit per column
+        if (rowCount < 0 || doubleColumnCount < 0 || longColumnCount < 0 ||
+                (long) rowCount > (long) bytes.length * 8) {
+            throw new IOException("Invalid chunk header!");
+        }
+
+        long[] timestamps = readLongColumn(input, rowCount);
+        double[][] doubleColumns = new double[doubleColumnCount][];
+        for (int column = 0; column < doubleColumnCount; column++) {
+            doubleColumns[column] = readDoubleColumn(input, rowCount);
+        }
+        long[][] longColumns = new long[longColumnCount][];
+        for (int column = 0; column < longColumnCount; column++) {
+            longColumns[column] = readLongColumn(input, rowCount);
+        }
+
+        return new Chunk(timestamps, doubleColumns, longColumns);
+    }
+
+    /**
+     * Reads a <code>long</code> column that was written with delta-of-delta encoding.
+     *
+     * @param input    the {@link BitInput}
+     * @param rowCount the row count
+     *
+     * @return the values
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    private static long[] readLongColumn(BitInput input, int rowCount) throws IOException {
+        long[] values = new long[rowCount];
+        if (rowCount == 0) {
+            return values;
+        }
+
+        values[0] = input.readBits(64);
+        long previousDelta = 0;
+        for (int index = 1; index < rowCount; index++) {
+            // Count the one bits of the bucket prefix
+            int bucket = -1;
+            while (bucket < DELTA_OF_DELTA_BUCKET_BITS.length && input.readBit()) {
+                bucket++;
+            }
+
+            long zigZagDeltaOfDelta;
+            if (bucket < 0) {
+                zigZagDeltaOfDelta = 0;
+            } else if (bucket < DELTA_OF_DELTA_BUCKET_BITS.length) {
+                zigZagDeltaOfDelta = input.readBits(DELTA_OF_DELTA_BUCKET_BITS[bucket]);
+            } else {
+                zigZagDeltaOfDelta = input.readBits(64);
+            }
+
+            previousDelta += (zigZagDeltaOfDelta >>> 1) ^ -(zigZagDeltaOfDelta & 1);
+            values[index] = values[index - 1] + previousDelta;
+        }
+        return values;
+    }
+
+    /**
+     * Reads a <code>double</code> column that was written with XOR encoding.
+     *
+     * @param input    the {@link BitInput}
+     * @param rowCount the row count
+     *
+     * @return the values
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    private static double[] readDoubleColumn(BitInput input, int rowCount) throws IOException {
+        double[] values = new double[rowCount];
+        if (rowCount == 0) {
+            return values;
+        }
+
+        long previousBits = input.readBits(64);
+        values[0] = Double.longBitsToDouble(previousBits);
+        int leadingZeros = 0;
+        int trailingZeros = 0;
+        for (int index = 1; index < rowCount; index++) {
+            if (input.readBit()) {
+                if (input.readBit()) {
+                    leadingZeros = (int) input.readBits(6);
+                    int meaningfulBitCount = (int) input.readBits(6) + 1;
+                    trailingZeros = 64 - leadingZeros - meaningfulBitCount;
+                    if (trailingZeros < 0) {
+                        throw new IOException("Invalid chunk XOR window!");
+                    }
+                }
+                previousBits ^= input.readBits(64 - leadingZeros - trailingZeros) << trailingZeros;
+            }
+            values[index] = Double.longBitsToDouble(previousBits);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * Gets the epoch nanosecond timestamp of the row at the given index.
+     *
+     * @param index the index
+     *
+     * @return the epoch nanoseconds
+     */
+    public long getTimestamp(int index) {
+        checkElementIndex(index, timestamps.length);
+        return timestamps[index];
+    }
+
+    /**
+     * Gets the index of the first row whose timestamp is at or after the given epoch nanoseconds.
+     *
+     * @param epochNanos the epoch nanoseconds
+     *
+     * @return the index (the {@link #size()} if all rows are before the given epoch nanoseconds)
+     */
+    public int lowerBound(long epochNanos) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < epochNanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the number of <code>double</code> columns.
+     *
+     * @return the number of <code>double</code> columns
+     */
+    public int getDoubleColumnCount() {
+        return doubleColumns.length;
+    }
+
+    /**
+     * Gets the value of a <code>double</code> column of the row at the given index.
+     *
+     * @param column the column index
+     * @param index  the row index
+     *
+     * @return the value
+     */
+    public double getDouble(int column, int index) {
+        checkElementIndex(index, timestamps.length);
+        return doubleColumns[column][index];
+    }
+
+    /**
+     * Gets the number of <code>long</code> columns.
+     *
+     * @return the number of <code>long</code> columns
+     */
+    public int getLongColumnCount() {
+        return longColumns.length;
+    }
+
+    /**
+     * Gets the value of a <code>long</code> column of the row at the given index.
+     *
+     * @param column the column index
+     * @param index  the row index
+     *
+     * @return the value
+     */
+    public long getLong(int column, int index) {
+        checkElementIndex(index, timestamps.length);
+        return longColumns[column][index];
+    }
+}
@@ -0,0 +1,50 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link ChunkCodec} converts time series data POJOs to and from the primitive <code>double</code> and
+ * <code>long</code> column values of a {@link Chunk}. The key and the timestamp of a data POJO are stored by the
+ * {@link ChunkStore} itself, so only the other fields need to be converted.
+ *
+ * @param <K> the type parameter of the key used to identify the time series
+ * @param <P> the time series data POJO type parameter
+ */
+public interface ChunkCodec<K, P> {
+
+    /**
+     * Gets the number of <code>double</code> columns (e.g. prices).
+     *
+     * @return the number of <code>double</code> columns
+     */
+    int getDoubleColumnCount();
+
+    /**
+     * Gets the number of <code>long</code> columns (e.g. sizes).
+     *
+     * @return the number of <code>long</code> columns
+     */
+    int getLongColumnCount();
+
+    /**
+     * Writes the column values of the given data POJO.
+     *
+     * @param dataPOJO     the data POJO
+     * @param doubleValues the array to write the {@link #getDoubleColumnCount()} <code>double</code> values to
+     * @param longValues   the array to write the {@link #getLongColumnCount()} <code>long</code> values to
+     */
+    void write(P dataPOJO, double[] doubleValues, long[] longValues);
+
+    /**
+     * Reads a data POJO from the given column values that were written via
+     * {@link #write(Object, double[], long[])}.
+     *
+     * @param key          the key
+     * @param timestamp    the timestamp
+     * @param doubleValues the <code>double</code> values (only valid for the duration of this call)
+     * @param longValues   the <code>long</code> values (only valid for the duration of this call)
+     *
+     * @return the data POJO
+     */
+    P read(K key, LocalDateTime timestamp, double[] doubleValues, long[] longValues);
+}
@@ -0,0 +1,353 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.exception.SQLStateClass;
+import org.jooq.impl.DSL;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ChunkStore} is a compressed storage backend for the time series data POJOs of a
+ * {@link net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface}. Instead of one row per data
+ * POJO, the data POJOs of every key are packed into fixed, epoch-aligned timestamp ranges of
+ * {@link #getChunkDuration()} that are stored as one compressed {@link Chunk} blob per (key, chunk start) row of the
+ * chunk table, whose primary key should be the (key, chunk start) pair. For example:
+ * <pre>
+ * CREATE TABLE tick_chunk (symbol VARCHAR(16), chunk_start TIMESTAMP(9), data VARBINARY, PRIMARY KEY (symbol,
+ * chunk_start))
+ * </pre>
+ * Inserting into an existing chunk decodes it, merges the new rows into it (rows with a timestamp that already
+ * exists are ignored), and writes it back while it is locked. Since that re-encodes the whole chunk, new rows are
+ * written to the data table of the time series database interface first and are sealed into their chunk with one
+ * insert per chunk (see
+ * {@link net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface#sealChunks(LocalDateTime)}).
+ * This class is thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ * @param <P> the time series data POJO type parameter
+ */
+public class ChunkStore<K, P> {
+
+    /**
+     * The default value for {@link #getChunkDuration()}.
+     */
+    public static final Duration DEFAULT_CHUNK_DURATION = Duration.ofDays(1);
+
+    private final Table<?> chunkTable;
+    private final Field<K> keyField;
+    private final Field<LocalDateTime> chunkStartField;
+    private final Field<byte[]> dataField;
+    private final ChunkCodec<K, P> codec;
+    private final Duration chunkDuration;
+    private final long chunkDurationNanos;
+
+    /**
+     * Instantiates a new {@link ChunkStore} with a chunk duration of {@link #DEFAULT_CHUNK_DURATION}.
+     *
+     * @param chunkTable      the chunk {@link Table}
+     * @param keyField        the key {@link Field} of the chunk {@link Table}
+     * @param chunkStartField the chunk start {@link Field} of the chunk {@link Table}
+     * @param dataField       the compressed {@link Chunk} bytes {@link Field} of the chunk {@link Table}
+     * @param codec           the {@link ChunkCodec}
+     */
+    public ChunkStore(Table<?> chunkTable, Field<K> keyField, Field<LocalDateTime> chunkStartField,
+            Field<byte[]> dataField, ChunkCodec<K, P> codec) {
+        this(chunkTable, keyField, chunkStartField, dataField, codec, DEFAULT_CHUNK_DURATION);
+    }
+
+    /**
+     * Instantiates a new {@link ChunkStore}.
+     *
+     * @param chunkTable      the chunk {@link Table}
+     * @param keyField        the key {@link Field} of the chunk {@link Table}
+     * @param chunkStartField the chunk start {@link Field} of the chunk {@link Table}
+     * @param dataField       the compressed {@link Chunk} bytes {@link Field} of the chunk {@link Table}
+     * @param codec           the {@link ChunkCodec}
+     * @param chunkDuration   the {@link Duration} of the timestamp range of every {@link Chunk} (this must not change
+     *                        once chunks have been stored)
+     */
+    public ChunkStore(Table<?> chunkTable, Field<K> keyField, Field<LocalDateTime> chunkStartField,
+            Field<byte[]> dataField, ChunkCodec<K, P> codec, Duration chunkDuration) {
+        checkArgument(chunkTable != null, "The chunk table cannot be null!");
+        checkArgument(keyField != null, "The key field cannot be null!");
+        checkArgument(chunkStartField != null, "The chunk start field cannot be null!");
+        checkArgument(dataField != null, "The data field cannot be null!");
+        checkArgument(codec != null, "The codec cannot be null!");
+        checkArgument(chunkDuration != null, "The chunk duration cannot be null!");
+        checkArgument(!chunkDuration.isNegative() && !chunkDuration.isZero(),
+                "The chunk duration must be positive!");
+
+        this.chunkTable = chunkTable;
+        this.keyField = keyField;
+        this.chunkStartField = chunkStartField;
+        this.dataField = dataField;
+        this.codec = codec;
+        this.chunkDuration = chunkDuration;
+        this.chunkDurationNanos = chunkDuration.toNanos();
+    }
+
+    /**
+     * Gets the epoch nanoseconds of the start of the {@link Chunk} that contains the given epoch nanoseconds.
+     *
+     * @param epochNanos the epoch nanoseconds
+     *
+     * @return the start epoch nanoseconds of the {@link Chunk}
+     */
+    public long getChunkStart(long epochNanos) {
+        return epochNanos - Math.floorMod(epochNanos, chunkDurationNanos);
+    }
+
+    /**
+     * Merges the given data POJOs into the {@link Chunk} of the given key that starts at the given epoch nanoseconds
+     * (creating it if it does not exist yet) in one transaction. Since every call decodes and re-encodes the whole
+     * {@link Chunk}, the data POJOs of a {@link Chunk} should be inserted with as few calls as possible.
+     *
+     * @param create     the {@link DSLContext}
+     * @param key        the key
+     * @param chunkStart the start epoch nanoseconds of the {@link Chunk} (from {@link #getChunkStart(long)})
+     * @param epochNanos the epoch nanosecond timestamps of the data POJOs (all within the {@link Chunk})
+     * @param dataPOJOs  the data POJOs (in any order)
+     *
+     * @return the number of data POJOs that were stored (that is, excluding the ones whose timestamp already existed)
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public int insert(DSLContext create, K key, long chunkStart, long[] epochNanos, List<P> dataPOJOs)
+            throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(epochNanos != null && dataPOJOs != null && epochNanos.length == dataPOJOs.size(),
+                "The epoch nanos and data POJOs must have the same size!");
+        for (long timestamp : epochNanos) {
+            checkArgument(getChunkStart(timestamp) == chunkStart, "The data POJOs must be within the chunk!");
+        }
+
+        // A stable sort keeps the first of the data POJOs with equal timestamps
+        final int[] sortedIndices = isSorted(epochNanos) ?
+                IntStream.range(0, epochNanos.length).toArray() :
+                IntStream.range(0, epochNanos.length).boxed()
+                        .sorted(Comparator.comparingLong(index -> epochNanos[index]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+        final Condition chunkCondition = keyField.equal(key)
+                .and(chunkStartField.equal(EpochNanoRanges.toLocalDateTime(chunkStart)));
+
+        return create.transactionResult(configuration -> {
+            DSLContext transactionCreate = DSL.using(configuration);
+            while (true) {
+                Record1<byte[]> chunkRecord = transactionCreate.select(dataField)
+                        .from(chunkTable)
+                        .where(chunkCondition)
+                        .forUpdate()
+                        .fetchOne();
+                Chunk existingChunk = chunkRecord == null ? null : decode(chunkRecord.value1(), key, chunkStart);
+                int existingRowCount = existingChunk == null ? 0 : existingChunk.size();
+
+                ChunkWriter chunkWriter = merge(existingChunk, epochNanos, sortedIndices, dataPOJOs);
+                int storedRowCount = chunkWriter.size() - existingRowCount;
+                if (storedRowCount == 0) {
+                    return 0;
+                }
+
+                if (existingChunk != null) {
+                    transactionCreate.update(chunkTable)
+                            .set(dataField, chunkWriter.toByteArray())
+                            .where(chunkCondition)
+                            .execute();
+                    return storedRowCount;
+                }
+
+                try {
+                    // The nested transaction rolls back to a savepoint so that a failed insert leaves the
+                    // transaction usable
+                    transactionCreate.transaction(insertConfiguration -> DSL.using(insertConfiguration)
+                            .insertInto(chunkTable)
+                            .set(keyField, key)
+                            .set(chunkStartField, EpochNanoRanges.toLocalDateTime(chunkStart))
+                            .set(dataField, chunkWriter.toByteArray())
+                            .execute());
+                    return storedRowCount;
+                } catch (DataAccessException exception) {
+                    if (exception.sqlStateClass() != SQLStateClass.C23_INTEGRITY_CONSTRAINT_VIOLATION) {
+                        throw exception;
+                    }
+                    // The chunk was created concurrently, so merge into it instead
+                }
+            }
+        });
+    }
+
+    /**
+     * Fetches the {@link Chunk}s of the given key that overlap the given range lazily.
+     *
+     * @param create        the {@link DSLContext}
+     * @param key           the key
+     * @param from          the 'from' epoch nanoseconds (inclusive)
+     * @param to            the 'to' epoch nanoseconds (exclusive)
+     * @param sortDirection the {@link SortDirection} of the chunk starts
+     *
+     * @return a {@link Cursor} of the chunk start and the compressed {@link Chunk} bytes (decode them with
+     * {@link #decode(byte[], Object, long)})
+     *
+     * @throws DataAccessException thrown for {@link DataAccessException}s
+     */
+    public Cursor<Record2<LocalDateTime, byte[]>> fetchChunks(DSLContext create, K key, long from, long to,
+            SortDirection sortDirection) throws DataAccessException {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return create.select(chunkStartField, dataField)
+                .from(chunkTable)
+                .where(keyField.equal(key)
+                        .and(chunkStartField.greaterOrEqual(EpochNanoRanges.toLocalDateTime(getChunkStart(from))))
+                        .and(chunkStartField.lessThan(EpochNanoRanges.toLocalDateTime(to))))
+                .orderBy(sortDirection == SortDirection.DESCENDING ? chunkStartField.desc() : chunkStartField.asc())
+                .fetchSize(1) // A chunk holds many rows, so only fetch one at a time
+                .fetchLazy();
+    }
+
+    /**
+     * Decodes the compressed bytes of a {@link Chunk}.
+     *
+     * @param bytes      the compressed bytes
+     * @param key        the key of the {@link Chunk} (for the error message)
+     * @param chunkStart the start epoch nanoseconds of the {@link Chunk} (for the error message)
+     *
+     * @return the {@link Chunk}
+     *
+     * @throws DataAccessException thrown if the bytes are not a valid {@link Chunk} of the {@link #codec}
+     */
+    public Chunk decode(byte[] bytes, K key, long chunkStart) throws DataAccessException {
+        Chunk chunk;
+        try {
+            chunk = Chunk.decode(bytes);
+        } catch (IOException exception) {
+            throw new DataAccessException("Could not decode the chunk of key " + key + " at " +
+                    EpochNanoRanges.toLocalDateTime(chunkStart) + "!", exception);
+        }
+
+        if (chunk.getDoubleColumnCount() != codec.getDoubleColumnCount() ||
+                chunk.getLongColumnCount() != codec.getLongColumnCount()) {
+            throw new DataAccessException("The columns of the chunk of key " + key + " at " +
+                    EpochNanoRanges.toLocalDateTime(chunkStart) + " do not match the codec!");
+        }
+        return chunk;
+    }
+
+    /**
+     * Merges the sorted new data POJOs into the rows of the existing {@link Chunk}.
+     *
+     * @param existingChunk the existing {@link Chunk} (nullable)
+     * @param epochNanos    the epoch nanosecond timestamps of the new data POJOs
+     * @param sortedIndices the indices of the new data POJOs sorted by their timestamp
+     * @param dataPOJOs     the new data POJOs
+     *
+     * @return the {@link ChunkWriter} of the merged rows
+     */
+    private ChunkWriter merge(Chunk existingChunk, long[] epochNanos, int[] sortedIndices, List<P> dataPOJOs) {
+        final int doubleColumnCount = codec.getDoubleColumnCount();
+        final int longColumnCount = codec.getLongColumnCount();
+        final double[] doubleValues = new double[doubleColumnCount];
+        final long[] longValues = new long[longColumnCount];
+        final ChunkWriter chunkWriter = new ChunkWriter(doubleColumnCount, longColumnCount);
+
+        int existingIndex = 0;
+        int existingRowCount = existingChunk == null ? 0 : existingChunk.size();
+        long previousNewTimestamp = Long.MIN_VALUE;
+        boolean newRowAdded = false;
+        for (int sortedIndex : sortedIndices) {
+            long timestamp = epochNanos[sortedIndex];
+
+            // Add the existing rows up to and including the timestamp
+            while (existingIndex < existingRowCount && existingChunk.getTimestamp(existingIndex) <= timestamp) {
+                addExistingRow(chunkWriter, existingChunk, existingIndex++, doubleValues, longValues);
+            }
+
+            // Rows whose timestamp already exists are ignored (like a duplicate key)
+            boolean duplicate = (newRowAdded && previousNewTimestamp == timestamp) ||
+                    (existingIndex > 0 && existingChunk.getTimestamp(existingIndex - 1) == timestamp);
+            if (!duplicate) {
+                P dataPOJO = dataPOJOs.get(sortedIndex);
+                checkArgument(dataPOJO != null, "The data POJO cannot be null!");
+                codec.write(dataPOJO, doubleValues, longValues);
+                chunkWriter.add(timestamp, doubleValues, longValues);
+                previousNewTimestamp = timestamp;
+                newRowAdded = true;
+            }
+        }
+        while (existingIndex < existingRowCount) {
+            addExistingRow(chunkWriter, existingChunk, existingIndex++, doubleValues, longValues);
+        }
+
+        return chunkWriter;
+    }
+
+    /**
+     * Adds a row of the given {@link Chunk} to the given {@link ChunkWriter}.
+     *
+     * @param chunkWriter  the {@link ChunkWriter}
+     * @param chunk        the {@link Chunk}
+     * @param index        the row index
+     * @param doubleValues the scratch <code>double</code> values array
+     * @param longValues   the scratch <code>long</code> values array
+     */
+    private static void addExistingRow(ChunkWriter chunkWriter, Chunk chunk, int index, double[] doubleValues,
+            long[] longValues) {
+        for (int column = 0; column < doubleValues.length; column++) {
+            doubleValues[column] = chunk.getDouble(column, index);
+        }
+        for (int column = 0; column < longValues.length; column++) {
+            longValues[column] = chunk.getLong(column, index);
+        }
+        chunkWriter.add(chunk.getTimestamp(index), doubleValues, longValues);
+    }
+
+    /**
+     * Checks whether the given values are sorted in ascending order.
+     *
+     * @param values the values
+     *
+     * @return a boolean
+     */
+    private static boolean isSorted(long[] values) {
+        for (int index = 1; index < values.length; index++) {
+            if (values[index] < values[index - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the {@link #codec}.
+     *
+     * @return the {@link ChunkCodec}
+     */
+    public ChunkCodec<K, P> getCodec() {
+        return codec;
+    }
+
+    /**
+     * Gets the {@link #chunkDuration}.
+     *
+     * @return the {@link Duration} of the timestamp range of every {@link Chunk}
+     */
+    public Duration getChunkDuration() {
+        return chunkDuration;
+    }
+}
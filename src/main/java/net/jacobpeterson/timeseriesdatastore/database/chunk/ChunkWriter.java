@@ -0,0 +1,206 @@
+package net.jacobpeterson.timeseriesdatastore.database.chunk;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ChunkWriter} collects rows (in timestamp order) in memory and encodes them as the compressed bytes of a
+ * {@link Chunk}.
+ *
+ * @see Chunk
+ */
+public class ChunkWriter {
+
+    private final int doubleColumnCount;
+    private final int longColumnCount;
+    private long[] timestamps;
+    private double[][] doubleColumns;
+    private long[][] longColumns;
+    private int rowCount;
+
+    /**
+     * Instantiates a new {@link ChunkWriter}.
+     *
+     * @param doubleColumnCount the number of <code>double</code> columns
+     * @param longColumnCount   the number of <code>long</code> columns
+     */
+    public ChunkWriter(int doubleColumnCount, int longColumnCount) {
+        checkArgument(doubleColumnCount >= 0, "The double column count cannot be negative!");
+        checkArgument(longColumnCount >= 0, "The long column count cannot be negative!");
+
+        this.doubleColumnCount = doubleColumnCount;
+        this.longColumnCount = longColumnCount;
+        this.timestamps = new long[64];
+        this.doubleColumns = new double[doubleColumnCount][64];
+        this.longColumns = new long[longColumnCount][64];
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param epochNanos   the epoch nanosecond timestamp of the row (must not be before the timestamp of the
+     *                     previously added row)
+     * @param doubleValues the <code>double</code> values of the row (copied)
+     * @param longValues   the <code>long</code> values of the row (copied)
+     */
+    public void add(long epochNanos, double[] doubleValues, long[] longValues) {
+        checkArgument(rowCount == 0 || epochNanos >= timestamps[rowCount - 1],
+                "The rows must be added in timestamp order!");
+
+        if (rowCount == timestamps.length) {
+            int capacity = rowCount * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int column = 0; column < doubleColumnCount; column++) {
+                doubleColumns[column] = Arrays.copyOf(doubleColumns[column], capacity);
+            }
+            for (int column = 0; column < longColumnCount; column++) {
+                longColumns[column] = Arrays.copyOf(longColumns[column], capacity);
+            }
+        }
+
+        timestamps[rowCount] = epochNanos;
+        for (int column = 0; column < doubleColumnCount; column++) {
+            doubleColumns[column][rowCount] = doubleValues[column];
+        }
+        for (int column = 0; column < longColumnCount; column++) {
+            longColumns[column][rowCount] = longValues[column];
+        }
+        rowCount++;
+    }
+
+    /**
+     * Gets the number of added rows.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Encodes the added rows.
+     *
+     * @return the compressed bytes of the {@link Chunk}
+     */
+    public byte[] toByteArray() {
+        // Dense tick data usually compresses to a few bytes per row
+        BitOutput output = new BitOutput(rowCount * (1 + doubleColumnCount + longColumnCount) * 2 + 32);
+        output.writeBits(Chunk.MAGIC, 32);
+        output.writeBits(Chunk.VERSION, 32);
+        output.writeBits(rowCount, 32);
+        output.writeBits(doubleColumnCount, 32);
+        output.writeBits(longColumnCount, 32);
+
+        writeLongColumn(output, timestamps);
+        for (int column = 0; column < doubleColumnCount; column++) {
+            writeDoubleColumn(output, doubleColumns[column]);
+        }
+        for (int column = 0; column < longColumnCount; column++) {
+            writeLongColumn(output, longColumns[column]);
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes a <code>long</code> column with delta-of-delta encoding. The first value is written as is and every
+     * following value is written as the difference between its delta and the previous delta, so that values with a
+     * regular interval (e.g. timestamps) only take one bit.
+     *
+     * @param output the {@link BitOutput}
+     * @param values the values
+     */
+    private void writeLongColumn(BitOutput output, long[] values) {
+        if (rowCount == 0) {
+            return;
+        }
+
+        output.writeBits(values[0], 64);
+        long previousDelta = 0;
+        for (int index = 1; index < rowCount; index++) {
+            long delta = values[index] - values[index - 1];
+            long zigZagDeltaOfDelta = zigZagEncode(delta - previousDelta);
+            previousDelta = delta;
+
+            if (zigZagDeltaOfDelta == 0) {
+                output.writeBit(false);
+                continue;
+            }
+
+            boolean bucketFound = false;
+            for (int bucket = 0; bucket < Chunk.DELTA_OF_DELTA_BUCKET_BITS.length && !bucketFound; bucket++) {
+                int bucketBits = Chunk.DELTA_OF_DELTA_BUCKET_BITS[bucket];
+                if (zigZagDeltaOfDelta >>> bucketBits == 0) {
+                    // The bucket prefix is 'bucket + 1' one bits followed by a zero bit
+                    output.writeBits((1L << (bucket + 2)) - 2, bucket + 2);
+                    output.writeBits(zigZagDeltaOfDelta, bucketBits);
+                    bucketFound = true;
+                }
+            }
+            if (!bucketFound) {
+                output.writeBits((1L << (Chunk.DELTA_OF_DELTA_BUCKET_BITS.length + 1)) - 1,
+                        Chunk.DELTA_OF_DELTA_BUCKET_BITS.length + 1);
+                output.writeBits(zigZagDeltaOfDelta, 64);
+            }
+        }
+    }
+
+    /**
+     * Writes a <code>double</code> column with XOR encoding (as in Facebook's Gorilla). Every value is XORed with the
+     * previous value and only the meaningful bits of the XOR (between its leading and trailing zero bits) are
+     * written, so that slowly changing values (e.g. prices) only take a few bits.
+     *
+     * @param output the {@link BitOutput}
+     * @param values the values
+     */
+    private void writeDoubleColumn(BitOutput output, double[] values) {
+        if (rowCount == 0) {
+            return;
+        }
+
+        long previousBits = Double.doubleToRawLongBits(values[0]);
+        output.writeBits(previousBits, 64);
+        int previousLeadingZeros = -1;
+        int previousTrailingZeros = 0;
+        for (int index = 1; index < rowCount; index++) {
+            long bits = Double.doubleToRawLongBits(values[index]);
+            long xor = bits ^ previousBits;
+            previousBits = bits;
+
+            if (xor == 0) {
+                output.writeBit(false);
+                continue;
+            }
+            output.writeBit(true);
+
+            int leadingZeros = Long.numberOfLeadingZeros(xor);
+            int trailingZeros = Long.numberOfTrailingZeros(xor);
+            if (previousLeadingZeros >= 0 && leadingZeros >= previousLeadingZeros &&
+                    trailingZeros >= previousTrailingZeros) {
+                // The meaningful bits fit into the window of the previous XOR
+                output.writeBit(false);
+                output.writeBits(xor >>> previousTrailingZeros, 64 - previousLeadingZeros - previousTrailingZeros);
+            } else {
+                int meaningfulBitCount = 64 - leadingZeros - trailingZeros;
+                output.writeBit(true);
+                output.writeBits(leadingZeros, 6);
+                output.writeBits(meaningfulBitCount - 1, 6);
+                output.writeBits(xor >>> trailingZeros, meaningfulBitCount);
+                previousLeadingZeros = leadingZeros;
+                previousTrailingZeros = trailingZeros;
+            }
+        }
+    }
+
+    /**
+     * ZigZag encodes the given value so that values close to zero have few significant bits.
+     *
+     * @param value the value
+     *
+     * @return the ZigZag encoded value
+     */
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,142 @@
+package net.jacobpeterson.timeseriesdatastore.database.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link Histogram} is a fixed-size histogram of non-negative <code>long</code> values (such as latencies in
+ * nanoseconds or row counts). Values are counted in power-of-two buckets, so percentiles are accurate to within a
+ * factor of two, while the count, sum, minimum and maximum are exact. This class is thread-safe.
+ */
+public class Histogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final long[] bucketCounts;
+    private long count;
+    private long sum;
+    private long min;
+    private long max;
+
+    /**
+     * Instantiates a new {@link Histogram}.
+     */
+    public Histogram() {
+        this.bucketCounts = new long[BUCKET_COUNT];
+        this.min = Long.MAX_VALUE;
+        this.max = Long.MIN_VALUE;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value (negative values are recorded as zero)
+     */
+    public synchronized void record(long value) {
+        value = Math.max(0, value);
+
+        // Bucket 0 contains 0, bucket 'n' contains values in [2^(n - 1), 2^n)
+        bucketCounts[Math.min(BUCKET_COUNT - 1, BUCKET_COUNT - Long.numberOfLeadingZeros(value))]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the recorded values.
+     *
+     * @return the sum
+     */
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return the minimum (<code>0</code> if no values were recorded)
+     */
+    public synchronized long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the maximum (<code>0</code> if no values were recorded)
+     */
+    public synchronized long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return the mean (<code>0</code> if no values were recorded)
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gets the approximate value at the given percentile. That is, the upper bound of the bucket that contains the
+     * value at the percentile, clamped to the {@link #getMin()} and {@link #getMax()}.
+     *
+     * @param percentile the percentile (from <code>0</code> to <code>100</code>)
+     *
+     * @return the approximate value (<code>0</code> if no values were recorded)
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "The percentile must be between 0 and 100!");
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+            cumulativeCount += bucketCounts[bucketIndex];
+            if (cumulativeCount >= rank) {
+                long bucketUpperBound = bucketIndex == 0 ? 0 :
+                        bucketIndex == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucketIndex) - 1;
+                return Math.max(min, Math.min(max, bucketUpperBound));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public synchronized void reset() {
+        for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+            bucketCounts[bucketIndex] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Histogram{" +
+                "count=" + count +
+                ", min=" + getMin() +
+                ", mean=" + getMean() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
@@ -0,0 +1,348 @@
+package net.jacobpeterson.timeseriesdatastore.database.metrics;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link InMemoryTimeSeriesDatabaseMetrics} is a {@link TimeSeriesDatabaseMetrics} that records everything into
+ * in-memory {@link Histogram}s and counters per key, as well as into totals of all keys. Note that the keys are never
+ * evicted, so {@link #reset()} should be called periodically when a large number of keys are queried. This class is
+ * thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ */
+public class InMemoryTimeSeriesDatabaseMetrics<K> implements TimeSeriesDatabaseMetrics<K> {
+
+    private final ConcurrentHashMap<K, KeyMetrics> keyMetricsOfKeys;
+    private final KeyMetrics totalKeyMetrics;
+
+    /**
+     * Instantiates a new {@link InMemoryTimeSeriesDatabaseMetrics}.
+     */
+    public InMemoryTimeSeriesDatabaseMetrics() {
+        this.keyMetricsOfKeys = new ConcurrentHashMap<>();
+        this.totalKeyMetrics = new KeyMetrics();
+    }
+
+    @Override
+    public void recordGetTimeToFirstRow(K key, long timeToFirstRowNanos) {
+        totalKeyMetrics.getTimeToFirstRowNanos.record(timeToFirstRowNanos);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).getTimeToFirstRowNanos.record(timeToFirstRowNanos);
+        }
+    }
+
+    @Override
+    public void recordGet(K key, long totalNanos, long fetchNanos, long mappingNanos, long rowCount,
+            long byteCount) {
+        totalKeyMetrics.recordGet(totalNanos, fetchNanos, mappingNanos, rowCount, byteCount);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).recordGet(totalNanos, fetchNanos, mappingNanos, rowCount, byteCount);
+        }
+    }
+
+    @Override
+    public void recordDataFetchSize(K key, int fetchSize) {
+        totalKeyMetrics.dataFetchSize.record(fetchSize);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).dataFetchSize.record(fetchSize);
+        }
+    }
+
+    @Override
+    public void recordInsert(K key, long latencyNanos, int rowCount) {
+        totalKeyMetrics.recordInsert(latencyNanos, rowCount);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).recordInsert(latencyNanos, rowCount);
+        }
+    }
+
+    @Override
+    public void recordInsertTimestampRangeRecord(K key, long latencyNanos) {
+        totalKeyMetrics.insertTimestampRangeRecordNanos.record(latencyNanos);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).insertTimestampRangeRecordNanos.record(latencyNanos);
+        }
+    }
+
+    @Override
+    public void recordGetTimestampRanges(K key, long latencyNanos, int rangeCount) {
+        totalKeyMetrics.recordGetTimestampRanges(latencyNanos, rangeCount);
+        if (key != null) {
+            getOrCreateKeyMetrics(key).recordGetTimestampRanges(latencyNanos, rangeCount);
+        }
+    }
+
+    /**
+     * Gets the {@link KeyMetrics} of the given key (creating it if it doesn't exist yet).
+     *
+     * @param key the key
+     *
+     * @return the {@link KeyMetrics}
+     */
+    private KeyMetrics getOrCreateKeyMetrics(K key) {
+        KeyMetrics keyMetrics = keyMetricsOfKeys.get(key);
+        return keyMetrics != null ? keyMetrics : keyMetricsOfKeys.computeIfAbsent(key, absentKey -> new KeyMetrics());
+    }
+
+    /**
+     * Gets the {@link KeyMetrics} of the given key.
+     *
+     * @param key the key
+     *
+     * @return the {@link KeyMetrics} (<code>null</code> if nothing was recorded for the key)
+     */
+    public KeyMetrics getKeyMetrics(K key) {
+        return key == null ? null : keyMetricsOfKeys.get(key);
+    }
+
+    /**
+     * Gets the {@link KeyMetrics} of all keys combined (including inserts of rows with different keys).
+     *
+     * @return the total {@link KeyMetrics}
+     */
+    public KeyMetrics getTotalKeyMetrics() {
+        return totalKeyMetrics;
+    }
+
+    /**
+     * Gets the keys that something was recorded for.
+     *
+     * @return a {@link Set} of keys
+     */
+    public Set<K> getKeys() {
+        return new HashSet<>(keyMetricsOfKeys.keySet());
+    }
+
+    /**
+     * Removes all recorded metrics.
+     */
+    public void reset() {
+        keyMetricsOfKeys.clear();
+        totalKeyMetrics.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryTimeSeriesDatabaseMetrics{" +
+                "totalKeyMetrics=" + totalKeyMetrics +
+                ", keyCount=" + keyMetricsOfKeys.size() +
+                '}';
+    }
+
+    /**
+     * {@link KeyMetrics} contains the {@link Histogram}s and counters of one key.
+     */
+    public static class KeyMetrics {
+
+        private final Histogram getTimeToFirstRowNanos;
+        private final Histogram getTotalNanos;
+        private final Histogram getFetchNanos;
+        private final Histogram getMappingNanos;
+        private final Histogram getConsumerNanos;
+        private final LongAdder mappedRowCount;
+        private final LongAdder mappedByteCount;
+        private final Histogram dataFetchSize;
+        private final Histogram insertNanos;
+        private final LongAdder insertedRowCount;
+        private final Histogram insertTimestampRangeRecordNanos;
+        private final Histogram getTimestampRangesNanos;
+        private final Histogram getTimestampRangesCount;
+
+        /**
+         * Instantiates a new {@link KeyMetrics}.
+         */
+        public KeyMetrics() {
+            this.getTimeToFirstRowNanos = new Histogram();
+            this.getTotalNanos = new Histogram();
+            this.getFetchNanos = new Histogram();
+            this.getMappingNanos = new Histogram();
+            this.getConsumerNanos = new Histogram();
+            this.mappedRowCount = new LongAdder();
+            this.mappedByteCount = new LongAdder();
+            this.dataFetchSize = new Histogram();
+            this.insertNanos = new Histogram();
+            this.insertedRowCount = new LongAdder();
+            this.insertTimestampRangeRecordNanos = new Histogram();
+            this.getTimestampRangesNanos = new Histogram();
+            this.getTimestampRangesCount = new Histogram();
+        }
+
+        private void recordGet(long totalNanos, long fetchNanos, long mappingNanos, long rowCount, long byteCount) {
+            getTotalNanos.record(totalNanos);
+            getFetchNanos.record(fetchNanos);
+            getMappingNanos.record(mappingNanos);
+            getConsumerNanos.record(totalNanos - fetchNanos - mappingNanos);
+            mappedRowCount.add(rowCount);
+            mappedByteCount.add(byteCount);
+        }
+
+        private void recordInsert(long latencyNanos, int rowCount) {
+            insertNanos.record(latencyNanos);
+            insertedRowCount.add(rowCount);
+        }
+
+        private void recordGetTimestampRanges(long latencyNanos, int rangeCount) {
+            getTimestampRangesNanos.record(latencyNanos);
+            getTimestampRangesCount.record(rangeCount);
+        }
+
+        private void reset() {
+            getTimeToFirstRowNanos.reset();
+            getTotalNanos.reset();
+            getFetchNanos.reset();
+            getMappingNanos.reset();
+            getConsumerNanos.reset();
+            mappedRowCount.reset();
+            mappedByteCount.reset();
+            dataFetchSize.reset();
+            insertNanos.reset();
+            insertedRowCount.reset();
+            insertTimestampRangeRecordNanos.reset();
+            getTimestampRangesNanos.reset();
+            getTimestampRangesCount.reset();
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds it took to execute a <code>get</code> query and fetch its
+         * first row.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetTimeToFirstRowNanos() {
+            return getTimeToFirstRowNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds from the start of a <code>get</code> query to the exhaustion
+         * of its iterator.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetTotalNanos() {
+            return getTotalNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds a <code>get</code> query spent executing and fetching rows.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetFetchNanos() {
+            return getFetchNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds a <code>get</code> query spent mapping rows to data POJOs.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetMappingNanos() {
+            return getMappingNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds a <code>get</code> query spent waiting on its consumer (that
+         * is, the total time minus the fetch and mapping time).
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetConsumerNanos() {
+            return getConsumerNanos;
+        }
+
+        /**
+         * Gets the number of rows mapped to data POJOs.
+         *
+         * @return the mapped row count
+         */
+        public long getMappedRowCount() {
+            return mappedRowCount.sum();
+        }
+
+        /**
+         * Gets the estimated number of bytes mapped to data POJOs.
+         *
+         * @return the mapped byte count
+         */
+        public long getMappedByteCount() {
+            return mappedByteCount.sum();
+        }
+
+        /**
+         * Gets the {@link Histogram} of the fetch sizes chosen by adaptive data queries.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getDataFetchSize() {
+            return dataFetchSize;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds it took to execute an <code>INSERT</code> statement of data
+         * rows.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getInsertNanos() {
+            return insertNanos;
+        }
+
+        /**
+         * Gets the number of data rows inserted.
+         *
+         * @return the inserted row count
+         */
+        public long getInsertedRowCount() {
+            return insertedRowCount.sum();
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds it took to insert a timestamp range.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getInsertTimestampRangeRecordNanos() {
+            return insertTimestampRangeRecordNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the nanoseconds it took to query timestamp ranges.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetTimestampRangesNanos() {
+            return getTimestampRangesNanos;
+        }
+
+        /**
+         * Gets the {@link Histogram} of the number of timestamp ranges returned by a query.
+         *
+         * @return the {@link Histogram}
+         */
+        public Histogram getGetTimestampRangesCount() {
+            return getTimestampRangesCount;
+        }
+
+        @Override
+        public String toString() {
+            return "KeyMetrics{" +
+                    "getTimeToFirstRowNanos=" + getTimeToFirstRowNanos +
+                    ", getTotalNanos=" + getTotalNanos +
+                    ", getFetchNanos=" + getFetchNanos +
+                    ", getMappingNanos=" + getMappingNanos +
+                    ", getConsumerNanos=" + getConsumerNanos +
+                    ", mappedRowCount=" + mappedRowCount +
+                    ", mappedByteCount=" + mappedByteCount +
+                    ", dataFetchSize=" + dataFetchSize +
+                    ", insertNanos=" + insertNanos +
+                    ", insertedRowCount=" + insertedRowCount +
+                    ", insertTimestampRangeRecordNanos=" + insertTimestampRangeRecordNanos +
+                    ", getTimestampRangesNanos=" + getTimestampRangesNanos +
+                    ", getTimestampRangesCount=" + getTimestampRangesCount +
+                    '}';
+        }
+    }
+}
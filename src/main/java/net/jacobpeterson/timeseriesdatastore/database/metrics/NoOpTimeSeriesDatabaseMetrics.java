@@ -0,0 +1,32 @@
+package net.jacobpeterson.timeseriesdatastore.database.metrics;
+
+/**
+ * {@link NoOpTimeSeriesDatabaseMetrics} is a {@link TimeSeriesDatabaseMetrics} that does nothing.
+ *
+ * @see TimeSeriesDatabaseMetrics#noOp()
+ */
+final class NoOpTimeSeriesDatabaseMetrics implements TimeSeriesDatabaseMetrics<Object> {
+
+    static final NoOpTimeSeriesDatabaseMetrics INSTANCE = new NoOpTimeSeriesDatabaseMetrics();
+
+    private NoOpTimeSeriesDatabaseMetrics() {}
+
+    @Override
+    public void recordGetTimeToFirstRow(Object key, long timeToFirstRowNanos) {}
+
+    @Override
+    public void recordGet(Object key, long totalNanos, long fetchNanos, long mappingNanos, long rowCount,
+            long byteCount) {}
+
+    @Override
+    public void recordDataFetchSize(Object key, int fetchSize) {}
+
+    @Override
+    public void recordInsert(Object key, long latencyNanos, int rowCount) {}
+
+    @Override
+    public void recordInsertTimestampRangeRecord(Object key, long latencyNanos) {}
+
+    @Override
+    public void recordGetTimestampRanges(Object key, long latencyNanos, int rangeCount) {}
+}
@@ -0,0 +1,96 @@
+package net.jacobpeterson.timeseriesdatastore.database.metrics;
+
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import org.jooq.RecordMapper;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+
+/**
+ * {@link TimeSeriesDatabaseMetrics} is notified of the latencies and volumes of the query and insert operations of a
+ * {@link TimeSeriesDatabaseInterface}. All durations are in nanoseconds (as measured by {@link System#nanoTime()}).
+ * Implementations must be thread-safe and should return quickly since they are called on the hot paths of the
+ * {@link TimeSeriesDatabaseInterface}.
+ *
+ * @param <K> the type parameter of the key
+ */
+public interface TimeSeriesDatabaseMetrics<K> {
+
+    /**
+     * Gets a {@link TimeSeriesDatabaseMetrics} that does nothing. A {@link TimeSeriesDatabaseInterface} with this
+     * {@link TimeSeriesDatabaseMetrics} does not measure anything.
+     *
+     * @param <K> the type parameter of the key
+     *
+     * @return the no-op {@link TimeSeriesDatabaseMetrics}
+     */
+    @SuppressWarnings("unchecked")
+    static <K> TimeSeriesDatabaseMetrics<K> noOp() {
+        return (TimeSeriesDatabaseMetrics<K>) NoOpTimeSeriesDatabaseMetrics.INSTANCE;
+    }
+
+    /**
+     * Called when the first row of a {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime,
+     * LocalTime, LocalTime, SortDirection)} query is available. This is not called if the query returns no rows.
+     *
+     * @param key                 the key
+     * @param timeToFirstRowNanos the time it took to execute the query and fetch the first row (excluding any time
+     *                            the consumer took before requesting the first row)
+     */
+    void recordGetTimeToFirstRow(K key, long timeToFirstRowNanos);
+
+    /**
+     * Called when the {@link Iterator} of a {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime,
+     * LocalDateTime, LocalTime, LocalTime, SortDirection)} query is exhausted. The time the consumer spent between
+     * rows is <code>totalNanos - fetchNanos - mappingNanos</code>.
+     *
+     * @param key          the key
+     * @param totalNanos   the time from the start of the query to the exhaustion of the {@link Iterator}
+     * @param fetchNanos   the time spent executing the query and fetching rows from the database
+     * @param mappingNanos the time spent mapping rows to data POJOs via the {@link RecordMapper}
+     * @param rowCount     the number of rows mapped
+     * @param byteCount    the estimated number of bytes mapped
+     */
+    void recordGet(K key, long totalNanos, long fetchNanos, long mappingNanos, long rowCount, long byteCount);
+
+    /**
+     * Called when an adaptive fetch size was chosen for the lazy cursor of a data query (once when the query starts
+     * and whenever the fetch size changes).
+     *
+     * @param key       the key (<code>null</code> if the query has multiple keys)
+     * @param fetchSize the fetch size
+     *
+     * @see TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)
+     */
+    void recordDataFetchSize(K key, int fetchSize);
+
+    /**
+     * Called after an <code>INSERT</code> statement of data rows was executed.
+     *
+     * @param key          the key of the inserted rows (<code>null</code> if the rows have different keys)
+     * @param latencyNanos the time it took to execute the statement
+     * @param rowCount     the number of rows in the statement
+     */
+    void recordInsert(K key, long latencyNanos, int rowCount);
+
+    /**
+     * Called after a timestamp range was inserted via
+     * {@link TimeSeriesDatabaseInterface#insertTimestampRangeRecord(Object, LocalDateTime, LocalDateTime)} (or as
+     * part of an insert of data rows).
+     *
+     * @param key          the key
+     * @param latencyNanos the time it took to insert (or coalesce) the timestamp range
+     */
+    void recordInsertTimestampRangeRecord(K key, long latencyNanos);
+
+    /**
+     * Called after the timestamp ranges of a key were queried.
+     *
+     * @param key          the key
+     * @param latencyNanos the time it took to execute the query and fetch the timestamp ranges
+     * @param rangeCount   the number of timestamp ranges returned
+     */
+    void recordGetTimestampRanges(K key, long latencyNanos, int rangeCount);
+}
@@ -0,0 +1,90 @@
+package net.jacobpeterson.timeseriesdatastore.database.partition;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@link PartitionPeriod} defines enums that specify the period of time that one partition table of a
+ * {@link TablePartitioner} contains.
+ */
+public enum PartitionPeriod {
+
+    /** A {@link PartitionPeriod} of one day (partition tables are suffixed with <code>yyyyMMdd</code>). */
+    DAILY("yyyyMMdd") {
+        @Override
+        public LocalDateTime getStart(LocalDateTime timestamp) {
+            return timestamp.toLocalDate().atStartOfDay();
+        }
+
+        @Override
+        public LocalDateTime getNextStart(LocalDateTime start) {
+            return start.plusDays(1);
+        }
+    },
+
+    /** A {@link PartitionPeriod} of one month (partition tables are suffixed with <code>yyyyMM</code>). */
+    MONTHLY("yyyyMM") {
+        @Override
+        public LocalDateTime getStart(LocalDateTime timestamp) {
+            return timestamp.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        }
+
+        @Override
+        public LocalDateTime getNextStart(LocalDateTime start) {
+            return start.plusMonths(1);
+        }
+    },
+
+    /** A {@link PartitionPeriod} of one year (partition tables are suffixed with <code>yyyy</code>). */
+    YEARLY("yyyy") {
+        @Override
+        public LocalDateTime getStart(LocalDateTime timestamp) {
+            return timestamp.toLocalDate().withDayOfYear(1).atStartOfDay();
+        }
+
+        @Override
+        public LocalDateTime getNextStart(LocalDateTime start) {
+            return start.plusYears(1);
+        }
+    };
+
+    private final DateTimeFormatter suffixFormatter;
+
+    /**
+     * Instantiates a new {@link PartitionPeriod}.
+     *
+     * @param suffixPattern the {@link DateTimeFormatter} pattern of the partition table name suffix
+     */
+    PartitionPeriod(String suffixPattern) {
+        this.suffixFormatter = DateTimeFormatter.ofPattern(suffixPattern);
+    }
+
+    /**
+     * Gets the start of the period that contains the given timestamp.
+     *
+     * @param timestamp the timestamp
+     *
+     * @return the start {@link LocalDateTime} (inclusive)
+     */
+    public abstract LocalDateTime getStart(LocalDateTime timestamp);
+
+    /**
+     * Gets the start of the period after the period that starts at the given start.
+     *
+     * @param start the start {@link LocalDateTime} of a period
+     *
+     * @return the start {@link LocalDateTime} of the next period (which is the exclusive end of the given period)
+     */
+    public abstract LocalDateTime getNextStart(LocalDateTime start);
+
+    /**
+     * Formats the partition table name suffix of the period that starts at the given start.
+     *
+     * @param start the start {@link LocalDateTime} of a period
+     *
+     * @return the suffix {@link String}
+     */
+    public String formatSuffix(LocalDateTime start) {
+        return suffixFormatter.format(start);
+    }
+}
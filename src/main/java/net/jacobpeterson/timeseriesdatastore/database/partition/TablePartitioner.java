@@ -0,0 +1,165 @@
+package net.jacobpeterson.timeseriesdatastore.database.partition;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Schema;
+import org.jooq.Table;
+import org.jooq.conf.MappedSchema;
+import org.jooq.conf.MappedTable;
+import org.jooq.conf.RenderMapping;
+import org.jooq.conf.Settings;
+import org.jooq.conf.SettingsTools;
+import org.jooq.impl.DSL;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link TablePartitioner} routes the rows of a time series data table to one partition table per
+ * {@link PartitionPeriod} that is resolved from the timestamp of a row. A partition table has the name of the data
+ * table suffixed with its period (e.g. <code>tick_20210104</code> for the {@link PartitionPeriod#DAILY} partition of
+ * <code>tick</code> that starts on 2021-01-04) and must have the same columns and primary key as the data table. For
+ * example:
+ * <pre>
+ * CREATE TABLE tick_20210104 (LIKE tick INCLUDING ALL)
+ * </pre>
+ * Partition tables are not created automatically, so they should be created ahead of time (e.g. by a scheduled job).
+ * A query is routed to a partition table with a {@link DSLContext} whose {@link RenderMapping} maps the data table to
+ * the partition table, so the same jOOQ query of the data table can be executed on any partition table. This class is
+ * thread-safe.
+ */
+public class TablePartitioner {
+
+    private final PartitionPeriod partitionPeriod;
+
+    /**
+     * Instantiates a new {@link TablePartitioner}.
+     *
+     * @param partitionPeriod the {@link PartitionPeriod} (this must not change once partition tables have been filled)
+     */
+    public TablePartitioner(PartitionPeriod partitionPeriod) {
+        checkArgument(partitionPeriod != null, "The partition period cannot be null!");
+
+        this.partitionPeriod = partitionPeriod;
+    }
+
+    /**
+     * Gets the start of the partition that contains the given timestamp.
+     *
+     * @param timestamp the timestamp
+     *
+     * @return the start {@link LocalDateTime} of the partition (inclusive)
+     */
+    public LocalDateTime getPartitionStart(LocalDateTime timestamp) {
+        checkArgument(timestamp != null, "The timestamp cannot be null!");
+
+        return partitionPeriod.getStart(timestamp);
+    }
+
+    /**
+     * Gets the ranges of the partitions that overlap the given [from, to) range, clamped to that range.
+     *
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     *
+     * @return a {@link List} of {@link TemporalRange}s sorted from oldest to newest (empty if 'from' is not before
+     * 'to')
+     */
+    public List<TemporalRange<LocalDateTime>> getPartitionRanges(LocalDateTime from, LocalDateTime to) {
+        checkArgument(from != null, "From cannot be null!");
+        checkArgument(to != null, "To cannot be null!");
+
+        List<TemporalRange<LocalDateTime>> partitionRanges = new ArrayList<>();
+        LocalDateTime partitionFrom = from;
+        while (partitionFrom.isBefore(to)) {
+            LocalDateTime partitionTo = partitionPeriod.getNextStart(partitionPeriod.getStart(partitionFrom));
+            if (partitionTo.isAfter(to)) {
+                partitionTo = to;
+            }
+            partitionRanges.add(new TemporalRange<>(partitionFrom, partitionTo));
+            partitionFrom = partitionTo;
+        }
+        return partitionRanges;
+    }
+
+    /**
+     * Gets the name of the partition table of the given table that starts at the given partition start. Override this
+     * method to use a different naming scheme.
+     *
+     * @param tableName      the name of the data table
+     * @param partitionStart the start of the partition (from {@link #getPartitionStart(LocalDateTime)})
+     *
+     * @return the partition table name
+     */
+    public String getPartitionTableName(String tableName, LocalDateTime partitionStart) {
+        return tableName + "_" + partitionPeriod.formatSuffix(partitionStart);
+    }
+
+    /**
+     * Gets the partition table of the given table that starts at the given partition start (e.g. to create or drop
+     * it).
+     *
+     * @param table          the data {@link Table}
+     * @param partitionStart the start of the partition (from {@link #getPartitionStart(LocalDateTime)})
+     *
+     * @return the partition {@link Table} (in the {@link Schema} of the data {@link Table})
+     */
+    public Table<Record> getPartitionTable(Table<?> table, LocalDateTime partitionStart) {
+        checkArgument(table != null, "The table cannot be null!");
+        checkArgument(partitionStart != null, "The partition start cannot be null!");
+
+        String partitionTableName = getPartitionTableName(table.getName(), partitionStart);
+        Schema schema = table.getSchema();
+        return DSL.table(schema == null ? DSL.name(partitionTableName) :
+                DSL.name(schema.getName(), partitionTableName));
+    }
+
+    /**
+     * Derives a {@link DSLContext} from the given {@link DSLContext} that renders the given table as its partition
+     * table that starts at the given partition start. The derived {@link DSLContext} shares the connection of the given
+     * {@link DSLContext} (so a transactional {@link DSLContext} stays in its transaction).
+     *
+     * @param create         the {@link DSLContext}
+     * @param table          the data {@link Table}
+     * @param partitionStart the start of the partition (from {@link #getPartitionStart(LocalDateTime)})
+     *
+     * @return the partition {@link DSLContext}
+     */
+    public DSLContext getPartitionContext(DSLContext create, Table<?> table, LocalDateTime partitionStart) {
+        checkArgument(create != null, "The DSLContext cannot be null!");
+        checkArgument(table != null, "The table cannot be null!");
+        checkArgument(partitionStart != null, "The partition start cannot be null!");
+
+        // Tables without a schema are mapped with an empty schema name
+        Schema schema = table.getSchema();
+        MappedSchema partitionMappedSchema = new MappedSchema()
+                .withInput(schema == null ? "" : schema.getName())
+                .withTables(new MappedTable()
+                        .withInput(table.getName())
+                        .withOutput(getPartitionTableName(table.getName(), partitionStart)));
+
+        // Keep any existing render mapping, but map the data table first
+        Settings settings = SettingsTools.clone(create.settings());
+        RenderMapping renderMapping = new RenderMapping().withSchemata(partitionMappedSchema);
+        if (settings.getRenderMapping() != null) {
+            renderMapping.setDefaultSchema(settings.getRenderMapping().getDefaultSchema());
+            renderMapping.getSchemata().addAll(settings.getRenderMapping().getSchemata());
+        }
+        settings.setRenderMapping(renderMapping);
+
+        return DSL.using(create.configuration().derive(settings));
+    }
+
+    /**
+     * Gets the {@link #partitionPeriod}.
+     *
+     * @return the {@link PartitionPeriod}
+     */
+    public PartitionPeriod getPartitionPeriod() {
+        return partitionPeriod;
+    }
+}
@@ -0,0 +1,186 @@
+package net.jacobpeterson.timeseriesdatastore.database.replica;
+
+import org.jooq.DSLContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ReadReplicaRouter} routes the read queries of a time series database interface to read replicas of its
+ * (primary) write {@link DSLContext}, so that heavy reads (e.g. backtest scans) don't compete with live ingestion on
+ * the primary. Every read is sent to the next read replica in a round-robin order, unless one of its keys was written
+ * within the {@link #getMaximumReplicationLag()}, in which case it is sent to the write {@link DSLContext} so that
+ * the rows and timestamp ranges that were just written are always visible (read-your-writes). The
+ * {@link #getMaximumReplicationLag()} should therefore be an upper bound of the replication lag of all read replicas.
+ * Expired writes are purged on write at most once per {@link #getMaximumReplicationLag()}, so only the keys that were
+ * written within about twice the {@link #getMaximumReplicationLag()} are tracked. This class is thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ */
+public class ReadReplicaRouter<K> {
+
+    /**
+     * The default value for {@link #getMaximumReplicationLag()}.
+     */
+    public static final Duration DEFAULT_MAXIMUM_REPLICATION_LAG = Duration.ofSeconds(10);
+
+    private final List<DSLContext> readContexts;
+    private final Duration maximumReplicationLag;
+    private final long maximumReplicationLagNanos;
+    private final AtomicInteger nextReadContextIndex;
+    private final ConcurrentHashMap<K, Long> writeNanosOfKeys;
+    private final AtomicLong nextPurgeNanos;
+
+    /**
+     * Instantiates a new {@link ReadReplicaRouter} with a {@link #DEFAULT_MAXIMUM_REPLICATION_LAG}.
+     *
+     * @param readContexts the {@link DSLContext}s of the read replicas
+     */
+    public ReadReplicaRouter(List<? extends DSLContext> readContexts) {
+        this(readContexts, DEFAULT_MAXIMUM_REPLICATION_LAG);
+    }
+
+    /**
+     * Instantiates a new {@link ReadReplicaRouter}.
+     *
+     * @param readContexts          the {@link DSLContext}s of the read replicas
+     * @param maximumReplicationLag the {@link Duration} after a write during which the reads of the written key are
+     *                              sent to the write {@link DSLContext}
+     */
+    public ReadReplicaRouter(List<? extends DSLContext> readContexts, Duration maximumReplicationLag) {
+        checkArgument(readContexts != null && !readContexts.isEmpty(), "The read contexts cannot be empty!");
+        checkArgument(!readContexts.contains(null), "The read contexts cannot contain null!");
+        checkArgument(maximumReplicationLag != null && !maximumReplicationLag.isNegative(),
+                "The maximum replication lag cannot be negative!");
+
+        this.readContexts = Collections.unmodifiableList(new ArrayList<>(readContexts));
+        this.maximumReplicationLag = maximumReplicationLag;
+        this.maximumReplicationLagNanos = maximumReplicationLag.toNanos();
+        this.nextReadContextIndex = new AtomicInteger();
+        this.writeNanosOfKeys = new ConcurrentHashMap<>();
+        this.nextPurgeNanos = new AtomicLong(System.nanoTime() + maximumReplicationLagNanos);
+    }
+
+    /**
+     * Gets the {@link DSLContext} to read the given key with.
+     *
+     * @param writeContext the write {@link DSLContext}
+     * @param key          the key
+     *
+     * @return the given write {@link DSLContext} if the key was written within the
+     * {@link #getMaximumReplicationLag()}, otherwise the {@link #nextReadContext()}
+     */
+    public DSLContext getReadContext(DSLContext writeContext, K key) {
+        return isRecentlyWritten(key) ? writeContext : nextReadContext();
+    }
+
+    /**
+     * Gets the {@link DSLContext} to read the given keys with.
+     *
+     * @param writeContext the write {@link DSLContext}
+     * @param keys         the keys
+     *
+     * @return the given write {@link DSLContext} if any of the keys was written within the
+     * {@link #getMaximumReplicationLag()}, otherwise the {@link #nextReadContext()}
+     */
+    public DSLContext getReadContext(DSLContext writeContext, Collection<K> keys) {
+        for (K key : keys) {
+            if (isRecentlyWritten(key)) {
+                return writeContext;
+            }
+        }
+        return nextReadContext();
+    }
+
+    /**
+     * Gets the next read replica {@link DSLContext} in the round-robin order.
+     *
+     * @return the read replica {@link DSLContext}
+     */
+    public DSLContext nextReadContext() {
+        return readContexts.get(Math.floorMod(nextReadContextIndex.getAndIncrement(), readContexts.size()));
+    }
+
+    /**
+     * Records that rows or timestamp ranges of the given key were just committed to the write {@link DSLContext} (or
+     * that a read replica was found to be behind the write {@link DSLContext} for the given key).
+     *
+     * @param key the key
+     */
+    public void recordWrite(K key) {
+        if (key == null) {
+            return;
+        }
+
+        long writeNanos = System.nanoTime();
+        writeNanosOfKeys.put(key, writeNanos);
+
+        // Purge the expired writes of keys that are not read (which are never removed by 'isRecentlyWritten()')
+        long purgeNanos = nextPurgeNanos.get();
+        if (writeNanos - purgeNanos >= 0 &&
+                nextPurgeNanos.compareAndSet(purgeNanos, writeNanos + maximumReplicationLagNanos)) {
+            writeNanosOfKeys.values().removeIf(keyWriteNanos ->
+                    writeNanos - keyWriteNanos >= maximumReplicationLagNanos);
+        }
+    }
+
+    /**
+     * Checks whether the given key was written within the {@link #getMaximumReplicationLag()}. Expired writes are
+     * removed.
+     *
+     * @param key the key
+     *
+     * @return a boolean
+     */
+    public boolean isRecentlyWritten(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        Long writeNanos = writeNanosOfKeys.get(key);
+        if (writeNanos == null) {
+            return false;
+        }
+        if (System.nanoTime() - writeNanos < maximumReplicationLagNanos) {
+            return true;
+        }
+
+        writeNanosOfKeys.remove(key, writeNanos);
+        return false;
+    }
+
+    /**
+     * Gets the number of keys whose writes are currently tracked (including expired writes that were not purged yet).
+     *
+     * @return the number of tracked keys
+     */
+    public int getTrackedKeyCount() {
+        return writeNanosOfKeys.size();
+    }
+
+    /**
+     * Gets the {@link #readContexts}.
+     *
+     * @return an unmodifiable {@link List} of the read replica {@link DSLContext}s
+     */
+    public List<DSLContext> getReadContexts() {
+        return readContexts;
+    }
+
+    /**
+     * Gets the {@link #maximumReplicationLag}.
+     *
+     * @return the maximum replication lag {@link Duration}
+     */
+    public Duration getMaximumReplicationLag() {
+        return maximumReplicationLag;
+    }
+}
@@ -0,0 +1,156 @@
+package net.jacobpeterson.timeseriesdatastore.database.segment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * {@link Segment} is a read-only, memory-mapped view of an immutable segment file that contains the time series data
+ * POJOs of one key within one timestamp range, sorted by their timestamp from oldest to newest. A segment file has
+ * the following layout (in big-endian byte order):
+ * <ol>
+ *     <li>the <code>int</code> {@link #MAGIC}, the <code>int</code> {@link #VERSION} and the <code>int</code> row
+ *     count</li>
+ *     <li>the <code>long</code> epoch nanosecond timestamps of the rows</li>
+ *     <li>the <code>int</code> offsets of the row bytes (row count + 1 offsets, relative to the start of the row
+ *     bytes)</li>
+ *     <li>the row bytes written by the {@link SegmentSerializer}</li>
+ * </ol>
+ */
+public class Segment {
+
+    /**
+     * The magic number at the start of every segment file.
+     */
+    public static final int MAGIC = 0x54534453; // "TSDS"
+
+    /**
+     * The version of the segment file layout.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The byte size of the segment file header.
+     */
+    public static final int HEADER_BYTE_SIZE = 3 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final int timestampsPosition;
+    private final int offsetsPosition;
+    private final int rowBytesPosition;
+
+    /**
+     * Instantiates a new {@link Segment}.
+     *
+     * @param buffer the {@link ByteBuffer} containing the segment file
+     *
+     * @throws IOException thrown if the segment file is invalid
+     */
+    public Segment(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+        if (this.buffer.limit() < HEADER_BYTE_SIZE || this.buffer.getInt(0) != MAGIC ||
+                this.buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Invalid segment file header!");
+        }
+
+        this.rowCount = this.buffer.getInt(2 * Integer.BYTES);
+        this.timestampsPosition = HEADER_BYTE_SIZE;
+        this.offsetsPosition = timestampsPosition + rowCount * Long.BYTES;
+        this.rowBytesPosition = offsetsPosition + (rowCount + 1) * Integer.BYTES;
+
+        if (rowCount < 0 || this.buffer.limit() < rowBytesPosition) {
+            throw new IOException("Invalid segment file size!");
+        }
+        int rowBytesSize = this.buffer.getInt(offsetsPosition + rowCount * Integer.BYTES);
+        if (this.buffer.limit() != rowBytesPosition + rowBytesSize) {
+            throw new IOException("Invalid segment file size!");
+        }
+    }
+
+    /**
+     * Memory-maps the given segment file.
+     *
+     * @param path the {@link Path} of the segment file
+     *
+     * @return the {@link Segment}
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public static Segment map(Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return new Segment(mappedByteBuffer);
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the epoch nanosecond timestamp of the row at the given index.
+     *
+     * @param index the index
+     *
+     * @return the epoch nanoseconds
+     */
+    public long getTimestamp(int index) {
+        checkElementIndex(index, rowCount);
+        return buffer.getLong(timestampsPosition + index * Long.BYTES);
+    }
+
+    /**
+     * Gets the index of the first row whose timestamp is at or after the given epoch nanoseconds.
+     *
+     * @param epochNanos the epoch nanoseconds
+     *
+     * @return the index (the {@link #size()} if all rows are before the given epoch nanoseconds)
+     */
+    public int lowerBound(long epochNanos) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getLong(timestampsPosition + middle * Long.BYTES) < epochNanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reads the data POJO of the row at the given index.
+     *
+     * @param <P>        the time series data POJO type parameter
+     * @param index      the index
+     * @param serializer the {@link SegmentSerializer}
+     *
+     * @return the data POJO
+     */
+    public <P> P read(int index, SegmentSerializer<P> serializer) {
+        checkElementIndex(index, rowCount);
+
+        int rowFrom = rowBytesPosition + buffer.getInt(offsetsPosition + index * Integer.BYTES);
+        int rowTo = rowBytesPosition + buffer.getInt(offsetsPosition + (index + 1) * Integer.BYTES);
+
+        ByteBuffer rowBuffer = buffer.duplicate();
+        rowBuffer.limit(rowTo).position(rowFrom);
+        return serializer.read(rowBuffer);
+    }
+}
@@ -0,0 +1,376 @@
+package net.jacobpeterson.timeseriesdatastore.database.segment;
+
+import com.google.common.io.BaseEncoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link SegmentCache} is an on-disk cache of immutable {@link Segment} files. Every {@link Segment} contains the time
+ * series data POJOs of one key within one fixed, epoch-aligned timestamp range of {@link #getSegmentDuration()}. The
+ * least recently used {@link Segment} files are deleted once the total size of the {@link Segment} files exceeds
+ * {@link #getMaximumByteCount()}. {@link Segment} files that already exist in the directory are reused (so the cache
+ * survives restarts). This class is thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ * @param <P> the time series data POJO type parameter
+ */
+public class SegmentCache<K, P> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentCache.class);
+
+    /**
+     * The default value for {@link #getSegmentDuration()}.
+     */
+    public static final Duration DEFAULT_SEGMENT_DURATION = Duration.ofDays(1);
+
+    private static final String SEGMENT_FILE_EXTENSION = ".segment";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private final Path directory;
+    private final SegmentSerializer<P> serializer;
+    private final long maximumByteCount;
+    private final Duration segmentDuration;
+    private final long segmentDurationNanos;
+    private final LinkedHashMap<Path, Long> byteCountsOfSegmentPaths;
+    private long totalByteCount;
+
+    /**
+     * Instantiates a new {@link SegmentCache} with a segment duration of {@link #DEFAULT_SEGMENT_DURATION}.
+     *
+     * @param directory        the directory {@link Path} to store the {@link Segment} files in
+     * @param serializer       the {@link SegmentSerializer}
+     * @param maximumByteCount the maximum total byte size of the {@link Segment} files
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public SegmentCache(Path directory, SegmentSerializer<P> serializer, long maximumByteCount) throws IOException {
+        this(directory, serializer, maximumByteCount, DEFAULT_SEGMENT_DURATION);
+    }
+
+    /**
+     * Instantiates a new {@link SegmentCache}.
+     *
+     * @param directory        the directory {@link Path} to store the {@link Segment} files in
+     * @param serializer       the {@link SegmentSerializer}
+     * @param maximumByteCount the maximum total byte size of the {@link Segment} files
+     * @param segmentDuration  the {@link Duration} of the timestamp range of every {@link Segment}
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public SegmentCache(Path directory, SegmentSerializer<P> serializer, long maximumByteCount,
+            Duration segmentDuration) throws IOException {
+        checkArgument(directory != null, "The directory cannot be null!");
+        checkArgument(serializer != null, "The serializer cannot be null!");
+        checkArgument(maximumByteCount > 0, "The maximum byte count must be greater than zero!");
+        checkArgument(segmentDuration != null, "The segment duration cannot be null!");
+        checkArgument(!segmentDuration.isNegative() && !segmentDuration.isZero(),
+                "The segment duration must be positive!");
+
+        this.directory = directory;
+        this.serializer = serializer;
+        this.maximumByteCount = maximumByteCount;
+        this.segmentDuration = segmentDuration;
+        this.segmentDurationNanos = segmentDuration.toNanos();
+        this.byteCountsOfSegmentPaths = new LinkedHashMap<>(16, 0.75f, true);
+
+        Files.createDirectories(directory);
+        loadExistingSegmentFiles();
+    }
+
+    /**
+     * Registers the {@link Segment} files that already exist in the {@link #directory} (from the least to the most
+     * recently modified) and deletes any leftover temporary files.
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    private void loadExistingSegmentFiles() throws IOException {
+        List<Path> segmentPaths = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> pathIterator = paths.iterator();
+            while (pathIterator.hasNext()) {
+                Path path = pathIterator.next();
+                String fileName = path.getFileName().toString();
+                if (fileName.endsWith(TEMPORARY_FILE_EXTENSION)) {
+                    Files.deleteIfExists(path);
+                } else if (fileName.endsWith(SEGMENT_FILE_EXTENSION) && Files.isRegularFile(path)) {
+                    segmentPaths.add(path);
+                }
+            }
+        }
+
+        segmentPaths.sort(Comparator.comparing(path -> {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class).lastModifiedTime().toMillis();
+            } catch (IOException exception) {
+                return 0L;
+            }
+        }));
+
+        synchronized (this) {
+            for (Path segmentPath : segmentPaths) {
+                register(segmentPath, Files.size(segmentPath));
+            }
+        }
+    }
+
+    /**
+     * Gets the epoch nanoseconds of the start of the {@link Segment} that contains the given epoch nanoseconds.
+     *
+     * @param epochNanos the epoch nanoseconds
+     *
+     * @return the 'from' epoch nanoseconds of the {@link Segment}
+     */
+    public long getSegmentFrom(long epochNanos) {
+        return epochNanos - Math.floorMod(epochNanos, segmentDurationNanos);
+    }
+
+    /**
+     * Gets the {@link Segment} of the given key that starts at the given epoch nanoseconds.
+     *
+     * @param key         the key
+     * @param segmentFrom the 'from' epoch nanoseconds of the {@link Segment} (from {@link #getSegmentFrom(long)})
+     *
+     * @return the memory-mapped {@link Segment} (<code>null</code> if it is not cached)
+     */
+    public Segment get(K key, long segmentFrom) {
+        Path segmentPath = getSegmentPath(key, segmentFrom);
+        synchronized (this) {
+            if (byteCountsOfSegmentPaths.get(segmentPath) == null) { // Also marks it as the most recently used
+                return null;
+            }
+        }
+
+        try {
+            return Segment.map(segmentPath);
+        } catch (NoSuchFileException exception) {
+            // The segment file was evicted by another thread or deleted externally
+            unregister(segmentPath);
+            return null;
+        } catch (IOException exception) {
+            LOGGER.warn("Could not read segment file {}! Deleting it.", segmentPath, exception);
+            delete(segmentPath);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the {@link Segment} of the given key that starts at the given epoch nanoseconds.
+     *
+     * @param key           the key
+     * @param segmentFrom   the 'from' epoch nanoseconds of the {@link Segment} (from {@link #getSegmentFrom(long)})
+     * @param segmentWriter the {@link SegmentWriter} containing ALL of the data POJOs of the key within the
+     *                      {@link Segment} timestamp range
+     *
+     * @return the memory-mapped {@link Segment}
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public Segment put(K key, long segmentFrom, SegmentWriter<P> segmentWriter) throws IOException {
+        checkArgument(segmentWriter != null, "The segment writer cannot be null!");
+
+        Path segmentPath = getSegmentPath(key, segmentFrom);
+        Files.createDirectories(segmentPath.getParent());
+
+        // Write to a temporary file first so that readers never see a partially written segment file
+        Path temporaryPath = segmentPath.resolveSibling(segmentPath.getFileName() + "." + UUID.randomUUID() +
+                TEMPORARY_FILE_EXTENSION);
+        long byteCount;
+        try {
+            byteCount = segmentWriter.writeTo(temporaryPath);
+            Files.move(temporaryPath, segmentPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+
+        Segment segment = Segment.map(segmentPath);
+        synchronized (this) {
+            register(segmentPath, byteCount);
+        }
+        return segment;
+    }
+
+    /**
+     * Deletes all of the {@link Segment} files of the given key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        Path keyDirectory = getKeyDirectory(key);
+        if (!Files.isDirectory(keyDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> segmentPaths = Files.newDirectoryStream(keyDirectory)) {
+            for (Path segmentPath : segmentPaths) {
+                delete(segmentPath);
+            }
+        } catch (IOException exception) {
+            LOGGER.warn("Could not delete the segment files in {}!", keyDirectory, exception);
+        }
+    }
+
+    /**
+     * Deletes all of the {@link Segment} files.
+     */
+    public void invalidateAll() {
+        List<Path> segmentPaths;
+        synchronized (this) {
+            segmentPaths = new ArrayList<>(byteCountsOfSegmentPaths.keySet());
+        }
+
+        for (Path segmentPath : segmentPaths) {
+            delete(segmentPath);
+        }
+    }
+
+    /**
+     * Registers a {@link Segment} file as the most recently used one and evicts the least recently used
+     * {@link Segment} files if the {@link #getMaximumByteCount()} is exceeded. This must be called while synchronized.
+     *
+     * @param segmentPath the {@link Segment} file {@link Path}
+     * @param byteCount   the byte size of the {@link Segment} file
+     */
+    private void register(Path segmentPath, long byteCount) {
+        Long previousByteCount = byteCountsOfSegmentPaths.put(segmentPath, byteCount);
+        totalByteCount += byteCount - (previousByteCount == null ? 0 : previousByteCount);
+
+        Iterator<Map.Entry<Path, Long>> entryIterator = byteCountsOfSegmentPaths.entrySet().iterator();
+        while (totalByteCount > maximumByteCount && entryIterator.hasNext()) {
+            Map.Entry<Path, Long> eldestEntry = entryIterator.next();
+            if (eldestEntry.getKey().equals(segmentPath)) { // Never evict the segment that was just registered
+                continue;
+            }
+
+            entryIterator.remove();
+            totalByteCount -= eldestEntry.getValue();
+            try {
+                // Note that readers that have already mapped the segment file can still read it
+                Files.deleteIfExists(eldestEntry.getKey());
+            } catch (IOException exception) {
+                LOGGER.warn("Could not delete evicted segment file {}!", eldestEntry.getKey(), exception);
+            }
+        }
+    }
+
+    /**
+     * Unregisters a {@link Segment} file.
+     *
+     * @param segmentPath the {@link Segment} file {@link Path}
+     */
+    private synchronized void unregister(Path segmentPath) {
+        Long byteCount = byteCountsOfSegmentPaths.remove(segmentPath);
+        if (byteCount != null) {
+            totalByteCount -= byteCount;
+        }
+    }
+
+    /**
+     * Unregisters and deletes a {@link Segment} file.
+     *
+     * @param segmentPath the {@link Segment} file {@link Path}
+     */
+    private void delete(Path segmentPath) {
+        unregister(segmentPath);
+        try {
+            Files.deleteIfExists(segmentPath);
+        } catch (IOException exception) {
+            LOGGER.warn("Could not delete segment file {}!", segmentPath, exception);
+        }
+    }
+
+    /**
+     * Gets the directory {@link Path} of the {@link Segment} files of the given key. The directory name is the
+     * Base32 encoding of the {@link Object#toString()} of the key so that any key results in a valid file name.
+     *
+     * @param key the key
+     *
+     * @return the directory {@link Path}
+     */
+    private Path getKeyDirectory(K key) {
+        checkArgument(key != null, "Key cannot be null!");
+
+        return directory.resolve(BaseEncoding.base32Hex().omitPadding()
+                .encode(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Gets the {@link Path} of the {@link Segment} file of the given key that starts at the given epoch nanoseconds.
+     *
+     * @param key         the key
+     * @param segmentFrom the 'from' epoch nanoseconds of the {@link Segment}
+     *
+     * @return the {@link Segment} file {@link Path}
+     */
+    private Path getSegmentPath(K key, long segmentFrom) {
+        checkArgument(segmentFrom == getSegmentFrom(segmentFrom), "The segment 'from' is not aligned!");
+
+        // The segment duration is part of the file name so that segments of a different duration are never reused
+        return getKeyDirectory(key).resolve(segmentFrom + "_" + segmentDurationNanos + SEGMENT_FILE_EXTENSION);
+    }
+
+    /**
+     * Gets the {@link #serializer}.
+     *
+     * @return the {@link SegmentSerializer}
+     */
+    public SegmentSerializer<P> getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * Gets the {@link #maximumByteCount}.
+     *
+     * @return the maximum total byte size of the {@link Segment} files
+     */
+    public long getMaximumByteCount() {
+        return maximumByteCount;
+    }
+
+    /**
+     * Gets the {@link #segmentDuration}.
+     *
+     * @return the {@link Duration} of the timestamp range of every {@link Segment}
+     */
+    public Duration getSegmentDuration() {
+        return segmentDuration;
+    }
+
+    /**
+     * Gets the total byte size of the cached {@link Segment} files.
+     *
+     * @return the total byte count
+     */
+    public synchronized long getTotalByteCount() {
+        return totalByteCount;
+    }
+
+    /**
+     * Gets the number of cached {@link Segment} files.
+     *
+     * @return the number of {@link Segment} files
+     */
+    public synchronized int size() {
+        return byteCountsOfSegmentPaths.size();
+    }
+}
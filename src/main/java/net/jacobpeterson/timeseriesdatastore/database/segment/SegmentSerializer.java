@@ -0,0 +1,35 @@
+package net.jacobpeterson.timeseriesdatastore.database.segment;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link SegmentSerializer} serializes time series data POJOs into {@link Segment} files and deserializes them from
+ * the memory-mapped {@link Segment} files.
+ *
+ * @param <P> the time series data POJO type parameter
+ */
+public interface SegmentSerializer<P> {
+
+    /**
+     * Writes the given data POJO.
+     *
+     * @param dataPOJO the data POJO
+     * @param output   the {@link DataOutput} to write to
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    void write(P dataPOJO, DataOutput output) throws IOException;
+
+    /**
+     * Reads a data POJO that was written via {@link #write(Object, DataOutput)}.
+     *
+     * @param buffer the {@link ByteBuffer} to read from (positioned at the start of the data POJO bytes with its limit
+     *               at the end of the data POJO bytes). Note that the {@link ByteBuffer} is only valid for the duration
+     *               of this call.
+     *
+     * @return the data POJO
+     */
+    P read(ByteBuffer buffer);
+}
@@ -0,0 +1,121 @@
+package net.jacobpeterson.timeseriesdatastore.database.segment;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link SegmentWriter} collects time series data POJOs (in timestamp order) in memory and writes them as a
+ * {@link Segment} file.
+ *
+ * @param <P> the time series data POJO type parameter
+ */
+public class SegmentWriter<P> {
+
+    private final SegmentSerializer<P> serializer;
+    private final ByteArrayOutputStream rowBytesOutputStream;
+    private final DataOutputStream rowBytesDataOutputStream;
+    private long[] timestamps;
+    private int[] offsets;
+    private int rowCount;
+
+    /**
+     * Instantiates a new {@link SegmentWriter}.
+     *
+     * @param serializer the {@link SegmentSerializer}
+     */
+    public SegmentWriter(SegmentSerializer<P> serializer) {
+        checkArgument(serializer != null, "The serializer cannot be null!");
+
+        this.serializer = serializer;
+        this.rowBytesOutputStream = new ByteArrayOutputStream();
+        this.rowBytesDataOutputStream = new DataOutputStream(rowBytesOutputStream);
+        this.timestamps = new long[64];
+        this.offsets = new int[65];
+    }
+
+    /**
+     * Adds a data POJO.
+     *
+     * @param epochNanos the epoch nanosecond timestamp of the data POJO (must not be before the timestamp of the
+     *                   previously added data POJO)
+     * @param dataPOJO   the data POJO
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public void add(long epochNanos, P dataPOJO) throws IOException {
+        checkArgument(rowCount == 0 || epochNanos >= timestamps[rowCount - 1],
+                "The data POJOs must be added in timestamp order!");
+
+        if (rowCount == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, rowCount * 2);
+            offsets = Arrays.copyOf(offsets, rowCount * 2 + 1);
+        }
+
+        serializer.write(dataPOJO, rowBytesDataOutputStream);
+        // Segment files are memory-mapped into one buffer, so they cannot be larger than 2 GiB
+        if (getByteSize(rowCount + 1, rowBytesOutputStream.size()) >= Integer.MAX_VALUE) {
+            throw new IOException("The segment is too large!");
+        }
+
+        timestamps[rowCount] = epochNanos;
+        offsets[rowCount + 1] = rowBytesOutputStream.size();
+        rowCount++;
+    }
+
+    /**
+     * Gets the number of added data POJOs.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the {@link Segment} file.
+     *
+     * @param path the {@link Path} to write to
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    public long writeTo(Path path) throws IOException {
+        try (OutputStream fileOutputStream = Files.newOutputStream(path);
+             DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+            dataOutputStream.writeInt(Segment.MAGIC);
+            dataOutputStream.writeInt(Segment.VERSION);
+            dataOutputStream.writeInt(rowCount);
+            for (int index = 0; index < rowCount; index++) {
+                dataOutputStream.writeLong(timestamps[index]);
+            }
+            for (int index = 0; index <= rowCount; index++) {
+                dataOutputStream.writeInt(offsets[index]);
+            }
+            rowBytesOutputStream.writeTo(dataOutputStream);
+        }
+
+        return getByteSize(rowCount, rowBytesOutputStream.size());
+    }
+
+    /**
+     * Gets the byte size of a {@link Segment} file.
+     *
+     * @param rowCount     the row count
+     * @param rowBytesSize the byte size of the row bytes
+     *
+     * @return the byte size
+     */
+    private static long getByteSize(int rowCount, int rowBytesSize) {
+        return Segment.HEADER_BYTE_SIZE + (long) rowCount * Long.BYTES + (rowCount + 1L) * Integer.BYTES +
+                rowBytesSize;
+    }
+}
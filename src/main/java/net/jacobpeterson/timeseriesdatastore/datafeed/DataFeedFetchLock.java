@@ -0,0 +1,28 @@
+package net.jacobpeterson.timeseriesdatastore.datafeed;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link DataFeedFetchLock} is a lock that serializes {@link TimeSeriesDataFeed} fetches of the same key across
+ * processes (e.g. several JVMs that share one database) so that a missing timestamp range is fetched from the data
+ * feed and written back to the database only once.
+ *
+ * @param <K> the type parameter of the key used to identify the time series
+ */
+public interface DataFeedFetchLock<K> {
+
+    /**
+     * Calls the given {@link Callable} while holding the lock of the given key. The lock must be held until the
+     * {@link Callable} returns (or throws) and the data that the {@link Callable} wrote back to the database must be
+     * visible to the next holder of the lock.
+     *
+     * @param <T>      the return type parameter
+     * @param key      the key
+     * @param callable the {@link Callable}
+     *
+     * @return the return value of the {@link Callable}
+     *
+     * @throws Exception thrown for {@link Exception}s
+     */
+    <T> T callLocked(K key, Callable<T> callable) throws Exception;
+}
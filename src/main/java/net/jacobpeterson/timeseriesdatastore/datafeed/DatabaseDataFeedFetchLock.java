@@ -0,0 +1,102 @@
+package net.jacobpeterson.timeseriesdatastore.datafeed;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.exception.SQLStateClass;
+import org.jooq.impl.DSL;
+
+import java.util.concurrent.Callable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * {@link DatabaseDataFeedFetchLock} is a {@link DataFeedFetchLock} that uses advisory lock rows in a database table
+ * (one row per key) that are locked via <code>SELECT ... FOR UPDATE</code>. The lock table must have the given lock
+ * key field as its primary key (e.g. <code>CREATE TABLE data_feed_fetch_lock (lock_key VARCHAR(255) PRIMARY
+ * KEY)</code>). Note that a database connection and transaction are held open for as long as the lock is held (that
+ * is, for the duration of the data feed fetch).
+ *
+ * @param <K> the type parameter of the key used to identify the time series
+ */
+public class DatabaseDataFeedFetchLock<K> implements DataFeedFetchLock<K> {
+
+    private final DSLContext create;
+    private final Table<?> lockTable;
+    private final Field<String> lockKeyField;
+
+    /**
+     * Instantiates a new {@link DatabaseDataFeedFetchLock}.
+     *
+     * @param create       the {@link DSLContext}
+     * @param lockTable    the lock {@link Table}
+     * @param lockKeyField the lock key {@link Field} (the primary key of the lock {@link Table}) which is set to
+     *                     {@link String#valueOf(Object)} of the key
+     */
+    public DatabaseDataFeedFetchLock(DSLContext create, Table<?> lockTable, Field<String> lockKeyField) {
+        checkArgument(create != null, "The DSLContext cannot be null!");
+        checkArgument(lockTable != null, "The lock table cannot be null!");
+        checkArgument(lockKeyField != null, "The lock key field cannot be null!");
+
+        this.create = create;
+        this.lockTable = lockTable;
+        this.lockKeyField = lockKeyField;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * This locks the row of the given key (inserting it first if it does not exist yet) within a transaction that is
+     * committed once the {@link Callable} returns. Checked {@link Exception}s thrown by the {@link Callable} are
+     * wrapped in a {@link DataAccessException} by jOOQ.
+     */
+    @Override
+    public <T> T callLocked(K key, Callable<T> callable) throws Exception {
+        checkArgument(key != null, "Key cannot be null!");
+        checkArgument(callable != null, "The callable cannot be null!");
+
+        final String lockKey = String.valueOf(key);
+        return create.transactionResult(configuration -> {
+            DSLContext transaction = DSL.using(configuration);
+
+            if (!lockRow(transaction, lockKey)) {
+                try {
+                    // Blocks on the primary key of a concurrently inserted lock row until that transaction completes.
+                    // The nested transaction rolls back to a savepoint so that a failed insert leaves the transaction
+                    // usable.
+                    transaction.transaction(insertConfiguration -> DSL.using(insertConfiguration)
+                            .insertInto(lockTable)
+                            .set(lockKeyField, lockKey)
+                            .execute());
+                } catch (DataAccessException exception) {
+                    if (exception.sqlStateClass() != SQLStateClass.C23_INTEGRITY_CONSTRAINT_VIOLATION) {
+                        throw exception;
+                    }
+                    // The lock row was inserted concurrently
+                }
+                checkState(lockRow(transaction, lockKey), "The lock row could not be locked!");
+            }
+
+            return callable.call();
+        });
+    }
+
+    /**
+     * Locks the row of the given lock key via <code>SELECT ... FOR UPDATE</code>.
+     *
+     * @param transaction the transactional {@link DSLContext}
+     * @param lockKey     the lock key
+     *
+     * @return <code>true</code> if the row exists (and is now locked)
+     */
+    private boolean lockRow(DSLContext transaction, String lockKey) {
+        return !transaction.select(lockKeyField)
+                .from(lockTable)
+                .where(lockKeyField.equal(lockKey))
+                .forUpdate()
+                .fetch()
+                .isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package net.jacobpeterson.timeseriesdatastore.datafeed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link TimeSeriesDataFeed} is used to fetch time series data from a data feed (e.g. a market data vendor API) for
+ * timestamp ranges that do not yet exist in the database.
+ *
+ * @param <K> the type parameter of the key used to identify the time series
+ * @param <P> the time series data POJO type parameter
+ */
+public interface TimeSeriesDataFeed<K, P> {
+
+    /**
+     * Fetches the data POJOs from this data feed. This method may be called concurrently from several threads.
+     *
+     * @param key  the key
+     * @param from the 'from' (inclusive)
+     * @param to   the 'to' (exclusive)
+     *
+     * @return a {@link List} of all the data POJOs within the given range <strong>(the data POJOs MUST be sorted from
+     * oldest to newest)</strong>
+     *
+     * @throws Exception thrown for {@link Exception}s
+     */
+    List<P> get(K key, LocalDateTime from, LocalDateTime to) throws Exception;
+}
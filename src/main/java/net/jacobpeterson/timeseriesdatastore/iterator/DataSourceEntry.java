@@ -0,0 +1,70 @@
+package net.jacobpeterson.timeseriesdatastore.iterator;
+
+import java.util.Objects;
+
+/**
+ * {@link DataSourceEntry} represents a data POJO that is tagged with the {@link DataSource} that it was retrieved
+ * from.
+ *
+ * @param <P> the data POJO type parameter
+ */
+public class DataSourceEntry<P> {
+
+    private final P data;
+    private final DataSource dataSource;
+
+    /**
+     * Instantiates a new {@link DataSourceEntry}.
+     *
+     * @param data       the data POJO
+     * @param dataSource the {@link DataSource}
+     */
+    public DataSourceEntry(P data, DataSource dataSource) {
+        this.data = data;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        DataSourceEntry<?> otherDataSourceEntry = (DataSourceEntry<?>) other;
+        return Objects.equals(data, otherDataSourceEntry.data) && dataSource == otherDataSourceEntry.dataSource;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data, dataSource);
+    }
+
+    @Override
+    public String toString() {
+        return "DataSourceEntry{" +
+                "data=" + data +
+                ", dataSource=" + dataSource +
+                '}';
+    }
+
+    /**
+     * Gets the {@link #data}.
+     *
+     * @return the {@link #data}
+     */
+    public P getData() {
+        return data;
+    }
+
+    /**
+     * Gets the {@link #dataSource}.
+     *
+     * @return the {@link #dataSource}
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+}
@@ -0,0 +1,249 @@
+package net.jacobpeterson.timeseriesdatastore.iterator;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link IteratorPublisher} is a cold Reactive Streams {@link Publisher} of the elements of a blocking
+ * {@link Iterator}. Every {@link Subscriber} gets its own {@link Iterator} from the {@link Supplier}, which is created
+ * and iterated on the given {@link Executor} only while the {@link Subscriber} has outstanding demand, so no thread is
+ * occupied by a {@link Subscriber} that isn't requesting elements. At most {@link #DRAIN_BATCH_SIZE} elements are
+ * emitted per task before the next task is submitted, so many subscriptions can share a small thread pool fairly. On
+ * newer JDKs, a virtual thread per task <code>Executor</code> can be used as well. The {@link Iterator} is closed if
+ * it is {@link AutoCloseable} once it's exhausted, once it has thrown an exception, or once the {@link Subscription}
+ * is cancelled.
+ *
+ * @param <E> the type parameter of the element
+ */
+public class IteratorPublisher<E> implements Publisher<E> {
+
+    /**
+     * The maximum number of elements that one task emits before it yields its thread to other tasks.
+     */
+    public static final int DRAIN_BATCH_SIZE = 256;
+
+    private final Supplier<? extends Iterator<? extends E>> iteratorSupplier;
+    private final Executor executor;
+
+    /**
+     * Instantiates a new {@link IteratorPublisher}.
+     *
+     * @param iteratorSupplier the {@link Supplier} of the {@link Iterator} of a {@link Subscriber} (which is called
+     *                         on the {@link Executor})
+     * @param executor         the {@link Executor} to create and iterate the {@link Iterator}s on
+     */
+    public IteratorPublisher(Supplier<? extends Iterator<? extends E>> iteratorSupplier, Executor executor) {
+        checkArgument(iteratorSupplier != null, "The iterator supplier cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+
+        this.iteratorSupplier = iteratorSupplier;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super E> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("The subscriber cannot be null!");
+        }
+
+        IteratorSubscription subscription = new IteratorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * {@link IteratorSubscription} is the {@link Subscription} of one {@link Subscriber}. The {@link Iterator} is
+     * only ever accessed by one drain task at a time (which is guaranteed by the {@link #workInProgress} counter).
+     */
+    private class IteratorSubscription implements Subscription {
+
+        private final AtomicLong demand;
+        private final AtomicInteger workInProgress;
+        private Subscriber<? super E> subscriber;
+        private Iterator<? extends E> iterator;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean done;
+
+        /**
+         * Instantiates a new {@link IteratorSubscription}.
+         *
+         * @param subscriber the {@link Subscriber}
+         */
+        public IteratorSubscription(Subscriber<? super E> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.workInProgress = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long elementCount) {
+            if (elementCount <= 0) {
+                invalidRequest = new IllegalArgumentException(
+                        "The requested element count must be greater than zero! (Rule 3.9)");
+            } else {
+                long currentDemand;
+                long newDemand;
+                do {
+                    currentDemand = demand.get();
+                    newDemand = currentDemand + elementCount;
+                    if (newDemand < 0) {
+                        newDemand = Long.MAX_VALUE; // Effectively unbounded
+                    }
+                } while (!demand.compareAndSet(currentDemand, newDemand));
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain(); // The iterator is closed by the drain task since it's only ever accessed by one thread
+        }
+
+        /**
+         * Submits a drain task to the {@link #executor} if none is running.
+         */
+        private void scheduleDrain() {
+            if (workInProgress.getAndIncrement() == 0) {
+                submitDrain();
+            }
+        }
+
+        /**
+         * Submits a drain task to the {@link #executor}.
+         */
+        private void submitDrain() {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException exception) {
+                // No drain task is running, so this thread may terminate the subscription
+                cancelled = true;
+                closeIterator();
+                if (!done) {
+                    done = true;
+                    subscriber.onError(exception);
+                }
+                subscriber = null;
+            }
+        }
+
+        /**
+         * Emits elements of the {@link #iterator} while there is demand.
+         */
+        private void drain() {
+            int missed = workInProgress.get();
+            int emittedCount = 0;
+            while (true) {
+                if (done) {
+                    return;
+                }
+
+                if (cancelled) {
+                    terminate(null, false);
+                    return;
+                }
+
+                Throwable invalidRequest = this.invalidRequest;
+                if (invalidRequest != null) {
+                    terminate(invalidRequest, true);
+                    return;
+                }
+
+                try {
+                    if (iterator == null) {
+                        iterator = iteratorSupplier.get();
+                    }
+
+                    long currentDemand = demand.get();
+                    long emittedDemand = 0;
+                    while (emittedDemand < currentDemand && !cancelled) {
+                        if (!iterator.hasNext()) {
+                            terminate(null, true);
+                            return;
+                        }
+
+                        E element = iterator.next();
+                        if (element == null) {
+                            throw new NullPointerException("The iterator returned a null element! (Rule 2.13)");
+                        }
+                        subscriber.onNext(element);
+                        emittedDemand++;
+
+                        if (++emittedCount >= DRAIN_BATCH_SIZE) {
+                            break;
+                        }
+                    }
+
+                    // Check for completion eagerly so that a Subscriber doesn't need to request more to complete
+                    if (emittedDemand == currentDemand && !cancelled && !iterator.hasNext()) {
+                        terminate(null, true);
+                        return;
+                    }
+
+                    if (emittedDemand > 0 && currentDemand != Long.MAX_VALUE) {
+                        demand.addAndGet(-emittedDemand);
+                    }
+                } catch (Throwable throwable) {
+                    terminate(throwable, true);
+                    return;
+                }
+
+                if (emittedCount >= DRAIN_BATCH_SIZE && demand.get() > 0 && !cancelled) {
+                    // Yield the thread to other tasks while keeping the work in progress
+                    submitDrain();
+                    return;
+                }
+
+                missed = workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Terminates this {@link IteratorSubscription} by closing the {@link #iterator} and signalling the
+         * {@link #subscriber} (if <code>signal</code> is <code>true</code>).
+         *
+         * @param throwable the {@link Throwable} to signal with {@link Subscriber#onError(Throwable)}
+         *                  (<code>null</code> to signal {@link Subscriber#onComplete()})
+         * @param signal    whether to signal the {@link #subscriber}
+         */
+        private void terminate(Throwable throwable, boolean signal) {
+            done = true;
+            cancelled = true;
+            closeIterator();
+
+            Subscriber<? super E> subscriber = this.subscriber;
+            this.subscriber = null; // Rule 3.13
+            if (signal) {
+                if (throwable == null) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onError(throwable);
+                }
+            }
+        }
+
+        /**
+         * Closes the {@link #iterator} if it is {@link AutoCloseable}.
+         */
+        private void closeIterator() {
+            if (iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iterator).close();
+                } catch (Exception ignored) {}
+            }
+            iterator = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.jacobpeterson.timeseriesdatastore.iterator;
+
+import com.google.common.collect.Iterators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link MergeSortedIterator} is an {@link Iterator} that merges sorted source {@link Iterator}s with a k-way merge
+ * and maps the merged elements. Unlike {@link Iterators#mergeSorted(Iterable, Comparator)}, it is
+ * {@link AutoCloseable} and closes every source {@link Iterator} that is {@link AutoCloseable} (e.g. the
+ * {@link ReadAheadIterator}s of database cursors), so that abandoning the merge early releases all of them.
+ *
+ * @param <S> the type parameter of the source element
+ * @param <E> the type parameter of the mapped element
+ */
+public class MergeSortedIterator<S, E> implements Iterator<E>, AutoCloseable {
+
+    private final List<Iterator<? extends S>> sourceIterators;
+    private final Iterator<? extends S> mergedIterator;
+    private final Function<? super S, ? extends E> mapper;
+    private boolean closed;
+
+    /**
+     * Instantiates a new {@link MergeSortedIterator}.
+     *
+     * @param sourceIterators the source {@link Iterator}s (each sorted by the given {@link Comparator})
+     * @param comparator      the {@link Comparator} of the source elements
+     * @param mapper          the {@link Function} that maps a source element to the element to return
+     */
+    public MergeSortedIterator(List<? extends Iterator<? extends S>> sourceIterators,
+            Comparator<? super S> comparator, Function<? super S, ? extends E> mapper) {
+        checkArgument(sourceIterators != null, "The source iterators cannot be null!");
+        checkArgument(comparator != null, "The comparator cannot be null!");
+        checkArgument(mapper != null, "The mapper cannot be null!");
+
+        this.sourceIterators = new ArrayList<>(sourceIterators);
+        this.mergedIterator = Iterators.mergeSorted(this.sourceIterators, comparator);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        boolean hasNext = mergedIterator.hasNext();
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mapper.apply(mergedIterator.next());
+    }
+
+    /**
+     * Closes every source {@link Iterator} that is {@link AutoCloseable}.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Iterator<? extends S> sourceIterator : sourceIterators) {
+            if (sourceIterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) sourceIterator).close();
+                } catch (Exception ignored) {}
+            }
+        }
+    }
+}
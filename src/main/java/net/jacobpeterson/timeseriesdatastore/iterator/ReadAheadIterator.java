@@ -0,0 +1,307 @@
+package net.jacobpeterson.timeseriesdatastore.iterator;
+
+import net.jacobpeterson.timeseriesdatastore.TimeSeriesDataStoreException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ReadAheadIterator} is an {@link Iterator} that reads ahead of its consumer by iterating a source
+ * {@link Iterator} on an {@link Executor} into a bounded buffer. The source {@link Iterator} is iterated in refill
+ * tasks that each stop once the buffer is full, so a refill task never blocks a thread of the {@link Executor} while
+ * waiting on the consumer (which means that many {@link ReadAheadIterator}s can share a small, bounded thread pool).
+ * A new refill task is submitted once the buffer is at most half full. Any exception thrown by the source
+ * {@link Iterator} is rethrown to the consumer.
+ *
+ * @param <E> the type parameter of the element
+ */
+public class ReadAheadIterator<E> implements Iterator<E>, AutoCloseable {
+
+    /**
+     * The maximum number of elements that a refill task iterates from the source {@link Iterator} before adding them
+     * to the buffer.
+     */
+    private static final int REFILL_BATCH_SIZE = 64;
+
+    private final Iterator<E> sourceIterator;
+    private final Executor executor;
+    private final int capacity;
+    private final ArrayDeque<E> buffer;
+    private final ReentrantLock lock;
+    private final Condition bufferNotEmpty;
+    private boolean refilling;
+    private boolean sourceExhausted;
+    private boolean closed;
+    private Throwable failure;
+
+    /**
+     * Instantiates a new {@link ReadAheadIterator}. Note that nothing is read ahead until {@link #start()} or
+     * {@link #hasNext()} is called.
+     *
+     * @param sourceIterator the source {@link Iterator} (only ever iterated by one refill task at a time)
+     * @param executor       the {@link Executor} to run the refill tasks on
+     * @param capacity       the maximum number of elements to read ahead
+     */
+    public ReadAheadIterator(Iterator<E> sourceIterator, Executor executor, int capacity) {
+        checkArgument(sourceIterator != null, "The source iterator cannot be null!");
+        checkArgument(executor != null, "The executor cannot be null!");
+        checkArgument(capacity > 0, "The capacity must be greater than zero!");
+
+        this.sourceIterator = sourceIterator;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(Math.min(capacity, 1024));
+        this.lock = new ReentrantLock();
+        this.bufferNotEmpty = lock.newCondition();
+    }
+
+    /**
+     * Starts reading ahead.
+     *
+     * @return this {@link ReadAheadIterator}
+     */
+    public ReadAheadIterator<E> start() {
+        boolean submitRefill;
+        lock.lock();
+        try {
+            submitRefill = shouldRefill();
+        } finally {
+            lock.unlock();
+        }
+
+        if (submitRefill) {
+            submitRefill();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        boolean submitRefill = false;
+        lock.lock();
+        try {
+            while (buffer.isEmpty()) {
+                throwIfFailed();
+                if (sourceExhausted || closed) {
+                    return false;
+                }
+
+                if (shouldRefill()) {
+                    // Submit the refill task outside of the lock since the executor may run it on this thread
+                    submitRefill = true;
+                    break;
+                }
+
+                bufferNotEmpty.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (submitRefill) {
+            submitRefill();
+            return hasNext();
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        E element;
+        boolean submitRefill;
+        lock.lock();
+        try {
+            element = buffer.poll();
+            submitRefill = shouldRefill();
+        } finally {
+            lock.unlock();
+        }
+
+        if (submitRefill) {
+            submitRefill();
+        }
+        return element;
+    }
+
+    /**
+     * Stops reading ahead and discards the buffered elements. The source {@link Iterator} is closed if it is
+     * {@link AutoCloseable} and no refill task is currently iterating it (otherwise the running refill task closes
+     * it).
+     */
+    @Override
+    public void close() {
+        boolean closeSource;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+            closeSource = !refilling;
+            bufferNotEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (closeSource) {
+            closeSourceIterator();
+        }
+    }
+
+    /**
+     * Checks if a refill task should be submitted and marks it as submitted if so. This must be called while
+     * holding the {@link #lock}.
+     *
+     * @return a boolean
+     */
+    private boolean shouldRefill() {
+        if (refilling || sourceExhausted || closed || failure != null || buffer.size() > capacity / 2) {
+            return false;
+        }
+
+        refilling = true;
+        return true;
+    }
+
+    /**
+     * Submits a refill task to the {@link #executor}.
+     */
+    private void submitRefill() {
+        try {
+            executor.execute(this::refill);
+        } catch (RuntimeException exception) {
+            lock.lock();
+            try {
+                refilling = false;
+                failure = exception;
+                bufferNotEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Iterates the {@link #sourceIterator} into the {@link #buffer} until the {@link #buffer} is full or the
+     * {@link #sourceIterator} is exhausted.
+     */
+    private void refill() {
+        boolean closeSource = false;
+        try {
+            ArrayList<E> batch = new ArrayList<>(Math.min(capacity, REFILL_BATCH_SIZE));
+            while (true) {
+                int freeCapacity;
+                lock.lock();
+                try {
+                    if (closed) {
+                        closeSource = true;
+                        return;
+                    }
+                    freeCapacity = capacity - buffer.size();
+                } finally {
+                    lock.unlock();
+                }
+
+                if (freeCapacity <= 0) {
+                    return;
+                }
+
+                // Iterate the source outside of the lock so that the consumer can keep consuming
+                int batchSize = Math.min(freeCapacity, REFILL_BATCH_SIZE);
+                boolean exhausted = false;
+                batch.clear();
+                while (batch.size() < batchSize) {
+                    if (!sourceIterator.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    batch.add(sourceIterator.next());
+                }
+
+                lock.lock();
+                try {
+                    buffer.addAll(batch);
+                    sourceExhausted = exhausted;
+                    bufferNotEmpty.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+                if (exhausted) {
+                    return;
+                }
+            }
+        } catch (Throwable throwable) {
+            lock.lock();
+            try {
+                failure = throwable;
+            } finally {
+                lock.unlock();
+            }
+            closeSource = true;
+        } finally {
+            lock.lock();
+            try {
+                refilling = false;
+                closeSource |= closed;
+                bufferNotEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            if (closeSource) {
+                closeSourceIterator();
+            }
+        }
+    }
+
+    /**
+     * Closes the {@link #sourceIterator} if it is {@link AutoCloseable}.
+     */
+    private void closeSourceIterator() {
+        if (sourceIterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) sourceIterator).close();
+            } catch (Exception ignored) {}
+        }
+    }
+
+    /**
+     * Rethrows the {@link #failure} of the {@link #sourceIterator} (if any). This must be called while holding the
+     * {@link #lock}.
+     */
+    private void throwIfFailed() {
+        if (failure == null) {
+            return;
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else {
+            throw new TimeSeriesDataStoreException("Could not read ahead!", failure);
+        }
+    }
+
+    /**
+     * Gets the {@link #capacity}.
+     *
+     * @return the maximum number of elements to read ahead
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
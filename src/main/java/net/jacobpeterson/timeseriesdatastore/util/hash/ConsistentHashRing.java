@@ -0,0 +1,130 @@
+package net.jacobpeterson.timeseriesdatastore.util.hash;
+
+import com.google.common.hash.Funnel;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ConsistentHashRing} assigns keys to named nodes with consistent hashing. Every node is placed on a 64 bit
+ * hash ring at {@link #getVirtualNodeCount()} positions that are derived from its ID, and a key is assigned to the
+ * node at the first position at or after the hash of the key. Since the positions of a node only depend on its ID,
+ * adding a node only moves the keys that the new node takes over (about <code>1 / nodeCount</code> of them) and
+ * every other key keeps its node. This class is immutable and thread-safe.
+ *
+ * @param <K> the type parameter of the key
+ * @param <N> the type parameter of the node
+ */
+public class ConsistentHashRing<K, N> {
+
+    /**
+     * The default value for {@link #getVirtualNodeCount()}.
+     */
+    public static final int DEFAULT_VIRTUAL_NODE_COUNT = 160;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final Map<String, N> nodesOfIDs;
+    private final Funnel<? super K> keyFunnel;
+    private final int virtualNodeCount;
+    private final NavigableMap<Long, String> nodeIDsOfPositions;
+
+    /**
+     * Instantiates a new {@link ConsistentHashRing} with {@link #DEFAULT_VIRTUAL_NODE_COUNT} virtual nodes per node.
+     *
+     * @param nodesOfIDs the nodes {@link Map} with the node IDs as keys
+     * @param keyFunnel  the {@link Funnel} that writes a key to the hash function (e.g.
+     *                   {@link com.google.common.hash.Funnels#stringFunnel(java.nio.charset.Charset)})
+     */
+    public ConsistentHashRing(Map<String, ? extends N> nodesOfIDs, Funnel<? super K> keyFunnel) {
+        this(nodesOfIDs, keyFunnel, DEFAULT_VIRTUAL_NODE_COUNT);
+    }
+
+    /**
+     * Instantiates a new {@link ConsistentHashRing}.
+     *
+     * @param nodesOfIDs       the nodes {@link Map} with the node IDs as keys
+     * @param keyFunnel        the {@link Funnel} that writes a key to the hash function (e.g.
+     *                         {@link com.google.common.hash.Funnels#stringFunnel(java.nio.charset.Charset)})
+     * @param virtualNodeCount the number of positions of every node on the ring (more positions spread the keys more
+     *                         evenly)
+     */
+    public ConsistentHashRing(Map<String, ? extends N> nodesOfIDs, Funnel<? super K> keyFunnel,
+            int virtualNodeCount) {
+        checkArgument(nodesOfIDs != null && !nodesOfIDs.isEmpty(), "The nodes cannot be empty!");
+        checkArgument(!nodesOfIDs.containsKey(null) && !nodesOfIDs.containsValue(null),
+                "The nodes cannot contain null!");
+        checkArgument(keyFunnel != null, "The key funnel cannot be null!");
+        checkArgument(virtualNodeCount > 0, "The virtual node count must be greater than zero!");
+
+        this.nodesOfIDs = Collections.unmodifiableMap(new LinkedHashMap<>(nodesOfIDs));
+        this.keyFunnel = keyFunnel;
+        this.virtualNodeCount = virtualNodeCount;
+        this.nodeIDsOfPositions = new TreeMap<>();
+
+        for (String nodeID : this.nodesOfIDs.keySet()) {
+            for (int virtualNodeIndex = 0; virtualNodeIndex < virtualNodeCount; virtualNodeIndex++) {
+                long position = HASH_FUNCTION.newHasher()
+                        .putString(nodeID, StandardCharsets.UTF_8)
+                        .putInt(virtualNodeIndex)
+                        .hash().asLong();
+                // The smaller node ID wins a (very unlikely) position collision so that the ring is deterministic
+                nodeIDsOfPositions.merge(position, nodeID,
+                        (existingNodeID, newNodeID) -> existingNodeID.compareTo(newNodeID) <= 0 ?
+                                existingNodeID : newNodeID);
+            }
+        }
+    }
+
+    /**
+     * Gets the ID of the node that the given key is assigned to.
+     *
+     * @param key the key
+     *
+     * @return the node ID
+     */
+    public String getNodeID(K key) {
+        checkArgument(key != null, "Key cannot be null!");
+
+        long position = HASH_FUNCTION.hashObject(key, keyFunnel).asLong();
+        Map.Entry<Long, String> nodeIDEntry = nodeIDsOfPositions.ceilingEntry(position);
+        return nodeIDEntry == null ? nodeIDsOfPositions.firstEntry().getValue() : nodeIDEntry.getValue();
+    }
+
+    /**
+     * Gets the node that the given key is assigned to.
+     *
+     * @param key the key
+     *
+     * @return the node
+     */
+    public N getNode(K key) {
+        return nodesOfIDs.get(getNodeID(key));
+    }
+
+    /**
+     * Gets the {@link #nodesOfIDs}.
+     *
+     * @return an unmodifiable {@link Map} of the nodes with the node IDs as keys
+     */
+    public Map<String, N> getNodesOfIDs() {
+        return nodesOfIDs;
+    }
+
+    /**
+     * Gets the {@link #virtualNodeCount}.
+     *
+     * @return the {@link #virtualNodeCount}
+     */
+    public int getVirtualNodeCount() {
+        return virtualNodeCount;
+    }
+}
@@ -0,0 +1,274 @@
+package net.jacobpeterson.timeseriesdatastore.util.temporalrange;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link EpochNanoRangeUtil} contains the {@link TemporalRangeUtil} operations for {@link EpochNanoRanges}. The
+ * results are written into a caller-supplied output {@link EpochNanoRanges} (which is cleared first) so that the
+ * buffers can be reused across calls without allocating any objects.
+ */
+public final class EpochNanoRangeUtil {
+
+    /**
+     * The 'to' nano of day that represents the end of the day (that is, the start of the next day).
+     */
+    public static final long END_OF_DAY = EpochNanoRanges.NANOS_PER_DAY;
+
+    /**
+     * Gets missing ranges from found/valid ranges. That is, invert ranges given in the <code>validRanges</code> on a
+     * timeline.
+     *
+     * @param from                  the 'from' epoch nanoseconds (inclusive)
+     * @param to                    the 'to' epoch nanoseconds (inclusive)
+     * @param validRanges           the valid {@link EpochNanoRanges} (the 'from's MUST be sorted from oldest to
+     *                              newest)
+     * @param fromExclusivityOffset the nanoseconds added to a 'from' in a returned range
+     * @param toExclusivityOffset   the nanoseconds subtracted from a 'to' in a returned range
+     * @param missingRanges         the output {@link EpochNanoRanges} (must not be the <code>validRanges</code>)
+     *
+     * @return the <code>missingRanges</code>
+     *
+     * @see TemporalRangeUtil#getMissingTemporalRanges(LocalDateTime, LocalDateTime, List, Duration, Duration)
+     */
+    public static EpochNanoRanges getMissingRanges(long from, long to, EpochNanoRanges validRanges,
+            long fromExclusivityOffset, long toExclusivityOffset, EpochNanoRanges missingRanges) {
+        checkNotNull(validRanges);
+        checkNotNull(missingRanges);
+        checkArgument(validRanges != missingRanges, "The valid and missing ranges must be different instances!");
+        checkArgument(to >= from, "From must be before to!");
+
+        missingRanges.clear();
+
+        // If validRanges is empty, return the input from and to
+        if (validRanges.isEmpty()) {
+            missingRanges.add(from, to);
+            return missingRanges;
+        }
+
+        final long fromPlusFromOffset = from + fromExclusivityOffset;
+        long missingFrom = from;
+
+        // Loop through the validRanges from oldest to newest
+        for (int index = 0; index < validRanges.size(); index++) {
+            long validFrom = validRanges.getFrom(index);
+            long validTo = validRanges.getTo(index);
+
+            if (validFrom > validTo) {
+                throw new IllegalArgumentException("From must be before to in the validRanges!");
+            }
+
+            if (validFrom <= missingFrom) {
+                if (validTo > from) {
+                    missingFrom = validTo;
+                } else if (validTo == from) {
+                    // If validTo equals the passed in 'from' then add fromOffset to missingFrom
+                    missingFrom = fromPlusFromOffset;
+                }
+            } else { // validFrom is after missingFrom
+
+                // Break if missingFrom/previous validTo is beyond the passed in 'to'
+                // or if the validFrom is after the passed in 'to'
+                if (missingFrom > to || validFrom > to) {
+                    break;
+                }
+
+                long missingFromPlusFromOffset = missingFrom + fromExclusivityOffset;
+                long missingToMinusToOffset = validFrom - toExclusivityOffset;
+                // If offsets cause the missing range to overlap, do not add it (but it is okay if they are equal)
+                if (missingFromPlusFromOffset <= missingToMinusToOffset) {
+                    // Clamp offsets to passed in 'from' and passed in 'to' just in case
+                    missingFromPlusFromOffset = Math.min(missingFromPlusFromOffset, to);
+                    missingToMinusToOffset = Math.max(missingToMinusToOffset, from);
+
+                    missingRanges.add(missingFrom == from ? missingFrom : missingFromPlusFromOffset,
+                            missingToMinusToOffset);
+                }
+
+                missingFrom = validTo;
+
+                // Break if validTo is beyond the passed in 'to'
+                if (validTo >= to) {
+                    break;
+                }
+            }
+        }
+
+        // Clamp missingFrom to 'from' (without fromOffset)
+        if (missingFrom < from) {
+            missingFrom = from;
+        }
+
+        // Add the last missingFrom and passed in 'to' (without toOffset) range if
+        // no valid ranges extend beyond the passed in 'to'
+        if (missingFrom < to) {
+            missingRanges.add(missingFrom == from ? missingFrom : missingFrom + fromExclusivityOffset, to);
+        }
+
+        return missingRanges;
+    }
+
+    /**
+     * Squashes the given ranges on the timeline. That is, any overlapping ranges become one range.
+     *
+     * @param ranges         the {@link EpochNanoRanges} <strong>(the 'from's MUST be sorted from oldest to
+     *                       newest)</strong>
+     * @param squashedRanges the output {@link EpochNanoRanges} (must not be the <code>ranges</code>)
+     *
+     * @return the <code>squashedRanges</code>
+     *
+     * @see TemporalRangeUtil#squash(List)
+     */
+    public static EpochNanoRanges squash(EpochNanoRanges ranges, EpochNanoRanges squashedRanges) {
+        checkNotNull(ranges);
+        checkNotNull(squashedRanges);
+        checkArgument(ranges != squashedRanges, "The input and output ranges must be different instances!");
+
+        squashedRanges.clear();
+
+        if (ranges.isEmpty()) {
+            return squashedRanges;
+        }
+
+        long currentOldestFrom = ranges.getFrom(0);
+        long currentNewestTo = ranges.getTo(0);
+        for (int index = 1; index < ranges.size(); index++) { // Start the loop at the 2nd range
+            long currentFrom = ranges.getFrom(index);
+            long currentTo = ranges.getTo(index);
+
+            if (currentFrom > currentNewestTo) {
+                squashedRanges.add(currentOldestFrom, currentNewestTo);
+                currentOldestFrom = currentFrom;
+                currentNewestTo = currentTo;
+            } else if (currentTo > currentNewestTo) {
+                currentNewestTo = currentTo;
+            }
+        }
+
+        squashedRanges.add(currentOldestFrom, currentNewestTo);
+
+        return squashedRanges;
+    }
+
+    /**
+     * Clamps the given ranges on the timeline. That is, any ranges that lie outside the passed in <code>from</code>
+     * and <code>to</code> are clamped to the passed in <code>from</code> and <code>to</code>.
+     *
+     * @param ranges        the {@link EpochNanoRanges} <strong>(the 'from's MUST be sorted from oldest to
+     *                      newest)</strong>
+     * @param from          the 'from' epoch nanoseconds to clamp to
+     * @param to            the 'to' epoch nanoseconds to clamp to
+     * @param clampedRanges the output {@link EpochNanoRanges} (must not be the <code>ranges</code>)
+     *
+     * @return the <code>clampedRanges</code>
+     *
+     * @see TemporalRangeUtil#clamp(List, LocalDateTime, LocalDateTime)
+     */
+    public static EpochNanoRanges clamp(EpochNanoRanges ranges, long from, long to, EpochNanoRanges clampedRanges) {
+        checkNotNull(ranges);
+        checkNotNull(clampedRanges);
+        checkArgument(ranges != clampedRanges, "The input and output ranges must be different instances!");
+
+        clampedRanges.clear();
+
+        if (ranges.isEmpty()) {
+            return clampedRanges;
+        }
+
+        checkArgument(to >= from, "From must be before to!");
+
+        for (int index = 0; index < ranges.size(); index++) {
+            long currentFrom = ranges.getFrom(index);
+            long currentTo = ranges.getTo(index);
+
+            // Only add it if the range is even within the 'from' and 'to'
+            if (currentFrom > to || currentTo < from) {
+                continue;
+            }
+
+            clampedRanges.add(Math.max(from, currentFrom), Math.min(to, currentTo));
+        }
+
+        return clampedRanges;
+    }
+
+    /**
+     * Clamps the ranges on the timeline to ranges that are only within the given <code>from</code> and
+     * <code>to</code> {@link LocalTime}s.
+     *
+     * @param ranges        the {@link EpochNanoRanges} <strong>(the 'from's MUST be sorted from oldest to newest and
+     *                      they must not intersect)</strong>
+     * @param from          the 'from' {@link LocalTime} to clamp to (<code>null</code> for the start of the day)
+     * @param to            the 'to' {@link LocalTime} to clamp to (<code>null</code> for the end of the day)
+     * @param clampedRanges the output {@link EpochNanoRanges} (must not be the <code>ranges</code>)
+     *
+     * @return the <code>clampedRanges</code>
+     *
+     * @see #clampToTimeOfDay(EpochNanoRanges, long, long, EpochNanoRanges)
+     */
+    public static EpochNanoRanges clamp(EpochNanoRanges ranges, LocalTime from, LocalTime to,
+            EpochNanoRanges clampedRanges) {
+        return clampToTimeOfDay(ranges, from == null ? 0 : from.toNanoOfDay(), to == null ? END_OF_DAY :
+                to.toNanoOfDay(), clampedRanges);
+    }
+
+    /**
+     * Clamps the ranges on the timeline to ranges that are only within the given <code>fromNanoOfDay</code> and
+     * <code>toNanoOfDay</code>.
+     *
+     * @param ranges        the {@link EpochNanoRanges} <strong>(the 'from's MUST be sorted from oldest to newest and
+     *                      they must not intersect)</strong>
+     * @param fromNanoOfDay the 'from' nano of day to clamp to
+     * @param toNanoOfDay   the 'to' nano of day to clamp to ({@link #END_OF_DAY} for the end of the day)
+     * @param clampedRanges the output {@link EpochNanoRanges} (must not be the <code>ranges</code>)
+     *
+     * @return the <code>clampedRanges</code>
+     *
+     * @see TemporalRangeUtil#clamp(List, LocalTime, LocalTime)
+     */
+    public static EpochNanoRanges clampToTimeOfDay(EpochNanoRanges ranges, long fromNanoOfDay, long toNanoOfDay,
+            EpochNanoRanges clampedRanges) {
+        checkNotNull(ranges);
+        checkNotNull(clampedRanges);
+        checkArgument(ranges != clampedRanges, "The input and output ranges must be different instances!");
+
+        clampedRanges.clear();
+
+        if (ranges.isEmpty()) {
+            return clampedRanges;
+        }
+
+        checkArgument(fromNanoOfDay >= 0 && fromNanoOfDay < END_OF_DAY, "From must be a valid nano of day!");
+        checkArgument(toNanoOfDay >= 0 && toNanoOfDay <= END_OF_DAY, "To must be a valid nano of day!");
+        checkArgument(toNanoOfDay >= fromNanoOfDay, "From must be before to!");
+
+        for (int index = 0; index < ranges.size(); index++) {
+            long currentFrom = ranges.getFrom(index);
+            long currentTo = ranges.getTo(index);
+            long loopDay = currentFrom - Math.floorMod(currentFrom, EpochNanoRanges.NANOS_PER_DAY);
+
+            // Loop while the 'loopDay' <= 'to'
+            while (loopDay <= currentTo) {
+                long loopDayFrom = loopDay + fromNanoOfDay;
+                long loopDayTo = loopDay + toNanoOfDay;
+
+                long clampedFrom = Math.max(currentFrom, loopDayFrom);
+                loopDay += EpochNanoRanges.NANOS_PER_DAY; // Advance to start of the next day
+                long clampedTo = Math.min(currentTo, Math.min(loopDayTo, loopDay));
+
+                // Add the time-clamped range if it exists within the 'from' and 'to' bounds
+                // AND the 'clampedFrom' != 'clampedTo'.
+                if (clampedTo >= loopDayFrom && clampedFrom <= loopDayTo && clampedFrom != clampedTo) {
+                    clampedRanges.add(clampedFrom, clampedTo);
+                }
+            }
+        }
+
+        return clampedRanges;
+    }
+}
@@ -0,0 +1,212 @@
+package net.jacobpeterson.timeseriesdatastore.util.temporalrange;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * {@link EpochNanoRanges} is a reusable buffer of ranges whose 'from' and 'to' are stored as epoch nanoseconds (of a
+ * {@link LocalDateTime} at {@link ZoneOffset#UTC}) packed in pairs in one <code>long[]</code>. This is the primitive
+ * companion of a {@link List} of {@link TemporalRange}s of type {@link LocalDateTime} and is used by
+ * {@link EpochNanoRangeUtil} to avoid allocating objects for every intermediate value. Note that epoch nanoseconds
+ * can only represent {@link LocalDateTime}s between the years 1677 and 2262.
+ */
+public class EpochNanoRanges {
+
+    /**
+     * The number of nanoseconds in one second.
+     */
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * The number of nanoseconds in one day.
+     */
+    public static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] fromToPairs;
+    private int size;
+
+    /**
+     * Instantiates a new {@link EpochNanoRanges}.
+     */
+    public EpochNanoRanges() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new {@link EpochNanoRanges}.
+     *
+     * @param capacity the initial number of ranges that can be stored without growing
+     */
+    public EpochNanoRanges(int capacity) {
+        checkArgument(capacity >= 0, "The capacity cannot be negative!");
+
+        this.fromToPairs = new long[capacity * 2];
+    }
+
+    /**
+     * Creates a new {@link EpochNanoRanges} from the given {@link TemporalRange}s.
+     *
+     * @param temporalRanges the {@link TemporalRange}s
+     *
+     * @return a new {@link EpochNanoRanges}
+     */
+    public static EpochNanoRanges of(List<TemporalRange<LocalDateTime>> temporalRanges) {
+        EpochNanoRanges epochNanoRanges = new EpochNanoRanges(temporalRanges == null ? 0 : temporalRanges.size());
+        epochNanoRanges.addAll(temporalRanges);
+        return epochNanoRanges;
+    }
+
+    /**
+     * Converts a {@link LocalDateTime} to epoch nanoseconds (at {@link ZoneOffset#UTC}).
+     *
+     * @param localDateTime the {@link LocalDateTime}
+     *
+     * @return the epoch nanoseconds
+     *
+     * @throws ArithmeticException thrown if the {@link LocalDateTime} can't be represented as epoch nanoseconds
+     */
+    public static long toEpochNanos(LocalDateTime localDateTime) {
+        return Math.addExact(Math.multiplyExact(localDateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                localDateTime.getNano());
+    }
+
+    /**
+     * Converts epoch nanoseconds (at {@link ZoneOffset#UTC}) to a {@link LocalDateTime}.
+     *
+     * @param epochNanos the epoch nanoseconds
+     *
+     * @return the {@link LocalDateTime}
+     */
+    public static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Adds a range.
+     *
+     * @param from the 'from' epoch nanoseconds
+     * @param to   the 'to' epoch nanoseconds
+     */
+    public void add(long from, long to) {
+        if (size * 2 == fromToPairs.length) {
+            fromToPairs = Arrays.copyOf(fromToPairs, Math.max(DEFAULT_CAPACITY * 2, fromToPairs.length * 2));
+        }
+
+        fromToPairs[size * 2] = from;
+        fromToPairs[size * 2 + 1] = to;
+        size++;
+    }
+
+    /**
+     * Adds the given {@link TemporalRange}s.
+     *
+     * @param temporalRanges the {@link TemporalRange}s (<code>null</code> adds nothing)
+     */
+    public void addAll(List<TemporalRange<LocalDateTime>> temporalRanges) {
+        if (temporalRanges == null) {
+            return;
+        }
+
+        for (TemporalRange<LocalDateTime> temporalRange : temporalRanges) {
+            add(toEpochNanos(temporalRange.getFrom()), toEpochNanos(temporalRange.getTo()));
+        }
+    }
+
+    /**
+     * Removes all ranges while keeping the underlying buffer for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of ranges.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if there are no ranges.
+     *
+     * @return a boolean
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the 'from' epoch nanoseconds of the range at the given index.
+     *
+     * @param index the index
+     *
+     * @return the 'from' epoch nanoseconds
+     */
+    public long getFrom(int index) {
+        checkElementIndex(index, size);
+        return fromToPairs[index * 2];
+    }
+
+    /**
+     * Gets the 'to' epoch nanoseconds of the range at the given index.
+     *
+     * @param index the index
+     *
+     * @return the 'to' epoch nanoseconds
+     */
+    public long getTo(int index) {
+        checkElementIndex(index, size);
+        return fromToPairs[index * 2 + 1];
+    }
+
+    /**
+     * Converts these ranges to {@link TemporalRange}s.
+     *
+     * @return an {@link ArrayList} of {@link TemporalRange}s
+     */
+    public ArrayList<TemporalRange<LocalDateTime>> toTemporalRanges() {
+        ArrayList<TemporalRange<LocalDateTime>> temporalRanges = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            temporalRanges.add(new TemporalRange<>(toLocalDateTime(fromToPairs[index * 2]),
+                    toLocalDateTime(fromToPairs[index * 2 + 1])));
+        }
+        return temporalRanges;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        EpochNanoRanges otherEpochNanoRanges = (EpochNanoRanges) other;
+        return size == otherEpochNanoRanges.size && Arrays.equals(
+                Arrays.copyOf(fromToPairs, size * 2), Arrays.copyOf(otherEpochNanoRanges.fromToPairs, size * 2));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(Arrays.copyOf(fromToPairs, size * 2));
+    }
+
+    @Override
+    public String toString() {
+        return "EpochNanoRanges{" +
+                "temporalRanges=" + toTemporalRanges() +
+                '}';
+    }
+}
@@ -217,8 +217,9 @@ public final class TemporalRangeUtil {
      *
      * @param temporalRanges the {@link List} of {@link TemporalRange}s <strong>(the {@link TemporalRange#getFrom()}s
      *                       MUST be sorted from oldest to newest)</strong>
-     * @param from           the 'from' {@link LocalTime} to clamp to
-     * @param to             the 'to' {@link LocalTime} to clamp to
+     * @param from           the 'from' {@link LocalTime} to clamp to (<code>null</code> for the start of the day)
+     * @param to             the 'to' {@link LocalTime} to clamp to (<code>null</code> for the end of the day, that is,
+     *                       the start of the next day)
      *
      * @return a clamped {@link TemporalRange} {@link List}
      */
@@ -228,6 +229,7 @@ public final class TemporalRangeUtil {
             return temporalRanges;
         }
 
+        final boolean toEndOfDay = to == null;
         from = from == null ? LocalTime.MIN : from;
         to = to == null ? LocalTime.MAX : to;
 
@@ -245,6 +247,9 @@ public final class TemporalRangeUtil {
 
                 LocalDateTime clampedFrom = max(currentTemporalRange.getFrom(), max(loopDateTimeFrom, loopDateTime));
                 loopDateTime = loopDateTime.plusDays(1).with(LocalTime.MIN); // Advance to start of the next day
+                if (toEndOfDay) {
+                    loopDateTimeTo = loopDateTime;
+                }
                 LocalDateTime clampedTo = min(currentTemporalRange.getTo(), min(loopDateTimeTo, loopDateTime));
 
                 // Add the time-clamped TemporalRange if it exists within the 'from' and 'to' bounds
@@ -0,0 +1,430 @@
+package net.jacobpeterson.timeseriesdatastore.test;
+
+import com.google.common.collect.Lists;
+import net.jacobpeterson.timeseriesdatastore.TimeSeriesDataStore;
+import net.jacobpeterson.timeseriesdatastore.TimeSeriesDataStoreException;
+import net.jacobpeterson.timeseriesdatastore.datafeed.DatabaseDataFeedFetchLock;
+import net.jacobpeterson.timeseriesdatastore.datafeed.TimeSeriesDataFeed;
+import net.jacobpeterson.timeseriesdatastore.iterator.DataSource;
+import net.jacobpeterson.timeseriesdatastore.iterator.DataSourceEntry;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.CloseableDSLContext;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link TimeSeriesDataStore}.
+ */
+public class TimeSeriesDataStoreTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 1, 4, 9, 30);
+
+    /**
+     * Tests that overlapping concurrent gap fetches of the same key are merged so that every timestamp is fetched from
+     * the data feed only once.
+     *
+     * @throws InterruptedException thrown for {@link InterruptedException}s
+     */
+    @Test
+    public void testSingleFlightGapFetches() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("single_flight_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 90);
+
+            // Hold the data feed until both requests have been made so that the fetches overlap
+            CountDownLatch requestsLatch = new CountDownLatch(1);
+            List<TemporalRange<LocalDateTime>> fetchedTemporalRanges = Collections.synchronizedList(new ArrayList<>());
+            TimeSeriesDataFeed<String, Tick> dataFeed = (key, from, to) -> {
+                fetchedTemporalRanges.add(new TemporalRange<>(from, to));
+                Assertions.assertTrue(requestsLatch.await(10, TimeUnit.SECONDS));
+                return ticks.stream()
+                        .filter(tick -> !tick.getTimestamp().isBefore(from) && tick.getTimestamp().isBefore(to))
+                        .collect(Collectors.toList());
+            };
+            TimeSeriesDataStore<String, Tick> dataStore =
+                    new TimeSeriesDataStore<>(tickDatabaseInterface, dataFeed, executorService);
+
+            Iterator<DataSourceEntry<Tick>> firstIterator = dataStore.get("AAA", FROM, FROM.plusMinutes(60),
+                    null, null, SortDirection.ASCENDING);
+            Iterator<DataSourceEntry<Tick>> secondIterator = dataStore.get("AAA", FROM.plusMinutes(30),
+                    FROM.plusMinutes(90), null, null, SortDirection.ASCENDING);
+            requestsLatch.countDown();
+
+            List<Tick> firstTicks = new ArrayList<>();
+            firstIterator.forEachRemaining(entry -> firstTicks.add(entry.getData()));
+            List<Tick> secondTicks = new ArrayList<>();
+            secondIterator.forEachRemaining(entry -> secondTicks.add(entry.getData()));
+
+            Assertions.assertEquals(ticks.subList(0, 60), firstTicks);
+            Assertions.assertEquals(ticks.subList(30, 90), secondTicks);
+
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+            // The second request only fetched the part that was not already being fetched by the first request
+            fetchedTemporalRanges.sort((first, second) -> first.getFrom().compareTo(second.getFrom()));
+            Assertions.assertEquals(2, fetchedTemporalRanges.size());
+            Assertions.assertEquals(new TemporalRange<>(FROM, FROM.plusMinutes(60)), fetchedTemporalRanges.get(0));
+            Assertions.assertEquals(new TemporalRange<>(FROM.plusMinutes(60), FROM.plusMinutes(90)),
+                    fetchedTemporalRanges.get(1));
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("AAA", FROM, FROM.plusMinutes(90))
+                    .stream().noneMatch(temporalRange -> temporalRange.getFrom().isBefore(temporalRange.getTo())));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the database spans and the data feed spans of a range are stitched together in ascending order, that
+     * the data feed data is written back to the database, and that a later request is then served by the database.
+     *
+     * @throws Exception thrown for {@link Exception}s
+     */
+    @Test
+    public void testDatabaseAndDataFeedSpansAreStitched() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("data_store_stitch_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 90);
+            tickDatabaseInterface.insert(ticks.subList(30, 60), "AAA", FROM.plusMinutes(30), FROM.plusMinutes(60));
+
+            List<TemporalRange<LocalDateTime>> fetchedTemporalRanges = Collections.synchronizedList(new ArrayList<>());
+            TimeSeriesDataStore<String, Tick> dataStore = new TimeSeriesDataStore<>(tickDatabaseInterface,
+                    createDataFeed(ticks, fetchedTemporalRanges), executorService);
+
+            List<DataSourceEntry<Tick>> expectedEntries = createEntries(ticks, 30, 60);
+            Assertions.assertEquals(expectedEntries, collect(dataStore.get("AAA", FROM, FROM.plusMinutes(90),
+                    null, null, SortDirection.ASCENDING)));
+
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+            // The data feed data was written back, so the whole range is now read from the database
+            fetchedTemporalRanges.sort(Comparator.comparing(TemporalRange::getFrom));
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(FROM, FROM.plusMinutes(30)),
+                    new TemporalRange<>(FROM.plusMinutes(60), FROM.plusMinutes(90))), fetchedTemporalRanges);
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, FROM.plusMinutes(90))),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", FROM, FROM.plusMinutes(90)));
+            Assertions.assertEquals(createEntries(ticks, 0, 90), collect(dataStore.get("AAA", FROM,
+                    FROM.plusMinutes(90), null, null, SortDirection.ASCENDING)));
+            Assertions.assertEquals(2, fetchedTemporalRanges.size());
+
+            // Closing the iterator early closes the database cursor and ends the iteration
+            Iterator<DataSourceEntry<Tick>> closedIterator = dataStore.get("AAA", FROM, FROM.plusMinutes(90),
+                    null, null, SortDirection.ASCENDING);
+            Assertions.assertEquals(ticks.get(0), closedIterator.next().getData());
+            Assertions.assertTrue(closedIterator instanceof AutoCloseable);
+            ((AutoCloseable) closedIterator).close();
+            Assertions.assertFalse(closedIterator.hasNext());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the database spans and the data feed spans are returned from newest to oldest for
+     * {@link SortDirection#DESCENDING}.
+     *
+     * @throws InterruptedException thrown for {@link InterruptedException}s
+     */
+    @Test
+    public void testDescendingSpans() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("data_store_descending_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 90);
+            tickDatabaseInterface.insert(ticks.subList(30, 60), "AAA", FROM.plusMinutes(30), FROM.plusMinutes(60));
+
+            TimeSeriesDataStore<String, Tick> dataStore = new TimeSeriesDataStore<>(tickDatabaseInterface,
+                    createDataFeed(ticks, Collections.synchronizedList(new ArrayList<>())), executorService);
+
+            List<DataSourceEntry<Tick>> expectedEntries = createEntries(ticks, 30, 60);
+            Collections.reverse(expectedEntries);
+            Assertions.assertEquals(expectedEntries, collect(dataStore.get("AAA", FROM, FROM.plusMinutes(90),
+                    null, null, SortDirection.DESCENDING)));
+
+            // Wait for the write-backs before the database is closed
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, FROM.plusMinutes(90))),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", FROM, FROM.plusMinutes(90)));
+            Assertions.assertEquals(ticks, Lists.newArrayList(tickDatabaseInterface.get("AAA", FROM,
+                    FROM.plusMinutes(90), null, null, SortDirection.ASCENDING)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that only the data within the time of day filter is returned and that only the parts of the missing
+     * ranges that are within the time of day filter are fetched from the data feed (including an end filter time of
+     * <code>null</code>, which is the start of the next day).
+     *
+     * @throws InterruptedException thrown for {@link InterruptedException}s
+     */
+    @Test
+    public void testTimeOfDayFilter() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("data_store_time_filter_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            LocalDateTime day1 = FROM.toLocalDate().atStartOfDay();
+            LocalDateTime day2 = day1.plusDays(1);
+            LocalDateTime day3 = day2.plusDays(1);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", day1, 10 * 60_000, 2 * 24 * 6);
+            tickDatabaseInterface.insert(ticks.subList(0, 24 * 6), "AAA", day1, day2);
+
+            List<TemporalRange<LocalDateTime>> fetchedTemporalRanges = Collections.synchronizedList(new ArrayList<>());
+            TimeSeriesDataStore<String, Tick> dataStore = new TimeSeriesDataStore<>(tickDatabaseInterface,
+                    createDataFeed(ticks, fetchedTemporalRanges), executorService);
+
+            LocalTime beginFilterTime = LocalTime.of(9, 30);
+            LocalTime endFilterTime = LocalTime.of(16, 0);
+            Assertions.assertEquals(createFilteredEntries(ticks, day2, beginFilterTime, endFilterTime),
+                    collect(dataStore.get("AAA", day1, day3, beginFilterTime, endFilterTime,
+                            SortDirection.ASCENDING)));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(day2.with(beginFilterTime),
+                    day2.with(endFilterTime))), fetchedTemporalRanges);
+
+            fetchedTemporalRanges.clear();
+            LocalTime eveningFilterTime = LocalTime.of(22, 0);
+            Assertions.assertEquals(createFilteredEntries(ticks, day2, eveningFilterTime, null),
+                    collect(dataStore.get("AAA", day1, day3, eveningFilterTime, null, SortDirection.ASCENDING)));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(day2.with(eveningFilterTime),
+                    day3)), fetchedTemporalRanges);
+
+            // Wait for the write-backs before the database is closed
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(day1, day2),
+                    new TemporalRange<>(day2.with(beginFilterTime), day2.with(endFilterTime)),
+                    new TemporalRange<>(day2.with(eveningFilterTime), day3)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", day1, day3));
+            List<Tick> writtenBackTicks = new ArrayList<>();
+            for (DataSourceEntry<Tick> entry : createFilteredEntries(ticks, day2, beginFilterTime, endFilterTime)) {
+                if (entry.getDataSource() == DataSource.DATAFEED) {
+                    writtenBackTicks.add(entry.getData());
+                }
+            }
+            for (DataSourceEntry<Tick> entry : createFilteredEntries(ticks, day2, eveningFilterTime, null)) {
+                if (entry.getDataSource() == DataSource.DATAFEED) {
+                    writtenBackTicks.add(entry.getData());
+                }
+            }
+            Assertions.assertEquals(writtenBackTicks, Lists.newArrayList(tickDatabaseInterface.get("AAA", day2, day3,
+                    null, null, SortDirection.ASCENDING)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a failing data feed is rethrown to the consumer as a {@link TimeSeriesDataStoreException} once the
+     * consumer reaches the data feed span and that nothing is written back to the database.
+     *
+     * @throws InterruptedException thrown for {@link InterruptedException}s
+     */
+    @Test
+    public void testDataFeedFailure() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("data_store_failure_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 30);
+            tickDatabaseInterface.insert(ticks, "AAA", FROM, FROM.plusMinutes(30));
+
+            IOException dataFeedException = new IOException("The data feed is down!");
+            TimeSeriesDataStore<String, Tick> dataStore = new TimeSeriesDataStore<>(tickDatabaseInterface,
+                    (key, from, to) -> {
+                        throw dataFeedException;
+                    }, executorService);
+
+            Iterator<DataSourceEntry<Tick>> iterator = dataStore.get("AAA", FROM, FROM.plusMinutes(60), null, null,
+                    SortDirection.ASCENDING);
+            for (Tick tick : ticks) {
+                Assertions.assertEquals(new DataSourceEntry<>(tick, DataSource.DATABASE), iterator.next());
+            }
+            TimeSeriesDataStoreException exception = Assertions.assertThrows(TimeSeriesDataStoreException.class,
+                    iterator::hasNext);
+            Assertions.assertSame(dataFeedException, exception.getCause());
+
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM.plusMinutes(30),
+                    FROM.plusMinutes(60))), tickDatabaseInterface.getMissingTimestampRanges("AAA", FROM,
+                    FROM.plusMinutes(60)));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that two {@link TimeSeriesDataStore}s that share one {@link DatabaseDataFeedFetchLock} table fetch a
+     * missing range from the data feed only once, and that the second one reads the written-back data from the
+     * database instead.
+     *
+     * @throws Exception thrown for {@link Exception}s
+     */
+    @Test
+    public void testSharedDatabaseDataFeedFetchLock() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        JdbcConnectionPool connectionPool = null;
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("data_feed_fetch_lock_test")) {
+            Table<Record> lockTable = DSL.table(DSL.name("DATA_FEED_FETCH_LOCK"));
+            Field<String> lockKeyField = DSL.field(DSL.name("LOCK_KEY"), SQLDataType.VARCHAR(255));
+            create.createTable(lockTable).column(lockKeyField).primaryKey(lockKeyField).execute();
+            connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:data_feed_fetch_lock_test;LOCK_TIMEOUT=10000",
+                    "sa", "");
+            DSLContext pooledCreate = DSL.using(connectionPool, SQLDialect.H2);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 60);
+
+            // Hold the data feed until both data stores have requested the range so that their fetches overlap
+            CountDownLatch fetchLatch = new CountDownLatch(1);
+            CountDownLatch requestsLatch = new CountDownLatch(1);
+            List<TemporalRange<LocalDateTime>> fetchedTemporalRanges = Collections.synchronizedList(new ArrayList<>());
+            TimeSeriesDataFeed<String, Tick> dataFeed = (key, from, to) -> {
+                fetchedTemporalRanges.add(new TemporalRange<>(from, to));
+                fetchLatch.countDown();
+                Assertions.assertTrue(requestsLatch.await(10, TimeUnit.SECONDS));
+                return ticks.stream()
+                        .filter(tick -> !tick.getTimestamp().isBefore(from) && tick.getTimestamp().isBefore(to))
+                        .collect(Collectors.toList());
+            };
+            List<TimeSeriesDataStore<String, Tick>> dataStores = new ArrayList<>();
+            for (int index = 0; index < 2; index++) {
+                TimeSeriesDataStore<String, Tick> dataStore = new TimeSeriesDataStore<>(
+                        new TickDatabaseInterface(pooledCreate, 16), dataFeed, executorService);
+                dataStore.setDataFeedFetchLock(new DatabaseDataFeedFetchLock<>(pooledCreate, lockTable,
+                        lockKeyField));
+                dataStores.add(dataStore);
+            }
+
+            Iterator<DataSourceEntry<Tick>> firstIterator = dataStores.get(0).get("AAA", FROM, FROM.plusMinutes(60),
+                    null, null, SortDirection.ASCENDING);
+            Assertions.assertTrue(fetchLatch.await(10, TimeUnit.SECONDS));
+            Iterator<DataSourceEntry<Tick>> secondIterator = dataStores.get(1).get("AAA", FROM,
+                    FROM.plusMinutes(60), null, null, SortDirection.ASCENDING);
+            requestsLatch.countDown();
+
+            Assertions.assertEquals(createEntries(ticks, 0, 0), collect(firstIterator));
+            Assertions.assertEquals(ticks, collect(secondIterator).stream()
+                    .map(DataSourceEntry::getData)
+                    .collect(Collectors.toList()));
+
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, FROM.plusMinutes(60))),
+                    fetchedTemporalRanges);
+            Assertions.assertEquals(Collections.singletonList("AAA"), create.select(lockKeyField)
+                    .from(lockTable)
+                    .fetch(lockKeyField));
+        } finally {
+            executorService.shutdownNow();
+            if (connectionPool != null) {
+                connectionPool.dispose();
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link TimeSeriesDataFeed} of the given {@link Tick}s that records the fetched ranges.
+     *
+     * @param ticks                 the {@link Tick}s sorted from oldest to newest
+     * @param fetchedTemporalRanges the synchronized {@link List} to add the fetched ranges to
+     *
+     * @return the {@link TimeSeriesDataFeed}
+     */
+    private static TimeSeriesDataFeed<String, Tick> createDataFeed(List<Tick> ticks,
+            List<TemporalRange<LocalDateTime>> fetchedTemporalRanges) {
+        return (key, from, to) -> {
+            fetchedTemporalRanges.add(new TemporalRange<>(from, to));
+            return ticks.stream()
+                    .filter(tick -> !tick.getTimestamp().isBefore(from) && tick.getTimestamp().isBefore(to))
+                    .collect(Collectors.toList());
+        };
+    }
+
+    /**
+     * Creates the expected {@link DataSourceEntry}s of the given {@link Tick}s, where the {@link Tick}s within the
+     * given indices are from the database and the others are from the data feed.
+     *
+     * @param ticks             the {@link Tick}s
+     * @param databaseFromIndex the index of the first database {@link Tick} (inclusive)
+     * @param databaseToIndex   the index of the last database {@link Tick} (exclusive)
+     *
+     * @return the {@link DataSourceEntry}s sorted from oldest to newest
+     */
+    private static List<DataSourceEntry<Tick>> createEntries(List<Tick> ticks, int databaseFromIndex,
+            int databaseToIndex) {
+        List<DataSourceEntry<Tick>> entries = new ArrayList<>();
+        for (int index = 0; index < ticks.size(); index++) {
+            entries.add(new DataSourceEntry<>(ticks.get(index), index >= databaseFromIndex &&
+                    index < databaseToIndex ? DataSource.DATABASE : DataSource.DATAFEED));
+        }
+        return entries;
+    }
+
+    /**
+     * Creates the expected {@link DataSourceEntry}s of the given {@link Tick}s that are within the given time of day
+     * filter, where the {@link Tick}s before the given data feed start are from the database and the others are from
+     * the data feed.
+     *
+     * @param ticks           the {@link Tick}s
+     * @param dataFeedFrom    the timestamp of the first data feed {@link Tick}
+     * @param beginFilterTime the begin filter time (inclusive)
+     * @param endFilterTime   the end filter time (exclusive) (<code>null</code> for the end of the day)
+     *
+     * @return the {@link DataSourceEntry}s sorted from oldest to newest
+     */
+    private static List<DataSourceEntry<Tick>> createFilteredEntries(List<Tick> ticks, LocalDateTime dataFeedFrom,
+            LocalTime beginFilterTime, LocalTime endFilterTime) {
+        List<DataSourceEntry<Tick>> entries = new ArrayList<>();
+        for (Tick tick : ticks) {
+            LocalTime time = tick.getTimestamp().toLocalTime();
+            if (!time.isBefore(beginFilterTime) && (endFilterTime == null || time.isBefore(endFilterTime))) {
+                entries.add(new DataSourceEntry<>(tick, tick.getTimestamp().isBefore(dataFeedFrom) ?
+                        DataSource.DATABASE : DataSource.DATAFEED));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Collects the remaining elements of the given {@link Iterator}.
+     *
+     * @param iterator the {@link Iterator}
+     *
+     * @return a {@link List} of the elements
+     */
+    private static List<DataSourceEntry<Tick>> collect(Iterator<DataSourceEntry<Tick>> iterator) {
+        List<DataSourceEntry<Tick>> entries = new ArrayList<>();
+        iterator.forEachRemaining(entries::add);
+        return entries;
+    }
+}
@@ -0,0 +1,146 @@
+package net.jacobpeterson.timeseriesdatastore.test.database;
+
+import com.google.common.hash.Funnels;
+import net.jacobpeterson.timeseriesdatastore.database.ShardedTimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickRecord;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTimestampRangesRecord;
+import net.jacobpeterson.timeseriesdatastore.util.hash.ConsistentHashRing;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+
+/**
+ * Unit tests for {@link ShardedTimeSeriesDatabaseInterface}.
+ */
+public class ShardedTimeSeriesDatabaseInterfaceTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+    private static final List<String> SYMBOLS = Arrays.asList("AAA", "BBB", "CCC", "DDD", "EEE", "FFF", "GGG", "HHH");
+    private static final List<String> SHARD_IDS = Arrays.asList("shard_a", "shard_b", "shard_c");
+
+    /**
+     * Tests that the rows and timestamp ranges of every key are only stored in the shard that owns the key and that
+     * multi-key queries merge the data POJOs of all shards in timestamp order.
+     */
+    @Test
+    public void testShardedInsertAndGet() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Map<String, CloseableDSLContext> createsOfShardIDs = new LinkedHashMap<>();
+        try {
+            Map<String, TickDatabaseInterface> shardsOfIDs = new LinkedHashMap<>();
+            for (String shardID : SHARD_IDS) {
+                CloseableDSLContext create = TickDatabaseInterface.createH2Database("sharded_test_" + shardID);
+                createsOfShardIDs.put(shardID, create);
+                shardsOfIDs.put(shardID, new TickDatabaseInterface(create, 100));
+            }
+            ShardedTimeSeriesDatabaseInterface<String, TickRecord, Tick, TickTimestampRangesRecord> sharded =
+                    new ShardedTimeSeriesDatabaseInterface<>(shardsOfIDs, Funnels.stringFunnel(StandardCharsets.UTF_8),
+                            executor);
+
+            // Offset the ticks of every symbol so that no two ticks share a timestamp
+            List<Tick> ticks = new ArrayList<>();
+            for (int symbolIndex = 0; symbolIndex < SYMBOLS.size(); symbolIndex++) {
+                ticks.addAll(TickDatabaseInterface.generateTicks(SYMBOLS.get(symbolIndex),
+                        DAY_1.plusNanos(symbolIndex * 1_000_000L), 60_000, 24 * 60));
+            }
+            sharded.insert(ticks.subList(0, ticks.size() - 24 * 60));
+            String lastSymbol = SYMBOLS.get(SYMBOLS.size() - 1);
+            sharded.insert(ticks.subList(ticks.size() - 24 * 60, ticks.size()), lastSymbol, DAY_1, DAY_2);
+
+            for (String symbol : SYMBOLS) {
+                String ownerShardID = sharded.getShardID(symbol);
+                for (String shardID : SHARD_IDS) {
+                    Assertions.assertEquals(shardID.equals(ownerShardID) ? 24 * 60 : 0,
+                            createsOfShardIDs.get(shardID).fetchCount(TICK, TICK.SYMBOL.eq(symbol)));
+                }
+                Assertions.assertEquals(24 * 60, sharded.count(symbol, DAY_1, DAY_2, null, null));
+            }
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(DAY_1, DAY_2)),
+                    sharded.getShard(lastSymbol).getCoveredTimestampRanges(lastSymbol, DAY_1, DAY_2));
+            Assertions.assertTrue(sharded.getMissingTimestampRanges(lastSymbol, DAY_1, DAY_2).isEmpty());
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(DAY_1, DAY_2)),
+                    sharded.getMissingTimestampRanges(SYMBOLS.get(0), DAY_1, DAY_2));
+
+            // Single-key reads are routed to the owning shard
+            List<Tick> singleKeyTicks = new ArrayList<>();
+            sharded.get(SYMBOLS.get(1), DAY_1, DAY_2, null, null, SortDirection.ASCENDING)
+                    .forEachRemaining(singleKeyTicks::add);
+            Assertions.assertEquals(ticks.subList(24 * 60, 2 * 24 * 60), singleKeyTicks);
+
+            // Multi-key reads are merged over all shards
+            List<Tick> expectedTicks = new ArrayList<>(ticks);
+            expectedTicks.sort(Comparator.comparing(Tick::getTimestamp));
+            List<Tick> mergedTicks = new ArrayList<>();
+            sharded.get(SYMBOLS, DAY_1, DAY_2, null, null, SortDirection.ASCENDING, null)
+                    .forEachRemaining(mergedTicks::add);
+            Assertions.assertEquals(expectedTicks, mergedTicks);
+
+            Collections.reverse(expectedTicks);
+            mergedTicks.clear();
+            sharded.get(SYMBOLS, DAY_1, DAY_2, null, null, SortDirection.DESCENDING, executor)
+                    .forEachRemaining(mergedTicks::add);
+            Assertions.assertEquals(expectedTicks, mergedTicks);
+        } finally {
+            createsOfShardIDs.values().forEach(CloseableDSLContext::close);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that adding a shard to the {@link ConsistentHashRing} only moves keys to the new shard and that the keys
+     * are spread over all shards.
+     */
+    @Test
+    public void testAddingShardOnlyMovesKeysToNewShard() {
+        Map<String, String> shardsOfIDs = new LinkedHashMap<>();
+        for (String shardID : SHARD_IDS) {
+            shardsOfIDs.put(shardID, shardID);
+        }
+        ConsistentHashRing<String, String> shardRing = new ConsistentHashRing<>(shardsOfIDs,
+                Funnels.stringFunnel(StandardCharsets.UTF_8));
+        shardsOfIDs.put("shard_d", "shard_d");
+        ConsistentHashRing<String, String> grownShardRing = new ConsistentHashRing<>(shardsOfIDs,
+                Funnels.stringFunnel(StandardCharsets.UTF_8));
+
+        int keyCount = 10_000;
+        int movedKeyCount = 0;
+        Map<String, Integer> keyCountsOfShardIDs = new LinkedHashMap<>();
+        for (int keyIndex = 0; keyIndex < keyCount; keyIndex++) {
+            String key = "KEY" + keyIndex;
+            String shardID = shardRing.getNodeID(key);
+            String grownShardID = grownShardRing.getNodeID(key);
+            Assertions.assertEquals(shardID, shardRing.getNode(key));
+            if (!shardID.equals(grownShardID)) {
+                Assertions.assertEquals("shard_d", grownShardID);
+                movedKeyCount++;
+            }
+            keyCountsOfShardIDs.merge(grownShardID, 1, Integer::sum);
+        }
+
+        // About a quarter of the keys move to the new shard
+        Assertions.assertTrue(movedKeyCount > keyCount / 8 && movedKeyCount < keyCount / 2);
+        Assertions.assertEquals(4, keyCountsOfShardIDs.size());
+        for (int shardKeyCount : keyCountsOfShardIDs.values()) {
+            Assertions.assertTrue(shardKeyCount > keyCount / 8);
+        }
+    }
+}
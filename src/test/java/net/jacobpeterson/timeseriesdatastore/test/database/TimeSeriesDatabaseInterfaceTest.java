@@ -0,0 +1,1025 @@
+package net.jacobpeterson.timeseriesdatastore.test.database;
+
+import net.jacobpeterson.timeseriesdatastore.database.BulkLoadErrorPolicy;
+import net.jacobpeterson.timeseriesdatastore.database.BulkLoadResult;
+import net.jacobpeterson.timeseriesdatastore.database.ColumnBatch;
+import net.jacobpeterson.timeseriesdatastore.database.ColumnBatchIterator;
+import net.jacobpeterson.timeseriesdatastore.database.ContinuationToken;
+import net.jacobpeterson.timeseriesdatastore.database.ResumableIterator;
+import net.jacobpeterson.timeseriesdatastore.database.TimeBucket;
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.database.metrics.InMemoryTimeSeriesDatabaseMetrics;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickRecord;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.CloseableDSLContext;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTimestampRangesTable.TICK_TIMESTAMP_RANGES;
+
+/**
+ * Unit tests for {@link TimeSeriesDatabaseInterface}.
+ */
+public class TimeSeriesDatabaseInterfaceTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesDatabaseInterfaceTest.class);
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 1, 4, 9, 30);
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#get(Collection, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection, Executor)} merges the data POJOs of all keys by their timestamp
+     * with and without an executor.
+     */
+    @Test
+    public void testMultiKeyGet() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("multi_key_get_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+
+            // Use a different tick interval for each key so that the timestamps interleave
+            List<String> symbols = Arrays.asList("AAA", "BBB", "CCC", "DDD", "EEE");
+            List<Tick> allTicks = new ArrayList<>();
+            for (int symbolIndex = 0; symbolIndex < symbols.size(); symbolIndex++) {
+                allTicks.addAll(TickDatabaseInterface.generateTicks(symbols.get(symbolIndex),
+                        FROM.plusNanos(symbolIndex * 1000), 7 + symbolIndex * 3L, 300));
+            }
+            tickDatabaseInterface.insert(allTicks);
+
+            LocalDateTime to = FROM.plusSeconds(3);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                Comparator<Tick> timestampComparator = Comparator.comparing(Tick::getTimestamp);
+                List<Tick> expectedTicks = new ArrayList<>();
+                for (Tick tick : allTicks) {
+                    if (!tick.getSymbol().equals("EEE") && tick.getTimestamp().isBefore(to)) {
+                        expectedTicks.add(tick);
+                    }
+                }
+                expectedTicks.sort(sortDirection == SortDirection.ASCENDING ?
+                        timestampComparator : timestampComparator.reversed());
+
+                List<String> keys = Arrays.asList("AAA", "BBB", "CCC", "DDD", "AAA");
+                List<Tick> mergedTicks = new ArrayList<>();
+                tickDatabaseInterface.get(keys, FROM, to, null, null, sortDirection, executorService)
+                        .forEachRemaining(mergedTicks::add);
+                Assertions.assertEquals(expectedTicks, mergedTicks);
+
+                List<Tick> inQueryTicks = new ArrayList<>();
+                tickDatabaseInterface.get(keys, FROM, to, null, null, sortDirection, null)
+                        .forEachRemaining(inQueryTicks::add);
+                Assertions.assertEquals(expectedTicks, inQueryTicks);
+            }
+
+            // Closing the merged iterator before it is exhausted closes the read-ahead cursors of all keys
+            Iterator<Tick> abandonedTicks = tickDatabaseInterface.get(symbols, FROM, to, null, null,
+                    SortDirection.ASCENDING, executorService);
+            Assertions.assertTrue(abandonedTicks.hasNext());
+            abandonedTicks.next();
+            Assertions.assertTrue(abandonedTicks instanceof AutoCloseable);
+            ((AutoCloseable) abandonedTicks).close();
+            Assertions.assertFalse(abandonedTicks.hasNext());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#scan(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection, Executor)} returns the same data POJOs in the same order as {@link
+     * TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)}.
+     */
+    @Test
+    public void testScan() {
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("scan_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected Duration getScanSliceDuration() {
+                    return Duration.ofMinutes(7);
+                }
+            };
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 3 * 60 * 60));
+
+            LocalDateTime to = FROM.plusHours(2).plusSeconds(30);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                for (LocalTime beginFilterTime : Arrays.asList(null, LocalTime.of(10, 0))) {
+                    List<Tick> expectedTicks = new ArrayList<>();
+                    tickDatabaseInterface.get("AAA", FROM, to, beginFilterTime, null, sortDirection)
+                            .forEachRemaining(expectedTicks::add);
+
+                    List<Tick> scannedTicks = new ArrayList<>();
+                    tickDatabaseInterface.scan("AAA", FROM, to, beginFilterTime, null, sortDirection,
+                            executorService).forEachRemaining(scannedTicks::add);
+                    Assertions.assertFalse(expectedTicks.isEmpty());
+                    Assertions.assertEquals(expectedTicks, scannedTicks);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the time of day filter of {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime,
+     * LocalDateTime, LocalTime, LocalTime, SortDirection)} returns the same data POJOs when its daily timestamp windows
+     * are split over multiple queries.
+     */
+    @Test
+    public void testGetWithTimeFilter() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("time_filter_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected int getTimeFilterWindowLimit() {
+                    return 2;
+                }
+            };
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 10 * 60 * 1000,
+                    5 * 24 * 6);
+            tickDatabaseInterface.insert(ticks);
+
+            LocalDateTime from = FROM.withHour(12);
+            LocalDateTime to = from.plusDays(4);
+            LocalTime beginFilterTime = LocalTime.of(9, 30);
+            LocalTime endFilterTime = LocalTime.of(16, 0);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                List<Tick> expectedTicks = new ArrayList<>();
+                for (Tick tick : ticks) {
+                    LocalTime time = tick.getTimestamp().toLocalTime();
+                    if (!tick.getTimestamp().isBefore(from) && tick.getTimestamp().isBefore(to) &&
+                            !time.isBefore(beginFilterTime) && time.isBefore(endFilterTime)) {
+                        expectedTicks.add(tick);
+                    }
+                }
+                if (sortDirection == SortDirection.DESCENDING) {
+                    Collections.reverse(expectedTicks);
+                }
+
+                List<Tick> filteredTicks = new ArrayList<>();
+                tickDatabaseInterface.get("AAA", from, to, beginFilterTime, endFilterTime, sortDirection)
+                        .forEachRemaining(filteredTicks::add);
+                Assertions.assertEquals(expectedTicks, filteredTicks);
+
+                Assertions.assertFalse(tickDatabaseInterface.get("AAA", from, to, endFilterTime, beginFilterTime,
+                        sortDirection).hasNext());
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getPaged(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection)} returns the same data POJOs as {@link TimeSeriesDatabaseInterface#get(Object,
+     * LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} and that it can be resumed from a serialized
+     * {@link ContinuationToken}.
+     */
+    @Test
+    public void testGetPaged() throws IOException, ClassNotFoundException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("get_paged_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected int getKeysetPageSize() {
+                    return 7;
+                }
+            };
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 60 * 1000,
+                    3 * 24 * 60));
+
+            LocalDateTime to = FROM.plusDays(2);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                for (LocalTime beginFilterTime : Arrays.asList(null, LocalTime.of(15, 0))) {
+                    List<Tick> expectedTicks = new ArrayList<>();
+                    tickDatabaseInterface.get("AAA", FROM, to, beginFilterTime, null, sortDirection)
+                            .forEachRemaining(expectedTicks::add);
+                    Assertions.assertFalse(expectedTicks.isEmpty());
+
+                    // Stop halfway and resume from a serialized continuation token
+                    List<Tick> pagedTicks = new ArrayList<>();
+                    ResumableIterator<Tick> pagedIterator = tickDatabaseInterface.getPaged("AAA", FROM, to,
+                            beginFilterTime, null, sortDirection);
+                    while (pagedTicks.size() < expectedTicks.size() / 2) {
+                        pagedTicks.add(pagedIterator.next());
+                    }
+
+                    ByteArrayOutputStream tokenBytes = new ByteArrayOutputStream();
+                    try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(tokenBytes)) {
+                        objectOutputStream.writeObject(pagedIterator.getContinuationToken());
+                    }
+                    ContinuationToken continuationToken;
+                    try (ObjectInputStream objectInputStream = new ObjectInputStream(
+                            new ByteArrayInputStream(tokenBytes.toByteArray()))) {
+                        continuationToken = (ContinuationToken) objectInputStream.readObject();
+                    }
+                    Assertions.assertEquals(pagedIterator.getContinuationToken(), continuationToken);
+
+                    tickDatabaseInterface.getPaged("AAA", continuationToken).forEachRemaining(pagedTicks::add);
+                    Assertions.assertEquals(expectedTicks, pagedTicks);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getPublisher(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection, Executor)} publishes the same data POJOs as {@link TimeSeriesDatabaseInterface#get(
+     * Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} with demand-driven fetching, that
+     * cancellation stops it, and that the asynchronous inserts and the timestamp ranges publisher work.
+     */
+    @Test
+    public void testPublishers() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("publishers_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 1000);
+            tickDatabaseInterface.insertAsync(ticks, "AAA", FROM, FROM.plusSeconds(1000), executorService).join();
+
+            List<Tick> expectedTicks = new ArrayList<>();
+            tickDatabaseInterface.get("AAA", FROM, FROM.plusSeconds(900), null, null, SortDirection.DESCENDING)
+                    .forEachRemaining(expectedTicks::add);
+
+            CollectingSubscriber<Tick> subscriber = new CollectingSubscriber<>(7, Long.MAX_VALUE);
+            tickDatabaseInterface.getPublisher("AAA", FROM, FROM.plusSeconds(900), null, null,
+                    SortDirection.DESCENDING, executorService).subscribe(subscriber);
+            Assertions.assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+            Assertions.assertNull(subscriber.error);
+            Assertions.assertEquals(900, expectedTicks.size());
+            Assertions.assertEquals(expectedTicks, subscriber.elements);
+
+            CollectingSubscriber<Tick> cancellingSubscriber = new CollectingSubscriber<>(10, 3);
+            tickDatabaseInterface.getPublisher("AAA", FROM, FROM.plusSeconds(900), null, null, null,
+                    executorService).subscribe(cancellingSubscriber);
+            Assertions.assertFalse(cancellingSubscriber.terminated.await(200, TimeUnit.MILLISECONDS));
+            Assertions.assertEquals(ticks.subList(0, 3), cancellingSubscriber.elements);
+
+            CollectingSubscriber<TemporalRange<LocalDateTime>> rangesSubscriber =
+                    new CollectingSubscriber<>(1, Long.MAX_VALUE);
+            tickDatabaseInterface.getTimestampRangesPublisher("AAA", FROM, FROM.plusDays(1), null,
+                    executorService).subscribe(rangesSubscriber);
+            Assertions.assertTrue(rangesSubscriber.terminated.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, FROM.plusSeconds(1000))),
+                    rangesSubscriber.elements);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getAggregated(Object, LocalDateTime, LocalDateTime, Duration,
+     * LocalTime, LocalTime, SortDirection, Field[])} returns the same aggregates as aggregating the data POJOs of
+     * {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)} per bucket, including buckets that span multiple daily timestamp windows.
+     */
+    @Test
+    public void testGetAggregated() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("get_aggregated_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected int getTimeFilterWindowLimit() {
+                    return 1;
+                }
+            };
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 10 * 1000,
+                    6 * 24 * 60 * 6));
+
+            Field<Double> highField = DSL.max(TICK.PRICE).as("high");
+            Field<Double> lowField = DSL.min(TICK.PRICE).as("low");
+            Field<Integer> countField = DSL.count().as("count");
+            LocalDateTime from = FROM.withHour(12);
+            LocalDateTime to = from.plusDays(5);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                for (Duration bucketDuration : Arrays.asList(Duration.ofMinutes(15), Duration.ofDays(2))) {
+                    long bucketNanos = bucketDuration.toNanos();
+                    List<TimeBucket> expectedTimeBuckets = new ArrayList<>();
+                    List<Tick> bucketTicks = new ArrayList<>();
+                    Iterator<Tick> tickIterator = tickDatabaseInterface.get("AAA", from, to, LocalTime.of(9, 30),
+                            LocalTime.of(16, 0), sortDirection);
+                    while (tickIterator.hasNext() || !bucketTicks.isEmpty()) {
+                        Tick tick = tickIterator.hasNext() ? tickIterator.next() : null;
+                        if (!bucketTicks.isEmpty() && (tick == null || Math.floorDiv(EpochNanoRanges.toEpochNanos(
+                                tick.getTimestamp()), bucketNanos) != Math.floorDiv(EpochNanoRanges.toEpochNanos(
+                                bucketTicks.get(0).getTimestamp()), bucketNanos))) {
+                            LocalDateTime bucketFrom = EpochNanoRanges.toLocalDateTime(Math.floorDiv(
+                                    EpochNanoRanges.toEpochNanos(bucketTicks.get(0).getTimestamp()), bucketNanos) *
+                                    bucketNanos);
+                            Record aggregateRecord = create.newRecord(highField, lowField, countField);
+                            aggregateRecord.set(highField, bucketTicks.stream().mapToDouble(Tick::getPrice).max()
+                                    .getAsDouble());
+                            aggregateRecord.set(lowField, bucketTicks.stream().mapToDouble(Tick::getPrice).min()
+                                    .getAsDouble());
+                            aggregateRecord.set(countField, bucketTicks.size());
+                            expectedTimeBuckets.add(new TimeBucket(bucketFrom, bucketFrom.plus(bucketDuration),
+                                    aggregateRecord));
+                            bucketTicks.clear();
+                        }
+                        if (tick != null) {
+                            bucketTicks.add(tick);
+                        }
+                    }
+
+                    List<TimeBucket> timeBuckets = new ArrayList<>();
+                    tickDatabaseInterface.getAggregated("AAA", from, to, bucketDuration, LocalTime.of(9, 30),
+                            LocalTime.of(16, 0), sortDirection, highField, lowField, countField)
+                            .forEachRemaining(timeBuckets::add);
+                    Assertions.assertFalse(expectedTimeBuckets.isEmpty());
+                    Assertions.assertEquals(expectedTimeBuckets.size(), timeBuckets.size());
+                    for (int bucketIndex = 0; bucketIndex < timeBuckets.size(); bucketIndex++) {
+                        TimeBucket expectedTimeBucket = expectedTimeBuckets.get(bucketIndex);
+                        TimeBucket timeBucket = timeBuckets.get(bucketIndex);
+                        Assertions.assertEquals(expectedTimeBucket.getFrom(), timeBucket.getFrom());
+                        Assertions.assertEquals(expectedTimeBucket.getTo(), timeBucket.getTo());
+                        Assertions.assertEquals(expectedTimeBucket.get(highField), timeBucket.get(highField));
+                        Assertions.assertEquals(expectedTimeBucket.get(lowField), timeBucket.get(lowField));
+                        Assertions.assertEquals(expectedTimeBucket.get(countField), timeBucket.get(countField));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getProjected(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection, Collection, RecordMapper)} only fetches the given columns and returns the same values
+     * in the same order as {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection)}.
+     */
+    @Test
+    public void testGetProjected() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("get_projected_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 60 * 1000,
+                    2 * 24 * 60));
+
+            LocalDateTime to = FROM.plusDays(1);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                for (LocalTime beginFilterTime : Arrays.asList(null, LocalTime.of(15, 0))) {
+                    List<String> expectedValues = new ArrayList<>();
+                    tickDatabaseInterface.get("AAA", FROM, to, beginFilterTime, null, sortDirection)
+                            .forEachRemaining(tick -> expectedValues.add(tick.getTimestamp() + "=" + tick.getPrice()));
+
+                    List<String> projectedValues = new ArrayList<>();
+                    tickDatabaseInterface.getProjected("AAA", FROM, to, beginFilterTime, null, sortDirection,
+                            Arrays.asList(TICK.TIMESTAMP, TICK.PRICE), record -> {
+                                Assertions.assertEquals(2, record.size());
+                                return record.get(TICK.TIMESTAMP) + "=" + record.get(TICK.PRICE);
+                            }).forEachRemaining(projectedValues::add);
+                    Assertions.assertFalse(expectedValues.isEmpty());
+                    Assertions.assertEquals(expectedValues, projectedValues);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getColumnBatches(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection, int, List, List)} reads the same rows as {@link TimeSeriesDatabaseInterface#get(Object,
+     * LocalDateTime, LocalDateTime, LocalTime, LocalTime, SortDirection)} and reuses released {@link ColumnBatch}es.
+     */
+    @Test
+    public void testGetColumnBatches() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("get_column_batches_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 60 * 1000,
+                    2 * 24 * 60));
+
+            LocalDateTime to = FROM.plusDays(1);
+            for (SortDirection sortDirection : SortDirection.values()) {
+                for (LocalTime beginFilterTime : Arrays.asList(null, LocalTime.of(15, 0))) {
+                    List<Tick> expectedTicks = new ArrayList<>();
+                    tickDatabaseInterface.get("AAA", FROM, to, beginFilterTime, null, sortDirection)
+                            .forEachRemaining(expectedTicks::add);
+
+                    List<Tick> batchedTicks = new ArrayList<>();
+                    ColumnBatch firstColumnBatch = null;
+                    try (ColumnBatchIterator columnBatchIterator = tickDatabaseInterface.getColumnBatches("AAA",
+                            FROM, to, beginFilterTime, null, sortDirection, 100,
+                            Collections.singletonList(TICK.PRICE), Collections.singletonList(TICK.SIZE))) {
+                        while (columnBatchIterator.hasNext()) {
+                            ColumnBatch columnBatch = columnBatchIterator.next();
+                            Assertions.assertTrue(columnBatch.getSize() > 0);
+                            if (firstColumnBatch == null) {
+                                firstColumnBatch = columnBatch;
+                            }
+                            Assertions.assertSame(firstColumnBatch, columnBatch);
+
+                            for (int index = 0; index < columnBatch.getSize(); index++) {
+                                batchedTicks.add(new Tick("AAA",
+                                        EpochNanoRanges.toLocalDateTime(columnBatch.getTimestamps()[index]),
+                                        columnBatch.getDoubleColumn(0)[index], columnBatch.getLongColumn(0)[index]));
+                            }
+                            columnBatchIterator.release(columnBatch);
+                        }
+                    }
+                    Assertions.assertFalse(expectedTicks.isEmpty());
+                    Assertions.assertEquals(expectedTicks, batchedTicks);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getColumnBatches(Object, LocalDateTime, LocalDateTime, LocalTime,
+     * LocalTime, SortDirection, int, List, List)} marks <code>NULL</code> <code>long</code> values in the null bitmaps
+     * (which are cleared when a released {@link ColumnBatch} is reused) instead of reading them as zeros.
+     */
+    @Test
+    public void testGetColumnBatchesWithLongNulls() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("column_batch_nulls_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60 * 1000, 10);
+            tickDatabaseInterface.insert(ticks);
+            create.alterTable(TICK).alter(TICK.SIZE).dropNotNull().execute();
+            create.update(TICK)
+                    .setNull(TICK.SIZE)
+                    .where(TICK.TIMESTAMP.in(ticks.get(2).getTimestamp(), ticks.get(3).getTimestamp()))
+                    .execute();
+
+            List<Long> sizes = new ArrayList<>();
+            List<Integer> nullCounts = new ArrayList<>();
+            try (ColumnBatchIterator columnBatchIterator = tickDatabaseInterface.getColumnBatches("AAA", FROM,
+                    FROM.plusMinutes(10), null, null, SortDirection.ASCENDING, 4, Collections.emptyList(),
+                    Collections.singletonList(TICK.SIZE))) {
+                while (columnBatchIterator.hasNext()) {
+                    ColumnBatch columnBatch = columnBatchIterator.next();
+                    nullCounts.add(columnBatch.getLongNullCount(0));
+                    for (int index = 0; index < columnBatch.getSize(); index++) {
+                        sizes.add(columnBatch.isLongNull(0, index) ? null : columnBatch.getLongColumn(0)[index]);
+                    }
+                    columnBatchIterator.release(columnBatch);
+                }
+            }
+
+            List<Long> expectedSizes = new ArrayList<>();
+            for (Tick tick : ticks) {
+                expectedSizes.add(tick.getSize());
+            }
+            expectedSizes.set(2, null);
+            expectedSizes.set(3, null);
+            Assertions.assertEquals(expectedSizes, sizes);
+            Assertions.assertEquals(Arrays.asList(2, 0, 0), nullCounts);
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#bulkLoad(Iterator, Object, LocalDateTime, LocalDateTime,
+     * BulkLoadErrorPolicy)} and {@link TimeSeriesDatabaseInterface#bulkLoadCSV(Reader, Object, LocalDateTime,
+     * LocalDateTime, BulkLoadErrorPolicy)} load all rows and insert the timestamp range of every committed chunk, and
+     * that an aborted bulk load keeps the chunks that were committed before the failure.
+     */
+    @Test
+    public void testBulkLoad() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("bulk_load_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected int getBulkLoadBulkSize() {
+                    return 16;
+                }
+
+                @Override
+                protected int getBulkLoadBatchSize() {
+                    return 3;
+                }
+
+                @Override
+                protected int getBulkLoadCommitSize() {
+                    return 100;
+                }
+            };
+            LocalDateTime to = FROM.plusSeconds(1000);
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 1000);
+            BulkLoadResult bulkLoadResult = tickDatabaseInterface.bulkLoad(ticks.iterator(), "AAA", FROM, to, null);
+            LOGGER.info("Bulk loaded {} rows/s: {}", (long) bulkLoadResult.getRowsPerSecond(), bulkLoadResult);
+            Assertions.assertEquals(ticks.size(), bulkLoadResult.getStoredRowCount());
+            Assertions.assertEquals(0, bulkLoadResult.getErrorRowCount());
+
+            List<Tick> loadedTicks = new ArrayList<>();
+            tickDatabaseInterface.get("AAA", FROM, to, null, null, null).forEachRemaining(loadedTicks::add);
+            Assertions.assertEquals(ticks, loadedTicks);
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, to)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", FROM, to));
+
+            // Load the same kind of ticks from a CSV
+            List<Tick> csvTicks = TickDatabaseInterface.generateTicks("BBB", FROM, 1000, 250);
+            Result<TickRecord> tickRecords = create.newResult(TICK);
+            for (Tick tick : csvTicks) {
+                TickRecord tickRecord = create.newRecord(TICK);
+                tickRecord.set(TICK.SYMBOL, tick.getSymbol());
+                tickRecord.set(TICK.TIMESTAMP, tick.getTimestamp());
+                tickRecord.set(TICK.PRICE, tick.getPrice());
+                tickRecord.set(TICK.SIZE, tick.getSize());
+                tickRecords.add(tickRecord);
+            }
+            BulkLoadResult csvBulkLoadResult = tickDatabaseInterface.bulkLoadCSV(
+                    new StringReader(tickRecords.formatCSV()), "BBB", FROM, to, BulkLoadErrorPolicy.ABORT);
+            Assertions.assertEquals(csvTicks.size(), csvBulkLoadResult.getStoredRowCount());
+
+            List<Tick> loadedCSVTicks = new ArrayList<>();
+            tickDatabaseInterface.get("BBB", FROM, to, null, null, null).forEachRemaining(loadedCSVTicks::add);
+            Assertions.assertEquals(csvTicks, loadedCSVTicks);
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, to)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("BBB", FROM, to));
+
+            // A duplicate in the second chunk aborts the bulk load after the first chunk was committed
+            List<Tick> overlappingTicks = TickDatabaseInterface.generateTicks("CCC", FROM, 1000, 150);
+            tickDatabaseInterface.insert(overlappingTicks.subList(120, 150));
+            Assertions.assertThrows(DataAccessException.class, () -> tickDatabaseInterface.bulkLoad(
+                    overlappingTicks.iterator(), "CCC", FROM, to, BulkLoadErrorPolicy.ABORT));
+            List<TemporalRange<LocalDateTime>> committedRanges = Collections.singletonList(
+                    new TemporalRange<>(FROM, overlappingTicks.get(99).getTimestamp()));
+            Assertions.assertEquals(committedRanges, tickDatabaseInterface.getCoveredTimestampRanges("CCC", FROM, to));
+
+            // Ignoring the errors continues, but doesn't insert the timestamp ranges of the failed chunks
+            BulkLoadResult ignoringBulkLoadResult = tickDatabaseInterface.bulkLoad(overlappingTicks.iterator(),
+                    "CCC", FROM, to, BulkLoadErrorPolicy.IGNORE);
+            Assertions.assertTrue(ignoringBulkLoadResult.getErrorRowCount() > 0);
+            Assertions.assertEquals(committedRanges, tickDatabaseInterface.getCoveredTimestampRanges("CCC", FROM, to));
+            // The failed statements don't roll back the rows that the rest of their chunk stored
+            Assertions.assertTrue(ignoringBulkLoadResult.getStoredRowCount() > 0);
+            Assertions.assertEquals(100 + 30 + ignoringBulkLoadResult.getStoredRowCount(),
+                    create.fetchCount(TICK, TICK.SYMBOL.eq("CCC")));
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#count(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)},
+     * {@link TimeSeriesDatabaseInterface#firstTimestamp(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)},
+     * {@link TimeSeriesDatabaseInterface#lastTimestamp(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)}
+     * and {@link TimeSeriesDatabaseInterface#exists(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime)} agree
+     * with iterating {@link TimeSeriesDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)} and that they can be short-circuited by the timestamp ranges.
+     */
+    @Test
+    public void testCountAndBoundaryTimestamps() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("count_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected int getTimeFilterWindowLimit() {
+                    return 2;
+                }
+            };
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM.withHour(0), 10 * 60 * 1000,
+                    5 * 24 * 6);
+            tickDatabaseInterface.insert(ticks);
+
+            LocalDateTime from = FROM.withHour(12);
+            LocalDateTime to = from.plusDays(4);
+            for (LocalTime beginFilterTime : Arrays.asList(null, LocalTime.of(9, 30), LocalTime.of(23, 55))) {
+                for (LocalTime endFilterTime : Arrays.asList(null, LocalTime.of(16, 0))) {
+                    List<Tick> expectedTicks = new ArrayList<>();
+                    tickDatabaseInterface.get("AAA", from, to, beginFilterTime, endFilterTime, null)
+                            .forEachRemaining(expectedTicks::add);
+
+                    Assertions.assertEquals(expectedTicks.size(), tickDatabaseInterface.count("AAA", from, to,
+                            beginFilterTime, endFilterTime));
+                    Assertions.assertEquals(!expectedTicks.isEmpty(), tickDatabaseInterface.exists("AAA", from, to,
+                            beginFilterTime, endFilterTime));
+                    Assertions.assertEquals(expectedTicks.isEmpty() ? null : expectedTicks.get(0).getTimestamp(),
+                            tickDatabaseInterface.firstTimestamp("AAA", from, to, beginFilterTime, endFilterTime));
+                    Assertions.assertEquals(expectedTicks.isEmpty() ? null :
+                                    expectedTicks.get(expectedTicks.size() - 1).getTimestamp(),
+                            tickDatabaseInterface.lastTimestamp("AAA", from, to, beginFilterTime, endFilterTime));
+                }
+            }
+
+            // Rows outside of the timestamp ranges are not seen once the short circuit is enabled
+            TickDatabaseInterface shortCircuitingTickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                protected boolean isTimestampRangesLookupShortCircuitEnabled() {
+                    return true;
+                }
+            };
+            Assertions.assertFalse(shortCircuitingTickDatabaseInterface.exists("AAA", from, to, null, null));
+            Assertions.assertEquals(0, shortCircuitingTickDatabaseInterface.count("AAA", from, to, null, null));
+            Assertions.assertNull(shortCircuitingTickDatabaseInterface.firstTimestamp("AAA", from, to, null, null));
+
+            shortCircuitingTickDatabaseInterface.insertTimestampRangeRecord("AAA", from, from.plusDays(1));
+            Assertions.assertTrue(shortCircuitingTickDatabaseInterface.exists("AAA", from, to, null, null));
+            Assertions.assertEquals(to.minusMinutes(10),
+                    shortCircuitingTickDatabaseInterface.lastTimestamp("AAA", from, to, null, null));
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#getCoveredTimestampRanges(Object, LocalDateTime, LocalDateTime)}
+     * finds a timestamp range that starts inside the queried range and ends after it, as well as timestamp ranges that
+     * start before it, contain it or are contained by it.
+     */
+    @Test
+    public void testTimestampRangeOverlapLookup() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("timestamp_range_overlap_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            LocalDateTime rangeFrom = FROM.withHour(10).withMinute(0);
+            LocalDateTime rangeTo = rangeFrom.plusHours(2);
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", rangeFrom, rangeTo);
+            List<TemporalRange<LocalDateTime>> timestampRanges =
+                    Collections.singletonList(new TemporalRange<>(rangeFrom, rangeTo));
+
+            // Starts inside the queried range and ends after it
+            Assertions.assertEquals(timestampRanges, tickDatabaseInterface.getCoveredTimestampRanges("AAA",
+                    rangeFrom.minusHours(1), rangeFrom.plusHours(1)));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(rangeFrom.minusHours(1), rangeFrom)),
+                    tickDatabaseInterface.getMissingTimestampRanges("AAA", rangeFrom.minusHours(1),
+                            rangeFrom.plusHours(1)));
+
+            // Starts before the queried range and ends inside it
+            Assertions.assertEquals(timestampRanges, tickDatabaseInterface.getCoveredTimestampRanges("AAA",
+                    rangeFrom.plusHours(1), rangeTo.plusHours(1)));
+            // Contains the queried range
+            Assertions.assertEquals(timestampRanges, tickDatabaseInterface.getCoveredTimestampRanges("AAA",
+                    rangeFrom.plusMinutes(30), rangeTo.minusMinutes(30)));
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("AAA", rangeFrom.plusMinutes(30),
+                    rangeTo.minusMinutes(30)).isEmpty());
+            // Is contained by the queried range
+            Assertions.assertEquals(timestampRanges, tickDatabaseInterface.getCoveredTimestampRanges("AAA",
+                    rangeFrom.minusHours(1), rangeTo.plusHours(1)));
+            // Is after the queried range
+            Assertions.assertTrue(tickDatabaseInterface.getCoveredTimestampRanges("AAA", rangeFrom.minusHours(2),
+                    rangeFrom.minusHours(1)).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that inserting a timestamp range with timestamp range coalescing enabled merges it with the timestamp
+     * ranges of the key that it overlaps or touches and does nothing for a contained timestamp range.
+     */
+    @Test
+    public void testTimestampRangeCoalescing() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("coalescing_test")) {
+            TickDatabaseInterface tickDatabaseInterface = createCoalescingTickDatabaseInterface(create);
+            LocalDateTime hour10 = FROM.withHour(10).withMinute(0);
+
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10, hour10.plusHours(1));
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusHours(2), hour10.plusHours(3));
+            tickDatabaseInterface.insertTimestampRangeRecord("BBB", hour10.plusHours(1), hour10.plusHours(2));
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(hour10, hour10.plusHours(1)),
+                    new TemporalRange<>(hour10.plusHours(2), hour10.plusHours(3))),
+                    fetchTimestampRanges(create, "AAA"));
+
+            // Touching both timestamp ranges
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusHours(1), hour10.plusHours(2));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10, hour10.plusHours(3))),
+                    fetchTimestampRanges(create, "AAA"));
+
+            // Overlapping the end
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusMinutes(150), hour10.plusHours(4));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10, hour10.plusHours(4))),
+                    fetchTimestampRanges(create, "AAA"));
+
+            // Contained
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusMinutes(30), hour10.plusHours(1));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10, hour10.plusHours(4))),
+                    fetchTimestampRanges(create, "AAA"));
+
+            // Containing
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.minusHours(1), hour10.plusHours(5));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10.minusHours(1),
+                    hour10.plusHours(5))), fetchTimestampRanges(create, "AAA"));
+
+            // The timestamp ranges of other keys are not coalesced
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10.plusHours(1),
+                    hour10.plusHours(2))), fetchTimestampRanges(create, "BBB"));
+        }
+    }
+
+    /**
+     * Tests that concurrently inserted touching timestamp ranges of the same key (with no timestamp range between
+     * them that could be locked) are coalesced into one timestamp range.
+     *
+     * @throws InterruptedException thrown for {@link InterruptedException}s
+     */
+    @Test
+    public void testConcurrentTimestampRangeCoalescing() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        JdbcConnectionPool connectionPool = null;
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("concurrent_coalescing_test")) {
+            connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:concurrent_coalescing_test", "sa", "");
+            TickDatabaseInterface tickDatabaseInterface = createCoalescingTickDatabaseInterface(
+                    DSL.using(connectionPool, SQLDialect.H2));
+            LocalDateTime from = FROM.withHour(0).withMinute(0);
+
+            int rangeCount = 200;
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int rangeIndex = 0; rangeIndex < rangeCount; rangeIndex++) {
+                LocalDateTime rangeFrom = from.plusMinutes(rangeIndex);
+                futures.add(executorService.submit(() -> {
+                    Assertions.assertTrue(startLatch.await(10, TimeUnit.SECONDS));
+                    tickDatabaseInterface.insertTimestampRangeRecord("AAA", rangeFrom, rangeFrom.plusMinutes(1));
+                    return null;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                Assertions.assertDoesNotThrow(() -> future.get(30, TimeUnit.SECONDS));
+            }
+
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(from, from.plusMinutes(rangeCount))),
+                    fetchTimestampRanges(create, "AAA"));
+        } finally {
+            executorService.shutdownNow();
+            if (connectionPool != null) {
+                connectionPool.dispose();
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#compactTimestampRangeRecords()} replaces the overlapping or
+     * touching timestamp ranges of every key with one timestamp range and returns the number of removed rows.
+     */
+    @Test
+    public void testCompactTimestampRangeRecords() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("compact_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            LocalDateTime hour10 = FROM.withHour(10).withMinute(0);
+
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10, hour10.plusHours(1));
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusHours(1), hour10.plusHours(2));
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusMinutes(90), hour10.plusHours(3));
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusMinutes(100), hour10.plusHours(2));
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", hour10.plusHours(4), hour10.plusHours(5));
+            tickDatabaseInterface.insertTimestampRangeRecord("BBB", hour10, hour10.plusHours(1));
+            tickDatabaseInterface.insertTimestampRangeRecord("BBB", hour10.plusHours(2), hour10.plusHours(3));
+            tickDatabaseInterface.insertTimestampRangeRecord("CCC", hour10, hour10.plusHours(1));
+            tickDatabaseInterface.insertTimestampRangeRecord("CCC", hour10.plusMinutes(30), hour10.plusHours(2));
+
+            Assertions.assertEquals(4, tickDatabaseInterface.compactTimestampRangeRecords());
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(hour10, hour10.plusHours(3)),
+                    new TemporalRange<>(hour10.plusHours(4), hour10.plusHours(5))),
+                    fetchTimestampRanges(create, "AAA"));
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(hour10, hour10.plusHours(1)),
+                    new TemporalRange<>(hour10.plusHours(2), hour10.plusHours(3))),
+                    fetchTimestampRanges(create, "BBB"));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(hour10, hour10.plusHours(2))),
+                    fetchTimestampRanges(create, "CCC"));
+
+            Assertions.assertEquals(0, tickDatabaseInterface.compactTimestampRangeRecords());
+            Assertions.assertEquals(0, tickDatabaseInterface.compactTimestampRangeRecords("AAA"));
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#insert(Collection)} and
+     * {@link TimeSeriesDatabaseInterface#insert(Collection, Object, LocalDateTime, LocalDateTime)} send one JDBC batch
+     * per {@link TimeSeriesDatabaseInterface#getDataInsertBatchSize()} rows (including a partial last batch)
+     * without losing rows at the batch boundaries.
+     */
+    @Test
+    public void testInsertBatching() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("insert_batching_test")) {
+            TickDatabaseInterface tickDatabaseInterface = createSmallBatchTickDatabaseInterface(create);
+            InMemoryTimeSeriesDatabaseMetrics<String> metrics = new InMemoryTimeSeriesDatabaseMetrics<>();
+            tickDatabaseInterface.setMetrics(metrics);
+            LocalDateTime to = FROM.plusMinutes(50);
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 50);
+            tickDatabaseInterface.insert(ticks);
+            Assertions.assertEquals(8, metrics.getKeyMetrics("AAA").getInsertNanos().getCount());
+            Assertions.assertEquals(50, metrics.getKeyMetrics("AAA").getInsertedRowCount());
+            Assertions.assertEquals(ticks, collect(tickDatabaseInterface.get("AAA", FROM, to, null, null,
+                    SortDirection.ASCENDING)));
+
+            List<Tick> rangeTicks = TickDatabaseInterface.generateTicks("BBB", FROM, 60_000, 49);
+            tickDatabaseInterface.insert(rangeTicks, "BBB", FROM, to);
+            Assertions.assertEquals(7, metrics.getKeyMetrics("BBB").getInsertNanos().getCount());
+            Assertions.assertEquals(rangeTicks, collect(tickDatabaseInterface.get("BBB", FROM, to, null, null,
+                    SortDirection.ASCENDING)));
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("BBB", FROM, to).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that the rows of a batched insert that already exist are ignored without failing the rest of the batch
+     * and without overwriting the existing rows.
+     */
+    @Test
+    public void testInsertIgnoresDuplicates() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("insert_duplicates_test")) {
+            TickDatabaseInterface tickDatabaseInterface = createSmallBatchTickDatabaseInterface(create);
+            LocalDateTime to = FROM.plusMinutes(30);
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 30);
+            // Every other tick already exists, so every batch mixes new and duplicate rows
+            List<Tick> existingTicks = new ArrayList<>();
+            for (int index = 0; index < ticks.size(); index += 2) {
+                existingTicks.add(ticks.get(index));
+            }
+            tickDatabaseInterface.insert(existingTicks);
+
+            List<Tick> changedTicks = new ArrayList<>();
+            for (Tick tick : ticks) {
+                changedTicks.add(new Tick(tick.getSymbol(), tick.getTimestamp(), tick.getPrice() + 1,
+                        tick.getSize()));
+            }
+            tickDatabaseInterface.insert(changedTicks, "AAA", FROM, to);
+
+            List<Tick> fetchedTicks = collect(tickDatabaseInterface.get("AAA", FROM, to, null, null,
+                    SortDirection.ASCENDING));
+            Assertions.assertEquals(ticks.size(), fetchedTicks.size());
+            for (int index = 0; index < ticks.size(); index++) {
+                Assertions.assertEquals(index % 2 == 0 ? ticks.get(index) : changedTicks.get(index),
+                        fetchedTicks.get(index));
+            }
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("AAA", FROM, to).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#insert(Collection)} and
+     * {@link TimeSeriesDatabaseInterface#insert(Collection, Object, LocalDateTime, LocalDateTime)} store more than
+     * {@link TimeSeriesDatabaseInterface#DEFAULT_DATA_INSERT_BATCH_SIZE} rows (including duplicates) at the default
+     * batch size.
+     */
+    @Test
+    public void testInsertDefaultBatchSize() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("insert_default_batch_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            InMemoryTimeSeriesDatabaseMetrics<String> metrics = new InMemoryTimeSeriesDatabaseMetrics<>();
+            tickDatabaseInterface.setMetrics(metrics);
+            final int tickCount = 2 * TimeSeriesDatabaseInterface.DEFAULT_DATA_INSERT_BATCH_SIZE + 500;
+            LocalDateTime to = FROM.plusSeconds(tickCount);
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, tickCount);
+            tickDatabaseInterface.insert(ticks.subList(0, tickCount / 2));
+            tickDatabaseInterface.insert(ticks, "AAA", FROM, to);
+            Assertions.assertEquals(2 + 3, metrics.getKeyMetrics("AAA").getInsertNanos().getCount());
+            Assertions.assertEquals(tickCount, tickDatabaseInterface.count("AAA", FROM, to, null, null));
+            Assertions.assertEquals(ticks, collect(tickDatabaseInterface.get("AAA", FROM, to, null, null,
+                    SortDirection.ASCENDING)));
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("AAA", FROM, to).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that {@link TimeSeriesDatabaseInterface#insert(Iterator, Object, LocalDateTime, LocalDateTime)} rolls back
+     * all inserted rows if the timestamp range can't be inserted, so that no rows are committed without their range.
+     */
+    @Test
+    public void testInsertRollsBackWhenTimestampRangeInsertFails() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("insert_rollback_test")) {
+            TickDatabaseInterface tickDatabaseInterface = createSmallBatchTickDatabaseInterface(create);
+            create.dropTable(TICK_TIMESTAMP_RANGES).execute();
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 60_000, 30);
+            Assertions.assertThrows(DataAccessException.class, () ->
+                    tickDatabaseInterface.insert(ticks.iterator(), "AAA", FROM, FROM.plusMinutes(30)));
+            Assertions.assertEquals(0, create.fetchCount(TICK));
+
+            // The interface is still usable after the rollback
+            tickDatabaseInterface.insert(ticks);
+            Assertions.assertEquals(ticks.size(), create.fetchCount(TICK));
+        }
+    }
+
+    /**
+     * Creates a {@link TickDatabaseInterface} with timestamp range coalescing enabled.
+     *
+     * @param create the {@link DSLContext}
+     *
+     * @return the {@link TickDatabaseInterface}
+     */
+    private static TickDatabaseInterface createCoalescingTickDatabaseInterface(DSLContext create) {
+        return new TickDatabaseInterface(create, 16) {
+            @Override
+            protected boolean isTimestampRangeCoalescingEnabled() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates a {@link TickDatabaseInterface} with an insert batch size of 7 rows.
+     *
+     * @param create the {@link DSLContext}
+     *
+     * @return the {@link TickDatabaseInterface}
+     */
+    private static TickDatabaseInterface createSmallBatchTickDatabaseInterface(DSLContext create) {
+        return new TickDatabaseInterface(create, 16) {
+            @Override
+            protected int getDataInsertBatchSize() {
+                return 7;
+            }
+        };
+    }
+
+    /**
+     * Collects the remaining elements of the given {@link Iterator}.
+     *
+     * @param iterator the {@link Iterator}
+     * @param <E>      the type parameter of the element
+     *
+     * @return a {@link List} of the elements
+     */
+    private static <E> List<E> collect(Iterator<E> iterator) {
+        List<E> elements = new ArrayList<>();
+        iterator.forEachRemaining(elements::add);
+        return elements;
+    }
+
+    /**
+     * Fetches the timestamp range rows of the given symbol.
+     *
+     * @param create the {@link DSLContext}
+     * @param symbol the symbol
+     *
+     * @return the {@link TemporalRange}s sorted by the 'from'
+     */
+    private static List<TemporalRange<LocalDateTime>> fetchTimestampRanges(DSLContext create, String symbol) {
+        return create.select(TICK_TIMESTAMP_RANGES.FROM, TICK_TIMESTAMP_RANGES.TO)
+                .from(TICK_TIMESTAMP_RANGES)
+                .where(TICK_TIMESTAMP_RANGES.SYMBOL.equal(symbol))
+                .orderBy(TICK_TIMESTAMP_RANGES.FROM.asc())
+                .fetch(record -> new TemporalRange<>(record.value1(), record.value2()));
+    }
+
+    /**
+     * {@link CollectingSubscriber} is a {@link Subscriber} that requests a fixed number of elements at a time and
+     * cancels its {@link Subscription} after a given number of elements.
+     *
+     * @param <E> the type parameter of the element
+     */
+    private static class CollectingSubscriber<E> implements Subscriber<E> {
+
+        private final long requestCount;
+        private final long cancelCount;
+        private final List<E> elements;
+        private final CountDownLatch terminated;
+        private Subscription subscription;
+        private volatile Throwable error;
+
+        private CollectingSubscriber(long requestCount, long cancelCount) {
+            this.requestCount = requestCount;
+            this.cancelCount = cancelCount;
+            this.elements = Collections.synchronizedList(new ArrayList<>());
+            this.terminated = new CountDownLatch(1);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(requestCount);
+        }
+
+        @Override
+        public void onNext(E element) {
+            elements.add(element);
+            if (elements.size() >= cancelCount) {
+                subscription.cancel();
+            } else if (elements.size() % requestCount == 0) {
+                subscription.request(requestCount);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
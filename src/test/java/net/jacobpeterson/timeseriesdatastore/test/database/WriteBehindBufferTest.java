@@ -0,0 +1,246 @@
+package net.jacobpeterson.timeseriesdatastore.test.database;
+
+import net.jacobpeterson.timeseriesdatastore.database.WriteBehindBuffer;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link WriteBehindBuffer}.
+ */
+public class WriteBehindBufferTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2021, 1, 4, 9, 30);
+
+    /**
+     * Tests that {@link WriteBehindBuffer} inserts the data POJOs of concurrent producers (with backpressure from a
+     * small capacity) and inserts the timestamp ranges after their data POJOs.
+     */
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        List<String> symbols = Arrays.asList("AAA", "BBB", "CCC");
+        ExecutorService executorService = Executors.newFixedThreadPool(symbols.size());
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("write_behind_producers_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            LocalDateTime to = FROM.plusSeconds(1000);
+
+            WriteBehindBuffer<String, Tick> writeBehindBuffer = new WriteBehindBuffer<>(tickDatabaseInterface, 100,
+                    50, Duration.ofMillis(20), 4);
+            List<Future<?>> producerFutures = new ArrayList<>();
+            for (String symbol : symbols) {
+                producerFutures.add(executorService.submit(() -> {
+                    for (Tick tick : TickDatabaseInterface.generateTicks(symbol, FROM, 1000, 1000)) {
+                        writeBehindBuffer.add(tick);
+                        writeBehindBuffer.add(tick); // Dropped unless the first one was already flushed
+                    }
+                    writeBehindBuffer.addTimestampRange(symbol, FROM, to);
+                    return null;
+                }));
+            }
+            for (Future<?> producerFuture : producerFutures) {
+                producerFuture.get();
+            }
+            writeBehindBuffer.close();
+
+            Assertions.assertEquals(0, writeBehindBuffer.getQueueDepth());
+            Assertions.assertEquals(0, writeBehindBuffer.getFailedFlushCount());
+            Assertions.assertTrue(writeBehindBuffer.getFlushNanos().getCount() > 1);
+            for (String symbol : symbols) {
+                List<Tick> ticks = new ArrayList<>();
+                tickDatabaseInterface.get(symbol, FROM, to, null, null, null).forEachRemaining(ticks::add);
+                Assertions.assertEquals(TickDatabaseInterface.generateTicks(symbol, FROM, 1000, 1000), ticks);
+                Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, to)),
+                        tickDatabaseInterface.getTimestampRanges(symbol, FROM, to, null));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that {@link WriteBehindBuffer} drops buffered duplicates and flushes once the maximum flush delay has
+     * passed.
+     */
+    @Test
+    public void testDeduplicationAndFlushDelay() throws InterruptedException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("write_behind_delay_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 3);
+
+            WriteBehindBuffer<String, Tick> writeBehindBuffer = new WriteBehindBuffer<>(tickDatabaseInterface, 1000,
+                    1000, Duration.ofMillis(200));
+            try {
+                for (Tick tick : ticks) {
+                    Assertions.assertTrue(writeBehindBuffer.add(tick));
+                }
+                Assertions.assertFalse(writeBehindBuffer.add(ticks.get(1)));
+                Assertions.assertEquals(1, writeBehindBuffer.getDuplicateCount());
+
+                long deadlineMillis = System.currentTimeMillis() + 10_000;
+                while (writeBehindBuffer.getFlushRowCount().getCount() == 0 &&
+                        System.currentTimeMillis() < deadlineMillis) {
+                    Thread.sleep(10);
+                }
+                Assertions.assertEquals(0, writeBehindBuffer.getQueueDepth());
+                Assertions.assertEquals(3, writeBehindBuffer.getFlushRowCount().getSum());
+
+                List<Tick> insertedTicks = new ArrayList<>();
+                tickDatabaseInterface.get("AAA", FROM, FROM.plusDays(1), null, null, null)
+                        .forEachRemaining(insertedTicks::add);
+                Assertions.assertEquals(ticks, insertedTicks);
+            } finally {
+                writeBehindBuffer.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that {@link WriteBehindBuffer#flush()} retries a failed insert and that a flush that still fails after
+     * all retries hands its data POJOs and timestamp ranges to the flush failure handler.
+     */
+    @Test
+    public void testFlushRetriesAndFailureHandler() throws InterruptedException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("write_behind_retry_test")) {
+            AtomicInteger remainingFailureCount = new AtomicInteger(2);
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                public void insert(Collection<Tick> dataPOJOs) throws DataAccessException {
+                    if (remainingFailureCount.getAndDecrement() > 0) {
+                        throw new DataAccessException("Simulated insert failure!");
+                    }
+                    super.insert(dataPOJOs);
+                }
+            };
+            LocalDateTime to = FROM.plusSeconds(10);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 10);
+
+            // The flush delay is long enough for only the explicit flushes to run
+            WriteBehindBuffer<String, Tick> writeBehindBuffer = new WriteBehindBuffer<>(tickDatabaseInterface, 1000,
+                    1000, Duration.ofMinutes(10));
+            try {
+                writeBehindBuffer.setFlushRetryBackoff(Duration.ofMillis(1));
+                List<Tick> failedTicks = new ArrayList<>();
+                Map<String, List<TemporalRange<LocalDateTime>>> failedTimestampRanges = new LinkedHashMap<>();
+                writeBehindBuffer.setFlushFailureHandler((dataPOJOs, timestampRangesOfKeys, exception) -> {
+                    failedTicks.addAll(dataPOJOs);
+                    failedTimestampRanges.putAll(timestampRangesOfKeys);
+                });
+
+                // Two failures are retried
+                for (Tick tick : ticks) {
+                    writeBehindBuffer.add(tick);
+                }
+                writeBehindBuffer.addTimestampRange("AAA", FROM, to);
+                Assertions.assertTrue(writeBehindBuffer.flush());
+                Assertions.assertEquals(0, writeBehindBuffer.getFailedFlushCount());
+                Assertions.assertTrue(failedTicks.isEmpty());
+                List<Tick> insertedTicks = new ArrayList<>();
+                tickDatabaseInterface.get("AAA", FROM, to, null, null, null).forEachRemaining(insertedTicks::add);
+                Assertions.assertEquals(ticks, insertedTicks);
+                Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, to)),
+                        tickDatabaseInterface.getTimestampRanges("AAA", FROM, to, null));
+
+                // More failures than retries are handed to the handler
+                List<Tick> laterTicks = TickDatabaseInterface.generateTicks("BBB", FROM, 1000, 10);
+                for (Tick tick : laterTicks) {
+                    writeBehindBuffer.add(tick);
+                }
+                writeBehindBuffer.addTimestampRange("BBB", FROM, to);
+                remainingFailureCount.set(WriteBehindBuffer.DEFAULT_FLUSH_RETRY_COUNT + 1);
+                Assertions.assertFalse(writeBehindBuffer.flush());
+                Assertions.assertEquals(1, writeBehindBuffer.getFailedFlushCount());
+                Assertions.assertEquals(laterTicks, failedTicks);
+                Assertions.assertEquals(Collections.singletonMap("BBB",
+                        Collections.singletonList(new TemporalRange<>(FROM, to))), failedTimestampRanges);
+                Assertions.assertEquals(0, writeBehindBuffer.getQueueDepth());
+                Assertions.assertTrue(tickDatabaseInterface.getTimestampRanges("BBB", FROM, to, null).isEmpty());
+            } finally {
+                writeBehindBuffer.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that the timestamp ranges that are added for a key after its data POJOs failed to be flushed are held back
+     * until {@link WriteBehindBuffer#clearFailedKey(Object)} is called, so that a timestamp range is never inserted
+     * while data POJOs that were added before it are missing.
+     */
+    @Test
+    public void testFailedKeysHoldBackTimestampRanges() throws InterruptedException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("write_behind_failed_key_test")) {
+            AtomicBoolean failing = new AtomicBoolean(true);
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 16) {
+                @Override
+                public void insert(Collection<Tick> dataPOJOs) throws DataAccessException {
+                    if (failing.get()) {
+                        throw new DataAccessException("Simulated insert failure!");
+                    }
+                    super.insert(dataPOJOs);
+                }
+            };
+            LocalDateTime to = FROM.plusSeconds(20);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", FROM, 1000, 20);
+
+            // The flush delay is long enough for only the explicit flushes to run
+            WriteBehindBuffer<String, Tick> writeBehindBuffer = new WriteBehindBuffer<>(tickDatabaseInterface, 1000,
+                    1000, Duration.ofMinutes(10));
+            try {
+                writeBehindBuffer.setFlushRetryCount(0);
+                List<Tick> failedTicks = new ArrayList<>();
+                writeBehindBuffer.setFlushFailureHandler((dataPOJOs, timestampRangesOfKeys, exception) ->
+                        failedTicks.addAll(dataPOJOs));
+
+                for (Tick tick : ticks.subList(0, 10)) {
+                    writeBehindBuffer.add(tick);
+                }
+                Assertions.assertFalse(writeBehindBuffer.flush());
+                Assertions.assertEquals(Collections.singleton("AAA"), writeBehindBuffer.getFailedKeys());
+
+                // The later data POJOs are committed, but their timestamp range is held back
+                failing.set(false);
+                for (Tick tick : ticks.subList(10, 20)) {
+                    writeBehindBuffer.add(tick);
+                }
+                writeBehindBuffer.addTimestampRange("AAA", FROM, to);
+                Assertions.assertTrue(writeBehindBuffer.flush());
+                Assertions.assertEquals(10, tickDatabaseInterface.count("AAA", FROM, to, null, null));
+                Assertions.assertTrue(tickDatabaseInterface.getTimestampRanges("AAA", FROM, to, null).isEmpty());
+
+                // Re-adding the failed data POJOs and clearing the key inserts the held back timestamp range
+                for (Tick tick : failedTicks) {
+                    Assertions.assertTrue(writeBehindBuffer.offer(tick));
+                }
+                Assertions.assertTrue(writeBehindBuffer.clearFailedKey("AAA"));
+                Assertions.assertFalse(writeBehindBuffer.clearFailedKey("AAA"));
+                Assertions.assertTrue(writeBehindBuffer.flush());
+                Assertions.assertTrue(writeBehindBuffer.getFailedKeys().isEmpty());
+                List<Tick> insertedTicks = new ArrayList<>();
+                tickDatabaseInterface.get("AAA", FROM, to, null, null, null).forEachRemaining(insertedTicks::add);
+                Assertions.assertEquals(ticks, insertedTicks);
+                Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(FROM, to)),
+                        tickDatabaseInterface.getTimestampRanges("AAA", FROM, to, null));
+            } finally {
+                writeBehindBuffer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.cache;
+
+import net.jacobpeterson.timeseriesdatastore.database.cache.TimestampRangesCache;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link TimestampRangesCache}.
+ */
+public class TimestampRangesCacheTest {
+
+    /**
+     * Tests {@link TimestampRangesCache#getMissingTemporalRanges(Object, LocalDateTime, LocalDateTime)} after
+     * unsorted and overlapping timestamp ranges were put and added.
+     */
+    @Test
+    public void testGetMissingTemporalRangesAfterPutAndAdd() {
+        TimestampRangesCache<String> timestampRangesCache = new TimestampRangesCache<>();
+
+        List<TemporalRange<LocalDateTime>> temporalRanges = new ArrayList<>();
+        temporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 5, 9, 0), LocalDateTime.of(2021, 1, 6, 1, 0)));
+        temporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 1, 1, 0), LocalDateTime.of(2021, 1, 3, 12, 30)));
+        temporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 2, 0, 0), LocalDateTime.of(2021, 1, 4, 0, 0)));
+        timestampRangesCache.put("KEY", temporalRanges);
+        timestampRangesCache.add("KEY", LocalDateTime.of(2021, 1, 6, 1, 0), LocalDateTime.of(2021, 1, 6, 8, 0));
+
+        List<TemporalRange<LocalDateTime>> expectedMissingTemporalRanges = new ArrayList<>();
+        expectedMissingTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 1, 1, 0)));
+        expectedMissingTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 4, 0, 0), LocalDateTime.of(2021, 1, 5, 9, 0)));
+        expectedMissingTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 6, 8, 0), LocalDateTime.of(2021, 1, 7, 0, 0)));
+
+        Assertions.assertEquals(expectedMissingTemporalRanges, timestampRangesCache.getMissingTemporalRanges("KEY",
+                LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 7, 0, 0)));
+        Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(
+                        LocalDateTime.of(2021, 1, 5, 9, 0), LocalDateTime.of(2021, 1, 6, 8, 0))),
+                timestampRangesCache.getTemporalRanges("KEY",
+                        LocalDateTime.of(2021, 1, 4, 12, 0), LocalDateTime.of(2021, 1, 5, 12, 0)));
+        Assertions.assertNull(timestampRangesCache.getMissingTemporalRanges("OTHER_KEY",
+                LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 7, 0, 0)));
+    }
+
+    /**
+     * Tests that {@link TimestampRangesCache} evicts the least recently used key.
+     */
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        TimestampRangesCache<String> timestampRangesCache = new TimestampRangesCache<>(2);
+        List<TemporalRange<LocalDateTime>> temporalRanges = Arrays.asList(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 2, 0, 0)));
+
+        timestampRangesCache.put("A", temporalRanges);
+        timestampRangesCache.put("B", temporalRanges);
+        timestampRangesCache.getTemporalRanges("A", LocalDateTime.of(2021, 1, 1, 0, 0),
+                LocalDateTime.of(2021, 1, 2, 0, 0));
+        timestampRangesCache.put("C", temporalRanges);
+
+        Assertions.assertTrue(timestampRangesCache.contains("A"));
+        Assertions.assertFalse(timestampRangesCache.contains("B"));
+        Assertions.assertTrue(timestampRangesCache.contains("C"));
+        Assertions.assertEquals(2, timestampRangesCache.size());
+    }
+}
@@ -0,0 +1,239 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.chunk;
+
+import net.jacobpeterson.timeseriesdatastore.database.chunk.Chunk;
+import net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkStore;
+import net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkWriter;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickChunkCodec;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+
+/**
+ * Unit tests for {@link ChunkStore}.
+ */
+public class ChunkStoreTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final LocalDateTime DAY_3 = DAY_1.plusDays(2);
+
+    private static final Table<?> TICK_CHUNK = DSL.table(DSL.name("TICK_CHUNK"));
+    private static final Field<String> TICK_CHUNK_SYMBOL = DSL.field(DSL.name("SYMBOL"), SQLDataType.VARCHAR(16));
+    private static final Field<LocalDateTime> TICK_CHUNK_START = DSL.field(DSL.name("CHUNK_START"),
+            SQLDataType.LOCALDATETIME(9));
+    private static final Field<byte[]> TICK_CHUNK_DATA = DSL.field(DSL.name("DATA"), SQLDataType.BLOB);
+
+    /**
+     * Tests that {@link TickDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)} with a {@link ChunkStore} returns the same data POJOs as the data table before, while and after
+     * the data table is sealed into chunks, and that the timestamp ranges are still inserted.
+     */
+    @Test
+    public void testGetWithChunkStore() {
+        try (CloseableDSLContext create = createH2Database("chunk_store_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 15_000, 2 * 24 * 60 * 4);
+            tickDatabaseInterface.insert(ticks);
+
+            LocalDateTime from = DAY_1.plusHours(6);
+            List<List<Tick>> expectedResults = getAll(tickDatabaseInterface, from);
+
+            create.deleteFrom(TICK).execute();
+            tickDatabaseInterface.setChunkStore(new ChunkStore<>(TICK_CHUNK, TICK_CHUNK_SYMBOL, TICK_CHUNK_START,
+                    TICK_CHUNK_DATA, new TickChunkCodec()));
+            tickDatabaseInterface.insert(ticks, "AAA", DAY_1, DAY_3);
+            Assertions.assertEquals(0, create.fetchCount(TICK_CHUNK));
+            Assertions.assertEquals(expectedResults, getAll(tickDatabaseInterface, from));
+
+            // Seal the first day only, so that the chunk and the unsealed rows are merged
+            Assertions.assertEquals(1, tickDatabaseInterface.sealChunks(DAY_1.plusHours(36)));
+            Assertions.assertEquals(1, create.fetchCount(TICK_CHUNK));
+            Assertions.assertEquals(24 * 60 * 4, create.fetchCount(TICK));
+            Assertions.assertEquals(expectedResults, getAll(tickDatabaseInterface, from));
+
+            // Only the chunks are read once the data table is empty
+            Assertions.assertEquals(1, tickDatabaseInterface.sealChunks(DAY_3));
+            Assertions.assertEquals(2, create.fetchCount(TICK_CHUNK));
+            Assertions.assertEquals(0, create.fetchCount(TICK));
+            Assertions.assertEquals(expectedResults, getAll(tickDatabaseInterface, from));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(DAY_1, DAY_3)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", DAY_1, DAY_3));
+        }
+    }
+
+    /**
+     * Tests that sealing merges the unsealed rows into existing chunks in timestamp order, that the rows of the chunks
+     * take precedence over unsealed rows with the same timestamp, and that many small inserts into one chunk are
+     * sealed with one encode.
+     */
+    @Test
+    public void testSealMergesIntoExistingChunks() {
+        try (CloseableDSLContext create = createH2Database("chunk_store_merge_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+            tickDatabaseInterface.setChunkStore(new ChunkStore<>(TICK_CHUNK, TICK_CHUNK_SYMBOL, TICK_CHUNK_START,
+                    TICK_CHUNK_DATA, new TickChunkCodec()));
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 2 * 24 * 60);
+
+            // Insert and seal every other tick
+            List<Tick> evenTicks = new ArrayList<>();
+            for (int index = 0; index < ticks.size(); index += 2) {
+                evenTicks.add(ticks.get(index));
+            }
+            tickDatabaseInterface.insert(evenTicks);
+            Assertions.assertEquals(2, tickDatabaseInterface.sealChunks(DAY_3));
+
+            // Then insert all ticks with changed prices one at a time in a random order
+            List<Tick> changedTicks = new ArrayList<>();
+            List<Tick> expectedTicks = new ArrayList<>();
+            for (int index = 0; index < ticks.size(); index++) {
+                Tick tick = ticks.get(index);
+                Tick changedTick = new Tick(tick.getSymbol(), tick.getTimestamp(), tick.getPrice() + 1, tick.getSize());
+                changedTicks.add(changedTick);
+                expectedTicks.add(index % 2 == 0 ? tick : changedTick);
+            }
+            Collections.shuffle(changedTicks, new Random(42));
+            changedTicks.forEach(tickDatabaseInterface::insert);
+            Assertions.assertEquals(2, create.fetchCount(TICK_CHUNK));
+            Assertions.assertEquals(ticks.size(), create.fetchCount(TICK));
+            Assertions.assertEquals(expectedTicks, getAscending(tickDatabaseInterface));
+            Assertions.assertEquals(ticks.size(), tickDatabaseInterface.count("AAA", DAY_1, DAY_3, null, null));
+
+            Assertions.assertEquals(2, tickDatabaseInterface.sealChunks(DAY_3));
+            Assertions.assertEquals(2, create.fetchCount(TICK_CHUNK));
+            Assertions.assertEquals(0, create.fetchCount(TICK));
+            Assertions.assertEquals(expectedTicks, getAscending(tickDatabaseInterface));
+
+            // A late insert of an existing timestamp is shadowed by the chunk and is dropped when sealing
+            tickDatabaseInterface.insert(ticks.get(1));
+            Assertions.assertEquals(expectedTicks, getAscending(tickDatabaseInterface));
+            Assertions.assertEquals(1, tickDatabaseInterface.sealChunks(DAY_3));
+            Assertions.assertEquals(0, create.fetchCount(TICK));
+            Assertions.assertEquals(expectedTicks, getAscending(tickDatabaseInterface));
+        }
+    }
+
+    /**
+     * Tests the multi-key <code>get</code>, <code>count</code>, <code>exists</code>, <code>firstTimestamp</code> and
+     * <code>lastTimestamp</code> with a {@link ChunkStore} and that the methods that only query the data table fail
+     * fast.
+     */
+    @Test
+    public void testQueriesWithChunkStore() {
+        try (CloseableDSLContext create = createH2Database("chunk_store_query_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+            tickDatabaseInterface.setChunkStore(new ChunkStore<>(TICK_CHUNK, TICK_CHUNK_SYMBOL, TICK_CHUNK_START,
+                    TICK_CHUNK_DATA, new TickChunkCodec()));
+            List<Tick> sealedTicks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 2 * 24 * 60);
+            tickDatabaseInterface.insert(sealedTicks);
+            tickDatabaseInterface.sealChunks(DAY_3);
+            List<Tick> unsealedTicks = TickDatabaseInterface.generateTicks("BBB", DAY_1.plusNanos(1_000_000),
+                    60_000, 100);
+            tickDatabaseInterface.insert(unsealedTicks);
+
+            List<Tick> expectedTicks = new ArrayList<>(sealedTicks);
+            expectedTicks.addAll(unsealedTicks);
+            expectedTicks.sort(Comparator.comparing(Tick::getTimestamp));
+            List<Tick> mergedTicks = new ArrayList<>();
+            tickDatabaseInterface.get(Arrays.asList("AAA", "BBB"), DAY_1, DAY_3, null, null, SortDirection.ASCENDING,
+                    null).forEachRemaining(mergedTicks::add);
+            Assertions.assertEquals(expectedTicks, mergedTicks);
+
+            Assertions.assertEquals(sealedTicks.size(), tickDatabaseInterface.count("AAA", DAY_1, DAY_3, null, null));
+            Assertions.assertEquals(unsealedTicks.size(),
+                    tickDatabaseInterface.count("BBB", DAY_1, DAY_3, null, null));
+            Assertions.assertTrue(tickDatabaseInterface.exists("AAA", DAY_1, DAY_3, null, null));
+            Assertions.assertFalse(tickDatabaseInterface.exists("CCC", DAY_1, DAY_3, null, null));
+            Assertions.assertEquals(DAY_1, tickDatabaseInterface.firstTimestamp("AAA", DAY_1, DAY_3, null, null));
+            Assertions.assertEquals(DAY_3.minusMinutes(1),
+                    tickDatabaseInterface.lastTimestamp("AAA", DAY_1, DAY_3, null, null));
+
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> tickDatabaseInterface.getPaged("AAA", DAY_1, DAY_3, null, null, SortDirection.ASCENDING));
+        }
+    }
+
+    /**
+     * Tests that a {@link Chunk} decodes the exact values that were written by a {@link ChunkWriter} and that dense
+     * tick data is compressed.
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    @Test
+    public void testChunkEncoding() throws IOException {
+        long[] timestamps = {Long.MIN_VALUE, -1, 0, 0, 5, 1_000_000_005, Long.MAX_VALUE};
+        double[] prices = {0, -0d, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE, 100.25, Double.NEGATIVE_INFINITY};
+        long[] sizes = {Long.MAX_VALUE, Long.MIN_VALUE, 0, 100, 100, -7, 1};
+
+        ChunkWriter chunkWriter = new ChunkWriter(1, 1);
+        for (int index = 0; index < timestamps.length; index++) {
+            chunkWriter.add(timestamps[index], new double[] {prices[index]}, new long[] {sizes[index]});
+        }
+        Chunk chunk = Chunk.decode(chunkWriter.toByteArray());
+        Assertions.assertEquals(timestamps.length, chunk.size());
+        for (int index = 0; index < timestamps.length; index++) {
+            Assertions.assertEquals(timestamps[index], chunk.getTimestamp(index));
+            Assertions.assertEquals(Double.doubleToRawLongBits(prices[index]),
+                    Double.doubleToRawLongBits(chunk.getDouble(0, index)));
+            Assertions.assertEquals(sizes[index], chunk.getLong(0, index));
+        }
+        Assertions.assertEquals(4, chunk.lowerBound(1));
+
+        // Regularly spaced ticks take about a quarter of their 24 uncompressed bytes per row
+        List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 1000, 10_000);
+        ChunkWriter tickChunkWriter = new ChunkWriter(1, 1);
+        for (Tick tick : ticks) {
+            tickChunkWriter.add(EpochNanoRanges.toEpochNanos(tick.getTimestamp()), new double[] {tick.getPrice()},
+                    new long[] {tick.getSize()});
+        }
+        Assertions.assertTrue(tickChunkWriter.toByteArray().length < ticks.size() * 8);
+    }
+
+    private static CloseableDSLContext createH2Database(String databaseName) {
+        CloseableDSLContext create = TickDatabaseInterface.createH2Database(databaseName);
+        create.createTableIfNotExists(TICK_CHUNK)
+                .columns(TICK_CHUNK_SYMBOL, TICK_CHUNK_START, TICK_CHUNK_DATA)
+                .primaryKey(TICK_CHUNK_SYMBOL, TICK_CHUNK_START)
+                .execute();
+        return create;
+    }
+
+    private static List<Tick> getAscending(TickDatabaseInterface tickDatabaseInterface) {
+        List<Tick> ticks = new ArrayList<>();
+        tickDatabaseInterface.get("AAA", DAY_1, DAY_3, null, null, SortDirection.ASCENDING)
+                .forEachRemaining(ticks::add);
+        return ticks;
+    }
+
+    private static List<List<Tick>> getAll(TickDatabaseInterface tickDatabaseInterface, LocalDateTime from) {
+        List<List<Tick>> results = new ArrayList<>();
+        for (SortDirection sortDirection : SortDirection.values()) {
+            for (LocalTime beginFilterTime : new LocalTime[] {null, LocalTime.of(9, 30)}) {
+                List<Tick> ticks = new ArrayList<>();
+                tickDatabaseInterface.get("AAA", from, DAY_3, beginFilterTime, LocalTime.of(16, 0), sortDirection)
+                        .forEachRemaining(ticks::add);
+                results.add(ticks);
+            }
+        }
+        return results;
+    }
+}
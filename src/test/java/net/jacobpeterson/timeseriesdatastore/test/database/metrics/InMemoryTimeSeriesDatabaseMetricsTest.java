@@ -0,0 +1,138 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.metrics;
+
+import net.jacobpeterson.timeseriesdatastore.database.metrics.Histogram;
+import net.jacobpeterson.timeseriesdatastore.database.metrics.InMemoryTimeSeriesDatabaseMetrics;
+import net.jacobpeterson.timeseriesdatastore.database.metrics.InMemoryTimeSeriesDatabaseMetrics.KeyMetrics;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import org.jooq.CloseableDSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Unit tests for {@link InMemoryTimeSeriesDatabaseMetrics}.
+ */
+public class InMemoryTimeSeriesDatabaseMetricsTest {
+
+    /**
+     * Tests that the query and insert operations of a {@link TickDatabaseInterface} are recorded per key.
+     */
+    @Test
+    public void testRecordsQueryAndInsertOperations() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("metrics_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 10);
+            InMemoryTimeSeriesDatabaseMetrics<String> metrics = new InMemoryTimeSeriesDatabaseMetrics<>();
+            tickDatabaseInterface.setMetrics(metrics);
+
+            LocalDateTime from = LocalDateTime.of(2021, 1, 4, 9, 30);
+            LocalDateTime to = from.plusMinutes(1);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", from, 100, 600);
+            tickDatabaseInterface.insert(ticks, "AAA", from, to);
+
+            List<Tick> fetchedTicks = new ArrayList<>();
+            Iterator<Tick> tickIterator = tickDatabaseInterface.get("AAA", from, to, null, null,
+                    SortDirection.ASCENDING);
+            tickIterator.forEachRemaining(fetchedTicks::add);
+            Assertions.assertEquals(ticks, fetchedTicks);
+
+            tickDatabaseInterface.getTimestampRanges("AAA", from, to, SortDirection.ASCENDING);
+
+            KeyMetrics keyMetrics = metrics.getKeyMetrics("AAA");
+            Assertions.assertNotNull(keyMetrics);
+            Assertions.assertEquals(1, keyMetrics.getGetTimeToFirstRowNanos().getCount());
+            Assertions.assertEquals(1, keyMetrics.getGetTotalNanos().getCount());
+            Assertions.assertTrue(keyMetrics.getGetTotalNanos().getMax() >=
+                    keyMetrics.getGetFetchNanos().getMax() + keyMetrics.getGetMappingNanos().getMax());
+            Assertions.assertEquals(600, keyMetrics.getMappedRowCount());
+            // Each tick has a 3 character symbol and three 8 byte values
+            Assertions.assertEquals(600 * (2 * 3 + 3 * 8), keyMetrics.getMappedByteCount());
+            Assertions.assertEquals(1, keyMetrics.getInsertNanos().getCount());
+            Assertions.assertEquals(600, keyMetrics.getInsertedRowCount());
+            Assertions.assertEquals(1, keyMetrics.getInsertTimestampRangeRecordNanos().getCount());
+            Assertions.assertEquals(1, keyMetrics.getGetTimestampRangesCount().getCount());
+            Assertions.assertEquals(1, keyMetrics.getGetTimestampRangesCount().getMax());
+
+            // Batches with rows of different keys are only recorded in the total
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("BBB", to, 100, 1));
+            List<Tick> mixedTicks = new ArrayList<>(TickDatabaseInterface.generateTicks("CCC", to, 100, 2));
+            mixedTicks.addAll(TickDatabaseInterface.generateTicks("DDD", to, 100, 2));
+            tickDatabaseInterface.insert(mixedTicks);
+            Assertions.assertEquals(1, metrics.getKeyMetrics("BBB").getInsertedRowCount());
+            Assertions.assertNull(metrics.getKeyMetrics("CCC"));
+            Assertions.assertEquals(605, metrics.getTotalKeyMetrics().getInsertedRowCount());
+        }
+    }
+
+    /**
+     * Tests that an adaptive fetch size starts at the minimum, grows for a fast consumer within the memory bound, and
+     * is recorded.
+     */
+    @Test
+    public void testRecordsAdaptiveDataFetchSizes() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("adaptive_fetch_size_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 10) {
+                @Override
+                protected boolean isAdaptiveDataFetchSizeEnabled() {
+                    return true;
+                }
+
+                @Override
+                protected int getMinimumDataFetchSize() {
+                    return 8;
+                }
+
+                @Override
+                protected long getMaximumDataFetchBytes() {
+                    // Each tick is estimated at 30 bytes, so at most 64 ticks are fetched at a time
+                    return 64 * 30;
+                }
+            };
+            InMemoryTimeSeriesDatabaseMetrics<String> metrics = new InMemoryTimeSeriesDatabaseMetrics<>();
+            tickDatabaseInterface.setMetrics(metrics);
+
+            LocalDateTime from = LocalDateTime.of(2021, 1, 4, 9, 30);
+            LocalDateTime to = from.plusMinutes(1);
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", from, 100, 600);
+            tickDatabaseInterface.insert(ticks);
+
+            List<Tick> fetchedTicks = new ArrayList<>();
+            tickDatabaseInterface.get("AAA", from, to, null, null, SortDirection.ASCENDING)
+                    .forEachRemaining(fetchedTicks::add);
+            Assertions.assertEquals(ticks, fetchedTicks);
+
+            Histogram dataFetchSize = metrics.getKeyMetrics("AAA").getDataFetchSize();
+            Assertions.assertEquals(8, dataFetchSize.getMin());
+            Assertions.assertTrue(dataFetchSize.getMax() > 8);
+            Assertions.assertTrue(dataFetchSize.getMax() <= 64);
+        }
+    }
+
+    /**
+     * Tests the percentiles of a {@link Histogram}.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1, histogram.getMin());
+        Assertions.assertEquals(1000, histogram.getMax());
+        Assertions.assertEquals(500.5, histogram.getMean());
+        Assertions.assertEquals(511, histogram.getValueAtPercentile(50));
+        Assertions.assertEquals(1000, histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(1, histogram.getValueAtPercentile(0));
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,117 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.partition;
+
+import net.jacobpeterson.timeseriesdatastore.database.partition.PartitionPeriod;
+import net.jacobpeterson.timeseriesdatastore.database.partition.TablePartitioner;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+
+/**
+ * Unit tests for {@link TablePartitioner}.
+ */
+public class TablePartitionerTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDateTime DAY_3 = DAY_1.plusDays(2);
+    private static final LocalDateTime DAY_4 = DAY_1.plusDays(3);
+
+    /**
+     * Tests {@link TablePartitioner#getPartitionRanges(LocalDateTime, LocalDateTime)} and
+     * {@link TablePartitioner#getPartitionTableName(String, LocalDateTime)}.
+     */
+    @Test
+    public void testPartitionRanges() {
+        TablePartitioner monthlyPartitioner = new TablePartitioner(PartitionPeriod.MONTHLY);
+        LocalDateTime from = LocalDateTime.of(2021, 1, 15, 9, 30);
+        LocalDateTime to = LocalDateTime.of(2021, 3, 2, 16, 0);
+        Assertions.assertEquals(Arrays.asList(
+                        new TemporalRange<>(from, LocalDateTime.of(2021, 2, 1, 0, 0)),
+                        new TemporalRange<>(LocalDateTime.of(2021, 2, 1, 0, 0), LocalDateTime.of(2021, 3, 1, 0, 0)),
+                        new TemporalRange<>(LocalDateTime.of(2021, 3, 1, 0, 0), to)),
+                monthlyPartitioner.getPartitionRanges(from, to));
+        Assertions.assertTrue(monthlyPartitioner.getPartitionRanges(to, from).isEmpty());
+        Assertions.assertEquals("TICK_202103",
+                monthlyPartitioner.getPartitionTableName("TICK", monthlyPartitioner.getPartitionStart(to)));
+
+        TablePartitioner yearlyPartitioner = new TablePartitioner(PartitionPeriod.YEARLY);
+        Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(from, to)),
+                yearlyPartitioner.getPartitionRanges(from, to));
+        Assertions.assertEquals("TICK_20210104", new TablePartitioner(PartitionPeriod.DAILY)
+                .getPartitionTableName("TICK", DAY_1));
+    }
+
+    /**
+     * Tests that rows are inserted into the partition tables of their timestamps, that queries only touch the
+     * partition tables that overlap their range, and that dropping a partition trims the timestamp ranges.
+     */
+    @Test
+    public void testPartitionedDataTable() {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("table_partitioner_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+            TablePartitioner tablePartitioner = new TablePartitioner(PartitionPeriod.DAILY);
+            tickDatabaseInterface.setTablePartitioner(tablePartitioner);
+            for (LocalDateTime day : Arrays.asList(DAY_1, DAY_2, DAY_3)) {
+                create.createTableIfNotExists(tablePartitioner.getPartitionTable(TICK, day))
+                        .columns(TICK.fields())
+                        .primaryKey(TICK.SYMBOL, TICK.TIMESTAMP)
+                        .execute();
+            }
+
+            // One tick per minute for three days
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 3 * 24 * 60);
+            tickDatabaseInterface.insert(ticks.subList(0, 100));
+            tickDatabaseInterface.insert(ticks.get(100));
+            tickDatabaseInterface.insert(ticks, "AAA", DAY_1, DAY_4);
+
+            Assertions.assertEquals(0, create.fetchCount(TICK));
+            for (LocalDateTime day : Arrays.asList(DAY_1, DAY_2, DAY_3)) {
+                Assertions.assertEquals(24 * 60, create.fetchCount(tablePartitioner.getPartitionTable(TICK, day)));
+            }
+
+            // Ranges across partition boundaries are read in order
+            LocalDateTime from = DAY_1.plusHours(20);
+            LocalDateTime to = DAY_3.plusHours(4);
+            List<Tick> expectedTicks = new ArrayList<>();
+            for (Tick tick : ticks) {
+                if (!tick.getTimestamp().isBefore(from) && tick.getTimestamp().isBefore(to)) {
+                    expectedTicks.add(tick);
+                }
+            }
+            Assertions.assertEquals(expectedTicks, get(tickDatabaseInterface, from, to, SortDirection.ASCENDING));
+            List<Tick> reversedTicks = new ArrayList<>(expectedTicks);
+            Collections.reverse(reversedTicks);
+            Assertions.assertEquals(reversedTicks, get(tickDatabaseInterface, from, to, SortDirection.DESCENDING));
+            Assertions.assertEquals(expectedTicks.size(), tickDatabaseInterface.count("AAA", from, to, null, null));
+            Assertions.assertEquals(expectedTicks.get(expectedTicks.size() - 1).getTimestamp(),
+                    tickDatabaseInterface.lastTimestamp("AAA", from, to, null, null));
+
+            tickDatabaseInterface.dropPartition(DAY_2.plusHours(12));
+            Assertions.assertEquals(Arrays.asList(new TemporalRange<>(DAY_1, DAY_2), new TemporalRange<>(DAY_3, DAY_4)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", DAY_1, DAY_4));
+
+            // Only the overlapping partition tables are queried, so the dropped one isn't touched
+            Assertions.assertEquals(24 * 60, get(tickDatabaseInterface, DAY_1, DAY_2, SortDirection.ASCENDING).size());
+            Assertions.assertEquals(24 * 60, get(tickDatabaseInterface, DAY_3, DAY_4, SortDirection.DESCENDING).size());
+        }
+    }
+
+    private static List<Tick> get(TickDatabaseInterface tickDatabaseInterface, LocalDateTime from, LocalDateTime to,
+            SortDirection sortDirection) {
+        List<Tick> ticks = new ArrayList<>();
+        tickDatabaseInterface.get("AAA", from, to, null, null, sortDirection).forEachRemaining(ticks::add);
+        return ticks;
+    }
+}
@@ -0,0 +1,127 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.replica;
+
+import net.jacobpeterson.timeseriesdatastore.database.replica.ReadReplicaRouter;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import org.jooq.CloseableDSLContext;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ReadReplicaRouter}. The read replicas are separate H2 databases that are "replicated" by
+ * inserting into them directly, so that a replication lag can be simulated.
+ */
+public class ReadReplicaRouterTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+
+    /**
+     * Tests that reads are sent to the read replica and that timestamp ranges that aren't visible on the read replica
+     * yet are read from the primary.
+     */
+    @Test
+    public void testReadsAreRoutedToReadReplica() {
+        try (CloseableDSLContext primaryCreate = TickDatabaseInterface.createH2Database("replica_router_primary");
+             CloseableDSLContext replicaCreate = TickDatabaseInterface.createH2Database("replica_router_replica")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(primaryCreate, 100);
+            TickDatabaseInterface replicaTickDatabaseInterface = new TickDatabaseInterface(replicaCreate, 100);
+            // Without a replication lag, only the timestamp ranges fall back to the primary
+            tickDatabaseInterface.setReadReplicaRouter(new ReadReplicaRouter<>(
+                    Collections.singletonList(replicaCreate), Duration.ZERO));
+
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 24 * 60);
+            tickDatabaseInterface.insert(ticks, "AAA", DAY_1, DAY_2);
+
+            // The range was not replicated yet, but it isn't reported as missing
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("AAA", DAY_1, DAY_2).isEmpty());
+            Assertions.assertEquals(0, tickDatabaseInterface.count("AAA", DAY_1, DAY_2, null, null));
+
+            replicaTickDatabaseInterface.insert(ticks, "AAA", DAY_1, DAY_2);
+            Assertions.assertEquals(ticks.size(), tickDatabaseInterface.count("AAA", DAY_1, DAY_2, null, null));
+            Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(DAY_1, DAY_2)),
+                    tickDatabaseInterface.getCoveredTimestampRanges("AAA", DAY_1, DAY_2));
+        }
+    }
+
+    /**
+     * Tests that the reads of a key are sent to the primary within the replication lag after a write of the key
+     * (or after the read replica was found to be behind for the key).
+     */
+    @Test
+    public void testRecentlyWrittenKeysAreReadFromPrimary() {
+        try (CloseableDSLContext primaryCreate = TickDatabaseInterface.createH2Database("replica_lag_primary");
+             CloseableDSLContext replicaCreate = TickDatabaseInterface.createH2Database("replica_lag_replica")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(primaryCreate, 100);
+            tickDatabaseInterface.setReadReplicaRouter(new ReadReplicaRouter<>(
+                    Collections.singletonList(replicaCreate), Duration.ofMinutes(10)));
+
+            // Written through this interface
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 100));
+            Assertions.assertEquals(100, tickDatabaseInterface.count("AAA", DAY_1, DAY_2, null, null));
+
+            // Only on the read replica
+            new TickDatabaseInterface(replicaCreate, 100)
+                    .insert(TickDatabaseInterface.generateTicks("BBB", DAY_1, 60_000, 50));
+            Assertions.assertEquals(50, tickDatabaseInterface.count("BBB", DAY_1, DAY_2, null, null));
+
+            // Written by another interface of the primary
+            new TickDatabaseInterface(primaryCreate, 100)
+                    .insert(TickDatabaseInterface.generateTicks("CCC", DAY_1, 60_000, 30), "CCC", DAY_1, DAY_2);
+            Assertions.assertEquals(0, tickDatabaseInterface.count("CCC", DAY_1, DAY_2, null, null));
+            Assertions.assertTrue(tickDatabaseInterface.getMissingTimestampRanges("CCC", DAY_1, DAY_2).isEmpty());
+            Assertions.assertEquals(30, tickDatabaseInterface.count("CCC", DAY_1, DAY_2, null, null));
+        }
+    }
+
+    /**
+     * Tests that reads are balanced over the read replicas in a round-robin order.
+     */
+    @Test
+    public void testRoundRobin() {
+        try (CloseableDSLContext primaryCreate = TickDatabaseInterface.createH2Database("replica_round_robin_primary");
+             CloseableDSLContext firstCreate = TickDatabaseInterface.createH2Database("replica_round_robin_1");
+             CloseableDSLContext secondCreate = TickDatabaseInterface.createH2Database("replica_round_robin_2")) {
+            ReadReplicaRouter<String> readReplicaRouter = new ReadReplicaRouter<>(
+                    Arrays.asList(firstCreate, secondCreate), Duration.ofMinutes(10));
+            List<DSLContext> readContexts = Arrays.asList(readReplicaRouter.nextReadContext(),
+                    readReplicaRouter.nextReadContext(), readReplicaRouter.nextReadContext());
+            Assertions.assertEquals(Arrays.asList(firstCreate, secondCreate, firstCreate), readContexts);
+
+            readReplicaRouter.recordWrite("AAA");
+            Assertions.assertSame(primaryCreate, readReplicaRouter.getReadContext(primaryCreate, "AAA"));
+            Assertions.assertSame(primaryCreate, readReplicaRouter.getReadContext(primaryCreate,
+                    Arrays.asList("BBB", "AAA")));
+            Assertions.assertSame(secondCreate, readReplicaRouter.getReadContext(primaryCreate, "BBB"));
+        }
+    }
+
+    /**
+     * Tests that the expired writes of keys that are never read are purged on write.
+     */
+    @Test
+    public void testExpiredWritesArePurged() throws InterruptedException {
+        try (CloseableDSLContext replicaCreate = TickDatabaseInterface.createH2Database("replica_purge_replica")) {
+            ReadReplicaRouter<String> readReplicaRouter = new ReadReplicaRouter<>(
+                    Collections.singletonList(replicaCreate), Duration.ofMillis(50));
+            for (int keyIndex = 0; keyIndex < 1000; keyIndex++) {
+                readReplicaRouter.recordWrite("KEY" + keyIndex);
+            }
+            Assertions.assertEquals(1000, readReplicaRouter.getTrackedKeyCount());
+
+            Thread.sleep(120);
+            readReplicaRouter.recordWrite("AAA");
+            Assertions.assertEquals(1, readReplicaRouter.getTrackedKeyCount());
+            Assertions.assertTrue(readReplicaRouter.isRecentlyWritten("AAA"));
+            Assertions.assertFalse(readReplicaRouter.isRecentlyWritten("KEY0"));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.segment;
+
+import net.jacobpeterson.timeseriesdatastore.database.segment.SegmentCache;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.Tick;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickDatabaseInterface;
+import net.jacobpeterson.timeseriesdatastore.test.database.tick.TickSegmentSerializer;
+import net.jacobpeterson.timeseriesdatastore.util.sort.SortDirection;
+import org.jooq.CloseableDSLContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+
+/**
+ * Unit tests for {@link SegmentCache}.
+ */
+public class SegmentCacheTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2021, 1, 4, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDateTime DAY_3 = DAY_1.plusDays(2);
+
+    /**
+     * Tests that {@link TickDatabaseInterface#get(Object, LocalDateTime, LocalDateTime, LocalTime, LocalTime,
+     * SortDirection)} with a {@link SegmentCache} returns the same data POJOs as without one and that only complete
+     * segments are cached.
+     *
+     * @param directory the temporary directory
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    @Test
+    public void testGetWithSegmentCache(@TempDir Path directory) throws IOException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("segment_cache_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+
+            // Day 1 is complete, day 2 is only complete until noon
+            List<Tick> ticks = TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 2 * 24 * 60);
+            tickDatabaseInterface.insert(ticks);
+            tickDatabaseInterface.insertTimestampRangeRecord("AAA", DAY_1.minusHours(1), DAY_2.plusHours(12));
+
+            LocalDateTime from = DAY_1.plusHours(6);
+            List<List<Tick>> expectedResults = new ArrayList<>();
+            for (SortDirection sortDirection : SortDirection.values()) {
+                expectedResults.add(get(tickDatabaseInterface, from, DAY_3, null, null, sortDirection));
+                expectedResults.add(get(tickDatabaseInterface, from, DAY_3, LocalTime.of(9, 30), LocalTime.of(16, 0),
+                        sortDirection));
+            }
+
+            SegmentCache<String, Tick> segmentCache = new SegmentCache<>(directory, new TickSegmentSerializer(),
+                    Long.MAX_VALUE);
+            tickDatabaseInterface.setSegmentCache(segmentCache);
+
+            // Run twice so that the second run reads the written segment
+            for (int run = 0; run < 2; run++) {
+                List<List<Tick>> results = new ArrayList<>();
+                for (SortDirection sortDirection : SortDirection.values()) {
+                    results.add(get(tickDatabaseInterface, from, DAY_3, null, null, sortDirection));
+                    results.add(get(tickDatabaseInterface, from, DAY_3, LocalTime.of(9, 30), LocalTime.of(16, 0),
+                            sortDirection));
+                }
+                Assertions.assertEquals(expectedResults, results);
+                Assertions.assertEquals(1, segmentCache.size());
+            }
+
+            // The complete day is now served from the segment file
+            create.deleteFrom(TICK).where(TICK.TIMESTAMP.lessThan(DAY_2)).execute();
+            Assertions.assertEquals(expectedResults.get(0),
+                    get(tickDatabaseInterface, from, DAY_3, null, null, SortDirection.ASCENDING));
+
+            // A new cache on the same directory reuses the existing segment file
+            Assertions.assertEquals(1, new SegmentCache<>(directory, new TickSegmentSerializer(),
+                    Long.MAX_VALUE).size());
+
+            segmentCache.invalidate("AAA");
+            Assertions.assertEquals(0, segmentCache.size());
+            Assertions.assertEquals(0, segmentCache.getTotalByteCount());
+        }
+    }
+
+    /**
+     * Tests that {@link SegmentCache} evicts the least recently used segments once the maximum byte count is
+     * exceeded.
+     *
+     * @param directory the temporary directory
+     *
+     * @throws IOException thrown for {@link IOException}s
+     */
+    @Test
+    public void testLeastRecentlyUsedEviction(@TempDir Path directory) throws IOException {
+        try (CloseableDSLContext create = TickDatabaseInterface.createH2Database("segment_cache_eviction_test")) {
+            TickDatabaseInterface tickDatabaseInterface = new TickDatabaseInterface(create, 100);
+            tickDatabaseInterface.insert(TickDatabaseInterface.generateTicks("AAA", DAY_1, 60_000, 3 * 24 * 60),
+                    "AAA", DAY_1, DAY_1.plusDays(3));
+
+            // Each segment has 1440 ticks with about 40 bytes each, so only two fit
+            SegmentCache<String, Tick> segmentCache = new SegmentCache<>(directory, new TickSegmentSerializer(),
+                    150_000);
+            tickDatabaseInterface.setSegmentCache(segmentCache);
+
+            get(tickDatabaseInterface, DAY_1, DAY_2, null, null, null);
+            get(tickDatabaseInterface, DAY_2, DAY_3, null, null, null);
+            Assertions.assertEquals(2, segmentCache.size());
+            get(tickDatabaseInterface, DAY_3, DAY_3.plusDays(1), null, null, null);
+            Assertions.assertEquals(2, segmentCache.size());
+            Assertions.assertTrue(segmentCache.getTotalByteCount() <= 150_000);
+        }
+    }
+
+    private static List<Tick> get(TickDatabaseInterface tickDatabaseInterface, LocalDateTime from,
+            LocalDateTime to, LocalTime beginFilterTime, LocalTime endFilterTime, SortDirection sortDirection) {
+        List<Tick> ticks = new ArrayList<>();
+        tickDatabaseInterface.get("AAA", from, to, beginFilterTime, endFilterTime, sortDirection)
+                .forEachRemaining(ticks::add);
+        return ticks;
+    }
+}
@@ -0,0 +1,75 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * {@link Tick} is the POJO of a {@link TickRecord}.
+ */
+public class Tick {
+
+    private final String symbol;
+    private final LocalDateTime timestamp;
+    private final double price;
+    private final long size;
+
+    /**
+     * Instantiates a new {@link Tick}.
+     *
+     * @param symbol    the symbol
+     * @param timestamp the timestamp
+     * @param price     the price
+     * @param size      the size
+     */
+    public Tick(String symbol, LocalDateTime timestamp, double price, long size) {
+        this.symbol = symbol;
+        this.timestamp = timestamp;
+        this.price = price;
+        this.size = size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        Tick otherTick = (Tick) other;
+        return Double.compare(otherTick.price, price) == 0 && size == otherTick.size &&
+                Objects.equals(symbol, otherTick.symbol) && Objects.equals(timestamp, otherTick.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(symbol, timestamp, price, size);
+    }
+
+    @Override
+    public String toString() {
+        return "Tick{" +
+                "symbol='" + symbol + '\'' +
+                ", timestamp=" + timestamp +
+                ", price=" + price +
+                ", size=" + size +
+                '}';
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
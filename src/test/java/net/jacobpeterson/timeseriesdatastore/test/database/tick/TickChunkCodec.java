@@ -0,0 +1,32 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import net.jacobpeterson.timeseriesdatastore.database.chunk.ChunkCodec;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link TickChunkCodec} is a {@link ChunkCodec} for {@link Tick}s.
+ */
+public class TickChunkCodec implements ChunkCodec<String, Tick> {
+
+    @Override
+    public int getDoubleColumnCount() {
+        return 1;
+    }
+
+    @Override
+    public int getLongColumnCount() {
+        return 1;
+    }
+
+    @Override
+    public void write(Tick tick, double[] doubleValues, long[] longValues) {
+        doubleValues[0] = tick.getPrice();
+        longValues[0] = tick.getSize();
+    }
+
+    @Override
+    public Tick read(String symbol, LocalDateTime timestamp, double[] doubleValues, long[] longValues) {
+        return new Tick(symbol, timestamp, doubleValues[0], longValues[0]);
+    }
+}
@@ -0,0 +1,138 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import net.jacobpeterson.timeseriesdatastore.database.TimeSeriesDatabaseInterface;
+import org.jooq.CloseableDSLContext;
+import org.jooq.DSLContext;
+import org.jooq.RecordMapper;
+import org.jooq.RecordUnmapper;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.impl.DSL;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTable.TICK;
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTimestampRangesTable.TICK_TIMESTAMP_RANGES;
+
+/**
+ * {@link TickDatabaseInterface} is a {@link TimeSeriesDatabaseInterface} for the {@link TickTable} that is used for
+ * tests and benchmarks against an embedded H2 database.
+ */
+public class TickDatabaseInterface extends TimeSeriesDatabaseInterface<String, TickRecord, Tick,
+        TickTimestampRangesRecord> {
+
+    private final int dataFetchSize;
+
+    /**
+     * Instantiates a new {@link TickDatabaseInterface}.
+     *
+     * @param create        the {@link DSLContext}
+     * @param dataFetchSize the data fetch size
+     */
+    public TickDatabaseInterface(DSLContext create, int dataFetchSize) {
+        super(create);
+
+        this.dataFetchSize = dataFetchSize;
+    }
+
+    /**
+     * Creates a new in-memory H2 {@link CloseableDSLContext} with the {@link TickTable} and the
+     * {@link TickTimestampRangesTable} created in it.
+     *
+     * @param databaseName the unique name of the in-memory database
+     *
+     * @return the {@link CloseableDSLContext} (closing it drops the in-memory database)
+     */
+    public static CloseableDSLContext createH2Database(String databaseName) {
+        CloseableDSLContext create = DSL.using("jdbc:h2:mem:" + databaseName, "sa", "");
+        create.createTableIfNotExists(TICK)
+                .columns(TICK.fields())
+                .primaryKey(TICK.SYMBOL, TICK.TIMESTAMP)
+                .execute();
+        create.createTableIfNotExists(TICK_TIMESTAMP_RANGES)
+                .columns(TICK_TIMESTAMP_RANGES.fields())
+                .primaryKey(TICK_TIMESTAMP_RANGES.SYMBOL, TICK_TIMESTAMP_RANGES.FROM, TICK_TIMESTAMP_RANGES.TO)
+                .execute();
+        return create;
+    }
+
+    /**
+     * Generates {@link Tick}s with a random walk price.
+     *
+     * @param symbol   the symbol
+     * @param from     the timestamp of the first {@link Tick}
+     * @param interval the number of milliseconds between {@link Tick}s
+     * @param count    the number of {@link Tick}s
+     *
+     * @return a {@link List} of {@link Tick}s sorted from oldest to newest
+     */
+    public static List<Tick> generateTicks(String symbol, LocalDateTime from, long interval, int count) {
+        ArrayList<Tick> ticks = new ArrayList<>(count);
+        double price = 100;
+        for (int index = 0; index < count; index++) {
+            price = Math.max(0.01, price + (index * 7919 % 11 - 5) / 100d);
+            ticks.add(new Tick(symbol, from.plusNanos(index * interval * 1_000_000), price, 100 + index % 500));
+        }
+        return ticks;
+    }
+
+    @Override
+    protected Table<TickRecord> getDataTable() {
+        return TICK;
+    }
+
+    @Override
+    protected TableField<TickRecord, String> getDataKeyTableField() {
+        return TICK.SYMBOL;
+    }
+
+    @Override
+    protected TableField<TickRecord, LocalDateTime> getDataTimestampTableField() {
+        return TICK.TIMESTAMP;
+    }
+
+    @Override
+    protected RecordMapper<TickRecord, Tick> getDataRecordMapper() {
+        return record -> new Tick(record.get(TICK.SYMBOL), record.get(TICK.TIMESTAMP), record.get(TICK.PRICE),
+                record.get(TICK.SIZE));
+    }
+
+    @Override
+    protected RecordUnmapper<Tick, TickRecord> getDataRecordUnmapper() {
+        return tick -> {
+            TickRecord tickRecord = new TickRecord();
+            tickRecord.set(TICK.SYMBOL, tick.getSymbol());
+            tickRecord.set(TICK.TIMESTAMP, tick.getTimestamp());
+            tickRecord.set(TICK.PRICE, tick.getPrice());
+            tickRecord.set(TICK.SIZE, tick.getSize());
+            return tickRecord;
+        };
+    }
+
+    @Override
+    protected Table<TickTimestampRangesRecord> getTimestampRangesTable() {
+        return TICK_TIMESTAMP_RANGES;
+    }
+
+    @Override
+    protected TableField<TickTimestampRangesRecord, String> getTimestampRangesKeyTableField() {
+        return TICK_TIMESTAMP_RANGES.SYMBOL;
+    }
+
+    @Override
+    protected TableField<TickTimestampRangesRecord, LocalDateTime> getTimestampRangesFromTableField() {
+        return TICK_TIMESTAMP_RANGES.FROM;
+    }
+
+    @Override
+    protected TableField<TickTimestampRangesRecord, LocalDateTime> getTimestampRangesToTableField() {
+        return TICK_TIMESTAMP_RANGES.TO;
+    }
+
+    @Override
+    protected int getDataFetchSize() {
+        return dataFetchSize;
+    }
+}
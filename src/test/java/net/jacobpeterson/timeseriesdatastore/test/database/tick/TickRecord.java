@@ -0,0 +1,16 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import org.jooq.impl.TableRecordImpl;
+
+/**
+ * {@link TickRecord} is a {@link TickTable} record.
+ */
+public class TickRecord extends TableRecordImpl<TickRecord> {
+
+    /**
+     * Instantiates a new {@link TickRecord}.
+     */
+    public TickRecord() {
+        super(TickTable.TICK);
+    }
+}
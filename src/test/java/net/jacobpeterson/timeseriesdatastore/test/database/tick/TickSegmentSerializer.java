@@ -0,0 +1,33 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import net.jacobpeterson.timeseriesdatastore.database.segment.SegmentSerializer;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link TickSegmentSerializer} is a {@link SegmentSerializer} for {@link Tick}s.
+ */
+public class TickSegmentSerializer implements SegmentSerializer<Tick> {
+
+    @Override
+    public void write(Tick tick, DataOutput output) throws IOException {
+        byte[] symbolBytes = tick.getSymbol().getBytes(StandardCharsets.UTF_8);
+        output.writeByte(symbolBytes.length);
+        output.write(symbolBytes);
+        output.writeLong(EpochNanoRanges.toEpochNanos(tick.getTimestamp()));
+        output.writeDouble(tick.getPrice());
+        output.writeLong(tick.getSize());
+    }
+
+    @Override
+    public Tick read(ByteBuffer buffer) {
+        byte[] symbolBytes = new byte[buffer.get()];
+        buffer.get(symbolBytes);
+        return new Tick(new String(symbolBytes, StandardCharsets.UTF_8),
+                EpochNanoRanges.toLocalDateTime(buffer.getLong()), buffer.getDouble(), buffer.getLong());
+    }
+}
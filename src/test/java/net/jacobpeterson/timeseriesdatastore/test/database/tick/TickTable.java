@@ -0,0 +1,52 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link TickTable} is a tick time series data table written in the style of jOOQ generated code.
+ */
+public class TickTable extends TableImpl<TickRecord> {
+
+    /** The {@link TickTable} instance. */
+    public static final TickTable TICK = new TickTable();
+
+    /** The 'SYMBOL' key column. */
+    public final TableField<TickRecord, String> SYMBOL = createField(DSL.name("SYMBOL"),
+            SQLDataType.VARCHAR(16).nullable(false), this, "");
+
+    /** The 'TIMESTAMP' column. */
+    public final TableField<TickRecord, LocalDateTime> TIMESTAMP = createField(DSL.name("TIMESTAMP"),
+            SQLDataType.LOCALDATETIME(6).nullable(false), this, "");
+
+    /** The 'PRICE' column. */
+    public final TableField<TickRecord, Double> PRICE = createField(DSL.name("PRICE"),
+            SQLDataType.DOUBLE.nullable(false), this, "");
+
+    /** The 'SIZE' column. */
+    public final TableField<TickRecord, Long> SIZE = createField(DSL.name("SIZE"),
+            SQLDataType.BIGINT.nullable(false), this, "");
+
+    /**
+     * Instantiates a new {@link TickTable}.
+     */
+    private TickTable() {
+        super(DSL.name("TICK"));
+    }
+
+    @Override
+    public Class<TickRecord> getRecordType() {
+        return TickRecord.class;
+    }
+
+    @Override
+    public UniqueKey<TickRecord> getPrimaryKey() {
+        return Internal.createUniqueKey(this, DSL.name("PK_TICK"), new TableField[]{SYMBOL, TIMESTAMP}, true);
+    }
+}
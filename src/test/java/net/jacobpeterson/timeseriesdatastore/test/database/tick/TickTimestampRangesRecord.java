@@ -0,0 +1,106 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import org.jooq.Field;
+import org.jooq.Record3;
+import org.jooq.Row3;
+import org.jooq.impl.TableRecordImpl;
+
+import java.time.LocalDateTime;
+
+import static net.jacobpeterson.timeseriesdatastore.test.database.tick.TickTimestampRangesTable.TICK_TIMESTAMP_RANGES;
+
+/**
+ * {@link TickTimestampRangesRecord} is a {@link TickTimestampRangesTable} record.
+ */
+@SuppressWarnings("unchecked")
+public class TickTimestampRangesRecord extends TableRecordImpl<TickTimestampRangesRecord>
+        implements Record3<String, LocalDateTime, LocalDateTime> {
+
+    /**
+     * Instantiates a new {@link TickTimestampRangesRecord}.
+     */
+    public TickTimestampRangesRecord() {
+        super(TICK_TIMESTAMP_RANGES);
+    }
+
+    @Override
+    public Row3<String, LocalDateTime, LocalDateTime> fieldsRow() {
+        return (Row3<String, LocalDateTime, LocalDateTime>) super.fieldsRow();
+    }
+
+    @Override
+    public Row3<String, LocalDateTime, LocalDateTime> valuesRow() {
+        return (Row3<String, LocalDateTime, LocalDateTime>) super.valuesRow();
+    }
+
+    @Override
+    public Field<String> field1() {
+        return TICK_TIMESTAMP_RANGES.SYMBOL;
+    }
+
+    @Override
+    public Field<LocalDateTime> field2() {
+        return TICK_TIMESTAMP_RANGES.FROM;
+    }
+
+    @Override
+    public Field<LocalDateTime> field3() {
+        return TICK_TIMESTAMP_RANGES.TO;
+    }
+
+    @Override
+    public String component1() {
+        return value1();
+    }
+
+    @Override
+    public LocalDateTime component2() {
+        return value2();
+    }
+
+    @Override
+    public LocalDateTime component3() {
+        return value3();
+    }
+
+    @Override
+    public String value1() {
+        return (String) get(0);
+    }
+
+    @Override
+    public LocalDateTime value2() {
+        return (LocalDateTime) get(1);
+    }
+
+    @Override
+    public LocalDateTime value3() {
+        return (LocalDateTime) get(2);
+    }
+
+    @Override
+    public TickTimestampRangesRecord value1(String value) {
+        set(0, value);
+        return this;
+    }
+
+    @Override
+    public TickTimestampRangesRecord value2(LocalDateTime value) {
+        set(1, value);
+        return this;
+    }
+
+    @Override
+    public TickTimestampRangesRecord value3(LocalDateTime value) {
+        set(2, value);
+        return this;
+    }
+
+    @Override
+    public TickTimestampRangesRecord values(String value1, LocalDateTime value2, LocalDateTime value3) {
+        value1(value1);
+        value2(value2);
+        value3(value3);
+        return this;
+    }
+}
@@ -0,0 +1,50 @@
+package net.jacobpeterson.timeseriesdatastore.test.database.tick;
+
+import org.jooq.TableField;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.Internal;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link TickTimestampRangesTable} is the timestamp ranges table of the {@link TickTable} written in the style of
+ * jOOQ generated code.
+ */
+public class TickTimestampRangesTable extends TableImpl<TickTimestampRangesRecord> {
+
+    /** The {@link TickTimestampRangesTable} instance. */
+    public static final TickTimestampRangesTable TICK_TIMESTAMP_RANGES = new TickTimestampRangesTable();
+
+    /** The 'SYMBOL' key column. */
+    public final TableField<TickTimestampRangesRecord, String> SYMBOL = createField(DSL.name("SYMBOL"),
+            SQLDataType.VARCHAR(16).nullable(false), this, "");
+
+    /** The 'FROM' column. */
+    public final TableField<TickTimestampRangesRecord, LocalDateTime> FROM = createField(DSL.name("FROM"),
+            SQLDataType.LOCALDATETIME(6).nullable(false), this, "");
+
+    /** The 'TO' column. */
+    public final TableField<TickTimestampRangesRecord, LocalDateTime> TO = createField(DSL.name("TO"),
+            SQLDataType.LOCALDATETIME(6).nullable(false), this, "");
+
+    /**
+     * Instantiates a new {@link TickTimestampRangesTable}.
+     */
+    private TickTimestampRangesTable() {
+        super(DSL.name("TICK_TIMESTAMP_RANGES"));
+    }
+
+    @Override
+    public Class<TickTimestampRangesRecord> getRecordType() {
+        return TickTimestampRangesRecord.class;
+    }
+
+    @Override
+    public UniqueKey<TickTimestampRangesRecord> getPrimaryKey() {
+        return Internal.createUniqueKey(this, DSL.name("PK_TICK_TIMESTAMP_RANGES"),
+                new TableField[]{SYMBOL, FROM, TO}, true);
+    }
+}
@@ -0,0 +1,102 @@
+package net.jacobpeterson.timeseriesdatastore.test.util.temporalrange;
+
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRangeUtil;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.EpochNanoRanges;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRange;
+import net.jacobpeterson.timeseriesdatastore.util.temporalrange.TemporalRangeUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link EpochNanoRangeUtil}.
+ */
+public class EpochNanoRangeUtilTest {
+
+    /**
+     * Creates the valid {@link TemporalRange}s used in the tests.
+     *
+     * @return a {@link List} of {@link TemporalRange}s
+     */
+    private static List<TemporalRange<LocalDateTime>> createValidTemporalRanges() {
+        List<TemporalRange<LocalDateTime>> validTemporalRanges = new ArrayList<>();
+        validTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 1, 1, 0), LocalDateTime.of(2021, 1, 3, 12, 30)));
+        validTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 2, 0, 0), LocalDateTime.of(2021, 1, 4, 0, 0)));
+        validTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 5, 9, 0), LocalDateTime.of(2021, 1, 6, 1, 0)));
+        validTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 6, 4, 0), LocalDateTime.of(2021, 1, 6, 8, 0)));
+        return validTemporalRanges;
+    }
+
+    /**
+     * Tests that {@link EpochNanoRanges} converts to and from {@link TemporalRange}s without loss.
+     */
+    @Test
+    public void testTemporalRangeConversion() {
+        List<TemporalRange<LocalDateTime>> temporalRanges = createValidTemporalRanges();
+        temporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1), LocalDateTime.of(2021, 1, 1, 0, 0, 0, 999_999_999)));
+
+        Assertions.assertEquals(temporalRanges, EpochNanoRanges.of(temporalRanges).toTemporalRanges());
+    }
+
+    /**
+     * Tests that {@link EpochNanoRangeUtil#getMissingRanges(long, long, EpochNanoRanges, long, long,
+     * EpochNanoRanges)} is equivalent to {@link TemporalRangeUtil#getMissingTemporalRanges(LocalDateTime,
+     * LocalDateTime, List, Duration, Duration)}.
+     */
+    @Test
+    public void testGetMissingRangesEquivalence() {
+        LocalDateTime rangeFrom = LocalDateTime.of(2021, 1, 1, 0, 0);
+        LocalDateTime rangeTo = LocalDateTime.of(2021, 1, 7, 0, 0);
+        List<TemporalRange<LocalDateTime>> validTemporalRanges = createValidTemporalRanges();
+        Duration offset = Duration.ofMillis(1);
+
+        EpochNanoRanges missingRanges = EpochNanoRangeUtil.getMissingRanges(EpochNanoRanges.toEpochNanos(rangeFrom),
+                EpochNanoRanges.toEpochNanos(rangeTo), EpochNanoRanges.of(validTemporalRanges), offset.toNanos(),
+                offset.toNanos(), new EpochNanoRanges());
+
+        Assertions.assertEquals(TemporalRangeUtil.getMissingTemporalRanges(rangeFrom, rangeTo, validTemporalRanges,
+                offset, offset), missingRanges.toTemporalRanges());
+    }
+
+    /**
+     * Tests that {@link EpochNanoRangeUtil#squash(EpochNanoRanges, EpochNanoRanges)} and {@link
+     * EpochNanoRangeUtil#clamp(EpochNanoRanges, LocalTime, LocalTime, EpochNanoRanges)} are equivalent to {@link
+     * TemporalRangeUtil#squash(List)} and {@link TemporalRangeUtil#clamp(List, LocalTime, LocalTime)} while reusing
+     * the same buffers.
+     */
+    @Test
+    public void testSquashAndClampEquivalence() {
+        List<TemporalRange<LocalDateTime>> validTemporalRanges = createValidTemporalRanges();
+        List<TemporalRange<LocalDateTime>> squashedTemporalRanges = TemporalRangeUtil.squash(validTemporalRanges);
+
+        EpochNanoRanges squashedRanges = new EpochNanoRanges(1);
+        EpochNanoRanges clampedRanges = new EpochNanoRanges(1);
+        for (int iteration = 0; iteration < 2; iteration++) {
+            EpochNanoRangeUtil.squash(EpochNanoRanges.of(validTemporalRanges), squashedRanges);
+            Assertions.assertEquals(squashedTemporalRanges, squashedRanges.toTemporalRanges());
+
+            EpochNanoRangeUtil.clamp(squashedRanges, LocalTime.of(9, 30), LocalTime.of(16, 0), clampedRanges);
+            Assertions.assertEquals(TemporalRangeUtil.clamp(squashedTemporalRanges, LocalTime.of(9, 30),
+                    LocalTime.of(16, 0)), clampedRanges.toTemporalRanges());
+
+            EpochNanoRangeUtil.clamp(squashedRanges, LocalTime.of(20, 0), null, clampedRanges);
+            Assertions.assertEquals(TemporalRangeUtil.clamp(squashedTemporalRanges, LocalTime.of(20, 0), null),
+                    clampedRanges.toTemporalRanges());
+
+            EpochNanoRangeUtil.clamp(squashedRanges, EpochNanoRanges.toEpochNanos(LocalDateTime.of(2021, 1, 2, 0, 0)),
+                    EpochNanoRanges.toEpochNanos(LocalDateTime.of(2021, 1, 5, 12, 0)), clampedRanges);
+            Assertions.assertEquals(TemporalRangeUtil.clamp(squashedTemporalRanges, LocalDateTime.of(2021, 1, 2, 0, 0),
+                    LocalDateTime.of(2021, 1, 5, 12, 0)), clampedRanges.toTemporalRanges());
+        }
+    }
+}
@@ -9,7 +9,10 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -57,4 +60,48 @@ public class TemporalRangeUtilTest {
 
         Assertions.assertEquals(expectedMissingTemporalRanges, actualMissingTemporalRanges);
     }
+
+    /**
+     * Tests {@link TemporalRangeUtil#getMissingTemporalRanges(LocalDateTime, LocalDateTime, List, Duration, Duration)}
+     * and {@link TemporalRangeUtil#clamp(List, LocalDateTime, LocalDateTime)} with a valid {@link TemporalRange} that
+     * starts inside the range and ends after it.
+     */
+    @Test
+    public void testTemporalRangeEndingAfterRange() {
+        LocalDateTime rangeFrom = LocalDateTime.of(2021, 1, 1, 0, 0);
+        LocalDateTime rangeTo = LocalDateTime.of(2021, 1, 2, 0, 0);
+
+        List<TemporalRange<LocalDateTime>> validTemporalRanges = new ArrayList<>();
+        validTemporalRanges.add(new TemporalRange<>(
+                LocalDateTime.of(2021, 1, 1, 12, 0), LocalDateTime.of(2021, 1, 3, 0, 0)));
+
+        Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(rangeFrom,
+                        LocalDateTime.of(2021, 1, 1, 12, 0))),
+                TemporalRangeUtil.getMissingTemporalRanges(rangeFrom, rangeTo, validTemporalRanges, null, null));
+        Assertions.assertEquals(Collections.singletonList(new TemporalRange<>(LocalDateTime.of(2021, 1, 1, 12, 0),
+                rangeTo)), TemporalRangeUtil.clamp(validTemporalRanges, rangeFrom, rangeTo));
+    }
+
+    /**
+     * Tests that {@link TemporalRangeUtil#clamp(List, LocalTime, LocalTime)} clamps to the start of the next day
+     * (instead of {@link LocalTime#MAX}) if the 'to' {@link LocalTime} is <code>null</code>, so that consecutive days
+     * are not separated by a gap.
+     */
+    @Test
+    public void testClampTimeOfDayWithNullTo() {
+        LocalDateTime day1 = LocalDateTime.of(2021, 1, 1, 0, 0);
+        LocalDateTime day2 = day1.plusDays(1);
+        LocalDateTime day3 = day2.plusDays(1);
+        List<TemporalRange<LocalDateTime>> temporalRanges = Collections.singletonList(new TemporalRange<>(day1, day3));
+
+        Assertions.assertEquals(Arrays.asList(new TemporalRange<>(day1.withHour(22), day2),
+                        new TemporalRange<>(day2.withHour(22), day3)),
+                TemporalRangeUtil.clamp(temporalRanges, LocalTime.of(22, 0), null));
+        Assertions.assertEquals(Arrays.asList(new TemporalRange<>(day1, day2), new TemporalRange<>(day2, day3)),
+                TemporalRangeUtil.clamp(temporalRanges, (LocalTime) null, null));
+        Assertions.assertTrue(TemporalRangeUtil.getMissingTemporalRanges(day1, day3,
+                        TemporalRangeUtil.clamp(temporalRanges, (LocalTime) null, null), null, null).stream()
+                .noneMatch(missingTemporalRange -> missingTemporalRange.getFrom().isBefore(
+                        missingTemporalRange.getTo())));
+    }
 }